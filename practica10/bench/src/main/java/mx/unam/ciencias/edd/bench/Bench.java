@@ -0,0 +1,25 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.Arrays;
+
+/**
+ * Punto de entrada de las pruebas de rendimiento. Delega a JMH, pero si no se
+ * pide un formato de resultados, los escribe en JSON en
+ * <code>resultados.json</code> para poder compararlos entre versiones.
+ */
+public class Bench {
+
+    /* Formato y archivo predeterminados de los resultados. */
+    private static final String[] RESULTADOS = {
+        "-rf", "json", "-rff", "resultados.json"
+    };
+
+    public static void main(String[] args) throws Exception {
+        if (!Arrays.asList(args).contains("-rf")) {
+            String[] a = Arrays.copyOf(RESULTADOS, RESULTADOS.length + args.length);
+            System.arraycopy(args, 0, a, RESULTADOS.length, args.length);
+            args = a;
+        }
+        org.openjdk.jmh.Main.main(args);
+    }
+}
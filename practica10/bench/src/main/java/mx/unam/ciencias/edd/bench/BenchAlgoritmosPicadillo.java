@@ -0,0 +1,49 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.AlgoritmoPicadillo;
+import mx.unam.ciencias.edd.FabricaPicadillos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendimiento de cada {@link AlgoritmoPicadillo} sobre llaves de 4 bytes a
+ * 64 KiB. Multiplicando las operaciones por la longitud se obtienen los bytes
+ * por unidad de tiempo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchAlgoritmosPicadillo {
+
+    @Param({ "XOR_STRING", "BJ_STRING", "GLIB_STRING", "XXHASH32",
+             "XXHASH64", "MURMUR3", "WYHASH", "SIPHASH13" })
+    private AlgoritmoPicadillo algoritmo;
+
+    @Param({ "4", "16", "64", "256", "1024", "4096", "65536" })
+    private int longitud;
+
+    private byte[] llave;
+
+    @Setup public void prepara() {
+        llave = new byte[longitud];
+        new Random(longitud).nextBytes(llave);
+    }
+
+    @Benchmark public int picadillo() {
+        return FabricaPicadillos.picadillo(algoritmo, llave, 0, longitud);
+    }
+}
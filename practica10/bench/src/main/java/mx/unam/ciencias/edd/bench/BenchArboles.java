@@ -0,0 +1,76 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolAVL;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pruebas de rendimiento de las clases {@link ArbolBinarioOrdenado}, {@link
+ * ArbolAVL} y {@link ArbolRojinegro}. Con las distribuciones ordenada y
+ * adversaria el árbol binario ordenado degenera en una lista.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchArboles {
+
+    @Param({ "1000", "5000" })
+    private int n;
+
+    @Param({ "ALEATORIA", "ORDENADA", "ADVERSARIA" })
+    private Distribucion distribucion;
+
+    @Param({ "ORDENADO", "AVL", "ROJINEGRO" })
+    private String arbol;
+
+    private Integer[] llaves;
+    private ArbolBinarioOrdenado<Integer> lleno;
+    private int busqueda;
+
+    private ArbolBinarioOrdenado<Integer> nuevo() {
+        switch (arbol) {
+            case "AVL":
+                return new ArbolAVL<Integer>();
+            case "ROJINEGRO":
+                return new ArbolRojinegro<Integer>();
+            default:
+                return new ArbolBinarioOrdenado<Integer>();
+        }
+    }
+
+    @Setup public void prepara() {
+        llaves = distribucion.enteros(n);
+        lleno = agrega();
+    }
+
+    @Benchmark public ArbolBinarioOrdenado<Integer> agrega() {
+        ArbolBinarioOrdenado<Integer> a = nuevo();
+        for (Integer llave : llaves)
+            a.agrega(llave);
+        return a;
+    }
+
+    @Benchmark public boolean contiene() {
+        busqueda = (busqueda + 1) % n;
+        return lleno.contiene(llaves[busqueda]);
+    }
+
+    @Benchmark public int profundidad() {
+        return lleno.profundidad();
+    }
+}
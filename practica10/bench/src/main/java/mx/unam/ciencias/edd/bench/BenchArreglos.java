@@ -0,0 +1,74 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Arreglos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pruebas de rendimiento de la clase {@link Arreglos}. Los tamaños son
+ * pequeños porque SelectionSort es cuadrático, y QuickSort también lo es
+ * (con recursión de profundidad <i>n</i>) con entradas ordenadas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchArreglos {
+
+    @Param({ "1000", "5000" })
+    private int n;
+
+    @Param({ "ALEATORIA", "ORDENADA", "ADVERSARIA" })
+    private Distribucion distribucion;
+
+    private Integer[] original;
+    private Integer[] ordenado;
+    private int busqueda;
+
+    @Setup public void prepara() {
+        original = distribucion.enteros(n);
+        ordenado = original.clone();
+        Arrays.sort(ordenado);
+    }
+
+    /**
+     * Copia fresca de los datos para cada invocación de los ordenamientos.
+     */
+    @State(Scope.Thread)
+    public static class Copia {
+        private Integer[] arreglo;
+
+        @Setup(Level.Invocation) public void copia(BenchArreglos b) {
+            arreglo = b.original.clone();
+        }
+    }
+
+    @Benchmark public Integer[] quickSort(Copia c) {
+        Arreglos.quickSort(c.arreglo);
+        return c.arreglo;
+    }
+
+    @Benchmark public Integer[] selectionSort(Copia c) {
+        Arreglos.selectionSort(c.arreglo);
+        return c.arreglo;
+    }
+
+    @Benchmark public int busquedaBinaria() {
+        busqueda = (busqueda + 1) % n;
+        return Arreglos.busquedaBinaria(ordenado, ordenado[busqueda]);
+    }
+}
@@ -0,0 +1,65 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Conjunto;
+import mx.unam.ciencias.edd.Diccionario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Carga masiva de {@link Diccionario} y {@link Conjunto}: un
+ * <code>agrega</code> por elemento contra <code>agregaTodos</code>, que
+ * dimensiona la tabla una vez y calcula los picadillos antes (en paralelo a
+ * partir de 2<sup>14</sup> llaves).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchCargaMasiva {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int n;
+
+    @Param({ "ALEATORIA", "ORDENADA" })
+    private Distribucion distribucion;
+
+    private Integer[] llaves;
+
+    @Setup public void prepara() {
+        llaves = distribucion.enteros(n);
+    }
+
+    @Benchmark public Diccionario<Integer, Integer> diccionarioPorElemento() {
+        Diccionario<Integer, Integer> d = new Diccionario<Integer, Integer>();
+        for (Integer llave : llaves)
+            d.agrega(llave, llave);
+        return d;
+    }
+
+    @Benchmark public Diccionario<Integer, Integer> diccionarioAgregaTodos() {
+        return new Diccionario<Integer, Integer>(llaves, llaves);
+    }
+
+    @Benchmark public Conjunto<Integer> conjuntoPorElemento() {
+        Conjunto<Integer> c = new Conjunto<Integer>();
+        for (Integer llave : llaves)
+            c.agrega(llave);
+        return c;
+    }
+
+    @Benchmark public Conjunto<Integer> conjuntoAgregaTodos() {
+        return new Conjunto<Integer>(llaves);
+    }
+}
@@ -0,0 +1,103 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ColaAcotada;
+import mx.unam.ciencias.edd.ColaConcurrente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contención sobre una cola compartida entre hilos: {@link ColaConcurrente}
+ * y {@link ColaAcotada} contra una {@link Cola} protegida por un solo
+ * <code>synchronized</code>. Cada operación mete un elemento y saca otro, así
+ * que la cola se queda con los <code>n</code> elementos con los que empieza y
+ * todos los hilos compiten por los dos extremos. Sólo se usan las versiones
+ * que no esperan, para que ninguna iteración se quede colgada. Los métodos
+ * sólo difieren en el número de hilos; con <code>-t</code> se puede probar
+ * cualquier otro.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchColasConcurrentes {
+
+    @Param({ "64" })
+    private int n;
+
+    @Param({ "CONCURRENTE", "ACOTADA", "CERROJO" })
+    private String estructura;
+
+    private static final Integer ELEMENTO = 1;
+
+    private ColaConcurrente<Integer> concurrente;
+    private ColaAcotada<Integer> acotada;
+    private Cola<Integer> cola;
+
+    @Setup(Level.Iteration) public void prepara() {
+        concurrente = null;
+        acotada = null;
+        cola = null;
+        switch (estructura) {
+            case "CONCURRENTE":
+                concurrente = new ColaConcurrente<Integer>();
+                for (int i = 0; i < n; i++)
+                    concurrente.mete(ELEMENTO);
+                break;
+            case "ACOTADA":
+                acotada = new ColaAcotada<Integer>(4 * n);
+                for (int i = 0; i < n; i++)
+                    acotada.mete(ELEMENTO);
+                break;
+            default:
+                cola = new Cola<Integer>();
+                for (int i = 0; i < n; i++)
+                    cola.mete(ELEMENTO);
+        }
+    }
+
+    private Integer opera() {
+        if (concurrente != null) {
+            concurrente.mete(ELEMENTO);
+            return concurrente.intentaSaca();
+        }
+        if (acotada != null) {
+            acotada.intentaMete(ELEMENTO);
+            return acotada.intentaSaca();
+        }
+        synchronized (cola) {
+            cola.mete(ELEMENTO);
+            return cola.saca();
+        }
+    }
+
+    @Benchmark @Threads(1) public Integer hilos1() {
+        return opera();
+    }
+
+    @Benchmark @Threads(2) public Integer hilos2() {
+        return opera();
+    }
+
+    @Benchmark @Threads(4) public Integer hilos4() {
+        return opera();
+    }
+
+    @Benchmark @Threads(Threads.MAX) public Integer hilosMax() {
+        return opera();
+    }
+}
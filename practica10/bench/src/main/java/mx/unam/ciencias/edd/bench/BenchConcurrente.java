@@ -0,0 +1,108 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Escalabilidad de un diccionario compartido entre hilos: {@link
+ * DiccionarioConcurrente} contra un {@link Diccionario} protegido por un solo
+ * <code>synchronized</code>. Cada operación es una lectura o, con la
+ * probabilidad dada por <code>escrituras</code> (en porcentaje), una
+ * escritura. Los métodos sólo difieren en el número de hilos; con
+ * <code>-t</code> se puede probar cualquier otro.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchConcurrente {
+
+    /** Estado de cada hilo: su generador de índices. */
+    @State(Scope.Thread)
+    public static class Hilo {
+
+        private int semilla = (int)System.nanoTime() | 1;
+
+        /* Xorshift; no comparte nada entre hilos. */
+        int siguiente() {
+            semilla ^= semilla << 13;
+            semilla ^= semilla >>> 17;
+            semilla ^= semilla << 5;
+            return semilla & 0x7fffffff;
+        }
+    }
+
+    @Param({ "100000" })
+    private int n;
+
+    @Param({ "CONCURRENTE", "SINCRONIZADO" })
+    private String motor;
+
+    @Param({ "10" })
+    private int escrituras;
+
+    private Integer[] llaves;
+    private Diccionario<Integer, Integer> diccionario;
+    private boolean sincronizado;
+
+    @Setup public void prepara() {
+        llaves = Distribucion.ALEATORIA.enteros(n);
+        sincronizado = motor.equals("SINCRONIZADO");
+        diccionario = sincronizado ?
+            new Diccionario<Integer, Integer>() :
+            new DiccionarioConcurrente<Integer, Integer>();
+        for (Integer llave : llaves)
+            diccionario.agrega(llave, llave);
+    }
+
+    private boolean opera(Hilo hilo) {
+        int r = hilo.siguiente();
+        Integer llave = llaves[r % n];
+        boolean escribe = (r >>> 8) % 100 < escrituras;
+        if (sincronizado) {
+            synchronized (diccionario) {
+                return opera(llave, escribe);
+            }
+        }
+        return opera(llave, escribe);
+    }
+
+    private boolean opera(Integer llave, boolean escribe) {
+        if (escribe) {
+            diccionario.agrega(llave, llave);
+            return true;
+        }
+        return diccionario.contiene(llave);
+    }
+
+    @Benchmark @Threads(1) public boolean hilos1(Hilo hilo) {
+        return opera(hilo);
+    }
+
+    @Benchmark @Threads(2) public boolean hilos2(Hilo hilo) {
+        return opera(hilo);
+    }
+
+    @Benchmark @Threads(4) public boolean hilos4(Hilo hilo) {
+        return opera(hilo);
+    }
+
+    @Benchmark @Threads(Threads.MAX) public boolean hilosMax(Hilo hilo) {
+        return opera(hilo);
+    }
+}
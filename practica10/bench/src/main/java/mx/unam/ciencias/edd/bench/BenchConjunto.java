@@ -0,0 +1,66 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Conjunto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pruebas de rendimiento de la clase {@link Conjunto}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchConjunto {
+
+    @Param({ "1000", "100000" })
+    private int n;
+
+    @Param({ "ALEATORIA", "ORDENADA", "ADVERSARIA" })
+    private Distribucion distribucion;
+
+    private Integer[] elementos;
+    private Conjunto<Integer> a;
+    private Conjunto<Integer> b;
+    private int busqueda;
+
+    @Setup public void prepara() {
+        elementos = distribucion.enteros(n);
+        a = agrega();
+        b = new Conjunto<Integer>();
+        for (int i = 0; i < n; i += 2)
+            b.agrega(elementos[i]);
+    }
+
+    @Benchmark public Conjunto<Integer> agrega() {
+        Conjunto<Integer> c = new Conjunto<Integer>();
+        for (Integer e : elementos)
+            c.agrega(e);
+        return c;
+    }
+
+    @Benchmark public boolean contiene() {
+        busqueda = (busqueda + 1) % n;
+        return a.contiene(elementos[busqueda]);
+    }
+
+    @Benchmark public Conjunto<Integer> interseccion() {
+        return a.interseccion(b);
+    }
+
+    @Benchmark public Conjunto<Integer> union() {
+        return a.union(b);
+    }
+}
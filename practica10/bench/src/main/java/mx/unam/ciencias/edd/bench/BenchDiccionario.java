@@ -0,0 +1,93 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioAbierto;
+import mx.unam.ciencias.edd.EntradaDiccionario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Pruebas de rendimiento de las clases {@link Diccionario} y {@link
+ * DiccionarioAbierto}. La distribución adversaria manda todas las llaves a
+ * unas pocas cubetas; el motor <code>ARBOLES</code> es {@link Diccionario}
+ * con las cubetas largas vueltas árboles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchDiccionario {
+
+    @Param({ "1000", "100000" })
+    private int n;
+
+    @Param({ "ALEATORIA", "ORDENADA", "ADVERSARIA" })
+    private Distribucion distribucion;
+
+    @Param({ "LISTAS", "ABIERTO", "ARBOLES" })
+    private String motor;
+
+    private Integer[] llaves;
+    private Integer[] ausentes;
+    private Diccionario<Integer, Integer> lleno;
+    private int busqueda;
+
+    @Setup public void prepara() {
+        llaves = distribucion.enteros(n);
+        ausentes = new Integer[n];
+        for (int i = 0; i < n; i++)
+            ausentes[i] = -1 - llaves[i];
+        lleno = agrega();
+    }
+
+    @Benchmark public Diccionario<Integer, Integer> agrega() {
+        Diccionario<Integer, Integer> d = motor.equals("ABIERTO") ?
+            new DiccionarioAbierto<Integer, Integer>() :
+            new Diccionario<Integer, Integer>();
+        if (motor.equals("ARBOLES"))
+            d.setArbolesEnCubetas(true);
+        for (Integer llave : llaves)
+            d.agrega(llave, llave);
+        return d;
+    }
+
+    @Benchmark public Integer get() {
+        busqueda = (busqueda + 1) % n;
+        return lleno.get(llaves[busqueda]);
+    }
+
+    @Benchmark public boolean contieneAusente() {
+        busqueda = (busqueda + 1) % n;
+        return lleno.contiene(ausentes[busqueda]);
+    }
+
+    @Benchmark public void itera(Blackhole bh) {
+        for (Integer v : lleno)
+            bh.consume(v);
+    }
+
+    @Benchmark public void iteraLlaves(Blackhole bh) {
+        for (Integer k : lleno.cadaLlave())
+            bh.consume(k);
+    }
+
+    @Benchmark public void iteraEntradas(Blackhole bh) {
+        for (EntradaDiccionario<Integer, Integer> e : lleno.cadaEntrada()) {
+            bh.consume(e.getLlave());
+            bh.consume(e.getValor());
+        }
+    }
+}
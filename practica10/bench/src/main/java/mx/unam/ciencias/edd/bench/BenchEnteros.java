@@ -0,0 +1,81 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.IntConjunto;
+import mx.unam.ciencias.edd.IntIntDiccionario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pruebas de rendimiento de {@link IntIntDiccionario} e {@link IntConjunto}
+ * contra {@link Diccionario}<code>&lt;Integer, Integer&gt;</code> con las
+ * mismas llaves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchEnteros {
+
+    @Param({ "1000", "100000" })
+    private int n;
+
+    @Param({ "ALEATORIA", "ORDENADA", "ADVERSARIA" })
+    private Distribucion distribucion;
+
+    private int[] llaves;
+    private Integer[] cajas;
+    private IntIntDiccionario enteros;
+    private Diccionario<Integer, Integer> diccionario;
+    private int busqueda;
+
+    @Setup public void prepara() {
+        llaves = distribucion.llaves(n);
+        cajas = distribucion.enteros(n);
+        enteros = agregaEnteros();
+        diccionario = agregaDiccionario();
+    }
+
+    @Benchmark public IntIntDiccionario agregaEnteros() {
+        IntIntDiccionario d = new IntIntDiccionario();
+        for (int llave : llaves)
+            d.agrega(llave, llave);
+        return d;
+    }
+
+    @Benchmark public IntConjunto agregaConjunto() {
+        IntConjunto c = new IntConjunto();
+        for (int llave : llaves)
+            c.agrega(llave);
+        return c;
+    }
+
+    @Benchmark public Diccionario<Integer, Integer> agregaDiccionario() {
+        Diccionario<Integer, Integer> d = new Diccionario<Integer, Integer>();
+        for (Integer llave : cajas)
+            d.agrega(llave, llave);
+        return d;
+    }
+
+    @Benchmark public int getEnteros() {
+        busqueda = (busqueda + 1) % n;
+        return enteros.get(llaves[busqueda]);
+    }
+
+    @Benchmark public Integer getDiccionario() {
+        busqueda = (busqueda + 1) % n;
+        return diccionario.get(cajas[busqueda]);
+    }
+}
@@ -0,0 +1,82 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.Finalizador;
+import mx.unam.ciencias.edd.MetricasDiccionario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Búsquedas en un {@link Diccionario} con <code>hashCode</code> y llaves
+ * numéricas con estructura, con cada {@link Finalizador}: enteros
+ * consecutivos, enteros múltiplos de 64 y {@link Double}s enteros, cuyos
+ * picadillos sólo cambian en los bits altos. Al preparar se imprime la
+ * colisión máxima y el promedio de sondeos de cada combinación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchFinalizador {
+
+    @Param({ "10000" })
+    private int n;
+
+    @Param({ "CONSECUTIVOS", "MULTIPLOS_64", "DOUBLES" })
+    private String llaves;
+
+    @Param({ "NINGUNO", "MURMUR3", "FIBONACCI" })
+    private String finalizador;
+
+    private Number[] arreglo;
+    private Diccionario<Number, Integer> diccionario;
+    private int busqueda;
+
+    @Setup public void prepara() {
+        arreglo = new Number[n];
+        for (int i = 0; i < n; i++) {
+            switch (llaves) {
+                case "CONSECUTIVOS": arreglo[i] = i; break;
+                case "MULTIPLOS_64": arreglo[i] = i * 64; break;
+                default:             arreglo[i] = (double)i;
+            }
+        }
+        diccionario = new Diccionario<Number, Integer>(n);
+        switch (finalizador) {
+            case "NINGUNO":
+                diccionario.setFinalizador(Finalizador.NINGUNO);
+                break;
+            case "FIBONACCI":
+                diccionario.setFinalizador(Finalizador.FIBONACCI);
+                break;
+            default:
+                diccionario.setFinalizador(Finalizador.MURMUR3);
+        }
+        for (int i = 0; i < n; i++)
+            diccionario.agrega(arreglo[i], i);
+        MetricasDiccionario m = diccionario.getMetricas();
+        for (Number llave : arreglo)
+            diccionario.get(llave);
+        System.out.printf("%n%s, %s: colisión máxima %d, %.2f sondeos " +
+                          "por búsqueda%n", llaves, finalizador,
+                          diccionario.colisionMaxima(),
+                          m.instantanea().getSondeoPromedio());
+    }
+
+    @Benchmark public Integer get() {
+        busqueda = (busqueda + 1) % n;
+        return diccionario.get(arreglo[busqueda]);
+    }
+}
@@ -0,0 +1,88 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Grafica;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Pruebas de rendimiento de la clase {@link Grafica}. Las gráficas tienen
+ * <i>n</i> vértices y alrededor de 2<i>n</i> aristas. Con la distribución
+ * ordenada las aristas forman un camino más cuerdas cortas; con la
+ * adversaria, una estrella alrededor del primer vértice.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchGrafica {
+
+    @Param({ "100", "1000" })
+    private int n;
+
+    @Param({ "ALEATORIA", "ORDENADA", "ADVERSARIA" })
+    private Distribucion distribucion;
+
+    private Integer[] vertices;
+    private Grafica<Integer> grafica;
+
+    @Setup public void prepara() {
+        vertices = Distribucion.ORDENADA.enteros(n);
+        grafica = construye();
+    }
+
+    /* Conecta a y b si no son el mismo vértice ni vecinos. */
+    private static void conecta(Grafica<Integer> g, Integer a, Integer b) {
+        if (!a.equals(b) && !g.sonVecinos(a, b))
+            g.conecta(a, b);
+    }
+
+    @Benchmark public Grafica<Integer> construye() {
+        Grafica<Integer> g = new Grafica<Integer>();
+        for (Integer v : vertices)
+            g.agrega(v);
+        Random random = new Random(n);
+        for (int i = 1; i < n; i++) {
+            switch (distribucion) {
+                case ALEATORIA:
+                    conecta(g, vertices[i], vertices[random.nextInt(i)]);
+                    conecta(g, vertices[i], vertices[random.nextInt(i)]);
+                    break;
+                case ORDENADA:
+                    conecta(g, vertices[i], vertices[i-1]);
+                    conecta(g, vertices[i], vertices[i/2]);
+                    break;
+                case ADVERSARIA:
+                    conecta(g, vertices[i], vertices[0]);
+                    conecta(g, vertices[i], vertices[i-1]);
+                    break;
+            }
+        }
+        return g;
+    }
+
+    @Benchmark public void bfs(Blackhole bh) {
+        grafica.bfs(vertices[0], v -> bh.consume(v));
+    }
+
+    @Benchmark public void dfs(Blackhole bh) {
+        grafica.dfs(vertices[0], v -> bh.consume(v));
+    }
+
+    @Benchmark public boolean sonVecinos() {
+        return grafica.sonVecinos(vertices[0], vertices[n-1]);
+    }
+}
@@ -0,0 +1,68 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.AlgoritmoPicadillo;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.FabricaPicadillos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Búsquedas en un {@link Diccionario} lleno de llaves hechas para chocar con
+ * GLib: las 2<sup>n</sup> cadenas de n bloques "Ab" o "BA", que tienen el
+ * mismo picadillo de GLib con cualquier semilla. Cada algoritmo usa una
+ * semilla aleatoria de {@link FabricaPicadillos#getInstancia(AlgoritmoPicadillo,long)};
+ * con GLib cada búsqueda recorre una sola cubeta con todas las llaves, y con
+ * SipHash y wyhash las cubetas se quedan cortas. Al preparar se imprime la
+ * colisión máxima del diccionario.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchInundacion {
+
+    @Param({ "12" })
+    private int bloques;
+
+    @Param({ "GLIB_STRING", "SIPHASH13", "WYHASH" })
+    private AlgoritmoPicadillo algoritmo;
+
+    private String[] llaves;
+    private Diccionario<String, String> diccionario;
+    private int busqueda;
+
+    @Setup public void prepara() {
+        llaves = new String[1 << bloques];
+        for (int i = 0; i < llaves.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < bloques; j++)
+                sb.append((i & (1 << j)) == 0 ? "Ab" : "BA");
+            llaves[i] = sb.toString();
+        }
+        long semilla = new SecureRandom().nextLong();
+        diccionario = new Diccionario<String, String>(
+            FabricaPicadillos.getInstancia(algoritmo, semilla));
+        for (String llave : llaves)
+            diccionario.agrega(llave, llave);
+        System.out.printf("%n%s: colisión máxima %d de %d llaves%n", algoritmo,
+                          diccionario.colisionMaxima(), llaves.length);
+    }
+
+    @Benchmark public String get() {
+        busqueda = (busqueda + 1) % llaves.length;
+        return diccionario.get(llaves[busqueda]);
+    }
+}
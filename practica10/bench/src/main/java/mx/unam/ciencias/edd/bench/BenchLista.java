@@ -0,0 +1,64 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Lista;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Pruebas de rendimiento de la clase {@link Lista}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchLista {
+
+    @Param({ "1000", "10000" })
+    private int n;
+
+    @Param({ "ALEATORIA", "ORDENADA", "ADVERSARIA" })
+    private Distribucion distribucion;
+
+    private Integer[] llaves;
+    private Lista<Integer> lista;
+
+    @Setup public void prepara() {
+        llaves = distribucion.enteros(n);
+        lista = new Lista<Integer>();
+        for (Integer llave : llaves)
+            lista.agrega(llave);
+    }
+
+    @Benchmark public Lista<Integer> agrega() {
+        Lista<Integer> l = new Lista<Integer>();
+        for (Integer llave : llaves)
+            l.agrega(llave);
+        return l;
+    }
+
+    @Benchmark public void itera(Blackhole bh) {
+        for (Integer e : lista)
+            bh.consume(e);
+    }
+
+    @Benchmark public boolean contieneUltimo() {
+        return lista.contiene(llaves[n-1]);
+    }
+
+    @Benchmark public Lista<Integer> mergeSort() {
+        return Lista.mergeSort(lista);
+    }
+}
@@ -0,0 +1,78 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.AlgoritmoPicadillo;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.FabricaPicadillos;
+import mx.unam.ciencias.edd.Picadillo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Llenado y consultas de un {@link Diccionario} con llaves largas y un
+ * picadillo caro de {@link FabricaPicadillos}. El llenado empieza con la
+ * tabla mínima, así que incluye todos los crecimientos; las llaves comparten
+ * un prefijo largo, como las rutas de archivos, para que comparar dos llaves
+ * distintas con <code>equals</code> también cueste.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchLlavesLargas {
+
+    @Param({ "10000" })
+    private int n;
+
+    @Param({ "64", "1024" })
+    private int longitud;
+
+    @Param({ "BJ_STRING" })
+    private AlgoritmoPicadillo algoritmo;
+
+    private String[] llaves;
+    private Picadillo<String> picadillo;
+    private Diccionario<String, String> diccionario;
+
+    @Setup public void prepara() {
+        Random random = new Random(n);
+        char[] c = new char[longitud];
+        for (int j = 0; j < longitud; j++)
+            c[j] = (char)('a' + random.nextInt(26));
+        llaves = new String[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = longitud - 8; j < longitud; j++)
+                c[j] = (char)('a' + random.nextInt(26));
+            llaves[i] = new String(c);
+        }
+        picadillo = FabricaPicadillos.getInstancia(algoritmo);
+        diccionario = llena();
+    }
+
+    @Benchmark public Diccionario<String, String> llena() {
+        Diccionario<String, String> d =
+            new Diccionario<String, String>(picadillo);
+        for (String llave : llaves)
+            d.agrega(llave, llave);
+        return d;
+    }
+
+    @Benchmark public int get() {
+        int t = 0;
+        for (String llave : llaves)
+            t += diccionario.get(llave).length();
+        return t;
+    }
+}
@@ -0,0 +1,89 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.AlgoritmoPicadillo;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.FabricaPicadillos;
+import mx.unam.ciencias.edd.Picadillo;
+import mx.unam.ciencias.edd.PicadilloLote;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Picadillos y consultas de n llaves, una por una contra {@link
+ * PicadilloLote#picadillos} y {@link Diccionario#getTodos}. Cada operación
+ * procesa las n llaves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchLotes {
+
+    @Param({ "1024", "262144" })
+    private int n;
+
+    @Param({ "16", "256" })
+    private int longitud;
+
+    @Param({ "GLIB_STRING", "BJ_STRING", "MURMUR3", "WYHASH" })
+    private AlgoritmoPicadillo algoritmo;
+
+    private String[] llaves;
+    private String[] valores;
+    private int[] salida;
+    private Picadillo<String> uno;
+    private PicadilloLote<String> lote;
+    private Diccionario<String, String> diccionario;
+
+    @Setup public void prepara() {
+        Random random = new Random(n);
+        llaves = new String[n];
+        for (int i = 0; i < n; i++) {
+            char[] c = new char[longitud];
+            for (int j = 0; j < longitud; j++)
+                c[j] = (char)('a' + random.nextInt(26));
+            llaves[i] = new String(c);
+        }
+        valores = new String[n];
+        salida = new int[n];
+        lote = FabricaPicadillos.getInstancia(algoritmo);
+        uno = lote;
+        diccionario = new Diccionario<String, String>(n, lote);
+        diccionario.agregaTodos(llaves, llaves);
+    }
+
+    @Benchmark public int[] picadillosUnoPorUno() {
+        for (int i = 0; i < n; i++)
+            salida[i] = uno.picadillo(llaves[i]);
+        return salida;
+    }
+
+    @Benchmark public int[] picadillosLote() {
+        lote.picadillos(llaves, salida);
+        return salida;
+    }
+
+    @Benchmark public String[] getUnoPorUno() {
+        for (int i = 0; i < n; i++)
+            valores[i] = diccionario.get(llaves[i]);
+        return valores;
+    }
+
+    @Benchmark public String[] getTodos() {
+        diccionario.getTodos(llaves, valores);
+        return valores;
+    }
+}
@@ -0,0 +1,91 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ColaArreglo;
+import mx.unam.ciencias.edd.MeteSaca;
+import mx.unam.ciencias.edd.Pila;
+import mx.unam.ciencias.edd.PilaArreglo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Pruebas de rendimiento de las clases {@link Cola} y {@link Pila}, ligadas
+ * y sobre arreglos ({@link ColaArreglo} y {@link PilaArreglo}). Con
+ * <code>-prof gc</code> se ven los bytes que crea cada una por operación:
+ * las ligadas crean un nodo por elemento, las de arreglos sólo cuando
+ * crecen. <code>meteSacaLotes</code> hace lo mismo que
+ * <code>meteSaca</code>, pero saca con {@link MeteSaca#saca(int, Object[])}
+ * en lotes de 256.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchMeteSaca {
+
+    @Param({ "1000", "100000" })
+    private int n;
+
+    @Param({ "COLA", "COLA_ARREGLO", "PILA", "PILA_ARREGLO" })
+    private String estructura;
+
+    private Integer[] elementos;
+
+    @Setup public void prepara() {
+        elementos = Distribucion.ALEATORIA.enteros(n);
+    }
+
+    private MeteSaca<Integer> nueva() {
+        switch (estructura) {
+            case "COLA":
+                return new Cola<Integer>();
+            case "COLA_ARREGLO":
+                return new ColaArreglo<Integer>();
+            case "PILA":
+                return new Pila<Integer>();
+            default:
+                return new PilaArreglo<Integer>();
+        }
+    }
+
+    @Benchmark public void meteSaca(Blackhole bh) {
+        MeteSaca<Integer> ms = nueva();
+        for (Integer e : elementos)
+            ms.mete(e);
+        while (!ms.esVacia())
+            bh.consume(ms.saca());
+    }
+
+    @Benchmark public void meteSacaIntercalado(Blackhole bh) {
+        MeteSaca<Integer> ms = nueva();
+        for (Integer e : elementos) {
+            ms.mete(e);
+            ms.mete(e);
+            bh.consume(ms.saca());
+        }
+    }
+
+    @Benchmark public void meteSacaLotes(Blackhole bh) {
+        MeteSaca<Integer> ms = nueva();
+        for (Integer e : elementos)
+            ms.mete(e);
+        Integer[] lote = new Integer[256];
+        int m;
+        while ((m = ms.saca(lote.length, lote)) > 0)
+            for (int i = 0; i < m; i++)
+                bh.consume(lote[i]);
+    }
+}
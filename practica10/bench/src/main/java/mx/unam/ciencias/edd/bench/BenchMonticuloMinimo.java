@@ -0,0 +1,58 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Indexable;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloMinimo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Pruebas de rendimiento de la clase {@link MonticuloMinimo}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchMonticuloMinimo {
+
+    @Param({ "1000", "100000" })
+    private int n;
+
+    @Param({ "ALEATORIA", "ORDENADA", "ADVERSARIA" })
+    private Distribucion distribucion;
+
+    private int[] valores;
+
+    @Setup public void prepara() {
+        valores = distribucion.llaves(n);
+    }
+
+    @Benchmark public void agregaElimina(Blackhole bh) {
+        MonticuloMinimo<Indexable<Integer>> m =
+            new MonticuloMinimo<Indexable<Integer>>();
+        for (int v : valores)
+            m.agrega(new Indexable<Integer>(v, v));
+        while (!m.esVacio())
+            bh.consume(m.elimina());
+    }
+
+    @Benchmark public MonticuloMinimo<Indexable<Integer>> construyeDeLista() {
+        Lista<Indexable<Integer>> l = new Lista<Indexable<Integer>>();
+        for (int v : valores)
+            l.agrega(new Indexable<Integer>(v, v));
+        return new MonticuloMinimo<Indexable<Integer>>(l);
+    }
+}
@@ -0,0 +1,92 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.AlgoritmoPicadillo;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.FabricaPicadillos;
+import mx.unam.ciencias.edd.Picadillo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Búsquedas en un {@link Diccionario}<code>&lt;String, String&gt;</code> con
+ * el picadillo de {@link FabricaPicadillos#getInstancia} (una instancia por
+ * algoritmo) contra una lambda que revisa el algoritmo en cada llamada, como
+ * lo hacía antes <code>getInstancia</code>. Con <code>mezclados</code>, antes
+ * de medir se usan diccionarios con todos los algoritmos, como en un
+ * programa que tiene varios; así los sitios de llamada compartidos, como
+ * <code>Diccionario.aplicarHash</code>, ven más de una clase de picadillo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchPicadilloDiccionario {
+
+    @Param({ "10000" })
+    private int n;
+
+    @Param({ "16" })
+    private int longitud;
+
+    @Param({ "BJ_STRING", "XXHASH64" })
+    private AlgoritmoPicadillo algoritmo;
+
+    @Param({ "INSTANCIA", "POR_LLAMADA" })
+    private String picadillo;
+
+    @Param({ "false", "true" })
+    private boolean mezclados;
+
+    private String[] llaves;
+    private Diccionario<String, String> diccionario;
+    private int busqueda;
+
+    @Setup public void prepara() {
+        Random random = new Random(n);
+        llaves = new String[n];
+        for (int i = 0; i < n; i++) {
+            char[] c = new char[longitud];
+            for (int j = 0; j < longitud; j++)
+                c[j] = (char)('a' + random.nextInt(26));
+            llaves[i] = new String(c);
+        }
+        if (mezclados)
+            for (AlgoritmoPicadillo a : AlgoritmoPicadillo.values())
+                for (int i = 0; i < 20; i++)
+                    llena(a);
+        diccionario = llena(algoritmo);
+    }
+
+    private Diccionario<String, String> llena(AlgoritmoPicadillo a) {
+        Picadillo<String> p = picadillo.equals("INSTANCIA") ?
+            FabricaPicadillos.getInstancia(a) :
+            (String s) -> {
+                byte[] k = s.getBytes();
+                return FabricaPicadillos.picadillo(a, k, 0, k.length);
+            };
+        Diccionario<String, String> d = new Diccionario<String, String>(n, p);
+        for (String llave : llaves)
+            d.agrega(llave, llave);
+        for (String llave : llaves)
+            d.get(llave);
+        return d;
+    }
+
+    @Benchmark public String get() {
+        busqueda = (busqueda + 1) % n;
+        return diccionario.get(llaves[busqueda]);
+    }
+}
@@ -0,0 +1,96 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.AlgoritmoPicadillo;
+import mx.unam.ciencias.edd.FabricaPicadillos;
+import mx.unam.ciencias.edd.Picadillo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Picadillos de {@link FabricaPicadillos} sobre cada tipo de entrada. El
+ * picadillo de cadenas crea un arreglo con <code>getBytes</code> en cada
+ * llamada; los demás no deberían crear objetos, ni siquiera con el análisis
+ * de escape apagado, lo que se ve corriendo con <code>-prof gc</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchPicadillos {
+
+    @Param({ "XOR_STRING", "BJ_STRING", "GLIB_STRING" })
+    private AlgoritmoPicadillo algoritmo;
+
+    @Param({ "16", "1024" })
+    private int longitud;
+
+    private String cadena;
+    private StringBuilder secuencia;
+    private byte[] bytes;
+    private ByteBuffer directo;
+    private Picadillo<String> picaCadenas;
+    private Picadillo<byte[]> picaBytes;
+    private Picadillo<ByteBuffer> picaBuferes;
+    private Picadillo<CharSequence> picaSecuencias;
+    private Picadillo<String> picaCadenasSinCopia;
+
+    @Setup public void prepara() {
+        Random random = new Random(longitud);
+        char[] c = new char[longitud];
+        for (int i = 0; i < longitud; i++)
+            c[i] = (char)('a' + random.nextInt(26));
+        cadena = new String(c);
+        secuencia = new StringBuilder(cadena);
+        bytes = cadena.getBytes(StandardCharsets.UTF_8);
+        directo = ByteBuffer.allocateDirect(longitud);
+        directo.put(bytes);
+        directo.flip();
+        picaCadenas = FabricaPicadillos.getInstancia(algoritmo);
+        picaBytes = FabricaPicadillos.getInstanciaBytes(algoritmo);
+        picaBuferes = FabricaPicadillos.getInstanciaByteBuffer(algoritmo);
+        picaSecuencias = FabricaPicadillos.getInstanciaCharSequence(algoritmo);
+        picaCadenasSinCopia = FabricaPicadillos.getInstanciaCharSequence(algoritmo);
+    }
+
+    @Benchmark public int cadena() {
+        return picaCadenas.picadillo(cadena);
+    }
+
+    @Benchmark public int cadenaSinCopia() {
+        return picaCadenasSinCopia.picadillo(cadena);
+    }
+
+    @Benchmark public int bytes() {
+        return picaBytes.picadillo(bytes);
+    }
+
+    /* Lo mismo sin análisis de escape: si el algoritmo creara objetos
+     * temporales, aquí se verían aunque el compilador pudiera quitarlos. */
+    @Benchmark @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+    public int bytesSinAnalisisDeEscape() {
+        return picaBytes.picadillo(bytes);
+    }
+
+    @Benchmark public int buferDirecto() {
+        return picaBuferes.picadillo(directo);
+    }
+
+    @Benchmark public int charSequence() {
+        return picaSecuencias.picadillo(secuencia);
+    }
+}
@@ -0,0 +1,96 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Pila;
+import mx.unam.ciencias.edd.PilaConcurrente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Escalabilidad de una pila compartida entre hilos: {@link PilaConcurrente}
+ * sin y con arreglo de eliminación, contra una {@link Pila} protegida por un
+ * solo <code>synchronized</code>. Cada operación mete un elemento y saca
+ * otro, así que todos los hilos compiten por el tope y las parejas pueden
+ * eliminarse. Los métodos sólo difieren en el número de hilos; con
+ * <code>-t</code> se puede probar cualquier otro.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchPilaConcurrente {
+
+    @Param({ "64" })
+    private int n;
+
+    @Param({ "TREIBER", "ELIMINACION", "CERROJO" })
+    private String estructura;
+
+    @Param({ "4" })
+    private int casillas;
+
+    private static final Integer ELEMENTO = 1;
+
+    private PilaConcurrente<Integer> concurrente;
+    private Pila<Integer> pila;
+
+    @Setup(Level.Iteration) public void prepara() {
+        concurrente = null;
+        pila = null;
+        switch (estructura) {
+            case "TREIBER":
+                concurrente = new PilaConcurrente<Integer>();
+                break;
+            case "ELIMINACION":
+                concurrente = new PilaConcurrente<Integer>(casillas);
+                break;
+            default:
+                pila = new Pila<Integer>();
+        }
+        for (int i = 0; i < n; i++)
+            if (concurrente != null)
+                concurrente.mete(ELEMENTO);
+            else
+                pila.mete(ELEMENTO);
+    }
+
+    private Integer opera() {
+        if (concurrente != null) {
+            concurrente.mete(ELEMENTO);
+            return concurrente.intentaSaca();
+        }
+        synchronized (pila) {
+            pila.mete(ELEMENTO);
+            return pila.saca();
+        }
+    }
+
+    @Benchmark @Threads(1) public Integer hilos1() {
+        return opera();
+    }
+
+    @Benchmark @Threads(2) public Integer hilos2() {
+        return opera();
+    }
+
+    @Benchmark @Threads(4) public Integer hilos4() {
+        return opera();
+    }
+
+    @Benchmark @Threads(Threads.MAX) public Integer hilosMax() {
+        return opera();
+    }
+}
@@ -0,0 +1,55 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Diccionario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latencia de cada {@link Diccionario#agrega} individual, con y sin
+ * crecimiento incremental. Los percentiles altos muestran el costo de la
+ * inserción que dispara el crecimiento.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchRedimension {
+
+    @Param({ "100000", "1000000" })
+    private int n;
+
+    @Param({ "false", "true" })
+    private boolean incremental;
+
+    private Integer[] llaves;
+    private Diccionario<Integer, Integer> diccionario;
+    private int siguiente;
+
+    @Setup public void prepara() {
+        llaves = Distribucion.ORDENADA.enteros(n);
+        siguiente = n;
+    }
+
+    @Benchmark public Diccionario<Integer, Integer> agrega() {
+        if (siguiente == n) {
+            diccionario = new Diccionario<Integer, Integer>();
+            diccionario.setRedimensionIncremental(incremental);
+            siguiente = 0;
+        }
+        diccionario.agrega(llaves[siguiente], llaves[siguiente]);
+        siguiente++;
+        return diccionario;
+    }
+}
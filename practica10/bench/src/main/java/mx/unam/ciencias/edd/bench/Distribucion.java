@@ -0,0 +1,62 @@
+package mx.unam.ciencias.edd.bench;
+
+import java.util.Random;
+
+/**
+ * Distribuciones de llaves para las pruebas de rendimiento.
+ */
+public enum Distribucion {
+
+    /** Enteros aleatorios en [0, <i>n</i>), posiblemente repetidos. */
+    ALEATORIA,
+    /** Los enteros 0, 1, ..., <i>n</i>-1 en orden. */
+    ORDENADA,
+    /**
+     * Múltiplos de 1024 en orden: degeneran los árboles no balanceados y
+     * caen en las mismas cubetas de un diccionario que enmascara
+     * <code>hashCode()</code>.
+     */
+    ADVERSARIA;
+
+    /* Desplazamiento de las llaves adversarias. */
+    private static final int CORRIMIENTO = 10;
+
+    /**
+     * Genera <i>n</i> llaves con esta distribución. Las llaves aleatorias se
+     * generan con una semilla fija para que las corridas sean comparables.
+     * @param n el número de llaves.
+     * @return un arreglo con las llaves.
+     */
+    public int[] llaves(int n) {
+        int[] a = new int[n];
+        switch (this) {
+            case ALEATORIA:
+                Random random = new Random(n);
+                for (int i = 0; i < n; i++)
+                    a[i] = random.nextInt(n);
+                break;
+            case ORDENADA:
+                for (int i = 0; i < n; i++)
+                    a[i] = i;
+                break;
+            case ADVERSARIA:
+                for (int i = 0; i < n; i++)
+                    a[i] = i << CORRIMIENTO;
+                break;
+        }
+        return a;
+    }
+
+    /**
+     * Genera <i>n</i> llaves en cajas con esta distribución.
+     * @param n el número de llaves.
+     * @return un arreglo con las llaves.
+     */
+    public Integer[] enteros(int n) {
+        int[] a = llaves(n);
+        Integer[] r = new Integer[n];
+        for (int i = 0; i < n; i++)
+            r[i] = a[i];
+        return r;
+    }
+}
@@ -9,5 +9,15 @@ public enum AlgoritmoPicadillo {
     /** Algoritmo de GLib para cadenas. */
     GLIB_STRING,
     /** Algoritmo de XOR para cadenas. */
-    XOR_STRING;
+    XOR_STRING,
+    /** xxHash de 32 bits. */
+    XXHASH32,
+    /** xxHash de 64 bits. */
+    XXHASH64,
+    /** MurmurHash3 de 32 bits (la variante x86_32). */
+    MURMUR3,
+    /** wyhash (versión final 4) de 64 bits. */
+    WYHASH,
+    /** SipHash-1-3 de 64 bits, pensado para usarse con una semilla secreta. */
+    SIPHASH13;
 }
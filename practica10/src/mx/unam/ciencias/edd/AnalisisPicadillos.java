@@ -0,0 +1,430 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Análisis de la calidad de picadillos de cadenas sobre corpus de llaves.
+ * Para cada picadillo se mide:
+ *
+ * <ul>
+ *   <li>la avalancha: qué fracción de los 32 bits del picadillo cambia al
+ *       cambiar un bit de la llave (lo ideal es la mitad), y el sesgo de
+ *       avalancha, la mayor distancia a 1/2 de la probabilidad de que cambie
+ *       un bit de salida en particular;</li>
+ *   <li>el sesgo de bits: la mayor distancia a 1/2 de la fracción de llaves
+ *       con un bit de salida encendido;</li>
+ *   <li>la chi cuadrada de las cubetas que se obtienen con una máscara de
+ *       potencia de dos, como la de {@link Diccionario}, dividida entre sus
+ *       grados de libertad: cerca de 1 es una distribución uniforme, y muy
+ *       arriba de 1 son cubetas amontonadas;</li>
+ *   <li>un tiempo aproximado por picadillo, en nanosegundos. Para medirlo
+ *       con cuidado está <code>BenchAlgoritmosPicadillo</code>.</li>
+ * </ul>
+ *
+ * <p>Desde la línea de comandos analiza todos los {@link AlgoritmoPicadillo}
+ * sobre cada {@link Corpus} y sobre los archivos que reciba, con una llave por
+ * renglón.</p>
+ */
+public class AnalisisPicadillos {
+
+    /**
+     * Corpus de llaves generados.
+     */
+    public enum Corpus {
+        /** Identificadores consecutivos, como <code>id00000001</code>. */
+        SECUENCIAL,
+        /** UUIDs aleatorios de la versión 4. */
+        UUID,
+        /** URLs con dominio, ruta y parámetros. */
+        URL,
+        /** Palabras formadas con sílabas del español. */
+        PALABRAS;
+    }
+
+    /**
+     * Resultado del análisis de un picadillo sobre un corpus.
+     */
+    public static final class Resultado {
+
+        /* Número de llaves analizadas. */
+        private final int llaves;
+        /* Fracción promedio de bits que cambian por bit de entrada. */
+        private final double avalancha;
+        /* Mayor distancia a 1/2 de la avalancha de un bit de salida. */
+        private final double sesgoAvalancha;
+        /* Mayor distancia a 1/2 de la fracción de un bit de salida. */
+        private final double sesgoBits;
+        /* Bits de las máscaras de cubetas. */
+        private final int[] bits;
+        /* Chi cuadrada entre grados de libertad de cada máscara. */
+        private final double[] chiCuadrada;
+        /* Nanosegundos por picadillo. */
+        private final double nsPorPicadillo;
+
+        /* Analiza el picadillo sobre las llaves. */
+        private Resultado(Picadillo<String> p, String[] llaves) {
+            this.llaves = llaves.length;
+            long[] cambios = new long[32];
+            long total = avalancha(p, llaves, cambios);
+            double suma = 0.0, sesgo = 0.0;
+            for (long c : cambios) {
+                double f = (c + 0.0) / total;
+                suma += f;
+                sesgo = Math.max(sesgo, Math.abs(f - 0.5));
+            }
+            avalancha = suma / 32;
+            sesgoAvalancha = sesgo;
+            sesgoBits = AnalisisPicadillos.sesgoBits(p, llaves);
+            int b = 31 - Integer.numberOfLeadingZeros(llaves.length);
+            bits = new int[] { Math.max(b - 4, 1), b + 1 };
+            chiCuadrada = new double[bits.length];
+            for (int i = 0; i < bits.length; i++)
+                chiCuadrada[i] = AnalisisPicadillos.chiCuadrada(p, llaves, bits[i]);
+            nsPorPicadillo = AnalisisPicadillos.nsPorPicadillo(p, llaves);
+        }
+
+        /**
+         * Regresa el número de llaves analizadas.
+         * @return el número de llaves analizadas.
+         */
+        public int getLlaves() {
+            return llaves;
+        }
+
+        /**
+         * Regresa la fracción promedio de bits del picadillo que cambian al
+         * cambiar un bit de la llave; lo ideal es 0.5.
+         * @return la avalancha promedio.
+         */
+        public double getAvalancha() {
+            return avalancha;
+        }
+
+        /**
+         * Regresa la mayor distancia a 1/2 de la probabilidad de que cambie un
+         * bit de salida al cambiar un bit de la llave; lo ideal es 0.
+         * @return el sesgo de avalancha.
+         */
+        public double getSesgoAvalancha() {
+            return sesgoAvalancha;
+        }
+
+        /**
+         * Regresa la mayor distancia a 1/2 de la fracción de llaves con un bit
+         * de salida encendido; lo ideal es 0.
+         * @return el sesgo de bits.
+         */
+        public double getSesgoBits() {
+            return sesgoBits;
+        }
+
+        /**
+         * Regresa los bits de las máscaras con que se midió la chi cuadrada:
+         * una con unas 16 llaves por cubeta, y otra con el tamaño de la tabla
+         * de un {@link Diccionario} con esas llaves.
+         * @return una copia de los bits de las máscaras.
+         */
+        public int[] getBits() {
+            return bits.clone();
+        }
+
+        /**
+         * Regresa la chi cuadrada entre grados de libertad de cada máscara de
+         * {@link #getBits}.
+         * @return una copia de las chi cuadradas.
+         */
+        public double[] getChiCuadrada() {
+            return chiCuadrada.clone();
+        }
+
+        /**
+         * Regresa el tiempo aproximado por picadillo.
+         * @return los nanosegundos por picadillo.
+         */
+        public double getNsPorPicadillo() {
+            return nsPorPicadillo;
+        }
+
+        /**
+         * Regresa el resultado en formato JSON.
+         * @return el resultado en formato JSON.
+         */
+        @Override public String toString() {
+            StringBuilder chi = new StringBuilder("{");
+            for (int i = 0; i < bits.length; i++)
+                chi.append(String.format("%s\"%d\": %s", i == 0 ? "" : ", ",
+                                         bits[i], chiCuadrada[i]));
+            chi.append("}");
+            return String.format("{\"llaves\": %d, \"avalancha\": %s, " +
+                                 "\"sesgoAvalancha\": %s, \"sesgoBits\": %s, " +
+                                 "\"chiCuadrada\": %s, \"nsPorPicadillo\": %s}",
+                                 llaves, avalancha, sesgoAvalancha, sesgoBits,
+                                 chi, nsPorPicadillo);
+        }
+    }
+
+    /** Número de llaves de los corpus de la línea de comandos. */
+    public static final int LLAVES = 1 << 16;
+    /* Cuántas llaves se usan para medir la avalancha. */
+    private static final int MUESTRAS_AVALANCHA = 1024;
+    /* Tiempo mínimo midiendo picadillos, en nanosegundos. */
+    private static final long TIEMPO_MINIMO = 100000000L;
+
+    /* Sílabas para formar palabras. */
+    private static final String[] SILABAS = {
+        "a", "e", "i", "o", "u", "ba", "be", "bi", "bo", "ca", "co", "cu",
+        "da", "de", "do", "es", "fa", "fi", "ga", "go", "la", "le", "li", "lo",
+        "ma", "me", "mi", "mo", "na", "ne", "no", "pa", "pe", "po", "que",
+        "ra", "re", "ri", "ro", "sa", "se", "si", "so", "ta", "te", "ti", "to",
+        "tra", "tre", "va", "ve", "vi", "za", "zo", "cion", "mente", "dor"
+    };
+    /* Dominios para las URLs. */
+    private static final String[] DOMINIOS = {
+        "www.unam.mx", "www.ciencias.unam.mx", "ejemplo.com", "api.ejemplo.com",
+        "es.wikipedia.org", "github.com", "docs.oracle.com"
+    };
+
+    /* Para que el compilador no quite los picadillos medidos. */
+    private static volatile int sumidero;
+
+    /**
+     * Genera un corpus de llaves distintas.
+     * @param corpus el corpus que se desea.
+     * @param n el número de llaves.
+     * @param semilla la semilla del generador de números aleatorios.
+     * @return un arreglo con n llaves distintas.
+     */
+    public static String[] corpus(Corpus corpus, int n, long semilla) {
+        Random random = new Random(semilla);
+        String[] llaves = new String[n];
+        Conjunto<String> vistas = new Conjunto<String>(n);
+        int i = 0;
+        while (i < n) {
+            String llave;
+            switch (corpus) {
+                case SECUENCIAL:
+                    llave = String.format("id%08d", i);
+                    break;
+                case UUID:
+                    long alto = random.nextLong(), bajo = random.nextLong();
+                    alto = (alto & ~0xf000L) | 0x4000L;
+                    bajo = (bajo & ~(3L << 62)) | (1L << 63);
+                    llave = new java.util.UUID(alto, bajo).toString();
+                    break;
+                case URL:
+                    llave = "https://" +
+                        DOMINIOS[random.nextInt(DOMINIOS.length)] + "/" +
+                        palabra(random) + "/" + palabra(random) + "?id=" +
+                        random.nextInt(100000);
+                    break;
+                default:
+                    llave = palabra(random);
+            }
+            if (vistas.contiene(llave))
+                continue;
+            vistas.agrega(llave);
+            llaves[i++] = llave;
+        }
+        return llaves;
+    }
+
+    /**
+     * Lee un corpus de llaves de un archivo en UTF-8, con una llave por
+     * renglón. Los renglones vacíos y repetidos se ignoran.
+     * @param archivo la ruta del archivo.
+     * @return las llaves del archivo.
+     * @throws IOException si no se puede leer el archivo.
+     */
+    public static String[] corpus(String archivo) throws IOException {
+        List<String> renglones =
+            Files.readAllLines(Paths.get(archivo), StandardCharsets.UTF_8);
+        Conjunto<String> vistas = new Conjunto<String>(renglones.size());
+        Lista<String> llaves = new Lista<String>();
+        for (String r : renglones) {
+            if (r.isEmpty() || vistas.contiene(r))
+                continue;
+            vistas.agrega(r);
+            llaves.agregaFinal(r);
+        }
+        String[] a = new String[llaves.getLongitud()];
+        int i = 0;
+        for (String llave : llaves)
+            a[i++] = llave;
+        return a;
+    }
+
+    /* Forma una palabra de una a cinco sílabas. */
+    private static String palabra(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int n = 1 + random.nextInt(5);
+        for (int i = 0; i < n; i++)
+            sb.append(SILABAS[random.nextInt(SILABAS.length)]);
+        return sb.toString();
+    }
+
+    /**
+     * Analiza un picadillo sobre un corpus de llaves.
+     * @param picadillo el picadillo.
+     * @param llaves las llaves; no deben repetirse.
+     * @return el resultado del análisis.
+     * @throws IllegalArgumentException si hay menos de dos llaves.
+     */
+    public static Resultado analiza(Picadillo<String> picadillo,
+                                    String[] llaves) {
+        if (llaves.length < 2)
+            throw new IllegalArgumentException();
+        return new Resultado(picadillo, llaves);
+    }
+
+    /* Cambia uno por uno los siete bits bajos de cada carácter ASCII de
+     * algunas llaves, y cuenta cuántas veces cambia cada bit del picadillo.
+     * Regresa el número de cambios hechos. */
+    private static long avalancha(Picadillo<String> p, String[] llaves,
+                                  long[] cambios) {
+        int paso = Math.max(llaves.length / MUESTRAS_AVALANCHA, 1);
+        long total = 0;
+        for (int i = 0; i < llaves.length; i += paso) {
+            int h = p.picadillo(llaves[i]);
+            char[] c = llaves[i].toCharArray();
+            for (int j = 0; j < c.length; j++) {
+                char original = c[j];
+                if (original >= 0x80)
+                    continue;
+                for (int b = 0; b < 7; b++) {
+                    c[j] = (char)(original ^ (1 << b));
+                    int d = h ^ p.picadillo(new String(c));
+                    for (int k = 0; k < 32; k++)
+                        cambios[k] += (d >>> k) & 1;
+                    total++;
+                }
+                c[j] = original;
+            }
+        }
+        return Math.max(total, 1);
+    }
+
+    /**
+     * Regresa la mayor distancia a 1/2 de la fracción de llaves que tienen
+     * encendido un bit del picadillo.
+     * @param picadillo el picadillo.
+     * @param llaves las llaves.
+     * @return el sesgo de bits.
+     */
+    public static double sesgoBits(Picadillo<String> picadillo,
+                                   String[] llaves) {
+        long[] unos = new long[32];
+        for (String llave : llaves) {
+            int h = picadillo.picadillo(llave);
+            for (int k = 0; k < 32; k++)
+                unos[k] += (h >>> k) & 1;
+        }
+        double sesgo = 0.0;
+        for (long u : unos)
+            sesgo = Math.max(sesgo,
+                             Math.abs((u + 0.0) / llaves.length - 0.5));
+        return sesgo;
+    }
+
+    /**
+     * Regresa la chi cuadrada de las cubetas de las llaves con la máscara de
+     * los bits bajos del picadillo, como en {@link Diccionario}, dividida
+     * entre los grados de libertad.
+     * @param picadillo el picadillo.
+     * @param llaves las llaves.
+     * @param bits los bits de la máscara, entre 1 y 30.
+     * @return la chi cuadrada entre los grados de libertad.
+     * @throws IllegalArgumentException si los bits no están entre 1 y 30.
+     */
+    public static double chiCuadrada(Picadillo<String> picadillo,
+                                     String[] llaves, int bits) {
+        if (bits < 1 || bits > 30)
+            throw new IllegalArgumentException();
+        int[] cubetas = new int[1 << bits];
+        int mascara = cubetas.length - 1;
+        for (String llave : llaves)
+            cubetas[picadillo.picadillo(llave) & mascara]++;
+        double esperado = (llaves.length + 0.0) / cubetas.length, chi = 0.0;
+        for (int c : cubetas)
+            chi += (c - esperado) * (c - esperado) / esperado;
+        return chi / (cubetas.length - 1);
+    }
+
+    /**
+     * Regresa un tiempo aproximado por picadillo, después de calentar el
+     * picadillo con las mismas llaves.
+     * @param picadillo el picadillo.
+     * @param llaves las llaves.
+     * @return los nanosegundos por picadillo.
+     */
+    public static double nsPorPicadillo(Picadillo<String> picadillo,
+                                        String[] llaves) {
+        int h = 0;
+        for (int r = 0; r < 10; r++)
+            for (String llave : llaves)
+                h ^= picadillo.picadillo(llave);
+        long picadillos = 0, inicio = System.nanoTime(), tiempo;
+        do {
+            for (String llave : llaves)
+                h ^= picadillo.picadillo(llave);
+            picadillos += llaves.length;
+            tiempo = System.nanoTime() - inicio;
+        } while (tiempo < TIEMPO_MINIMO);
+        sumidero = h;
+        return (tiempo + 0.0) / picadillos;
+    }
+
+    /* Imprime el análisis de todos los algoritmos sobre un corpus. */
+    private static void imprime(String nombre, String[] llaves) {
+        System.out.printf("%s (%d llaves)\n", nombre, llaves.length);
+        int b = 31 - Integer.numberOfLeadingZeros(llaves.length);
+        System.out.printf("  %-12s %10s %10s %10s %10s %10s %8s\n",
+                          "algoritmo", "avalancha", "sesgo av.", "sesgo bits",
+                          "chi2/" + Math.max(b - 4, 1), "chi2/" + (b + 1),
+                          "ns");
+        for (AlgoritmoPicadillo a : AlgoritmoPicadillo.values()) {
+            Resultado r = analiza(FabricaPicadillos.getInstancia(a), llaves);
+            double[] chi = r.getChiCuadrada();
+            System.out.printf("  %-12s %10.4f %10.4f %10.4f %10.3f %10.3f %8.1f\n",
+                              a, r.getAvalancha(), r.getSesgoAvalancha(),
+                              r.getSesgoBits(), chi[0], chi[1],
+                              r.getNsPorPicadillo());
+        }
+        System.out.println();
+    }
+
+    /* Imprime el uso del programa y lo termina. */
+    private static void uso() {
+        System.err.println("Uso: java -cp practica10.jar " +
+                           "mx.unam.ciencias.edd.AnalisisPicadillos " +
+                           "[N] [archivo...]");
+        System.exit(1);
+    }
+
+    public static void main(String[] args) {
+        int n = LLAVES, i = 0;
+        if (args.length > 0 && args[0].matches("[0-9]+")) {
+            n = Integer.parseInt(args[0]);
+            i = 1;
+        }
+        if (n < 2)
+            uso();
+        for (Corpus c : Corpus.values())
+            imprime(c.toString(), corpus(c, n, n));
+        for (; i < args.length; i++) {
+            try {
+                String[] llaves = corpus(args[i]);
+                if (llaves.length < 2)
+                    uso();
+                imprime(args[i], llaves);
+            } catch (IOException ioe) {
+                System.err.printf("No se pudo leer %s.\n", args[i]);
+                System.exit(1);
+            }
+        }
+    }
+}
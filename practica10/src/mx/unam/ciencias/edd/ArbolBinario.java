@@ -154,6 +154,8 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
     protected int elementos;
     /** El vértice del último elemento agegado. */
     protected Vertice ultimoAgregado;
+    /** Si los recorridos usan colas y pilas sobre arreglos. */
+    protected boolean recorridosEnArreglo = true;
 
     /**
      * Constructor sin parámetros. Para no perder el constructor sin parámetros.
@@ -185,6 +187,38 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         return new Vertice(elemento);
     }
 
+    /**
+     * Define si los recorridos del árbol, como los de sus iteradores, usan
+     * {@link ColaArreglo} y {@link PilaArreglo} en lugar de {@link Cola} y
+     * {@link Pila}. Los arreglos no crean un nodo por cada vértice que pasa
+     * por ellos; es el comportamiento predeterminado. El orden de los
+     * recorridos es el mismo en ambos casos.
+     * @param enArreglo si los recorridos usan colas y pilas sobre arreglos.
+     */
+    public void setRecorridosEnArreglo(boolean enArreglo) {
+        this.recorridosEnArreglo = enArreglo;
+    }
+
+    /**
+     * Regresa una cola nueva para un recorrido, sobre un arreglo o ligada
+     * según {@link #setRecorridosEnArreglo}.
+     * @param <E> el tipo de los elementos de la cola.
+     * @return una cola nueva.
+     */
+    protected <E> Cola<E> nuevaCola() {
+        return recorridosEnArreglo ? new ColaArreglo<E>() : new Cola<E>();
+    }
+
+    /**
+     * Regresa una pila nueva para un recorrido, sobre un arreglo o ligada
+     * según {@link #setRecorridosEnArreglo}.
+     * @param <E> el tipo de los elementos de la pila.
+     * @return una pila nueva.
+     */
+    protected <E> Pila<E> nuevaPila() {
+        return recorridosEnArreglo ? new PilaArreglo<E>() : new Pila<E>();
+    }
+
     private int profundidad(Vertice v) {
         if (v == null) {
             return -1;
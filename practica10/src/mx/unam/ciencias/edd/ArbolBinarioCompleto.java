@@ -18,7 +18,7 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
 
         /* Constructor que recibe la raíz del árbol. */
         public Iterador() {
-            cola = new Cola<ArbolBinario<T>.Vertice>();
+            cola = nuevaCola();
             if (raiz != null) cola.mete(raiz);
         }
 
@@ -138,7 +138,7 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
      * @param elemento el elemento a eliminar.
      */
     @Override public void elimina(T elemento) {
-        Cola<Vertice> vertices = new Cola<Vertice>();
+        Cola<Vertice> vertices = nuevaCola();
         Vertice vi = this.raiz;
         Boolean eliminado = false;
         Vertice aux = vi;
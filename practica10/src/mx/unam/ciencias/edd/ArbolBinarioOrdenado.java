@@ -25,7 +25,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
 
         /* Construye un iterador con el vértice recibido. */
         public Iterador() {
-            pila = new Pila<ArbolBinario<T>.Vertice>();
+            pila = nuevaPila();
             if (esVacio()) {
                 return;
             }
@@ -8,9 +8,12 @@ public class Cola<T> extends MeteSaca<T> {
     /**
      * Agrega un elemento al final de la cola.
      * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     * @throws IllegalStateException si la cola está llena.
      */
     @Override public void mete(T elemento) {
         if (elemento == null) throw new IllegalArgumentException();
+        if (this.elementos >= this.limite) throw new IllegalStateException();
         Nodo n = new Nodo(elemento);
         if (this.esVacia()) {
         	this.cabeza = n;
@@ -18,5 +21,45 @@ public class Cola<T> extends MeteSaca<T> {
         	this.rabo.siguiente = n;
         }
         this.rabo = n;
+        this.elementos++;
+        if (this.registraMaximo && this.elementos > this.maximo)
+            this.maximo = this.elementos;
+    }
+
+    /**
+     * Agrega todos los elementos de una colección al final de la cola, en el
+     * orden en que los recorre su iterador. Los nodos se encadenan aparte y
+     * se enlazan a la cola de una vez, así que si algún elemento es nulo, o
+     * si no caben todos, la cola no cambia.
+     * @param coleccion la colección con los elementos a agregar.
+     * @throws IllegalArgumentException si alguno de los elementos es nulo.
+     * @throws IllegalStateException si no caben todos los elementos.
+     */
+    @Override public void meteTodos(Coleccion<T> coleccion) {
+        Nodo primero = null;
+        Nodo ultimo = null;
+        int n = 0;
+        for (T elemento : coleccion) {
+            if (elemento == null) throw new IllegalArgumentException();
+            Nodo nodo = new Nodo(elemento);
+            if (primero == null) {
+                primero = nodo;
+            } else {
+                ultimo.siguiente = nodo;
+            }
+            ultimo = nodo;
+            n++;
+        }
+        if (primero == null)
+            return;
+        if ((long)this.getElementos() + n > this.getLimite())
+            throw new IllegalStateException();
+        if (this.esVacia()) {
+            this.cabeza = primero;
+        } else {
+            this.rabo.siguiente = primero;
+        }
+        this.rabo = ultimo;
+        this.ajustaElementos(n);
     }
 }
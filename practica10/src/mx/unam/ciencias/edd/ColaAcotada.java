@@ -0,0 +1,419 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Cola de capacidad fija que se puede usar desde varios hilos productores y
+ * consumidores a la vez, sin cerrojos.</p>
+ *
+ * <p>Es la cola de Vyukov: un anillo de casillas donde cada una guarda, junto
+ * al elemento, un número de secuencia que dice de quién es el turno. La
+ * casilla de la posición <i>p</i> está lista para meter cuando su secuencia
+ * vale <i>p</i>, y lista para sacar cuando vale <i>p</i>+1; sacar la deja en
+ * <i>p</i> más la capacidad, que es la posición en la que el anillo vuelve a
+ * pasar por ella. Productores y consumidores sólo compiten entre ellos por
+ * su contador, y los dos contadores están separados por relleno para que no
+ * compartan línea de caché.</p>
+ *
+ * <p>{@link #mete} lanza {@link IllegalStateException} si la cola está llena;
+ * {@link #intentaMete} regresa <code>false</code> y {@link #meteEspera}
+ * espera a que haya lugar. La cola se llena al ocupar todas sus casillas, o
+ * antes si se le fija un límite menor con {@link #setLimite}; ese límite se
+ * puede rebasar por a lo más un elemento (o un lote) por hilo que mete a la
+ * vez. {@link #getElementos} es la diferencia de los dos contadores.</p>
+ */
+public class ColaAcotada<T> extends Cola<T> implements ColaBloqueante<T> {
+
+    /* Capacidad predeterminada. */
+    private static final int CAPACIDAD = 1024;
+    /* Distancia en longs entre contadores: 128 bytes. */
+    private static final int RELLENO = 16;
+    /* Índice del contador de los productores. */
+    private static final int ENTRADA = RELLENO;
+    /* Índice del contador de los consumidores. */
+    private static final int SALIDA = 2 * RELLENO;
+
+    /* Acceso atómico a los contadores y a las secuencias. */
+    private static final VarHandle LONGS =
+        MethodHandles.arrayElementVarHandle(long[].class);
+
+    /* Los elementos. */
+    private final Object[] casillas;
+    /* La secuencia de cada casilla. */
+    private final long[] secuencias;
+    /* Los contadores, con relleno antes, entre y después de ellos. */
+    private final long[] contadores;
+    /* La capacidad menos uno. */
+    private final int mascara;
+    /* El máximo de elementos registrado. */
+    private final Cuenta cuenta = new Cuenta();
+
+    /**
+     * Construye una cola vacía con la capacidad predeterminada.
+     */
+    public ColaAcotada() {
+        this(CAPACIDAD);
+    }
+
+    /**
+     * Construye una cola vacía en la que caben <code>capacidad</code>
+     * elementos. La capacidad se redondea a la siguiente potencia de 2, y es
+     * al menos 2.
+     * @param capacidad la capacidad de la cola.
+     * @throws IllegalArgumentException si la capacidad no es positiva, o es
+     *         mayor que 2<sup>30</sup>.
+     */
+    public ColaAcotada(int capacidad) {
+        if (capacidad < 1 || capacidad > 1 << 30)
+            throw new IllegalArgumentException();
+        int n = Math.max(2, Integer.highestOneBit(capacidad - 1) << 1);
+        mascara = n - 1;
+        casillas = new Object[n];
+        secuencias = new long[n];
+        for (int i = 0; i < n; i++)
+            secuencias[i] = i;
+        contadores = new long[3 * RELLENO];
+        VarHandle.releaseFence();
+    }
+
+    /**
+     * Regresa cuántos elementos caben en la cola.
+     * @return la capacidad de la cola.
+     */
+    public int getCapacidad() {
+        return casillas.length;
+    }
+
+    /* Regresa la secuencia de la casilla. */
+    private long secuencia(int casilla) {
+        return (long)LONGS.getAcquire(secuencias, casilla);
+    }
+
+    /* Regresa un contador. */
+    private long contador(int i) {
+        return (long)LONGS.getAcquire(contadores, i);
+    }
+
+    /**
+     * Agrega un elemento al final de la cola, sin esperar.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     * @throws IllegalStateException si la cola está llena.
+     */
+    @Override public void mete(T elemento) {
+        if (!intentaMete(elemento))
+            throw new IllegalStateException();
+    }
+
+    /**
+     * Agrega un elemento al final de la cola si hay lugar, sin esperar.
+     * @param elemento el elemento a agregar.
+     * @return <code>true</code> si el elemento se agregó,
+     *         <code>false</code> si la cola estaba llena.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     */
+    @Override public boolean intentaMete(T elemento) {
+        if (elemento == null) throw new IllegalArgumentException();
+        if (estaLlena())
+            return false;
+        long p = contador(ENTRADA);
+        while (true) {
+            int c = (int)p & mascara;
+            long d = secuencia(c) - p;
+            if (d == 0) {
+                if (LONGS.compareAndSet(contadores, ENTRADA, p, p + 1)) {
+                    casillas[c] = elemento;
+                    LONGS.setRelease(secuencias, c, p + 1);
+                    ajustaElementos(1);
+                    return true;
+                }
+                p = contador(ENTRADA);
+            } else if (d < 0) {
+                return false;
+            } else {
+                p = contador(ENTRADA);
+            }
+        }
+    }
+
+    /**
+     * Agrega un elemento al final de la cola, esperando a que haya lugar.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    @Override public void meteEspera(T elemento) throws InterruptedException {
+        Espera.mete(this, elemento);
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, sin esperar.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T saca() {
+        T elemento = intentaSaca();
+        if (elemento == null)
+            throw new NoSuchElementException();
+        return elemento;
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa si hay uno, sin
+     * esperar.
+     * @return el elemento al inicio de la cola, o <code>null</code> si la
+     *         cola estaba vacía.
+     */
+    @Override public T intentaSaca() {
+        long p = contador(SALIDA);
+        while (true) {
+            int c = (int)p & mascara;
+            long d = secuencia(c) - (p + 1);
+            if (d == 0) {
+                if (LONGS.compareAndSet(contadores, SALIDA, p, p + 1)) {
+                    @SuppressWarnings("unchecked") T elemento = (T)casillas[c];
+                    casillas[c] = null;
+                    LONGS.setRelease(secuencias, c, p + mascara + 1);
+                    return elemento;
+                }
+                p = contador(SALIDA);
+            } else if (d < 0) {
+                return null;
+            } else {
+                p = contador(SALIDA);
+            }
+        }
+    }
+
+    /**
+     * Agrega todos los elementos de una colección al final de la cola, en el
+     * orden en que los recorre su iterador. Una sola comparación e
+     * intercambio aparta todas las casillas, así que los elementos quedan
+     * juntos aunque otros hilos metan a la vez.
+     * @param coleccion la colección con los elementos a agregar.
+     * @throws IllegalArgumentException si alguno de los elementos es nulo.
+     * @throws IllegalStateException si no caben todos los elementos.
+     * En ambos casos la cola no cambia.
+     */
+    @Override public void meteTodos(Coleccion<T> coleccion) {
+        Object[] lote = new Object[coleccion.getElementos()];
+        int n = 0;
+        for (T elemento : coleccion) {
+            if (elemento == null) throw new IllegalArgumentException();
+            lote[n++] = elemento;
+        }
+        if (n == 0)
+            return;
+        if (n > casillas.length || (long)getElementos() + n > getLimite())
+            throw new IllegalStateException();
+        long p = contador(ENTRADA);
+        while (true) {
+            int k = 0;
+            long d = 0;
+            while (k < n &&
+                   (d = secuencia((int)(p + k) & mascara) - (p + k)) == 0)
+                k++;
+            if (k == n && LONGS.compareAndSet(contadores, ENTRADA, p, p + n)) {
+                for (int j = 0; j < n; j++) {
+                    int c = (int)(p + j) & mascara;
+                    casillas[c] = lote[j];
+                    LONGS.setRelease(secuencias, c, p + j + 1);
+                }
+                ajustaElementos(n);
+                return;
+            }
+            if (d < 0)
+                throw new IllegalStateException();
+            p = contador(ENTRADA);
+        }
+    }
+
+    /**
+     * Elimina hasta <code>n</code> elementos del inicio de la cola y los
+     * guarda en orden al inicio del arreglo. Cada comparación e intercambio
+     * aparta tantas casillas llenas seguidas como encuentre, en lugar de una.
+     * @param n cuántos elementos sacar como máximo.
+     * @param destino el arreglo donde se guardan los elementos.
+     * @return cuántos elementos se sacaron.
+     * @throws IllegalArgumentException si <code>n</code> es negativo o mayor
+     *         que la longitud del arreglo.
+     */
+    @Override public int saca(int n, T[] destino) {
+        if (n < 0 || n > destino.length)
+            throw new IllegalArgumentException();
+        if (n == 0)
+            return 0;
+        long p = contador(SALIDA);
+        while (true) {
+            int k = 0;
+            while (k < n && secuencia((int)(p + k) & mascara) == p + k + 1)
+                k++;
+            if (k == 0) {
+                if (secuencia((int)p & mascara) - (p + 1) < 0)
+                    return 0;
+            } else if (LONGS.compareAndSet(contadores, SALIDA, p, p + k)) {
+                for (int j = 0; j < k; j++) {
+                    int c = (int)(p + j) & mascara;
+                    @SuppressWarnings("unchecked") T elemento = (T)casillas[c];
+                    destino[j] = elemento;
+                    casillas[c] = null;
+                    LONGS.setRelease(secuencias, c, p + j + mascara + 1);
+                }
+                return k;
+            }
+            p = contador(SALIDA);
+        }
+    }
+
+    /**
+     * Elimina hasta <code>max</code> elementos del inicio de la cola y los
+     * agrega en orden a la colección, sacándolos en lotes con {@link
+     * #saca(int, Object[])}. Si la colección lanza una excepción al agregar,
+     * los elementos del lote que no alcanzó a recibir se pierden: ya habían
+     * salido de la cola.
+     * @param coleccion la colección a la que se agregan los elementos.
+     * @param max cuántos elementos sacar como máximo.
+     * @return cuántos elementos se sacaron.
+     * @throws IllegalArgumentException si <code>max</code> es negativo.
+     */
+    @Override public int drenaA(Coleccion<T> coleccion, int max) {
+        return drenaEnLotes(coleccion, max);
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, esperando a que
+     * haya uno.
+     * @return el elemento al inicio de la cola.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    @Override public T sacaEspera() throws InterruptedException {
+        return Espera.saca(this, -1);
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, esperando a lo
+     * más el tiempo dado a que haya uno.
+     * @param tiempo cuánto esperar como máximo.
+     * @param unidad la unidad del tiempo.
+     * @return el elemento al inicio de la cola, o <code>null</code> si se
+     *         acabó el tiempo.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    @Override public T sacaEspera(long tiempo, TimeUnit unidad)
+        throws InterruptedException {
+        return Espera.saca(this, Math.max(0, unidad.toNanos(tiempo)));
+    }
+
+    /**
+     * Nos permite ver el elemento al inicio de la cola, sin sacarlo.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T mira() {
+        while (true) {
+            long p = contador(SALIDA);
+            int c = (int)p & mascara;
+            long d = secuencia(c) - (p + 1);
+            if (d < 0)
+                throw new NoSuchElementException();
+            if (d == 0) {
+                @SuppressWarnings("unchecked") T elemento = (T)casillas[c];
+                if (elemento != null && contador(SALIDA) == p)
+                    return elemento;
+            }
+        }
+    }
+
+    /**
+     * Nos dice si la cola está vacía.
+     * @return <tt>true</tt> si la cola no tiene elementos, <tt>false</tt> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        while (true) {
+            long p = contador(SALIDA);
+            long d = secuencia((int)p & mascara) - (p + 1);
+            if (d <= 0)
+                return d < 0;
+        }
+    }
+
+    /**
+     * Regresa el número de elementos en la cola, en tiempo constante. Con
+     * otros hilos usándola, es sólo una aproximación.
+     * @return el número de elementos en la cola.
+     */
+    @Override public int getElementos() {
+        long salida = contador(SALIDA);
+        long n = contador(ENTRADA) - salida;
+        return (int)Math.min(n, casillas.length);
+    }
+
+    /**
+     * Define si la cola registra el máximo de elementos que ha tenido.
+     * @param registraMaximo si se registra el máximo de elementos.
+     */
+    @Override public void setRegistraMaximo(boolean registraMaximo) {
+        cuenta.setRegistraMaximo(registraMaximo, getElementos());
+    }
+
+    /**
+     * Regresa el máximo de elementos que ha tenido la cola desde que se
+     * activó el registro con {@link #setRegistraMaximo}.
+     * @return el máximo de elementos registrado; 0 si nunca se ha activado.
+     */
+    @Override public int getMaximo() {
+        return cuenta.getMaximo();
+    }
+
+    /**
+     * Si se registra, actualiza el máximo cuando la cola crece. La cuenta de
+     * elementos sale de los contadores, así que no se lleva aparte.
+     * @param cambio cuántos elementos se metieron; negativo si se sacaron.
+     */
+    @Override protected void ajustaElementos(int cambio) {
+        if (cambio > 0 && cuenta.getRegistraMaximo())
+            cuenta.registra(getElementos());
+    }
+
+    /**
+     * Compara la cola con un objeto. Sólo tiene sentido si ningún otro hilo
+     * modifica las colas mientras tanto.
+     * @param o el objeto con el que queremos comparar la cola.
+     * @return <code>true</code> si el objeto recibido es una instancia de la
+     *         misma clase que la cola, y sus elementos son iguales en el
+     *         mismo orden; <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ColaAcotada<T> c = (ColaAcotada<T>)o;
+        long i = contador(SALIDA), n = contador(ENTRADA) - i;
+        long j = c.contador(SALIDA);
+        if (n != c.contador(ENTRADA) - j)
+            return false;
+        for (long k = 0; k < n; k++)
+            if (!casillas[(int)(i + k) & mascara].equals(
+                    c.casillas[(int)(j + k) & c.mascara]))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa un picadillo de la cola, consistente con {@link #equals}:
+     * combina los picadillos de sus elementos en orden. Como
+     * {@link #equals}, sólo tiene sentido si ningún otro hilo modifica la
+     * cola mientras tanto.
+     * @return un picadillo de la cola.
+     */
+    @Override public int hashCode() {
+        long i = contador(SALIDA), n = contador(ENTRADA) - i;
+        int h = 1;
+        for (long k = 0; k < n; k++)
+            h = 31 * h + casillas[(int)(i + k) & mascara].hashCode();
+        return h;
+    }
+}
@@ -0,0 +1,257 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para colas genéricas sobre un arreglo circular.</p>
+ *
+ * <p>Se comporta igual que {@link Cola}, pero no crea un nodo por elemento:
+ * los elementos viven en un arreglo que se usa como anillo y que se duplica
+ * cuando se llena. Si se pide con {@link #setEncoge}, el arreglo además se
+ * encoge a la mitad cuando queda a un cuarto de su capacidad, sin bajar de
+ * la capacidad inicial.</p>
+ */
+public class ColaArreglo<T> extends Cola<T> {
+
+    /* Capacidad inicial predeterminada. */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /* El anillo; su longitud es una potencia de 2. */
+    private T[] arreglo;
+    /* Índice del primer elemento en el anillo. */
+    private int inicio;
+    /* La capacidad inicial; el anillo nunca se encoge por debajo de ella. */
+    private int minima;
+    /* Si el anillo se encoge solo. */
+    private boolean encoge;
+
+    /* Truco para crear arreglos genéricos. */
+    @SuppressWarnings("unchecked") private T[] creaArregloGenerico(int n) {
+        return (T[])(new Object[n]);
+    }
+
+    /**
+     * Construye una cola vacía con la capacidad inicial predeterminada.
+     */
+    public ColaArreglo() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Construye una cola vacía en la que caben <code>capacidad</code>
+     * elementos antes de crecer. La capacidad se redondea a la siguiente
+     * potencia de 2.
+     * @param capacidad la capacidad inicial.
+     * @throws IllegalArgumentException si la capacidad no es positiva, o es
+     *         mayor que 2<sup>30</sup>.
+     */
+    public ColaArreglo(int capacidad) {
+        if (capacidad < 1 || capacidad > 1 << 30)
+            throw new IllegalArgumentException();
+        minima = Integer.highestOneBit(capacidad - 1) << 1;
+        if (minima == 0)
+            minima = 1;
+        arreglo = creaArregloGenerico(minima);
+    }
+
+    /**
+     * Define si el anillo se encoge a la mitad cuando queda a un cuarto de su
+     * capacidad. Sirve para colas que a veces crecen mucho y luego pasan
+     * mucho tiempo casi vacías; por omisión el anillo nunca se encoge.
+     * @param encoge si el anillo se encoge solo.
+     */
+    public void setEncoge(boolean encoge) {
+        this.encoge = encoge;
+    }
+
+    /**
+     * Regresa cuántos elementos caben en el anillo antes de que crezca.
+     * @return la capacidad actual de la cola.
+     */
+    public int getCapacidad() {
+        return arreglo.length;
+    }
+
+    /**
+     * Agrega un elemento al final de la cola.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     * @throws IllegalStateException si la cola está llena.
+     */
+    @Override public void mete(T elemento) {
+        if (elemento == null) throw new IllegalArgumentException();
+        if (elementos >= limite) throw new IllegalStateException();
+        if (elementos == arreglo.length)
+            redimensiona(arreglo.length * 2);
+        arreglo[(inicio + elementos) & (arreglo.length - 1)] = elemento;
+        elementos++;
+        if (registraMaximo && elementos > maximo)
+            maximo = elementos;
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T saca() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        T elemento = arreglo[inicio];
+        arreglo[inicio] = null;
+        inicio = (inicio + 1) & (arreglo.length - 1);
+        elementos--;
+        encogeSiSobra();
+        return elemento;
+    }
+
+    /**
+     * Agrega todos los elementos de una colección al final de la cola, en el
+     * orden en que los recorre su iterador. La colección se recorre una vez
+     * antes de meter nada, para revisar que no tenga nulos, y el anillo crece
+     * a lo más una vez.
+     * @param coleccion la colección con los elementos a agregar.
+     * @throws IllegalArgumentException si alguno de los elementos es nulo;
+     *         en ese caso la cola no cambia.
+     * @throws IllegalStateException si no caben todos los elementos; en ese
+     *         caso la cola no cambia.
+     */
+    @Override public void meteTodos(Coleccion<T> coleccion) {
+        for (T elemento : coleccion)
+            if (elemento == null) throw new IllegalArgumentException();
+        long total = (long)elementos + coleccion.getElementos();
+        if (total > getLimite())
+            throw new IllegalStateException();
+        if (total > arreglo.length && total <= 1 << 30)
+            redimensiona(Integer.highestOneBit((int)total - 1) << 1);
+        for (T elemento : coleccion)
+            mete(elemento);
+    }
+
+    /**
+     * Elimina hasta <code>n</code> elementos del inicio de la cola y los
+     * copia en orden al inicio del arreglo.
+     * @param n cuántos elementos sacar como máximo.
+     * @param destino el arreglo donde se guardan los elementos.
+     * @return cuántos elementos se sacaron.
+     * @throws IllegalArgumentException si <code>n</code> es negativo o mayor
+     *         que la longitud del arreglo.
+     */
+    @Override public int saca(int n, T[] destino) {
+        if (n < 0 || n > destino.length)
+            throw new IllegalArgumentException();
+        int k = Math.min(n, elementos);
+        int primera = Math.min(k, arreglo.length - inicio);
+        System.arraycopy(arreglo, inicio, destino, 0, primera);
+        System.arraycopy(arreglo, 0, destino, primera, k - primera);
+        Arrays.fill(arreglo, inicio, inicio + primera, null);
+        Arrays.fill(arreglo, 0, k - primera, null);
+        inicio = (inicio + k) & (arreglo.length - 1);
+        ajustaElementos(-k);
+        encogeSiSobra();
+        return k;
+    }
+
+    /**
+     * Elimina hasta <code>max</code> elementos del inicio de la cola y los
+     * agrega en orden a la colección. Si la colección lanza una excepción al
+     * agregar un elemento, ése y los que siguen se quedan en la cola.
+     * @param coleccion la colección a la que se agregan los elementos.
+     * @param max cuántos elementos sacar como máximo.
+     * @return cuántos elementos se sacaron.
+     * @throws IllegalArgumentException si <code>max</code> es negativo.
+     */
+    @Override public int drenaA(Coleccion<T> coleccion, int max) {
+        if (max < 0)
+            throw new IllegalArgumentException();
+        int k = Math.min(max, elementos);
+        for (int i = 0; i < k; i++) {
+            coleccion.agrega(arreglo[inicio]);
+            arreglo[inicio] = null;
+            inicio = (inicio + 1) & (arreglo.length - 1);
+            elementos--;
+        }
+        encogeSiSobra();
+        return k;
+    }
+
+    /**
+     * Nos permite ver el elemento al inicio de la cola, sin sacarlo.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T mira() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        return arreglo[inicio];
+    }
+
+    /**
+     * Nos dice si la cola está vacía.
+     * @return <tt>true</tt> si la cola no tiene elementos, <tt>false</tt> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Compara la cola con un objeto.
+     * @param o el objeto con el que queremos comparar la cola.
+     * @return <code>true</code> si el objeto recibido es una instancia de la
+     *         misma clase que la cola, y sus elementos son iguales en el
+     *         mismo orden; <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ColaArreglo<T> c = (ColaArreglo<T>)o;
+        if (elementos != c.elementos)
+            return false;
+        for (int i = 0; i < elementos; i++)
+            if (!elemento(i).equals(c.elemento(i)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa un picadillo de la cola, consistente con {@link #equals}:
+     * combina los picadillos de sus elementos en orden.
+     * @return un picadillo de la cola.
+     */
+    @Override public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < elementos; i++)
+            h = 31 * h + elemento(i).hashCode();
+        return h;
+    }
+
+    /* Regresa el i-ésimo elemento desde el inicio. */
+    private T elemento(int i) {
+        return arreglo[(inicio + i) & (arreglo.length - 1)];
+    }
+
+    /* Si el anillo se encoge solo, lo lleva a la menor capacidad a la que
+     * le sobren tres cuartos, sin bajar de la inicial. */
+    private void encogeSiSobra() {
+        if (!encoge)
+            return;
+        int capacidad = arreglo.length;
+        while (elementos <= capacidad / 4 && capacidad / 2 >= minima)
+            capacidad /= 2;
+        if (capacidad < arreglo.length)
+            redimensiona(capacidad);
+    }
+
+    /* Copia los elementos en orden al inicio de un anillo nuevo de la
+     * capacidad recibida. */
+    private void redimensiona(int capacidad) {
+        T[] nuevo = creaArregloGenerico(capacidad);
+        int primera = Math.min(elementos, arreglo.length - inicio);
+        System.arraycopy(arreglo, inicio, nuevo, 0, primera);
+        System.arraycopy(arreglo, 0, nuevo, primera, elementos - primera);
+        arreglo = nuevo;
+        inicio = 0;
+    }
+}
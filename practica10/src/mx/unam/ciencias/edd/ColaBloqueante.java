@@ -0,0 +1,83 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interfaz para colas que se comparten entre hilos productores y
+ * consumidores. Cada operación viene en tres versiones: {@link #mete} y
+ * {@link #saca}, que nunca esperan y lanzan una excepción si no pueden; las
+ * que empiezan con <code>intenta</code>, que tampoco esperan y regresan si
+ * pudieron; y las que terminan en <code>Espera</code>, que esperan a que haya
+ * lugar o elementos.
+ */
+public interface ColaBloqueante<T> {
+
+    /**
+     * Agrega un elemento al final de la cola, sin esperar.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     * @throws IllegalStateException si la cola está llena.
+     */
+    public void mete(T elemento);
+
+    /**
+     * Agrega un elemento al final de la cola si hay lugar, sin esperar.
+     * @param elemento el elemento a agregar.
+     * @return <code>true</code> si el elemento se agregó,
+     *         <code>false</code> si la cola estaba llena.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     */
+    public boolean intentaMete(T elemento);
+
+    /**
+     * Agrega un elemento al final de la cola, esperando a que haya lugar.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    public void meteEspera(T elemento) throws InterruptedException;
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, sin esperar.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    public T saca();
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa si hay uno, sin
+     * esperar.
+     * @return el elemento al inicio de la cola, o <code>null</code> si la
+     *         cola estaba vacía.
+     */
+    public T intentaSaca();
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, esperando a que
+     * haya uno.
+     * @return el elemento al inicio de la cola.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    public T sacaEspera() throws InterruptedException;
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, esperando a lo
+     * más el tiempo dado a que haya uno.
+     * @param tiempo cuánto esperar como máximo.
+     * @param unidad la unidad del tiempo.
+     * @return el elemento al inicio de la cola, o <code>null</code> si se
+     *         acabó el tiempo.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    public T sacaEspera(long tiempo, TimeUnit unidad)
+        throws InterruptedException;
+
+    /**
+     * Nos dice si la cola está vacía. Con otros hilos usándola, la respuesta
+     * puede dejar de ser cierta en cuanto se regresa.
+     * @return <code>true</code> si la cola no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia();
+}
@@ -0,0 +1,368 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Cola sin límite que se puede usar desde varios hilos a la vez, sin
+ * cerrojos. Es la cola de Michael y Scott: una lista ligada de {@link
+ * MeteSaca.Nodo}s que empieza con un nodo centinela; {@link MeteSaca#cabeza}
+ * apunta al centinela y el primer elemento está en el nodo que le sigue.
+ * Meter enlaza un nodo al final con una comparación e intercambio sobre el
+ * <code>siguiente</code> del último; sacar avanza la cabeza con otra. Si un
+ * hilo encuentra el {@link MeteSaca#rabo} atrasado porque otro no ha
+ * terminado de meter, lo avanza él mismo, así que ningún hilo detenido
+ * detiene a los demás.</p>
+ *
+ * <p>La cola no tiene límite, salvo que se le fije uno con {@link
+ * #setLimite}. Para meter y sacar hay versiones que lanzan una excepción, que
+ * regresan si pudieron o que esperan (ver {@link ColaBloqueante}); la espera
+ * gira un poco y luego duerme al hilo por periodos crecientes de hasta un
+ * milisegundo. Con varios hilos metiendo a la vez, el límite se puede
+ * rebasar por a lo más un elemento (o un lote) por hilo, y {@link
+ * #getElementos} es sólo una aproximación.</p>
+ */
+public class ColaConcurrente<T> extends Cola<T> implements ColaBloqueante<T> {
+
+    /* Acceso atómico a la cabeza, al rabo y al siguiente de cada nodo. */
+    private static final VarHandle CABEZA;
+    private static final VarHandle RABO;
+    private static final VarHandle SIGUIENTE;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            CABEZA = l.findVarHandle(MeteSaca.class, "cabeza", MeteSaca.Nodo.class);
+            RABO = l.findVarHandle(MeteSaca.class, "rabo", MeteSaca.Nodo.class);
+            SIGUIENTE = l.findVarHandle(MeteSaca.Nodo.class, "siguiente",
+                                        MeteSaca.Nodo.class);
+        } catch (ReflectiveOperationException roe) {
+            throw new ExceptionInInitializerError(roe);
+        }
+    }
+
+    /* La cuenta de elementos. */
+    private final Cuenta cuenta = new Cuenta();
+
+    /**
+     * Construye una cola vacía.
+     */
+    public ColaConcurrente() {
+        Nodo centinela = new Nodo(null);
+        CABEZA.setRelease(this, centinela);
+        RABO.setRelease(this, centinela);
+    }
+
+    /* Regresa la cabeza. */
+    @SuppressWarnings("unchecked") private Nodo cabeza() {
+        return (Nodo)CABEZA.getAcquire(this);
+    }
+
+    /* Regresa el rabo. */
+    @SuppressWarnings("unchecked") private Nodo rabo() {
+        return (Nodo)RABO.getAcquire(this);
+    }
+
+    /* Regresa el siguiente del nodo. */
+    @SuppressWarnings("unchecked") private Nodo siguiente(Nodo n) {
+        return (Nodo)SIGUIENTE.getAcquire(n);
+    }
+
+    /**
+     * Agrega un elemento al final de la cola, sin esperar.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     * @throws IllegalStateException si la cola está llena.
+     */
+    @Override public void mete(T elemento) {
+        if (!intentaMete(elemento))
+            throw new IllegalStateException();
+    }
+
+    /**
+     * Agrega un elemento al final de la cola si no está llena, sin esperar.
+     * @param elemento el elemento a agregar.
+     * @return <code>true</code> si el elemento se agregó,
+     *         <code>false</code> si la cola estaba llena.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     */
+    @Override public boolean intentaMete(T elemento) {
+        if (elemento == null) throw new IllegalArgumentException();
+        if (estaLlena())
+            return false;
+        Nodo n = new Nodo(elemento);
+        ajustaElementos(1);
+        enlaza(n, n);
+        return true;
+    }
+
+    /**
+     * Agrega un elemento al final de la cola, esperando a que haya lugar.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    @Override public void meteEspera(T elemento) throws InterruptedException {
+        Espera.mete(this, elemento);
+    }
+
+    /* Enlaza al final de la cola la cadena de nodos de primero a ultimo. */
+    private void enlaza(Nodo primero, Nodo ultimo) {
+        while (true) {
+            Nodo r = rabo(), s = siguiente(r);
+            if (s != null) {
+                RABO.compareAndSet(this, r, s);
+            } else if (SIGUIENTE.compareAndSet(r, null, primero)) {
+                RABO.compareAndSet(this, r, ultimo);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, sin esperar.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T saca() {
+        T elemento = intentaSaca();
+        if (elemento == null)
+            throw new NoSuchElementException();
+        return elemento;
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa si hay uno, sin
+     * esperar. El nodo del elemento se vuelve el centinela nuevo.
+     * @return el elemento al inicio de la cola, o <code>null</code> si la
+     *         cola estaba vacía.
+     */
+    @Override public T intentaSaca() {
+        while (true) {
+            Nodo c = cabeza(), s = siguiente(c);
+            if (s == null)
+                return null;
+            Nodo r = rabo();
+            if (c == r) {
+                RABO.compareAndSet(this, r, s);
+                continue;
+            }
+            T elemento = s.elemento;
+            if (CABEZA.compareAndSet(this, c, s)) {
+                s.elemento = null;
+                ajustaElementos(-1);
+                return elemento;
+            }
+        }
+    }
+
+    /**
+     * Agrega todos los elementos de una colección al final de la cola, en el
+     * orden en que los recorre su iterador. Los nodos se encadenan aparte y
+     * se enlazan a la cola con una sola comparación e intercambio, así que
+     * los elementos quedan juntos aunque otros hilos metan a la vez, y si
+     * alguno es nulo, o si no caben todos, la cola no cambia.
+     * @param coleccion la colección con los elementos a agregar.
+     * @throws IllegalArgumentException si alguno de los elementos es nulo.
+     * @throws IllegalStateException si no caben todos los elementos.
+     */
+    @Override public void meteTodos(Coleccion<T> coleccion) {
+        Nodo primero = null;
+        Nodo ultimo = null;
+        int n = 0;
+        for (T elemento : coleccion) {
+            if (elemento == null) throw new IllegalArgumentException();
+            Nodo nodo = new Nodo(elemento);
+            if (primero == null)
+                primero = nodo;
+            else
+                ultimo.siguiente = nodo;
+            ultimo = nodo;
+            n++;
+        }
+        if (primero == null)
+            return;
+        if (getLimite() != Integer.MAX_VALUE &&
+            (long)getElementos() + n > getLimite())
+            throw new IllegalStateException();
+        ajustaElementos(n);
+        enlaza(primero, ultimo);
+    }
+
+    /**
+     * Elimina hasta <code>n</code> elementos del inicio de la cola y los
+     * guarda en orden al inicio del arreglo. Todos se sacan con una sola
+     * comparación e intercambio sobre la cabeza.
+     * @param n cuántos elementos sacar como máximo.
+     * @param destino el arreglo donde se guardan los elementos.
+     * @return cuántos elementos se sacaron.
+     * @throws IllegalArgumentException si <code>n</code> es negativo o mayor
+     *         que la longitud del arreglo.
+     */
+    @Override public int saca(int n, T[] destino) {
+        if (n < 0 || n > destino.length)
+            throw new IllegalArgumentException();
+        int escritos = 0;
+        while (true) {
+            Nodo c = cabeza(), u = c, r = rabo();
+            int k = 0;
+            while (k < n) {
+                Nodo s = siguiente(u);
+                if (s == null)
+                    break;
+                if (u == r) {
+                    RABO.compareAndSet(this, r, s);
+                    r = s;
+                }
+                destino[k++] = s.elemento;
+                u = s;
+            }
+            escritos = Math.max(escritos, k);
+            if (k > 0 && !CABEZA.compareAndSet(this, c, u))
+                continue;
+            if (k > 0) {
+                u.elemento = null;
+                ajustaElementos(-k);
+            }
+            Arrays.fill(destino, k, escritos, null);
+            return k;
+        }
+    }
+
+    /**
+     * Elimina hasta <code>max</code> elementos del inicio de la cola y los
+     * agrega en orden a la colección, sacándolos en lotes con {@link
+     * #saca(int, Object[])}. Si la colección lanza una excepción al agregar,
+     * los elementos del lote que no alcanzó a recibir se pierden: ya habían
+     * salido de la cola.
+     * @param coleccion la colección a la que se agregan los elementos.
+     * @param max cuántos elementos sacar como máximo.
+     * @return cuántos elementos se sacaron.
+     * @throws IllegalArgumentException si <code>max</code> es negativo.
+     */
+    @Override public int drenaA(Coleccion<T> coleccion, int max) {
+        return drenaEnLotes(coleccion, max);
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, esperando a que
+     * haya uno.
+     * @return el elemento al inicio de la cola.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    @Override public T sacaEspera() throws InterruptedException {
+        return Espera.saca(this, -1);
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, esperando a lo
+     * más el tiempo dado a que haya uno.
+     * @param tiempo cuánto esperar como máximo.
+     * @param unidad la unidad del tiempo.
+     * @return el elemento al inicio de la cola, o <code>null</code> si se
+     *         acabó el tiempo.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    @Override public T sacaEspera(long tiempo, TimeUnit unidad)
+        throws InterruptedException {
+        return Espera.saca(this, Math.max(0, unidad.toNanos(tiempo)));
+    }
+
+    /**
+     * Nos permite ver el elemento al inicio de la cola, sin sacarlo.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T mira() {
+        while (true) {
+            Nodo c = cabeza(), s = siguiente(c);
+            if (s == null)
+                throw new NoSuchElementException();
+            T elemento = s.elemento;
+            if (cabeza() == c)
+                return elemento;
+        }
+    }
+
+    /**
+     * Nos dice si la cola está vacía.
+     * @return <tt>true</tt> si la cola no tiene elementos, <tt>false</tt> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return siguiente(cabeza()) == null;
+    }
+
+    /**
+     * Regresa el número de elementos en la cola, en tiempo constante. Con
+     * otros hilos usándola, es sólo una aproximación.
+     * @return el número de elementos en la cola.
+     */
+    @Override public int getElementos() {
+        return cuenta.get();
+    }
+
+    /**
+     * Define si la cola registra el máximo de elementos que ha tenido.
+     * @param registraMaximo si se registra el máximo de elementos.
+     */
+    @Override public void setRegistraMaximo(boolean registraMaximo) {
+        cuenta.setRegistraMaximo(registraMaximo, getElementos());
+    }
+
+    /**
+     * Regresa el máximo de elementos que ha tenido la cola desde que se
+     * activó el registro con {@link #setRegistraMaximo}.
+     * @return el máximo de elementos registrado; 0 si nunca se ha activado.
+     */
+    @Override public int getMaximo() {
+        return cuenta.getMaximo();
+    }
+
+    /**
+     * Suma al número de elementos y, si se registra, actualiza el máximo.
+     * @param cambio cuántos elementos se metieron; negativo si se sacaron.
+     */
+    @Override protected void ajustaElementos(int cambio) {
+        cuenta.ajusta(cambio);
+    }
+
+    /**
+     * Compara la cola con un objeto. Sólo tiene sentido si ningún otro hilo
+     * modifica las colas mientras tanto.
+     * @param o el objeto con el que queremos comparar la cola.
+     * @return <code>true</code> si el objeto recibido es una instancia de la
+     *         misma clase que la cola, y sus elementos son iguales en el
+     *         mismo orden; <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ColaConcurrente<T> c = (ColaConcurrente<T>)o;
+        Nodo i = siguiente(cabeza());
+        Nodo j = c.siguiente(c.cabeza());
+        while (i != null && j != null) {
+            if (!i.elemento.equals(j.elemento))
+                return false;
+            i = siguiente(i);
+            j = c.siguiente(j);
+        }
+        return i == j;
+    }
+
+    /**
+     * Regresa un picadillo de la cola, consistente con {@link #equals}:
+     * combina los picadillos de sus elementos en orden. Como
+     * {@link #equals}, sólo tiene sentido si ningún otro hilo modifica la
+     * cola mientras tanto.
+     * @return un picadillo de la cola.
+     */
+    @Override public int hashCode() {
+        int h = 1;
+        for (Nodo i = siguiente(cabeza()); i != null; i = siguiente(i))
+            h = 31 * h + i.elemento.hashCode();
+        return h;
+    }
+}
@@ -20,13 +20,46 @@ public class Conjunto<T> implements Coleccion<T> {
     }
 
     /**
-     * Crea un nuevo conjunto para un número determinado de elementos.
+     * Crea un nuevo conjunto para un número determinado de elementos. Se
+     * pueden agregar <code>n</code> elementos sin que la tabla crezca.
      * @param n el número tentativo de elementos.
      */
     public Conjunto(int n) {
         this.conjunto = new Diccionario<T, T>(n);
     }
 
+    /**
+     * Crea un nuevo conjunto para un número determinado de elementos, con una
+     * carga máxima definida por el usuario.
+     * @param n el número tentativo de elementos.
+     * @param carga la carga máxima antes de crecer.
+     * @throws IllegalArgumentException si la carga no es positiva.
+     */
+    public Conjunto(int n, double carga) {
+        this.conjunto = new Diccionario<T, T>(n, carga);
+    }
+
+    /**
+     * Crea un nuevo conjunto con los elementos del arreglo, dimensionando la
+     * tabla una sola vez.
+     * @param elementos los elementos del conjunto.
+     * @throws IllegalArgumentException si algún elemento es <code>null</code>.
+     */
+    public Conjunto(T[] elementos) {
+        this(elementos.length);
+        this.agregaTodos(elementos);
+    }
+
+    /**
+     * Crea un nuevo conjunto con los elementos de la colección,
+     * dimensionando la tabla una sola vez.
+     * @param coleccion la colección con los elementos del conjunto.
+     */
+    public Conjunto(Coleccion<T> coleccion) {
+        this(coleccion.getElementos());
+        this.agregaTodos(coleccion);
+    }
+
     /**
      * Agrega un elemento al conjunto.
      * @param elemento el elemento que queremos agregar al conjunto.
@@ -39,6 +72,31 @@ public class Conjunto<T> implements Coleccion<T> {
         this.conjunto.agrega(elemento, elemento);
     }
 
+    /**
+     * Agrega de una vez todos los elementos del arreglo. La tabla se
+     * dimensiona una sola vez al principio.
+     * @param elementos los elementos a agregar.
+     * @throws IllegalArgumentException si algún elemento es
+     *         <code>null</code>; en ese caso no se agrega ninguno.
+     */
+    public void agregaTodos(T[] elementos) {
+        this.conjunto.agregaTodos(elementos, elementos);
+    }
+
+    /**
+     * Agrega de una vez todos los elementos de la colección. La tabla se
+     * dimensiona una sola vez al principio.
+     * @param coleccion la colección con los elementos a agregar.
+     */
+    public void agregaTodos(Coleccion<T> coleccion) {
+        @SuppressWarnings("unchecked") T[] elementos =
+            (T[])new Object[coleccion.getElementos()];
+        int i = 0;
+        for (T elemento : coleccion)
+            elementos[i++] = elemento;
+        this.agregaTodos(elementos);
+    }
+
     /**
      * Nos dice si el elemento está en el conjunto.
      * @param elemento el elemento que queremos saber si está en el conjunto.
@@ -87,13 +145,31 @@ public class Conjunto<T> implements Coleccion<T> {
         return this.conjunto.getElementos();
     }
 
+    /**
+     * Hace crecer el conjunto, si es necesario, para que quepan
+     * <code>n</code> elementos sin volver a acomodarlos.
+     * @param n el número de elementos que deben caber.
+     */
+    public void asegurarCapacidad(int n) {
+        this.conjunto.asegurarCapacidad(n);
+    }
+
+    /**
+     * Encoge el conjunto al menor tamaño en el que caben sus elementos.
+     */
+    public void compacta() {
+        this.conjunto.compacta();
+    }
+
     /**
      * Regresa la intersección del conjunto y el conjunto recibido.
      * @param conjunto el conjunto que queremos intersectar con éste.
      * @return la intersección del conjunto y el conjunto recibido.
      */
     public Conjunto<T> interseccion(Conjunto<T> conjunto) {
-        Conjunto<T> interseccion = new Conjunto<T>();
+        Conjunto<T> interseccion =
+            new Conjunto<T>(Math.min(this.getElementos(),
+                                     conjunto.getElementos()));
         for (T elemento: this.conjunto) {
             if (conjunto.contiene(elemento)) {
                 interseccion.agrega(elemento);
@@ -108,7 +184,8 @@ public class Conjunto<T> implements Coleccion<T> {
      * @return la unión del conjunto y el conjunto recibido.
      */
     public Conjunto<T> union(Conjunto<T> conjunto) {
-        Conjunto<T> union = new Conjunto<T>();
+        Conjunto<T> union =
+            new Conjunto<T>(this.getElementos() + conjunto.getElementos());
         for (T elemento: this.conjunto) {
             union.agrega(elemento);
         }
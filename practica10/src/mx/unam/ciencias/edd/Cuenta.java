@@ -0,0 +1,77 @@
+package mx.unam.ciencias.edd;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cuenta de elementos y máximo registrado para las estructuras {@link
+ * MeteSaca} que se usan desde varios hilos. La cuenta se reparte en celdas
+ * que se suman al leerla, como las cuentas por cerrojo de {@link
+ * DiccionarioConcurrente}, para que los hilos que meten y sacan no compitan
+ * por un solo contador. Con hilos modificando la estructura, lo que se lee es
+ * sólo una aproximación.
+ */
+final class Cuenta {
+
+    /* Los elementos, repartidos en celdas. */
+    private final LongAdder elementos = new LongAdder();
+    /* El máximo registrado. */
+    private final AtomicInteger maximo = new AtomicInteger();
+    /* Si se registra el máximo. */
+    private volatile boolean registraMaximo;
+
+    /**
+     * Suma a la cuenta y, si se registra y la cuenta creció, actualiza el
+     * máximo.
+     * @param cambio cuántos elementos se metieron; negativo si se sacaron.
+     */
+    void ajusta(int cambio) {
+        elementos.add(cambio);
+        if (cambio > 0 && registraMaximo)
+            registra(get());
+    }
+
+    /**
+     * Regresa la cuenta.
+     * @return la cuenta, entre 0 y {@link Integer#MAX_VALUE}.
+     */
+    int get() {
+        return (int)Math.max(0, Math.min(Integer.MAX_VALUE, elementos.sum()));
+    }
+
+    /**
+     * Nos dice si se registra el máximo.
+     * @return <code>true</code> si se registra el máximo.
+     */
+    boolean getRegistraMaximo() {
+        return registraMaximo;
+    }
+
+    /**
+     * Define si se registra el máximo; al activarlo, el máximo empieza en los
+     * elementos actuales.
+     * @param registraMaximo si se registra el máximo.
+     * @param actuales los elementos actuales.
+     */
+    void setRegistraMaximo(boolean registraMaximo, int actuales) {
+        if (registraMaximo)
+            maximo.set(actuales);
+        this.registraMaximo = registraMaximo;
+    }
+
+    /**
+     * Actualiza el máximo con un número de elementos.
+     * @param actuales los elementos actuales.
+     */
+    void registra(int actuales) {
+        maximo.accumulateAndGet(actuales, Math::max);
+    }
+
+    /**
+     * Regresa el máximo registrado.
+     * @return el máximo registrado.
+     */
+    int getMaximo() {
+        return maximo.get();
+    }
+}
@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -11,76 +12,197 @@ import java.util.NoSuchElementException;
  */
 public class Diccionario<K, V> implements Iterable<V> {
 
-	/** Máxima carga permitida por el diccionario. */
+	/** Máxima carga predeterminada del diccionario. */
 	public static final double MAXIMA_CARGA = 0.72;
 
-	/* Clase para las entradas del diccionario. */
-	private class Entrada {
+	/* Clase para las entradas del diccionario. Las entradas de una misma
+	 * cubeta forman una lista ligada a través de siguiente. Dos entradas son
+	 * iguales si sus llaves lo son, y se comparan por llave; esto último
+	 * sólo se usa en cubetas con árbol, donde las llaves son Comparable. Cada
+	 * entrada guarda el picadillo completo de su llave, así que redimensionar
+	 * sólo le vuelve a aplicar la máscara, y al buscar sólo se llama a
+	 * equals con las llaves que tienen el mismo picadillo. */
+	private class Entrada implements EntradaDiccionario<K, V>, Comparable<Entrada> {
 
 		/* La llave. */
 		public K llave;
 		/* El valor. */
 		public V valor;
+		/* El picadillo finalizado de la llave, antes de la máscara. */
+		public int picadillo;
+		/* La siguiente entrada en la cubeta. */
+		public Entrada siguiente;
 
 		/* Construye una nueva entrada. */
-		public Entrada(K llave, V valor) {
+		public Entrada(K llave, V valor, int picadillo) {
 			this.llave = llave;
 			this.valor = valor;
+			this.picadillo = picadillo;
+		}
+
+		/* Regresa la llave. */
+		@Override public K getLlave() {
+			return this.llave;
+		}
+
+		/* Regresa el valor. */
+		@Override public V getValor() {
+			return this.valor;
+		}
+
+		/* Compara las llaves de las entradas. */
+		@SuppressWarnings("unchecked") @Override public int compareTo(Entrada e) {
+			return ((Comparable<Object>)this.llave).compareTo(e.llave);
+		}
+
+		/* Nos dice si la entrada tiene la misma llave que el objeto. */
+		@Override public boolean equals(Object o) {
+			if (!(o instanceof Diccionario<?, ?>.Entrada)) {
+				return false;
+			}
+			@SuppressWarnings("unchecked") Entrada e = (Entrada)o;
+			return this.llave.equals(e.llave);
+		}
+
+		/* Regresa el picadillo de la llave. */
+		@Override public int hashCode() {
+			return this.llave.hashCode();
 		}
 	}
 
-	/* Clase privada para iteradores de diccionarios. */
-	private class Iterador implements Iterator<V> {
+	/* Clase privada para iteradores de diccionarios. Es un cursor sobre el
+	 * arreglo de cubetas: no copia nada ni crea objetos por elemento. */
+	private abstract class Iterador<E> implements Iterator<E> {
 
-		/* En qué lista estamos. */
+		/* En qué cubeta estamos. */
 		private int indice;
-		/* Iterador auxiliar. */
-		private Iterator<Diccionario<K,V>.Entrada> iterador;
+		/* La siguiente entrada a regresar. */
+		private Entrada siguiente;
 
-		/* Construye un nuevo iterador, auxiliándose de las listas del
-		 * diccionario. */
+		/* Construye un nuevo iterador en la primera entrada. */
 		public Iterador() {
-			Lista<K> llaves = llaves();
-			Lista<Diccionario<K,V>.Entrada> iterador = new Lista<Diccionario<K,V>.Entrada>();
-			for (K llave: llaves) {
-				iterador.agrega(getEntrada(llave));
+			this.indice = -1;
+			this.avanzaCubeta();
+		}
+
+		/* Mueve el cursor a la primera entrada de la siguiente cubeta no
+		 * vacía. */
+		private void avanzaCubeta() {
+			this.siguiente = null;
+			while (this.siguiente == null && ++this.indice < cubetas()) {
+				this.siguiente = cubeta(this.indice);
 			}
-			this.iterador = iterador.iterator();
 		}
+
 		/* Nos dice si hay un siguiente elemento. */
-		public boolean hasNext() {
-			return this.iterador.hasNext();
+		@Override public boolean hasNext() {
+			return this.siguiente != null;
 		}
 
-		/* Regresa el siguiente elemento. */
-		public V next() {
-			return this.iterador.next().valor;
+		/* Regresa la siguiente entrada. */
+		protected Entrada siguienteEntrada() {
+			if (this.siguiente == null) {
+				throw new NoSuchElementException();
+			}
+			Entrada e = this.siguiente;
+			this.siguiente = e.siguiente;
+			if (this.siguiente == null) {
+				this.avanzaCubeta();
+			}
+			return e;
 		}
 
 		/* No lo implementamos: siempre lanza una excepción. */
-		public void remove() {
+		@Override public void remove() {
 			throw new UnsupportedOperationException();
 		}
 	}
 
+	/* Iterador para las llaves. */
+	private class IteradorLlaves extends Iterador<K> {
+		@Override public K next() {
+			return this.siguienteEntrada().llave;
+		}
+	}
+
+	/* Iterador para los valores. */
+	private class IteradorValores extends Iterador<V> {
+		@Override public V next() {
+			return this.siguienteEntrada().valor;
+		}
+	}
+
+	/* Iterador para las entradas. */
+	private class IteradorEntradas extends Iterador<EntradaDiccionario<K, V>> {
+		@Override public EntradaDiccionario<K, V> next() {
+			return this.siguienteEntrada();
+		}
+	}
+
+	/* Picadillo predeterminado; todos los diccionarios que usan hashCode
+	 * comparten esta instancia, y así se sabe cuándo aplicarles el
+	 * finalizador. */
+	private static final Picadillo<Object> HASH_CODE = (Object o) -> o.hashCode();
+
 	/* Tamaño mínimo; decidido arbitrariamente a 2^6. */
 	private static final int MIN_N = 64;
+	/* Tamaño máximo; el mayor arreglo indexable con una máscara. */
+	private static final int MAX_N = 1 << 30;
+	/* A partir de cuántas llaves una carga masiva calcula los picadillos en
+	 * paralelo. */
+	private static final int UMBRAL_PARALELO = 1 << 14;
+	/* Cubetas que se migran por operación durante un crecimiento
+	 * incremental. Con 4 la migración siempre termina antes de que el
+	 * diccionario tenga que volver a crecer. */
+	private static final int MIGRACION = 4;
+	/* Longitud a partir de la cual una cubeta se vuelve árbol. */
+	private static final int UMBRAL_ARBOL = 8;
+	/* Longitud a la que un árbol vuelve a ser sólo lista; menor que
+	 * UMBRAL_ARBOL para no convertir una cubeta de ida y vuelta en cada
+	 * operación. */
+	private static final int UMBRAL_LISTA = 6;
 
-	/* Máscara para no usar módulo. */
-	private int mascara;
-	/* Picadillo. */
-	private Picadillo<K> picadillo;
-	/* Nuestro diccionario. */
-	private Lista<Entrada>[] entradas;
-	/* Número de valores*/
-	private int elementos;
+	/** Máscara para no usar módulo. */
+	protected int mascara;
+	/** Picadillo. */
+	protected Picadillo<K> picadillo;
+	/** Finalizador que se aplica al picadillo antes de la máscara. */
+	protected Finalizador finalizador;
+	/** Carga máxima antes de crecer. */
+	protected double cargaMaxima;
+	/* Nuestro diccionario; cada cubeta es la cabeza de una lista ligada de
+	 * entradas. */
+	private Entrada[] entradas;
+	/* La tabla anterior mientras se migra; null si no hay migración. */
+	private Entrada[] viejas;
+	/* Máscara de la tabla anterior. */
+	private int mascaraVieja;
+	/* Cubetas de la tabla anterior que ya se mudaron a la nueva. */
+	private int migradas;
+	/* Si la tabla crece de manera incremental. */
+	private boolean incremental;
+	/** Número de valores. */
+	protected int elementos;
+	/** Métricas; null mientras nadie las pida. */
+	protected MetricasDiccionario metricas;
+	/* Árboles de las cubetas largas; null si el modo está apagado. La cubeta
+	 * i tiene árbol si arboles[i] no es null. */
+	private ArbolRojinegro<Entrada>[] arboles;
+	/* Árboles de la tabla anterior mientras se migra. */
+	private ArbolRojinegro<Entrada>[] arbolesViejos;
 
 	/* Truco para crear un arreglo genérico. Es necesario hacerlo así por cómo
 	   Java implementa sus genéricos; de otra forma obtenemos advertencias del
 	   compilador. */
-	@SuppressWarnings("unchecked") private Lista<Entrada>[] nuevoArreglo(int n) {
-		Lista[] arreglo = new Lista[n];
-		return (Lista<Entrada>[])arreglo;
+	@SuppressWarnings("unchecked") private Entrada[] nuevoArreglo(int n) {
+		Diccionario<?, ?>.Entrada[] arreglo = new Diccionario<?, ?>.Entrada[n];
+		return (Entrada[])arreglo;
+	}
+
+	/* Lo mismo, para los árboles de las cubetas. */
+	@SuppressWarnings("unchecked") private ArbolRojinegro<Entrada>[] nuevosArboles(int n) {
+		ArbolRojinegro<?>[] arboles = new ArbolRojinegro<?>[n];
+		return (ArbolRojinegro<Entrada>[])arboles;
 	}
 
 	/**
@@ -88,29 +210,17 @@ public class Diccionario<K, V> implements Iterable<V> {
 	 * predeterminados.
 	 */
 	public Diccionario() {
-		this.mascara = MIN_N-1;
-		this.picadillo = ((K o) -> o.hashCode());
-		this.entradas = nuevoArreglo(mascara+1);
-	}
-
-	private int calcularMascara(int tam) {
-		int m = 1;
-		while (m <= tam) {
-			m = (m << 1) | 1;
-		}
-		m = (m << 1) | 1;
-		return m;	
+		this(0, MAXIMA_CARGA, Diccionario.<K>picadilloHashCode());
 	}
 
 	/**
 	 * Construye un diccionario con un tamaño inicial definido por el usuario, y
-	 * un picadillo predeterminado.
+	 * un picadillo predeterminado. La tabla se dimensiona para que
+	 * <code>tam</code> elementos quepan sin tener que crecer.
 	 * @param tam el tamaño a utilizar.
 	 */
 	public Diccionario(int tam) {
-		this.mascara = this.calcularMascara(tam);
-		this.picadillo = ((K o) -> o.hashCode());
-		this.entradas = nuevoArreglo(mascara+1);
+		this(tam, MAXIMA_CARGA, Diccionario.<K>picadilloHashCode());
 	}
 
 	/**
@@ -119,9 +229,7 @@ public class Diccionario<K, V> implements Iterable<V> {
 	 * @param picadillo el picadillo a utilizar.
 	 */
 	public Diccionario(Picadillo<K> picadillo) {
-		this.mascara = MIN_N-1;
-		this.picadillo = picadillo;
-		this.entradas = nuevoArreglo(mascara+1);
+		this(0, MAXIMA_CARGA, picadillo);
 	}
 
 	/**
@@ -131,13 +239,470 @@ public class Diccionario<K, V> implements Iterable<V> {
 	 * @param picadillo el picadillo a utilizar.
 	 */
 	public Diccionario(int tam, Picadillo<K> picadillo) {
-		this.mascara = this.calcularMascara(tam);
+		this(tam, MAXIMA_CARGA, picadillo);
+	}
+
+	/**
+	 * Construye un diccionario para un número esperado de elementos y con una
+	 * carga máxima definida por el usuario. Una carga mayor usa menos memoria
+	 * a cambio de cubetas más largas.
+	 * @param tam el número de elementos esperado.
+	 * @param carga la carga máxima antes de crecer.
+	 * @throws IllegalArgumentException si la carga no es positiva.
+	 */
+	public Diccionario(int tam, double carga) {
+		this(tam, carga, Diccionario.<K>picadilloHashCode());
+	}
+
+	/**
+	 * Construye un diccionario para un número esperado de elementos, con una
+	 * carga máxima y un picadillo definidos por el usuario.
+	 * @param tam el número de elementos esperado.
+	 * @param carga la carga máxima antes de crecer.
+	 * @param picadillo el picadillo a utilizar.
+	 * @throws IllegalArgumentException si la carga no es positiva.
+	 */
+	public Diccionario(int tam, double carga, Picadillo<K> picadillo) {
+		this(calcularMascara(tam, revisaCarga(carga, false)), carga, picadillo,
+		     true);
+	}
+
+	/**
+	 * Construye un diccionario con las llaves y valores de los arreglos, de
+	 * una vez; el valor en la posición <i>i</i> se asocia a la llave en la
+	 * posición <i>i</i>.
+	 * @param llaves las llaves.
+	 * @param valores los valores.
+	 * @throws IllegalArgumentException si los arreglos no tienen la misma
+	 *         longitud, o si alguna llave o valor es nulo.
+	 */
+	public Diccionario(K[] llaves, V[] valores) {
+		this(llaves.length);
+		this.agregaTodos(llaves, valores);
+	}
+
+	/**
+	 * Constructor para clases herederas que guardan sus entradas con otra
+	 * representación.
+	 * @param mascara la máscara inicial.
+	 * @param carga la carga máxima antes de crecer.
+	 * @param picadillo el picadillo a utilizar.
+	 * @param cubetas si se deben reservar las cubetas de listas.
+	 */
+	protected Diccionario(int mascara, double carga, Picadillo<K> picadillo,
+	                      boolean cubetas) {
+		this.mascara = mascara;
+		this.cargaMaxima = carga;
 		this.picadillo = picadillo;
-		this.entradas = nuevoArreglo(mascara+1);
+		this.finalizador = picadillo == HASH_CODE ?
+			Finalizador.MURMUR3 : Finalizador.NINGUNO;
+		if (cubetas) {
+			this.entradas = nuevoArreglo(mascara+1);
+		}
+	}
+
+	/**
+	 * Regresa el picadillo predeterminado, que usa el método
+	 * <code>hashCode</code> de las llaves. Los diccionarios construidos con
+	 * él usan el finalizador {@link Finalizador#MURMUR3}.
+	 * @param <K> el tipo de las llaves.
+	 * @return el picadillo predeterminado.
+	 */
+	@SuppressWarnings("unchecked") protected static <K> Picadillo<K> picadilloHashCode() {
+		return (Picadillo<K>)HASH_CODE;
+	}
+
+	/**
+	 * Regresa la máscara mínima para que <code>tam</code> elementos quepan en
+	 * la tabla sin rebasar la carga; la tabla nunca es menor a 64 cubetas.
+	 * @param tam el número de elementos.
+	 * @param carga la carga máxima.
+	 * @return la máscara para la tabla.
+	 */
+	protected static int calcularMascara(int tam, double carga) {
+		int n = MIN_N;
+		while (n * carga <= tam && n < MAX_N) {
+			n <<= 1;
+		}
+		return n - 1;
+	}
+
+	/**
+	 * Revisa que una carga máxima sea válida.
+	 * @param carga la carga a revisar.
+	 * @param menorAUno si la carga debe ser menor a uno, como en las tablas
+	 *        sin cubetas.
+	 * @return la carga recibida.
+	 * @throws IllegalArgumentException si la carga no es positiva, o si se
+	 *         pidió menor a uno y no lo es.
+	 */
+	protected static double revisaCarga(double carga, boolean menorAUno) {
+		if (!(carga > 0) || (menorAUno && !(carga < 1))) {
+			throw new IllegalArgumentException();
+		}
+		return carga;
+	}
+
+	/**
+	 * Regresa la carga máxima del diccionario: cuando la carga la alcanza, el
+	 * diccionario crece.
+	 * @return la carga máxima del diccionario.
+	 */
+	public double getCargaMaxima() {
+		return this.cargaMaxima;
+	}
+
+	/**
+	 * Regresa el índice de la llave en la tabla, aplicando el picadillo y la
+	 * máscara.
+	 * @param llave la llave.
+	 * @return el índice de la llave en la tabla.
+	 */
+	protected int aplicarHash(K llave) {
+		return (this.calcularPicadillo(llave) & this.mascara);
+	}
+
+	/**
+	 * Regresa el picadillo de la llave con el finalizador aplicado, antes de
+	 * la máscara.
+	 * @param llave la llave.
+	 * @return el picadillo finalizado de la llave.
+	 */
+	protected int calcularPicadillo(K llave) {
+		return this.finalizador.finaliza(this.picadillo.picadillo(llave));
+	}
+
+	/**
+	 * Regresa el finalizador que se aplica a los picadillos antes de la
+	 * máscara.
+	 * @return el finalizador del diccionario.
+	 */
+	public Finalizador getFinalizador() {
+		return this.finalizador;
+	}
+
+	/**
+	 * Define el finalizador que se aplica a los picadillos antes de la
+	 * máscara. Los diccionarios que usan <code>hashCode</code> empiezan con
+	 * {@link Finalizador#MURMUR3}, porque muchas clases sólo cambian los bits
+	 * altos de su picadillo; los que reciben un picadillo empiezan con {@link
+	 * Finalizador#NINGUNO}, porque los de {@link FabricaPicadillos} ya
+	 * mezclan sus bits. Si el diccionario no está vacío, sus entradas se
+	 * vuelven a acomodar.
+	 * @param finalizador el nuevo finalizador.
+	 * @throws IllegalArgumentException si el finalizador es nulo.
+	 */
+	public void setFinalizador(Finalizador finalizador) {
+		if (finalizador == null) {
+			throw new IllegalArgumentException();
+		}
+		this.finalizador = finalizador;
+		if (this.elementos > 0) {
+			this.migra(Integer.MAX_VALUE);
+			for (Entrada cubeta : this.entradas) {
+				for (Entrada e = cubeta; e != null; e = e.siguiente) {
+					e.picadillo = this.calcularPicadillo(e.llave);
+				}
+			}
+			this.redimensiona(this.mascara);
+		}
+	}
+
+	/**
+	 * Define si el diccionario crece de manera incremental. En ese modo,
+	 * cuando la carga llega a la carga máxima se crea la tabla nueva
+	 * pero las entradas se mudan de la tabla vieja poco a poco: cada operación
+	 * migra a lo más unas cuantas cubetas, y mientras tanto se consultan ambas
+	 * tablas. Así ninguna operación individual paga por volver a acomodar todo
+	 * el diccionario. Si se desactiva a media migración, ésta se termina.
+	 * @param incremental si el diccionario crece de manera incremental.
+	 */
+	public void setRedimensionIncremental(boolean incremental) {
+		this.incremental = incremental;
+		if (!incremental) {
+			this.migra(Integer.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Define si las cubetas largas se vuelven árboles. En ese modo, cuando una
+	 * cubeta llega a 8 entradas y todas sus llaves son {@link Comparable} de
+	 * la misma clase, sus entradas se acomodan además en un {@link
+	 * ArbolRojinegro}, y buscar en ella cuesta <i>O</i>(log <i>n</i>) aunque
+	 * un picadillo malo o llaves maliciosas manden todo a la misma cubeta.
+	 * Cuando la cubeta baja a 6 entradas el árbol se descarta. El método
+	 * <code>compareTo</code> de las llaves debe ser consistente con
+	 * <code>equals</code>.
+	 * @param arboles si las cubetas largas se vuelven árboles.
+	 */
+	public void setArbolesEnCubetas(boolean arboles) {
+		if (!arboles) {
+			this.arboles = this.arbolesViejos = null;
+			return;
+		}
+		if (this.arboles != null) {
+			return;
+		}
+		this.migra(Integer.MAX_VALUE);
+		this.arboles = this.nuevosArboles(this.entradas.length);
+		for (int i = 0; i < this.entradas.length; i++) {
+			this.arbolea(i);
+		}
+	}
+
+	/* Agrega la entrada al inicio de la cubeta i de la tabla nueva, y a su
+	 * árbol si lo tiene. Una llave de otra clase deshace el árbol. */
+	private void mete(int i, Entrada entrada) {
+		if (this.metricas != null) {
+			this.metricas.creceCubeta(this.longitudAcotada(this.entradas[i]));
+		}
+		entrada.siguiente = this.entradas[i];
+		this.entradas[i] = entrada;
+		if (this.arboles == null) {
+			return;
+		}
+		ArbolRojinegro<Entrada> arbol = this.arboles[i];
+		if (arbol == null) {
+			this.arbolea(i);
+		} else if (entrada.llave.getClass() == entrada.siguiente.llave.getClass()) {
+			arbol.agrega(entrada);
+		} else {
+			this.arboles[i] = null;
+		}
+	}
+
+	/* Crea el árbol de la cubeta i de la tabla nueva si ya es larga y todas
+	 * sus llaves son Comparable de la misma clase. */
+	private void arbolea(int i) {
+		Entrada cubeta = this.entradas[i];
+		int n = 0;
+		for (Entrada e = cubeta; e != null && n < UMBRAL_ARBOL; e = e.siguiente) {
+			n++;
+		}
+		if (n < UMBRAL_ARBOL || !(cubeta.llave instanceof Comparable)) {
+			return;
+		}
+		Class<?> clase = cubeta.llave.getClass();
+		for (Entrada e = cubeta; e != null; e = e.siguiente) {
+			if (e.llave.getClass() != clase) {
+				return;
+			}
+		}
+		ArbolRojinegro<Entrada> arbol = new ArbolRojinegro<Entrada>();
+		for (Entrada e = cubeta; e != null; e = e.siguiente) {
+			arbol.agrega(e);
+		}
+		this.arboles[i] = arbol;
+	}
+
+	/* Muda a la tabla nueva a lo más n cubetas de la tabla vieja. */
+	private void migra(int n) {
+		if (this.viejas == null) {
+			return;
+		}
+		int fin = (int)Math.min((long)this.migradas + n, this.viejas.length);
+		for (; this.migradas < fin; this.migradas++) {
+			Entrada e = this.viejas[this.migradas];
+			if (this.metricas != null) {
+				this.metricas.cubetas(this.longitudAcotada(e), -1);
+			}
+			while (e != null) {
+				Entrada siguiente = e.siguiente;
+				this.mete(e.picadillo & this.mascara, e);
+				e = siguiente;
+			}
+			this.viejas[this.migradas] = null;
+			if (this.arbolesViejos != null) {
+				this.arbolesViejos[this.migradas] = null;
+			}
+		}
+		if (this.migradas == this.viejas.length) {
+			this.viejas = null;
+			this.arbolesViejos = null;
+		}
 	}
 
-	private int aplicarHash(K llave) {
-		return (this.picadillo.picadillo(llave) & this.mascara);
+	/* Duplica la tabla; si es incremental, la vieja se migra después. */
+	private void crece() {
+		long t = this.metricas == null ? 0 : System.nanoTime();
+		Entrada[] viejas = this.entradas;
+		this.migra(Integer.MAX_VALUE);
+		this.mascaraVieja = this.mascara;
+		this.mascara = (this.mascara << 1) | 1;
+		this.entradas = this.nuevoArreglo(this.mascara+1);
+		this.viejas = viejas;
+		if (this.metricas != null) {
+			this.metricas.cubetas(0, this.mascara+1);
+		}
+		if (this.arboles != null) {
+			this.arbolesViejos = this.arboles;
+			this.arboles = this.nuevosArboles(this.mascara+1);
+		}
+		this.migradas = 0;
+		if (!this.incremental) {
+			this.migra(Integer.MAX_VALUE);
+		}
+		if (this.metricas != null) {
+			this.metricas.redimension(System.nanoTime() - t);
+		}
+	}
+
+	/* Acomoda todas las entradas en una tabla nueva con la máscara
+	 * recibida. Termina antes cualquier migración pendiente. */
+	private void redimensiona(int mascara) {
+		long t = this.metricas == null ? 0 : System.nanoTime();
+		this.migra(Integer.MAX_VALUE);
+		Entrada[] viejas = this.entradas;
+		this.mascara = mascara;
+		this.entradas = this.nuevoArreglo(mascara+1);
+		if (this.arboles != null) {
+			this.arboles = this.nuevosArboles(mascara+1);
+		}
+		if (this.metricas != null) {
+			this.metricas.reiniciaCubetas(mascara+1);
+		}
+		for (Entrada e : viejas) {
+			while (e != null) {
+				Entrada siguiente = e.siguiente;
+				this.mete(e.picadillo & this.mascara, e);
+				e = siguiente;
+			}
+		}
+		if (this.metricas != null) {
+			this.metricas.redimension(System.nanoTime() - t);
+		}
+	}
+
+	/**
+	 * Hace crecer la tabla, si es necesario, para que quepan <code>n</code>
+	 * elementos sin rebasar la carga máxima. Así una carga masiva acomoda las
+	 * entradas una sola vez.
+	 * @param n el número de elementos que deben caber.
+	 */
+	public void asegurarCapacidad(int n) {
+		int mascara = calcularMascara(n, this.cargaMaxima);
+		if (mascara > this.mascara) {
+			this.redimensiona(mascara);
+		}
+	}
+
+	/**
+	 * Encoge la tabla al menor tamaño en el que caben los elementos actuales
+	 * sin rebasar la carga máxima. Sirve después de eliminar muchos
+	 * elementos; la tabla nunca se encoge sola.
+	 */
+	public void compacta() {
+		int mascara = calcularMascara(this.elementos, this.cargaMaxima);
+		if (mascara < this.mascara || this.viejas != null) {
+			this.redimensiona(Math.min(mascara, this.mascara));
+		}
+	}
+
+	/* Regresa la entrada de la llave con picadillo finalizado h, o null si no
+	 * está. Durante una migración revisa la tabla vieja si la cubeta ahí no
+	 * se ha mudado. */
+	private Entrada busca(K llave, int h) {
+		if (this.viejas != null) {
+			int j = h & this.mascaraVieja;
+			if (j >= this.migradas) {
+				Entrada e = this.busca(this.viejas, this.arbolesViejos, j, llave, h);
+				if (e != null) {
+					return e;
+				}
+			}
+		}
+		return this.busca(this.entradas, this.arboles, h & this.mascara, llave, h);
+	}
+
+	/* Regresa la entrada de la llave en la cubeta i de la tabla, o null si no
+	 * está. Si la cubeta tiene árbol y la llave es de la clase de sus llaves,
+	 * busca en el árbol. */
+	private Entrada busca(Entrada[] tabla, ArbolRojinegro<Entrada>[] arboles,
+	                      int i, K llave, int h) {
+		if (arboles == null || arboles[i] == null ||
+		    llave.getClass() != tabla[i].llave.getClass()) {
+			return this.busca(tabla[i], llave, h);
+		}
+		VerticeArbolBinario<Entrada> v = arboles[i].busca(new Entrada(llave, null, h));
+		return v == null ? null : v.get();
+	}
+
+	/* Regresa la entrada de la llave con picadillo h en la cubeta, o null si
+	 * no está; equals sólo se llama si los picadillos coinciden. */
+	private Entrada busca(Entrada cubeta, K llave, int h) {
+		for (Entrada e = cubeta; e != null; e = e.siguiente) {
+			if (e.picadillo == h && e.llave.equals(llave)) {
+				return e;
+			}
+		}
+		return null;
+	}
+
+	/* Regresa cuántas entradas comparó la búsqueda de la llave con picadillo
+	 * h que regresó e. Sólo se llama con las métricas prendidas: las
+	 * búsquedas no cuentan nada, así que sin métricas no escriben en el
+	 * diccionario. */
+	private int sondeos(K llave, int h, Entrada e) {
+		int s = 0;
+		if (this.viejas != null) {
+			int j = h & this.mascaraVieja;
+			if (j >= this.migradas) {
+				s = this.sondeos(this.viejas, this.arbolesViejos, j, llave, e);
+				if (s < 0) {
+					return -s;
+				}
+			}
+		}
+		return s + Math.abs(this.sondeos(this.entradas, this.arboles, h & this.mascara, llave, e));
+	}
+
+	/* Regresa cuántas entradas compara una búsqueda de la llave en la cubeta
+	 * i de la tabla hasta llegar a e, con signo negativo si e está en la
+	 * cubeta. Un recorrido por el árbol de la cubeta cuenta como un sondeo. */
+	private int sondeos(Entrada[] tabla, ArbolRojinegro<Entrada>[] arboles,
+	                    int i, K llave, Entrada e) {
+		if (arboles != null && arboles[i] != null &&
+		    llave.getClass() == tabla[i].llave.getClass()) {
+			return e != null && arboles[i].busca(e) != null ? -1 : 1;
+		}
+		int s = 0;
+		for (Entrada x = tabla[i]; x != null; x = x.siguiente) {
+			s++;
+			if (x == e) {
+				return -s;
+			}
+		}
+		return s;
+	}
+
+	/* Quita la llave con picadillo h de la cubeta i de la tabla, y de su
+	 * árbol si lo tiene. Regresa cuántas entradas comparó, con signo
+	 * negativo si la encontró. */
+	private int quita(Entrada[] tabla, ArbolRojinegro<Entrada>[] arboles,
+	                  int i, K llave, int h) {
+		Entrada anterior = null;
+		int s = 0;
+		for (Entrada e = tabla[i]; e != null; anterior = e, e = e.siguiente) {
+			s++;
+			if (e.picadillo == h && e.llave.equals(llave)) {
+				if (anterior == null) {
+					tabla[i] = e.siguiente;
+				} else {
+					anterior.siguiente = e.siguiente;
+				}
+				if (this.metricas != null) {
+					this.metricas.encogeCubeta(this.longitudAcotada(tabla[i]));
+				}
+				if (arboles != null && arboles[i] != null) {
+					arboles[i].elimina(e);
+					if (arboles[i].getElementos() <= UMBRAL_LISTA) {
+						arboles[i] = null;
+					}
+				}
+				return -s;
+			}
+		}
+		return s;
 	}
 
 	/**
@@ -149,56 +714,114 @@ public class Diccionario<K, V> implements Iterable<V> {
 	 * @throws IllegalArgumentException si la llave o el valor son nulos.
 	 */
 	public void agrega(K llave, V valor) {
-		Entrada entrada = new Entrada(llave, valor);
-		Lista<Entrada>[] nuevo;
-		int i;
-
 		if (llave == null || valor == null) {
 			throw new IllegalArgumentException();
 		}
+		this.migra(MIGRACION);
 
-		i = this.aplicarHash(llave);
-		if (entradas[i] == null) {
-			entradas[i] = new Lista<Entrada>();
-		} else {
-			for (Entrada e: entradas[i]) {
-				if (e.llave.equals(llave)) {
-					e.valor = valor;
-					return;
-				}
-			}	
+		int h = this.calcularPicadillo(llave);
+		Entrada e = this.busca(llave, h);
+		if (this.metricas != null) {
+			this.metricas.escritura(this.sondeos(llave, h, e));
+		}
+		if (e != null) {
+			e.valor = valor;
+			return;
 		}
-		entradas[i].agrega(entrada);
+		this.mete(h & this.mascara, new Entrada(llave, valor, h));
 		this.elementos++;
 
-		if (this.carga() >= this.MAXIMA_CARGA) {
-			mascara *= 2;
-			nuevo = this.nuevoArreglo(mascara+1);
-			for (Lista<Entrada> l: entradas) {
-				if (l != null) {
-					for (Entrada e: l) {
-						i = this.aplicarHash(e.llave);
-						if (nuevo[i] == null) {
-							nuevo[i] = new Lista<Entrada>();
-						}
-						nuevo[i].agrega(e);
-					}
-				}
+		if (this.carga() >= this.cargaMaxima) {
+			this.crece();
+		}
+	}
+
+	/**
+	 * Agrega de una vez los valores con sus llaves correspondientes: el valor
+	 * en la posición <i>i</i> se asocia a la llave en la posición <i>i</i>, y
+	 * si una llave se repite se queda el último valor. La tabla se
+	 * dimensiona una sola vez al principio y los picadillos se calculan antes
+	 * de acomodar las entradas; con muchas llaves ese cálculo se reparte entre
+	 * los procesadores, así que el picadillo debe poder usarse desde varios
+	 * hilos.
+	 * @param llaves las llaves para agregar los valores.
+	 * @param valores los valores a agregar.
+	 * @throws IllegalArgumentException si los arreglos no tienen la misma
+	 *         longitud, o si alguna llave o valor es nulo; en ese caso no se
+	 *         agrega nada.
+	 */
+	public void agregaTodos(K[] llaves, V[] valores) {
+		revisaArreglos(llaves, valores);
+		this.asegurarCapacidad(this.elementos + llaves.length);
+		this.migra(Integer.MAX_VALUE);
+		int[] picadillos = this.picadillos(llaves);
+		for (int i = 0; i < llaves.length; i++) {
+			int h = picadillos[i], j = h & this.mascara;
+			Entrada e = this.busca(this.entradas, this.arboles, j, llaves[i], h);
+			if (this.metricas != null) {
+				this.metricas.escritura(Math.abs(this.sondeos(this.entradas, this.arboles,
+				                                              j, llaves[i], e)));
 			}
-			this.entradas = nuevo;
-		}		
-    }
-
-	private Entrada getEntrada(K llave) {
-		int i = this.aplicarHash(llave);
-		if(this.entradas[i] != null) {
-			for (Entrada e:entradas[i]) {
-				if (e.llave.equals(llave)) {
-					return e;
-				}
+			if (e != null) {
+				e.valor = valores[i];
+			} else {
+				this.mete(j, new Entrada(llaves[i], valores[i], h));
+				this.elementos++;
 			}
 		}
-		throw new NoSuchElementException();
+	}
+
+	/**
+	 * Revisa que los arreglos de llaves y valores para una carga masiva sean
+	 * válidos.
+	 * @param llaves las llaves.
+	 * @param valores los valores.
+	 * @throws IllegalArgumentException si los arreglos no tienen la misma
+	 *         longitud, o si alguna llave o valor es nulo.
+	 */
+	protected static void revisaArreglos(Object[] llaves, Object[] valores) {
+		if (llaves.length != valores.length) {
+			throw new IllegalArgumentException();
+		}
+		for (int i = 0; i < llaves.length; i++) {
+			if (llaves[i] == null || valores[i] == null) {
+				throw new IllegalArgumentException();
+			}
+		}
+	}
+
+	/* Calcula los picadillos finalizados de las llaves; en paralelo si son
+	 * muchas, y si no por lotes cuando el picadillo lo permite. */
+	private int[] picadillos(K[] llaves) {
+		int[] picadillos = new int[llaves.length];
+		if (llaves.length >= UMBRAL_PARALELO) {
+			Arrays.parallelSetAll(picadillos, i -> this.calcularPicadillo(llaves[i]));
+		} else if (!(this.picadillo instanceof PicadilloLote) ||
+		           !this.lote(llaves, picadillos)) {
+			for (int i = 0; i < llaves.length; i++) {
+				picadillos[i] = this.calcularPicadillo(llaves[i]);
+			}
+		}
+		return picadillos;
+	}
+
+	/* Calcula los picadillos finalizados de las llaves con el lote del
+	 * picadillo. Regresa false si el arreglo de llaves es un Object[], como
+	 * los que crea el código genérico para llaves de tipo K: un lote para
+	 * un tipo más específico no lo puede recibir. */
+	private boolean lote(K[] llaves, int[] picadillos) {
+		if (llaves.getClass().getComponentType() == Object.class) {
+			return false;
+		}
+		@SuppressWarnings("unchecked") PicadilloLote<K> lote =
+			(PicadilloLote<K>)this.picadillo;
+		lote.picadillos(llaves, picadillos);
+		if (this.finalizador != Finalizador.NINGUNO) {
+			for (int i = 0; i < picadillos.length; i++) {
+				picadillos[i] = this.finalizador.finaliza(picadillos[i]);
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -208,7 +831,80 @@ public class Diccionario<K, V> implements Iterable<V> {
 	 * @throws NoSuchElementException si la llave no está en el diccionario.
 	 */
 	public V get(K llave) {
-		return this.getEntrada(llave).valor;
+		int h = this.calcularPicadillo(llave);
+		Entrada e = this.busca(llave, h);
+		if (this.metricas != null) {
+			this.metricas.consulta(this.sondeos(llave, h, e), e != null);
+		}
+		if (e == null) {
+			throw new NoSuchElementException();
+		}
+		return e.valor;
+	}
+
+	/**
+	 * Regresa de una vez los valores asociados a las llaves: el valor de la
+	 * llave en la posición <i>i</i> queda en la posición <i>i</i> de
+	 * <code>valores</code>. Primero se calculan todos los picadillos, por
+	 * lotes si el picadillo es un {@link PicadilloLote}; luego se leen las
+	 * cabezas de todas las cubetas, y al final se recorren. Así las lecturas
+	 * de memoria de llaves distintas no se esperan unas a otras. Igual que
+	 * {@link #get}, durante un crecimiento incremental no migra nada: busca
+	 * cada llave en la tabla vieja si su cubeta no se ha mudado, y luego en
+	 * la nueva.
+	 * @param llaves las llaves a buscar.
+	 * @param valores el arreglo donde se guardan los valores.
+	 * @throws IllegalArgumentException si <code>valores</code> es más corto
+	 *         que <code>llaves</code>, o si alguna llave es nula.
+	 * @throws NoSuchElementException si alguna llave no está en el
+	 *         diccionario; los valores anteriores a ella ya quedaron
+	 *         guardados.
+	 */
+	public void getTodos(K[] llaves, V[] valores) {
+		revisaConsultas(llaves, valores);
+		int[] picadillos = this.picadillos(llaves);
+		Entrada[] cubetas = this.nuevoArreglo(llaves.length);
+		for (int i = 0; i < llaves.length; i++) {
+			cubetas[i] = this.entradas[picadillos[i] & this.mascara];
+		}
+		for (int i = 0; i < llaves.length; i++) {
+			int h = picadillos[i], j = h & this.mascara;
+			Entrada e = null;
+			if (this.viejas != null && (h & this.mascaraVieja) >= this.migradas) {
+				e = this.busca(this.viejas, this.arbolesViejos, h & this.mascaraVieja, llaves[i], h);
+			}
+			if (e == null) {
+				e = this.arboles != null && this.arboles[j] != null ?
+					this.busca(this.entradas, this.arboles, j, llaves[i], h) :
+					this.busca(cubetas[i], llaves[i], h);
+			}
+			if (this.metricas != null) {
+				this.metricas.consulta(this.sondeos(llaves[i], h, e), e != null);
+			}
+			if (e == null) {
+				throw new NoSuchElementException();
+			}
+			valores[i] = e.valor;
+		}
+	}
+
+	/**
+	 * Revisa que los arreglos de llaves y valores para una consulta masiva
+	 * sean válidos.
+	 * @param llaves las llaves.
+	 * @param valores el arreglo para los valores.
+	 * @throws IllegalArgumentException si <code>valores</code> es más corto
+	 *         que <code>llaves</code>, o si alguna llave es nula.
+	 */
+	protected static void revisaConsultas(Object[] llaves, Object[] valores) {
+		if (valores.length < llaves.length) {
+			throw new IllegalArgumentException();
+		}
+		for (Object llave : llaves) {
+			if (llave == null) {
+				throw new IllegalArgumentException();
+			}
+		}
 	}
 
 	/**
@@ -218,18 +914,16 @@ public class Diccionario<K, V> implements Iterable<V> {
 	 *         <tt>false</tt> en otro caso.
 	 */
 	public boolean contiene(K llave) {
-		if (llave != null) {
-			int i = this.aplicarHash(llave);
-			if (this.entradas[i] != null) {
-				for (Entrada e:entradas[i]) {
-					if (e.llave.equals(llave)) {
-						return true;
-					}
-				}
-			}
+		if (llave == null) {
+			return false;
+		}
+		int h = this.calcularPicadillo(llave);
+		Entrada e = this.busca(llave, h);
+		if (this.metricas != null) {
+			this.metricas.consulta(this.sondeos(llave, h, e), e != null);
 		}
-		return false;
-    }
+		return e != null;
+	}
 
 	/**
 	 * Elimina el valor del diccionario asociado a la llave proporcionada.
@@ -238,17 +932,60 @@ public class Diccionario<K, V> implements Iterable<V> {
 	 *         el diccionario.
 	 */
 	public void elimina(K llave) {
-		int i = this.aplicarHash(llave);
-		if (this.entradas[i] != null) {
-			for (Entrada e:entradas[i]) {
-				if (e.llave.equals(llave)) {
-					entradas[i].elimina(e);
-					this.elementos--;
-					return;
-				}
-			}
+		this.migra(MIGRACION);
+		int h = this.calcularPicadillo(llave);
+		int s = 0;
+		if (this.viejas != null && (h & this.mascaraVieja) >= this.migradas) {
+			s = this.quita(this.viejas, this.arbolesViejos, h & this.mascaraVieja, llave, h);
+		}
+		if (s >= 0) {
+			int t = this.quita(this.entradas, this.arboles, h & this.mascara, llave, h);
+			s = t < 0 ? t - s : t + s;
 		}
-		throw new NoSuchElementException();
+		if (this.metricas != null) {
+			this.metricas.escritura(Math.abs(s));
+		}
+		if (s >= 0) {
+			throw new NoSuchElementException();
+		}
+		this.elementos--;
+	}
+
+	/* Número de cubetas, contando las de la tabla vieja sin migrar. */
+	private int cubetas() {
+		int n = this.entradas.length;
+		if (this.viejas != null) {
+			n += this.viejas.length - this.migradas;
+		}
+		return n;
+	}
+
+	/* Regresa la i-ésima cubeta; después de las de la tabla nueva siguen las
+	 * de la tabla vieja sin migrar. */
+	private Entrada cubeta(int i) {
+		if (i < this.entradas.length) {
+			return this.entradas[i];
+		}
+		return this.viejas[this.migradas + i - this.entradas.length];
+	}
+
+	/* Regresa la longitud de la i-ésima cubeta. */
+	private int longitud(int i) {
+		int n = 0;
+		for (Entrada e = this.cubeta(i); e != null; e = e.siguiente) {
+			n++;
+		}
+		return n;
+	}
+
+	/* Regresa la longitud de la cubeta, sin contar más allá de
+	 * MetricasDiccionario.LONGITUDES. */
+	private int longitudAcotada(Entrada cubeta) {
+		int n = 0;
+		for (Entrada e = cubeta; e != null && n < MetricasDiccionario.LONGITUDES; e = e.siguiente) {
+			n++;
+		}
+		return n;
 	}
 
 	/**
@@ -258,15 +995,11 @@ public class Diccionario<K, V> implements Iterable<V> {
 	 */
 	public Lista<K> llaves() {
 		Lista<K> llaves = new Lista<K>();
-		for (Lista<Entrada> l : this.entradas) {
-			if (l != null) {
-				for (Entrada e : l) {
-					llaves.agrega(e.llave);
-				}
-			}
+		for (K llave : this.cadaLlave()) {
+			llaves.agrega(llave);
 		}
 		return llaves;
-    }
+	}
 
 	/**
 	 * Regresa una lista con todos los valores en el diccionario. La lista no
@@ -275,25 +1008,42 @@ public class Diccionario<K, V> implements Iterable<V> {
 	 */
 	public Lista<V> valores() {
 		Lista<V> valores = new Lista<V>();
-		for (Lista<Entrada> l : this.entradas) {
-			if (l != null) {
-				for (Entrada e : l) {
-					valores.agrega(e.valor);
-				}
-			}
+		for (V valor : this) {
+			valores.agrega(valor);
 		}
 		return valores;
 	}
 
+	/**
+	 * Regresa un iterable para recorrer las llaves del diccionario sin
+	 * copiarlas a una lista. El diccionario se recorre sin ningún orden
+	 * específico, y no debe modificarse mientras se recorre.
+	 * @return un iterable para las llaves del diccionario.
+	 */
+	public Iterable<K> cadaLlave() {
+		return () -> new IteradorLlaves();
+	}
+
+	/**
+	 * Regresa un iterable para recorrer las entradas (llave y valor) del
+	 * diccionario sin copiarlas ni buscar cada llave. El diccionario se
+	 * recorre sin ningún orden específico, y no debe modificarse mientras se
+	 * recorre.
+	 * @return un iterable para las entradas del diccionario.
+	 */
+	public Iterable<EntradaDiccionario<K, V>> cadaEntrada() {
+		return () -> new IteradorEntradas();
+	}
+
 	/**
 	 * Nos dice cuántas colisiones hay en el diccionario.
 	 * @return cuántas colisiones hay en el diccionario.
 	 */
 	public int colisiones() {
-    	int colisiones = 0;
-		for (Lista<Entrada> l : this.entradas) {
-			if (l != null) {
-				colisiones += l.getLongitud()-1;	
+		int colisiones = 0;
+		for (int i = 0; i < this.cubetas(); i++) {
+			if (this.cubeta(i) != null) {
+				colisiones += this.longitud(i)-1;
 			}
 		}
 		return colisiones;
@@ -306,12 +1056,10 @@ public class Diccionario<K, V> implements Iterable<V> {
 	 */
 	public int colisionMaxima() {
 		int colision, colisionMaxima = 0;
-		for (Lista<Entrada> l : this.entradas) {
-			if (l != null) {
-				colision = l.getLongitud()-1;
-				if (colisionMaxima < colision) {
-					colisionMaxima = colision;
-				}	
+		for (int i = 0; i < this.cubetas(); i++) {
+			colision = this.longitud(i)-1;
+			if (colisionMaxima < colision) {
+				colisionMaxima = colision;
 			}
 		}
 		return colisionMaxima;
@@ -342,6 +1090,23 @@ public class Diccionario<K, V> implements Iterable<V> {
 		return this.elementos == 0;
 	}
 
+	/**
+	 * Regresa las métricas en vivo del diccionario. La primera llamada las
+	 * crea y recorre las cubetas una vez para el histograma de longitudes; a
+	 * partir de ese momento cada operación las actualiza con un costo
+	 * constante. Mientras nadie las pida no cuestan nada.
+	 * @return las métricas del diccionario.
+	 */
+	public MetricasDiccionario getMetricas() {
+		if (this.metricas == null) {
+			this.metricas = new MetricasDiccionario(this);
+			for (int i = 0; this.entradas != null && i < this.cubetas(); i++) {
+				this.metricas.cubetas(this.longitud(i), 1);
+			}
+		}
+		return this.metricas;
+	}
+
 	/**
 	 * Nos dice si el diccionario es igual al objeto recibido.
 	 * @param o el objeto que queremos saber si es igual al diccionario.
@@ -352,13 +1117,12 @@ public class Diccionario<K, V> implements Iterable<V> {
 	@Override public boolean equals(Object o) {
 		if (!(o instanceof Diccionario))
 			return false;
-		@SuppressWarnings("unchecked") Diccionario<K, V> d = (Diccionario<K, V>)oLista<K> llaves = this.llaves(), llaves_d = d.llaves();
-		Lista<K> llaves = this.llaves(), llaves_d = d.llaves();
-		if (llaves.getLongitud() != llaves_d.getLongitud()) {
+		@SuppressWarnings("unchecked") Diccionario<K, V> d = (Diccionario<K, V>)o;
+		if (this.getElementos() != d.getElementos()) {
 			return false;
 		}
-		for (K llave :llaves) {
-			if (!(d.contiene(llave) && d.get(llave).equals(this.get(llave)))) {
+		for (EntradaDiccionario<K, V> e : this.cadaEntrada()) {
+			if (!(d.contiene(e.getLlave()) && d.get(e.getLlave()).equals(e.getValor()))) {
 				return false;
 			}
 		}
@@ -371,6 +1135,6 @@ public class Diccionario<K, V> implements Iterable<V> {
 	 * @return un iterador para iterar el diccionario.
 	 */
 	@Override public Iterator<V> iterator() {
-		return new Iterador();   
+		return new IteradorValores();
 	}
 }
@@ -0,0 +1,493 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Diccionario con direccionamiento abierto (<em>open addressing</em>). En lugar
+ * de cubetas de listas, guarda las llaves y los valores en dos arreglos
+ * paralelos y resuelve las colisiones con sondeo lineal: una llave vive en la
+ * primera casilla libre a partir de su picadillo. Al eliminar se recorren hacia
+ * atrás las llaves siguientes (<em>backward shift</em>), por lo que no se dejan
+ * lápidas. No crea objetos por entrada, así que usa mucha menos memoria que
+ * {@link Diccionario} y sus búsquedas recorren memoria contigua.
+ */
+public class DiccionarioAbierto<K, V> extends Diccionario<K, V> {
+
+    /* Clase privada para iteradores de diccionarios abiertos. Es un cursor
+     * sobre las casillas ocupadas de la tabla. */
+    private abstract class Iterador<E> implements Iterator<E> {
+
+        /* La siguiente casilla ocupada. */
+        private int indice;
+
+        /* Construye un nuevo iterador en la primera casilla ocupada. */
+        public Iterador() {
+            indice = siguienteOcupada(0);
+        }
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return indice < llaves.length;
+        }
+
+        /* Regresa la siguiente casilla ocupada y avanza el cursor. */
+        protected int siguienteCasilla() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            int i = indice;
+            indice = siguienteOcupada(indice + 1);
+            return i;
+        }
+
+        /* No lo implementamos: siempre lanza una excepción. */
+        @Override public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /* Iterador para las llaves. */
+    private class IteradorLlaves extends Iterador<K> {
+        @Override public K next() {
+            return llave(siguienteCasilla());
+        }
+    }
+
+    /* Iterador para los valores. */
+    private class IteradorValores extends Iterador<V> {
+        @Override public V next() {
+            return valor(siguienteCasilla());
+        }
+    }
+
+    /* Iterador para las entradas. La tabla no guarda objetos por entrada,
+     * así que el iterador regresa siempre la misma, apuntando a la casilla
+     * actual. */
+    private class IteradorEntradas extends Iterador<EntradaDiccionario<K, V>>
+        implements EntradaDiccionario<K, V> {
+
+        /* La casilla de la entrada actual. */
+        private int casilla;
+
+        @Override public EntradaDiccionario<K, V> next() {
+            casilla = siguienteCasilla();
+            return this;
+        }
+
+        @Override public K getLlave() {
+            return llave(casilla);
+        }
+
+        @Override public V getValor() {
+            return valor(casilla);
+        }
+    }
+
+    /* Las llaves; null indica casilla libre. */
+    private Object[] llaves;
+    /* Los valores, en las mismas casillas que sus llaves. */
+    private Object[] valores;
+
+    /**
+     * Construye un diccionario abierto con un tamaño inicial y picadillo
+     * predeterminados.
+     */
+    public DiccionarioAbierto() {
+        this(0, Diccionario.<K>picadilloHashCode());
+    }
+
+    /**
+     * Construye un diccionario abierto con un tamaño inicial definido por el
+     * usuario, y un picadillo predeterminado.
+     * @param tam el tamaño a utilizar.
+     */
+    public DiccionarioAbierto(int tam) {
+        this(tam, Diccionario.<K>picadilloHashCode());
+    }
+
+    /**
+     * Construye un diccionario abierto con un tamaño inicial predeterminado, y
+     * un picadillo definido por el usuario.
+     * @param picadillo el picadillo a utilizar.
+     */
+    public DiccionarioAbierto(Picadillo<K> picadillo) {
+        this(0, picadillo);
+    }
+
+    /**
+     * Construye un diccionario abierto con un tamaño inicial, y un método de
+     * picadillo definidos por el usuario. La tabla se dimensiona para que
+     * <code>tam</code> elementos quepan sin rebasar {@link #MAXIMA_CARGA}.
+     * @param tam el tamaño del diccionario.
+     * @param picadillo el picadillo a utilizar.
+     */
+    public DiccionarioAbierto(int tam, Picadillo<K> picadillo) {
+        this(tam, MAXIMA_CARGA, picadillo);
+    }
+
+    /**
+     * Construye un diccionario abierto para un número esperado de elementos
+     * y con una carga máxima definida por el usuario.
+     * @param tam el número de elementos esperado.
+     * @param carga la carga máxima antes de crecer.
+     * @throws IllegalArgumentException si la carga no está entre 0 y 1.
+     */
+    public DiccionarioAbierto(int tam, double carga) {
+        this(tam, carga, Diccionario.<K>picadilloHashCode());
+    }
+
+    /**
+     * Construye un diccionario abierto para un número esperado de elementos,
+     * con una carga máxima y un picadillo definidos por el usuario. Con
+     * sondeo lineal la carga debe ser menor a 1; arriba de 0.8 las búsquedas
+     * fallidas se alargan rápidamente.
+     * @param tam el número de elementos esperado.
+     * @param carga la carga máxima antes de crecer.
+     * @param picadillo el picadillo a utilizar.
+     * @throws IllegalArgumentException si la carga no está entre 0 y 1.
+     */
+    public DiccionarioAbierto(int tam, double carga, Picadillo<K> picadillo) {
+        super(calcularMascara(tam, revisaCarga(carga, true)), carga, picadillo,
+              false);
+        llaves = new Object[mascara+1];
+        valores = new Object[mascara+1];
+    }
+
+    /* Regresa la llave en la casilla i. */
+    @SuppressWarnings("unchecked") private K llave(int i) {
+        return (K)llaves[i];
+    }
+
+    /* Regresa el valor en la casilla i. */
+    @SuppressWarnings("unchecked") private V valor(int i) {
+        return (V)valores[i];
+    }
+
+    /* Regresa la primera casilla ocupada a partir de i, o llaves.length. */
+    private int siguienteOcupada(int i) {
+        while (i < llaves.length && llaves[i] == null)
+            i++;
+        return i;
+    }
+
+    /* Regresa la casilla de la llave; si no está, regresa -1 - j, donde j es
+     * la casilla libre en la que se detuvo la búsqueda. */
+    private int busca(K llave) {
+        int i = aplicarHash(llave);
+        while (llaves[i] != null) {
+            if (llaves[i].equals(llave))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -1 - i;
+    }
+
+    /* Regresa cuántas casillas ocupadas revisó la búsqueda de la llave que
+     * regresó i. Sólo se llama con las métricas prendidas, así que sin ellas
+     * las búsquedas no escriben en el diccionario. */
+    private int sondeos(K llave, int i) {
+        if (i >= 0)
+            return distancia(i) + 1;
+        return (-1 - i - aplicarHash(llave)) & mascara;
+    }
+
+    /* Distancia de la casilla i a la casilla original de su llave. */
+    private int distancia(int i) {
+        return (i - aplicarHash(llave(i))) & mascara;
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    @Override public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        int i = aplicarHash(llave), s = 0;
+        while (llaves[i] != null) {
+            s++;
+            if (llaves[i].equals(llave)) {
+                valores[i] = valor;
+                if (metricas != null)
+                    metricas.escritura(s);
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        if (metricas != null)
+            metricas.escritura(s);
+        llaves[i] = llave;
+        valores[i] = valor;
+        elementos++;
+        if (carga() >= cargaMaxima)
+            redimensiona((mascara << 1) | 1);
+    }
+
+    /**
+     * Agrega de una vez los valores con sus llaves correspondientes. La
+     * tabla se dimensiona una sola vez al principio.
+     * @param llaves las llaves para agregar los valores.
+     * @param valores los valores a agregar.
+     * @throws IllegalArgumentException si los arreglos no tienen la misma
+     *         longitud, o si alguna llave o valor es nulo; en ese caso no se
+     *         agrega nada.
+     */
+    @Override public void agregaTodos(K[] llaves, V[] valores) {
+        revisaArreglos(llaves, valores);
+        asegurarCapacidad(elementos + llaves.length);
+        for (int i = 0; i < llaves.length; i++)
+            agrega(llaves[i], valores[i]);
+    }
+
+    /* Cambia el tamaño de la tabla y vuelve a acomodar todas las llaves. */
+    private void redimensiona(int mascara) {
+        long t = metricas == null ? 0 : System.nanoTime();
+        Object[] ll = llaves, vs = valores;
+        this.mascara = mascara;
+        llaves = new Object[mascara+1];
+        valores = new Object[mascara+1];
+        for (int j = 0; j < ll.length; j++) {
+            if (ll[j] == null)
+                continue;
+            @SuppressWarnings("unchecked") K llave = (K)ll[j];
+            int i = aplicarHash(llave);
+            while (llaves[i] != null)
+                i = (i + 1) & mascara;
+            llaves[i] = llave;
+            valores[i] = vs[j];
+        }
+        if (metricas != null)
+            metricas.redimension(System.nanoTime() - t);
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    @Override public V get(K llave) {
+        int i = busca(llave);
+        if (metricas != null)
+            metricas.consulta(sondeos(llave, i), i >= 0);
+        if (i < 0)
+            throw new NoSuchElementException();
+        return valor(i);
+    }
+
+    /**
+     * Regresa de una vez los valores asociados a las llaves: el valor de la
+     * llave en la posición <i>i</i> queda en la posición <i>i</i> de
+     * <code>valores</code>.
+     * @param llaves las llaves a buscar.
+     * @param valores el arreglo donde se guardan los valores.
+     * @throws IllegalArgumentException si <code>valores</code> es más corto
+     *         que <code>llaves</code>, o si alguna llave es nula.
+     * @throws NoSuchElementException si alguna llave no está en el
+     *         diccionario.
+     */
+    @Override public void getTodos(K[] llaves, V[] valores) {
+        revisaConsultas(llaves, valores);
+        for (int i = 0; i < llaves.length; i++)
+            valores[i] = get(llaves[i]);
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <tt>true</tt> si la llave está en el diccionario,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean contiene(K llave) {
+        if (llave == null)
+            return false;
+        int i = busca(llave);
+        if (metricas != null)
+            metricas.consulta(sondeos(llave, i), i >= 0);
+        return i >= 0;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada. Las
+     * llaves que siguen en la misma corrida se recorren hacia atrás, así que
+     * no quedan lápidas en la tabla.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    @Override public void elimina(K llave) {
+        int i = busca(llave);
+        if (metricas != null)
+            metricas.escritura(sondeos(llave, i));
+        if (i < 0)
+            throw new NoSuchElementException();
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (llaves[j] == null)
+                break;
+            /* La llave en j puede ocupar el hueco en i si su casilla
+             * original no está entre i (exclusivo) y j (inclusivo). */
+            if (distancia(j) >= ((j - i) & mascara)) {
+                llaves[i] = llaves[j];
+                valores[i] = valores[j];
+                i = j;
+            }
+        }
+        llaves[i] = null;
+        valores[i] = null;
+        elementos--;
+    }
+
+    /**
+     * Regresa una lista con todas las llaves con valores asociados en el
+     * diccionario. La lista no tiene ningún tipo de orden.
+     * @return una lista con todas las llaves.
+     */
+    @Override public Lista<K> llaves() {
+        Lista<K> l = new Lista<K>();
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != null)
+                l.agrega(llave(i));
+        return l;
+    }
+
+    /**
+     * Regresa una lista con todos los valores en el diccionario. La lista no
+     * tiene ningún tipo de orden.
+     * @return una lista con todos los valores.
+     */
+    @Override public Lista<V> valores() {
+        Lista<V> l = new Lista<V>();
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != null)
+                l.agrega(valor(i));
+        return l;
+    }
+
+    /**
+     * Regresa un iterable para recorrer las llaves del diccionario sin
+     * copiarlas a una lista.
+     * @return un iterable para las llaves del diccionario.
+     */
+    @Override public Iterable<K> cadaLlave() {
+        return () -> new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterable para recorrer las entradas del diccionario. Como la
+     * tabla guarda llaves y valores en arreglos, el iterador reutiliza un
+     * mismo objeto para todas las entradas: cada entrada regresada sólo es
+     * válida hasta la siguiente llamada a <code>next()</code>.
+     * @return un iterable para las entradas del diccionario.
+     */
+    @Override public Iterable<EntradaDiccionario<K, V>> cadaEntrada() {
+        return () -> new IteradorEntradas();
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario; es decir, cuántas
+     * llaves no están en la casilla que les corresponde por su picadillo.
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    @Override public int colisiones() {
+        int colisiones = 0;
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != null && distancia(i) > 0)
+                colisiones++;
+        return colisiones;
+    }
+
+    /**
+     * Nos dice la máxima distancia de una llave a la casilla que le
+     * corresponde por su picadillo.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    @Override public int colisionMaxima() {
+        int colisionMaxima = 0;
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != null)
+                colisionMaxima = Math.max(colisionMaxima, distancia(i));
+        return colisionMaxima;
+    }
+
+    /**
+     * Hace crecer la tabla, si es necesario, para que quepan <code>n</code>
+     * elementos sin rebasar la carga máxima.
+     * @param n el número de elementos que deben caber.
+     */
+    @Override public void asegurarCapacidad(int n) {
+        int m = calcularMascara(n, cargaMaxima);
+        if (m > mascara)
+            redimensiona(m);
+    }
+
+    /**
+     * Encoge la tabla al menor tamaño en el que caben los elementos actuales
+     * sin rebasar la carga máxima.
+     */
+    @Override public void compacta() {
+        int m = calcularMascara(elementos, cargaMaxima);
+        if (m < mascara)
+            redimensiona(m);
+    }
+
+    /**
+     * El diccionario abierto siempre crece de una vez; no tiene modo
+     * incremental.
+     * @param incremental debe ser <code>false</code>.
+     * @throws UnsupportedOperationException si incremental es
+     *         <code>true</code>.
+     */
+    @Override public void setRedimensionIncremental(boolean incremental) {
+        if (incremental)
+            throw new UnsupportedOperationException();
+    }
+
+    /**
+     * El diccionario abierto no tiene cubetas que puedan volverse árboles;
+     * sus colisiones ocupan las posiciones siguientes de la tabla.
+     * @param arboles debe ser <code>false</code>.
+     * @throws UnsupportedOperationException si arboles es <code>true</code>.
+     */
+    @Override public void setArbolesEnCubetas(boolean arboles) {
+        if (arboles)
+            throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Define el finalizador que se aplica a los picadillos antes de la
+     * máscara. Si el diccionario no está vacío, sus llaves se vuelven a
+     * acomodar.
+     * @param finalizador el nuevo finalizador.
+     * @throws IllegalArgumentException si el finalizador es nulo.
+     */
+    @Override public void setFinalizador(Finalizador finalizador) {
+        if (finalizador == null)
+            throw new IllegalArgumentException();
+        this.finalizador = finalizador;
+        if (elementos > 0)
+            redimensiona(mascara);
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return la carga del diccionario.
+     */
+    @Override public double carga() {
+        return (elementos + 0.0) / llaves.length;
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar el diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
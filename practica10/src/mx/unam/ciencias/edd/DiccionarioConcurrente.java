@@ -0,0 +1,670 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * Diccionario seguro para usarse desde varios hilos a la vez. Las cubetas se
+ * reparten entre un número fijo de cerrojos (<em>lock striping</em>): la cubeta
+ * <code>i</code> la protege el cerrojo <code>i</code> módulo el número de
+ * cerrojos, así que escrituras en cubetas distintas casi nunca se estorban.
+ * Las lecturas ({@link #get}, {@link #contiene} y los iteradores) no toman
+ * ningún cerrojo: las cubetas son listas ligadas con referencias volátiles
+ * que sólo se modifican de manera que cualquier lector vea siempre una lista
+ * bien formada.
+ *
+ * <p>Para crecer se toman todos los cerrojos y se copia la tabla a una nueva
+ * con nodos nuevos; la tabla vieja no se toca, así que los lectores que la
+ * estén recorriendo pueden terminar sin esperar. Para no sumar las cuentas de
+ * todos los cerrojos en cada inserción, la carga sólo se revisa cuando el
+ * cerrojo donde se insertó tiene al menos el promedio de elementos; por eso
+ * la carga puede rebasar un poco la máxima antes de que la tabla crezca, pero
+ * nunca llega al doble.</p>
+ *
+ * <p>Los iteradores son débilmente consistentes: nunca lanzan excepciones por
+ * modificaciones concurrentes, regresan cada elemento a lo más una vez, y
+ * pueden o no ver los cambios hechos después de crearse.</p>
+ */
+public class DiccionarioConcurrente<K, V> extends Diccionario<K, V> {
+
+    /* Nodos de las cubetas. */
+    private static class Nodo<K, V> implements EntradaDiccionario<K, V> {
+
+        /* La llave. */
+        public final K llave;
+        /* El picadillo de la llave. */
+        public final int picadillo;
+        /* El valor. */
+        public volatile V valor;
+        /* El siguiente nodo en la cubeta. */
+        public volatile Nodo<K, V> siguiente;
+
+        /* Construye un nuevo nodo. */
+        public Nodo(K llave, int picadillo, V valor, Nodo<K, V> siguiente) {
+            this.llave = llave;
+            this.picadillo = picadillo;
+            this.valor = valor;
+            this.siguiente = siguiente;
+        }
+
+        /* Regresa la llave. */
+        @Override public K getLlave() {
+            return llave;
+        }
+
+        /* Regresa el valor. */
+        @Override public V getValor() {
+            return valor;
+        }
+    }
+
+    /* Clase privada para iteradores de diccionarios concurrentes. Es un
+     * cursor sobre la tabla que existía al crearse. */
+    private abstract class Iterador<E> implements Iterator<E> {
+
+        /* La tabla que recorremos. */
+        private AtomicReferenceArray<Nodo<K, V>> tabla;
+        /* En qué cubeta estamos. */
+        private int indice;
+        /* El siguiente nodo a regresar. */
+        private Nodo<K, V> siguiente;
+
+        /* Construye un nuevo iterador en el primer nodo. */
+        public Iterador() {
+            tabla = DiccionarioConcurrente.this.tabla;
+            indice = -1;
+            avanzaCubeta();
+        }
+
+        /* Mueve el cursor al primer nodo de la siguiente cubeta no vacía. */
+        private void avanzaCubeta() {
+            siguiente = null;
+            while (siguiente == null && ++indice < tabla.length())
+                siguiente = tabla.get(indice);
+        }
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        /* Regresa el siguiente nodo. */
+        protected Nodo<K, V> siguienteNodo() {
+            if (siguiente == null)
+                throw new NoSuchElementException();
+            Nodo<K, V> n = siguiente;
+            siguiente = n.siguiente;
+            if (siguiente == null)
+                avanzaCubeta();
+            return n;
+        }
+
+        /* No lo implementamos: siempre lanza una excepción. */
+        @Override public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /* Iterador para las llaves. */
+    private class IteradorLlaves extends Iterador<K> {
+        @Override public K next() {
+            return siguienteNodo().llave;
+        }
+    }
+
+    /* Iterador para los valores. */
+    private class IteradorValores extends Iterador<V> {
+        @Override public V next() {
+            return siguienteNodo().valor;
+        }
+    }
+
+    /* Iterador para las entradas. */
+    private class IteradorEntradas extends Iterador<EntradaDiccionario<K, V>> {
+        @Override public EntradaDiccionario<K, V> next() {
+            return siguienteNodo();
+        }
+    }
+
+    /* Tamaño mínimo; decidido arbitrariamente a 2^6. */
+    private static final int MIN_N = 64;
+    /* Número de cerrojos; potencia de dos no mayor a MIN_N, para que el
+     * cerrojo de una llave dependa sólo de su picadillo. */
+    private static final int CERROJOS = 32;
+    /* Separación entre contadores, para que cada uno viva en su propia línea
+     * de caché. */
+    private static final int RELLENO = 16;
+
+    /* Las cubetas. Sólo se reemplaza teniendo todos los cerrojos. */
+    private volatile AtomicReferenceArray<Nodo<K, V>> tabla;
+    /* Los cerrojos. */
+    private final ReentrantLock[] cerrojos;
+    /* Número de elementos protegidos por cada cerrojo. */
+    private final AtomicIntegerArray cuentas;
+
+    /**
+     * Construye un diccionario concurrente con un tamaño inicial y picadillo
+     * predeterminados.
+     */
+    public DiccionarioConcurrente() {
+        this(MIN_N, Diccionario.<K>picadilloHashCode());
+    }
+
+    /**
+     * Construye un diccionario concurrente con un tamaño inicial definido por
+     * el usuario, y un picadillo predeterminado.
+     * @param tam el tamaño a utilizar.
+     */
+    public DiccionarioConcurrente(int tam) {
+        this(tam, Diccionario.<K>picadilloHashCode());
+    }
+
+    /**
+     * Construye un diccionario concurrente con un tamaño inicial
+     * predeterminado, y un picadillo definido por el usuario.
+     * @param picadillo el picadillo a utilizar.
+     */
+    public DiccionarioConcurrente(Picadillo<K> picadillo) {
+        this(MIN_N, picadillo);
+    }
+
+    /**
+     * Construye un diccionario concurrente con un tamaño inicial, y un método
+     * de picadillo definidos por el usuario. La tabla se dimensiona para que
+     * <code>tam</code> elementos quepan sin rebasar {@link #MAXIMA_CARGA}.
+     * @param tam el tamaño del diccionario.
+     * @param picadillo el picadillo a utilizar.
+     */
+    public DiccionarioConcurrente(int tam, Picadillo<K> picadillo) {
+        this(tam, MAXIMA_CARGA, picadillo);
+    }
+
+    /**
+     * Construye un diccionario concurrente para un número esperado de
+     * elementos y con una carga máxima definida por el usuario.
+     * @param tam el número de elementos esperado.
+     * @param carga la carga máxima antes de crecer.
+     * @throws IllegalArgumentException si la carga no es positiva.
+     */
+    public DiccionarioConcurrente(int tam, double carga) {
+        this(tam, carga, Diccionario.<K>picadilloHashCode());
+    }
+
+    /**
+     * Construye un diccionario concurrente para un número esperado de
+     * elementos, con una carga máxima y un picadillo definidos por el
+     * usuario.
+     * @param tam el número de elementos esperado.
+     * @param carga la carga máxima antes de crecer.
+     * @param picadillo el picadillo a utilizar.
+     * @throws IllegalArgumentException si la carga no es positiva.
+     */
+    public DiccionarioConcurrente(int tam, double carga,
+                                  Picadillo<K> picadillo) {
+        super(calcularMascara(tam, revisaCarga(carga, false)), carga,
+              picadillo, false);
+        tabla = new AtomicReferenceArray<Nodo<K, V>>(mascara+1);
+        cerrojos = new ReentrantLock[CERROJOS];
+        for (int i = 0; i < CERROJOS; i++)
+            cerrojos[i] = new ReentrantLock();
+        cuentas = new AtomicIntegerArray(CERROJOS * RELLENO);
+    }
+
+    /* Busca el nodo de la llave en la tabla; regresa null si no está. */
+    private Nodo<K, V> busca(AtomicReferenceArray<Nodo<K, V>> t, K llave,
+                             int h) {
+        Nodo<K, V> n = t.get(h & (t.length()-1));
+        while (n != null) {
+            if (n.picadillo == h && n.llave.equals(llave))
+                return n;
+            n = n.siguiente;
+        }
+        return null;
+    }
+
+    /* Inserta un nodo nuevo al inicio de su cubeta y regresa la nueva cuenta
+     * del cerrojo c, que se debe tener. */
+    private int inserta(AtomicReferenceArray<Nodo<K, V>> t, K llave, int h,
+                        V valor, int c) {
+        int i = h & (t.length()-1);
+        t.set(i, new Nodo<K, V>(llave, h, valor, t.get(i)));
+        return cuentas.incrementAndGet(c * RELLENO);
+    }
+
+    /* Saca el nodo de su cubeta. El nodo sigue apuntando a su siguiente, así
+     * que un lector que esté en él puede continuar. Se debe tener el cerrojo
+     * c. */
+    private void saca(AtomicReferenceArray<Nodo<K, V>> t, Nodo<K, V> nodo,
+                      int c) {
+        int i = nodo.picadillo & (t.length()-1);
+        Nodo<K, V> n = t.get(i);
+        if (n == nodo) {
+            t.set(i, nodo.siguiente);
+        } else {
+            while (n.siguiente != nodo)
+                n = n.siguiente;
+            n.siguiente = nodo.siguiente;
+        }
+        cuentas.decrementAndGet(c * RELLENO);
+    }
+
+    /* Revisa la carga después de insertar en la tabla recibida, con la
+     * cuenta que quedó en el cerrojo donde se insertó. Esa cuenta por el
+     * número de cerrojos estima los elementos sin leer las demás; sólo si la
+     * estimación rebasa la carga se suman todas para confirmarlo. Si la
+     * carga se rebasa, algún cerrojo tiene al menos el promedio, y la
+     * siguiente inserción en él hace crecer la tabla. */
+    private void revisaCarga(AtomicReferenceArray<Nodo<K, V>> t, int cuenta) {
+        double umbral = t.length() * cargaMaxima;
+        if ((long)cuenta * CERROJOS >= umbral && getElementos() >= umbral)
+            crece(t);
+    }
+
+    /* Toma todos los cerrojos, en orden. */
+    private void tomaCerrojos() {
+        for (ReentrantLock cerrojo : cerrojos)
+            cerrojo.lock();
+    }
+
+    /* Suelta todos los cerrojos. */
+    private void sueltaCerrojos() {
+        for (ReentrantLock cerrojo : cerrojos)
+            cerrojo.unlock();
+    }
+
+    /* Duplica la tabla, si nadie lo ha hecho desde que vimos la tabla
+     * recibida. */
+    private void crece(AtomicReferenceArray<Nodo<K, V>> vista) {
+        tomaCerrojos();
+        try {
+            if (tabla == vista)
+                copia((vista.length() << 1) - 1);
+        } finally {
+            sueltaCerrojos();
+        }
+    }
+
+    /* Copia la tabla a una nueva con la máscara recibida, con nodos nuevos
+     * para no tocar la que quizás están leyendo otros hilos. Se deben tener
+     * todos los cerrojos. */
+    private void copia(int m) {
+        AtomicReferenceArray<Nodo<K, V>> vieja = tabla;
+        AtomicReferenceArray<Nodo<K, V>> nueva =
+            new AtomicReferenceArray<Nodo<K, V>>(m+1);
+        for (int i = 0; i < vieja.length(); i++) {
+            for (Nodo<K, V> n = vieja.get(i); n != null; n = n.siguiente) {
+                int j = n.picadillo & m;
+                nueva.set(j, new Nodo<K, V>(n.llave, n.picadillo, n.valor,
+                                            nueva.get(j)));
+            }
+        }
+        mascara = m;
+        tabla = nueva;
+    }
+
+    /**
+     * Hace crecer la tabla, si es necesario, para que quepan <code>n</code>
+     * elementos sin rebasar la carga máxima.
+     * @param n el número de elementos que deben caber.
+     */
+    @Override public void asegurarCapacidad(int n) {
+        int m = calcularMascara(n, cargaMaxima);
+        if (m < tabla.length())
+            return;
+        tomaCerrojos();
+        try {
+            if (m >= tabla.length())
+                copia(m);
+        } finally {
+            sueltaCerrojos();
+        }
+    }
+
+    /**
+     * Encoge la tabla al menor tamaño en el que caben los elementos actuales
+     * sin rebasar la carga máxima. Bloquea todas las escrituras mientras
+     * copia.
+     */
+    @Override public void compacta() {
+        tomaCerrojos();
+        try {
+            int m = calcularMascara(getElementos(), cargaMaxima);
+            if (m < tabla.length() - 1)
+                copia(m);
+        } finally {
+            sueltaCerrojos();
+        }
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    @Override public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        int h = calcularPicadillo(llave);
+        int c = h & (CERROJOS-1);
+        AtomicReferenceArray<Nodo<K, V>> t;
+        int cuenta;
+        cerrojos[c].lock();
+        try {
+            t = tabla;
+            Nodo<K, V> n = busca(t, llave, h);
+            if (n != null) {
+                n.valor = valor;
+                return;
+            }
+            cuenta = inserta(t, llave, h, valor, c);
+        } finally {
+            cerrojos[c].unlock();
+        }
+        revisaCarga(t, cuenta);
+    }
+
+    /**
+     * Agrega de una vez los valores con sus llaves correspondientes. La
+     * tabla se dimensiona una sola vez al principio; cada inserción es
+     * atómica, pero el conjunto de ellas no.
+     * @param llaves las llaves para agregar los valores.
+     * @param valores los valores a agregar.
+     * @throws IllegalArgumentException si los arreglos no tienen la misma
+     *         longitud, o si alguna llave o valor es nulo; en ese caso no se
+     *         agrega nada.
+     */
+    @Override public void agregaTodos(K[] llaves, V[] valores) {
+        revisaArreglos(llaves, valores);
+        asegurarCapacidad(getElementos() + llaves.length);
+        for (int i = 0; i < llaves.length; i++)
+            agrega(llaves[i], valores[i]);
+    }
+
+    /**
+     * Agrega el valor al diccionario sólo si la llave no tiene ya un valor
+     * asociado. La revisión y la inserción son atómicas.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @return el valor que ya estaba asociado a la llave, o <code>null</code>
+     *         si no había ninguno y se agregó el recibido.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public V agregaSiAusente(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        int h = calcularPicadillo(llave);
+        Nodo<K, V> n = busca(tabla, llave, h);
+        if (n != null)
+            return n.valor;
+        int c = h & (CERROJOS-1);
+        AtomicReferenceArray<Nodo<K, V>> t;
+        int cuenta;
+        cerrojos[c].lock();
+        try {
+            t = tabla;
+            n = busca(t, llave, h);
+            if (n != null)
+                return n.valor;
+            cuenta = inserta(t, llave, h, valor, c);
+        } finally {
+            cerrojos[c].unlock();
+        }
+        revisaCarga(t, cuenta);
+        return null;
+    }
+
+    /**
+     * Calcula de manera atómica el nuevo valor de una llave a partir del
+     * actual. La función recibe la llave y su valor actual (o
+     * <code>null</code> si no tiene); si regresa <code>null</code> la llave
+     * se elimina del diccionario, y si no su resultado se vuelve el nuevo
+     * valor. La función se ejecuta con un cerrojo tomado, así que debe ser
+     * breve y no debe modificar este diccionario.
+     * @param llave la llave cuyo valor se calcula.
+     * @param funcion la función que calcula el nuevo valor.
+     * @return el nuevo valor de la llave, o <code>null</code> si se eliminó.
+     * @throws IllegalArgumentException si la llave o la función son nulas.
+     */
+    public V computa(K llave, BiFunction<? super K, ? super V, ? extends V> funcion) {
+        if (llave == null || funcion == null)
+            throw new IllegalArgumentException();
+        int h = calcularPicadillo(llave);
+        int c = h & (CERROJOS-1);
+        AtomicReferenceArray<Nodo<K, V>> t;
+        V nuevo;
+        int cuenta;
+        cerrojos[c].lock();
+        try {
+            t = tabla;
+            Nodo<K, V> n = busca(t, llave, h);
+            nuevo = funcion.apply(llave, n == null ? null : n.valor);
+            if (n != null) {
+                if (nuevo == null)
+                    saca(t, n, c);
+                else
+                    n.valor = nuevo;
+                return nuevo;
+            }
+            if (nuevo == null)
+                return null;
+            cuenta = inserta(t, llave, h, nuevo, c);
+        } finally {
+            cerrojos[c].unlock();
+        }
+        revisaCarga(t, cuenta);
+        return nuevo;
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada. No
+     * toma ningún cerrojo.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    @Override public V get(K llave) {
+        if (llave == null)
+            throw new NoSuchElementException();
+        Nodo<K, V> n = busca(tabla, llave, calcularPicadillo(llave));
+        if (n == null)
+            throw new NoSuchElementException();
+        return n.valor;
+    }
+
+    /**
+     * Regresa de una vez los valores asociados a las llaves: el valor de la
+     * llave en la posición <i>i</i> queda en la posición <i>i</i> de
+     * <code>valores</code>.
+     * @param llaves las llaves a buscar.
+     * @param valores el arreglo donde se guardan los valores.
+     * @throws IllegalArgumentException si <code>valores</code> es más corto
+     *         que <code>llaves</code>, o si alguna llave es nula.
+     * @throws NoSuchElementException si alguna llave no está en el
+     *         diccionario.
+     */
+    @Override public void getTodos(K[] llaves, V[] valores) {
+        revisaConsultas(llaves, valores);
+        for (int i = 0; i < llaves.length; i++)
+            valores[i] = get(llaves[i]);
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario. No toma ningún
+     * cerrojo.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <tt>true</tt> si la llave está en el diccionario,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean contiene(K llave) {
+        return llave != null &&
+            busca(tabla, llave, calcularPicadillo(llave)) != null;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    @Override public void elimina(K llave) {
+        if (llave == null)
+            throw new NoSuchElementException();
+        int h = calcularPicadillo(llave);
+        int c = h & (CERROJOS-1);
+        cerrojos[c].lock();
+        try {
+            AtomicReferenceArray<Nodo<K, V>> t = tabla;
+            Nodo<K, V> n = busca(t, llave, h);
+            if (n == null)
+                throw new NoSuchElementException();
+            saca(t, n, c);
+        } finally {
+            cerrojos[c].unlock();
+        }
+    }
+
+    /**
+     * Regresa un iterable para recorrer las llaves del diccionario. Sus
+     * iteradores son débilmente consistentes.
+     * @return un iterable para las llaves del diccionario.
+     */
+    @Override public Iterable<K> cadaLlave() {
+        return () -> new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterable para recorrer las entradas del diccionario. Sus
+     * iteradores son débilmente consistentes, y el valor de cada entrada es
+     * el actual al momento de consultarlo.
+     * @return un iterable para las entradas del diccionario.
+     */
+    @Override public Iterable<EntradaDiccionario<K, V>> cadaEntrada() {
+        return () -> new IteradorEntradas();
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario.
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    @Override public int colisiones() {
+        AtomicReferenceArray<Nodo<K, V>> t = tabla;
+        int colisiones = 0;
+        for (int i = 0; i < t.length(); i++)
+            if (t.get(i) != null)
+                colisiones += longitud(t.get(i)) - 1;
+        return colisiones;
+    }
+
+    /**
+     * Nos dice el máximo número de colisiones para una misma llave que tenemos
+     * en el diccionario.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    @Override public int colisionMaxima() {
+        AtomicReferenceArray<Nodo<K, V>> t = tabla;
+        int colisionMaxima = 0;
+        for (int i = 0; i < t.length(); i++)
+            colisionMaxima = Math.max(colisionMaxima, longitud(t.get(i)) - 1);
+        return colisionMaxima;
+    }
+
+    /* Regresa la longitud de la cubeta que empieza en el nodo. */
+    private int longitud(Nodo<K, V> n) {
+        int longitud = 0;
+        for (; n != null; n = n.siguiente)
+            longitud++;
+        return longitud;
+    }
+
+    /**
+     * El diccionario concurrente no puede crecer de manera incremental; al
+     * crecer copia la tabla con todos los cerrojos tomados, mientras los
+     * lectores siguen usando la tabla vieja.
+     * @param incremental debe ser <code>false</code>.
+     * @throws UnsupportedOperationException si incremental es
+     *         <code>true</code>.
+     */
+    @Override public void setRedimensionIncremental(boolean incremental) {
+        if (incremental)
+            throw new UnsupportedOperationException();
+    }
+
+    /**
+     * El diccionario concurrente no vuelve árboles sus cubetas: los lectores
+     * recorren las listas sin cerrojos, y un árbol rojinegro no se puede
+     * leer mientras otro hilo lo rebalancea.
+     * @param arboles debe ser <code>false</code>.
+     * @throws UnsupportedOperationException si arboles es <code>true</code>.
+     */
+    @Override public void setArbolesEnCubetas(boolean arboles) {
+        if (arboles)
+            throw new UnsupportedOperationException();
+    }
+
+    /**
+     * El diccionario concurrente no cambia de finalizador: los lectores
+     * calculan picadillos sin cerrojos, y no deben ver uno a medias. Usa el
+     * que tiene desde que se construyó.
+     * @param finalizador se ignora.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override public void setFinalizador(Finalizador finalizador) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * El diccionario concurrente no tiene métricas en vivo: sus contadores
+     * no son seguros entre hilos, y volverlos atómicos pondría a competir a
+     * todas las operaciones por las mismas líneas de caché.
+     * @return nunca regresa.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override public MetricasDiccionario getMetricas() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return tantos elementos tengamos entre el tamaño de la tabla.
+     */
+    @Override public double carga() {
+        return (getElementos() + 0.0) / tabla.length();
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario. Con escrituras
+     * concurrentes es sólo una aproximación.
+     * @return el número de entradas en el diccionario.
+     */
+    @Override public int getElementos() {
+        int elementos = 0;
+        for (int i = 0; i < CERROJOS; i++)
+            elementos += cuentas.get(i * RELLENO);
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    @Override public boolean esVacio() {
+        return getElementos() == 0;
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * iterador es débilmente consistente.
+     * @return un iterador para iterar el diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
@@ -0,0 +1,73 @@
+package mx.unam.ciencias.edd;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Espera progresiva para las estructuras concurrentes sin cerrojos. Los
+ * primeros intentos sólo avisan al procesador que el hilo está girando; los
+ * siguientes duermen el hilo, cada vez el doble, hasta un milisegundo. Así una
+ * espera corta no cede el procesador, y una larga casi no lo usa.
+ */
+final class Espera {
+
+    /* Intentos que sólo giran. */
+    private static final int GIROS = 64;
+    /* Mayor siesta, en nanosegundos. */
+    private static final long SIESTA_MAXIMA = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /* No se instancia. */
+    private Espera() {}
+
+    /**
+     * Espera antes del intento siguiente.
+     * @param intento cuántos intentos fallidos van.
+     * @param maximo cuántos nanosegundos se puede esperar como máximo.
+     * @throws InterruptedException si el hilo está interrumpido.
+     */
+    static void espera(int intento, long maximo) throws InterruptedException {
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        if (intento < GIROS) {
+            Thread.onSpinWait();
+            return;
+        }
+        int duplicaciones = Math.min(intento - GIROS, 20);
+        LockSupport.parkNanos(Math.min(Math.min(1000L << duplicaciones,
+                                                SIESTA_MAXIMA), maximo));
+    }
+
+    /**
+     * Saca un elemento de la cola, esperando a que haya uno.
+     * @param cola la cola.
+     * @param nanos cuántos nanosegundos esperar como máximo; si es negativo,
+     *        se espera sin límite.
+     * @return el elemento, o <code>null</code> si se acabó el tiempo.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    static <T> T saca(ColaBloqueante<T> cola, long nanos)
+        throws InterruptedException {
+        long limite = System.nanoTime() + nanos;
+        for (int intento = 0; ; intento++) {
+            T elemento = cola.intentaSaca();
+            if (elemento != null)
+                return elemento;
+            long resta = nanos < 0 ? Long.MAX_VALUE : limite - System.nanoTime();
+            if (resta <= 0)
+                return null;
+            espera(intento, resta);
+        }
+    }
+
+    /**
+     * Mete un elemento a la cola, esperando a que haya lugar.
+     * @param cola la cola.
+     * @param elemento el elemento.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     */
+    static <T> void mete(ColaBloqueante<T> cola, T elemento)
+        throws InterruptedException {
+        for (int intento = 0; !cola.intentaMete(elemento); intento++)
+            espera(intento, Long.MAX_VALUE);
+    }
+}
@@ -1,118 +1,1370 @@
 package mx.unam.ciencias.edd;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * Clase para fabricar picadillos.
+ *
+ * <p>Los algoritmos trabajan sobre bytes. Los picadillos para cadenas
+ * obtienen sus bytes con {@link String#getBytes()}, que crea un arreglo en
+ * cada llamada; además se pueden picar pedazos de arreglos de bytes, {@link
+ * ByteBuffer}s y {@link CharSequence}s sin crear arreglos nuevos. Las
+ * secuencias de caracteres se codifican en UTF-8 sobre un búfer de cada
+ * hilo, así que su picadillo es el mismo que el de la cadena equivalente
+ * cuando la codificación de la plataforma es UTF-8.</p>
+ *
+ * <p>XOR, Bob Jenkins y GLib leen un byte a la vez. xxHash, MurmurHash3 y
+ * wyhash leen ocho (o cuatro) bytes a la vez en orden <i>little-endian</i>
+ * con vistas {@link VarHandle} del arreglo o del búfer, y dan los mismos
+ * valores que sus implementaciones de referencia con semilla 0; de los de 64
+ * bits, {@link #picadillo64} regresa el valor completo y los picadillos usan
+ * sus 32 bits bajos. SipHash-1-3 también lee ocho bytes a la vez.</p>
+ *
+ * <p>Todos los algoritmos aceptan una semilla; con una semilla secreta se
+ * puede evitar que quien elige las llaves las haga chocar a propósito. Ver
+ * {@link #getInstancia(AlgoritmoPicadillo,long)}.</p>
+ *
+ * <p>Para entradas que llegan por pedazos, o que no caben en memoria, todos
+ * los algoritmos tienen además un {@link PicadilloIncremental}; ver {@link
+ * #getInstanciaIncremental(AlgoritmoPicadillo,long)}.</p>
  */
 public class FabricaPicadillos {
 
-    private static int xorHash(String str) {
-        byte[] k =  str.getBytes();
-        int r = 0, i = 0, t = 0, l = k.length;
+    /* Mayor búfer que se queda guardado en cada hilo; entradas más largas
+     * usan un arreglo temporal. */
+    private static final int BUFER_MAXIMO = 1 << 16;
+    /* Búfer de cada hilo para los bytes que no están en un arreglo. */
+    private static final ThreadLocal<byte[]> BUFER =
+        ThreadLocal.withInitial(() -> new byte[256]);
+    /* Vistas de un arreglo de bytes como enteros de 64 y 32 bits. */
+    private static final VarHandle LARGO =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle ENTERO =
+        MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    /* Las mismas vistas sobre un ByteBuffer, sin importar su orden. */
+    private static final VarHandle LARGO_BUFER =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle ENTERO_BUFER =
+        MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /* Primos de xxHash de 32 bits. */
+    private static final int XX32_1 = 0x9e3779b1;
+    private static final int XX32_2 = 0x85ebca77;
+    private static final int XX32_3 = 0xc2b2ae3d;
+    private static final int XX32_4 = 0x27d4eb2f;
+    private static final int XX32_5 = 0x165667b1;
+    /* Primos de xxHash de 64 bits. */
+    private static final long XX64_1 = 0x9e3779b185ebca87L;
+    private static final long XX64_2 = 0xc2b2ae3d27d4eb4fL;
+    private static final long XX64_3 = 0x165667b19e3779f9L;
+    private static final long XX64_4 = 0x85ebca77c2b2ae63L;
+    private static final long XX64_5 = 0x27d4eb2f165667c5L;
+    /* Constantes de MurmurHash3 de 32 bits. */
+    private static final int MURMUR_1 = 0xcc9e2d51;
+    private static final int MURMUR_2 = 0x1b873593;
+    /* Secreto predeterminado de wyhash. */
+    private static final long WY_0 = 0x2d358dccaa6c78a5L;
+    private static final long WY_1 = 0x8bb84b93962eacc9L;
+    private static final long WY_2 = 0x4b33a62ed433d4a3L;
+    private static final long WY_3 = 0x4d5a2da51de1aa47L;
+    /* Constantes de inicio de SipHash. */
+    private static final long SIP_0 = 0x736f6d6570736575L;
+    private static final long SIP_1 = 0x646f72616e646f6dL;
+    private static final long SIP_2 = 0x6c7967656e657261L;
+    private static final long SIP_3 = 0x7465646279746573L;
+
+    /* Un picadillo de cadenas por algoritmo, con semilla 0. */
+    private static final PicadilloLote<String> CADENAS_XOR =
+        cadenas(AlgoritmoPicadillo.XOR_STRING, 0);
+    private static final PicadilloLote<String> CADENAS_BJ =
+        cadenas(AlgoritmoPicadillo.BJ_STRING, 0);
+    private static final PicadilloLote<String> CADENAS_GLIB =
+        cadenas(AlgoritmoPicadillo.GLIB_STRING, 0);
+    private static final PicadilloLote<String> CADENAS_XXHASH32 =
+        cadenas(AlgoritmoPicadillo.XXHASH32, 0);
+    private static final PicadilloLote<String> CADENAS_XXHASH64 =
+        cadenas(AlgoritmoPicadillo.XXHASH64, 0);
+    private static final PicadilloLote<String> CADENAS_MURMUR3 =
+        cadenas(AlgoritmoPicadillo.MURMUR3, 0);
+    private static final PicadilloLote<String> CADENAS_WYHASH =
+        cadenas(AlgoritmoPicadillo.WYHASH, 0);
+    private static final PicadilloLote<String> CADENAS_SIPHASH13 =
+        cadenas(AlgoritmoPicadillo.SIPHASH13, 0);
+
+    /* Picadillo de cadenas por lotes. Cada algoritmo es una subclase que pica
+     * una cadena llamando directamente a su algoritmo, así que donde sólo se
+     * usa uno el compilador en tiempo de ejecución puede meterlo completo; el
+     * lote revisa el algoritmo una sola vez para todas las cadenas. */
+    private static abstract class Cadenas implements PicadilloLote<String> {
+
+        /* El algoritmo. */
+        private final AlgoritmoPicadillo algoritmo;
+        /* La semilla. */
+        private final long semilla;
+
+        /* Construye el picadillo del algoritmo con la semilla. */
+        public Cadenas(AlgoritmoPicadillo algoritmo, long semilla) {
+            this.algoritmo = algoritmo;
+            this.semilla = semilla;
+        }
+
+        /* Calcula los picadillos de las llaves. */
+        @Override public void picadillos(String[] llaves, int[] salida) {
+            lote(algoritmo, semilla, llaves, salida);
+        }
+    }
+
+    @SuppressWarnings("fallthrough")
+    private static int xorHash(Object k, int i, int l, int semilla) {
+        int r = semilla, t = 0;
 
         while (l >= 4) {
-            r ^= (k[i] << 24) | (k[i+1] << 16) | (k[i+2] << 8) | k[i+3];
+            r ^= (octeto(k, i) << 24) | (octeto(k, i+1) << 16) |
+                (octeto(k, i+2) << 8) | octeto(k, i+3);
             l -= 4; i += 4;
         }
 
         switch (l) {
             case 3:
-                t |= k[i+2] << 8;
+                t |= octeto(k, i+2) << 8;
             case 2: 
-                t |= k[i+1] << 16;
+                t |= octeto(k, i+1) << 16;
             case 1: 
-                t |= k[i] << 24;
+                t |= octeto(k, i) << 24;
         }
 
         return r ^ t;
     }
 
-    private static int[] mezcla_bj(int a, int b, int c) {
-        int[] arr = new int[3];
-        a -= b; a -= c; a ^= (c >>> 13);
-        b -= c; b -= a; b ^= (a <<  8);
-        c -= a; c -= b; c ^= (b >>> 13);
-        a -= b; a -= c; a ^= (c >>> 12);
-        b -= c; b -= a; b ^= (a <<  16);
-        c -= a; c -= b; c ^= (b >>> 5);
-        a -= b; a -= c; a ^= (c >>> 3);
-        b -= c; b -= a; b ^= (a <<  10);
-        c -= a; c -= b; c ^= (b >>> 15);
-        arr[0] = a; arr[1] = b; arr[2] = c;
-        return arr;
+    private static int bjHash(Object k, int i, int n, int semilla) {
+        return sigueBJ(0x9e3779b9, 0x9e3779b9, 0xffffffff ^ semilla, k, i, n, n);
     }
 
-    private static int bjHash(String str) {
-        byte[] k = str.getBytes();
-        int n = k.length;
-        int a,b,c,l;
-        int[] arr = null;
-        l = n;
-        a = b = 0x9e3779b9;
-        c = 0xffffffff;
-        int i = 0;
-        while (l >= 12){
-            a += (k[i]   + (k[i+1] << 8) + (k[i+2]  << 16) + (k[i+3]  << 24));
-            b += (k[i+4] + (k[i+5] << 8) + (k[i+6]  << 16) + (k[i+7]  << 24));
-            c += (k[i+8] + (k[i+9] << 8) + (k[i+10] << 16) + (k[i+11] << 24));
-
-            arr = mezcla_bj(a,b,c);
-            a = arr[0]; b = arr[1]; c = arr[2];
-
-            i += 12;
-            l -=12;
-        }
-        c += n;
-        switch (l) {
-            case 11: c += (k[i+10] << 24);
-            case 10: c += (k[i+9]  << 16);
-            case  9: c += (k[i+8]  << 8);
+    /* Sigue el picadillo de Bob Jenkins con estado (a, b, c) sobre los l
+     * bytes restantes de una entrada de longitud n. La mezcla está escrita una
+     * sola vez dentro del ciclo, sobre variables locales: cada vuelta suma un
+     * bloque de 12 bytes, o el final con la longitud, y mezcla; así no se crea
+     * ningún arreglo. */
+    @SuppressWarnings("fallthrough")
+    private static int sigueBJ(int a, int b, int c, Object k, int i, int l,
+                               int n) {
+        boolean ultimo = false;
+        do {
+            if (l >= 12) {
+                a += (octeto(k, i)   + (octeto(k, i+1) << 8) +
+                      (octeto(k, i+2)  << 16) + (octeto(k, i+3)  << 24));
+                b += (octeto(k, i+4) + (octeto(k, i+5) << 8) +
+                      (octeto(k, i+6)  << 16) + (octeto(k, i+7)  << 24));
+                c += (octeto(k, i+8) + (octeto(k, i+9) << 8) +
+                      (octeto(k, i+10) << 16) + (octeto(k, i+11) << 24));
+                i += 12;
+                l -=12;
+            } else {
+                c += n;
+                switch (l) {
+                    case 11: c += (octeto(k, i+10) << 24);
+                    case 10: c += (octeto(k, i+9)  << 16);
+                    case  9: c += (octeto(k, i+8)  << 8);
 
-            case  8: b += (k[i+7]  << 24);
-            case  7: b += (k[i+6]  << 16);
-            case  6: b += (k[i+5]  << 8);
-            case  5: b +=  k[i+4];
+                    case  8: b += (octeto(k, i+7)  << 24);
+                    case  7: b += (octeto(k, i+6)  << 16);
+                    case  6: b += (octeto(k, i+5)  << 8);
+                    case  5: b +=  octeto(k, i+4);
 
-            case  4: a += (k[i+3]  << 24);
-            case  3: a += (k[i+2]  << 16);
-            case  2: a += (k[i+1]  << 8);
-            case  1: a += k[i];
-        }
+                    case  4: a += (octeto(k, i+3)  << 24);
+                    case  3: a += (octeto(k, i+2)  << 16);
+                    case  2: a += (octeto(k, i+1)  << 8);
+                    case  1: a += octeto(k, i);
+                }
+                ultimo = true;
+            }
 
-        arr = mezcla_bj(a,b,c);
-        a = arr[0]; b = arr[1]; c = arr[2];
+            a -= b; a -= c; a ^= (c >>> 13);
+            b -= c; b -= a; b ^= (a <<  8);
+            c -= a; c -= b; c ^= (b >>> 13);
+            a -= b; a -= c; a ^= (c >>> 12);
+            b -= c; b -= a; b ^= (a <<  16);
+            c -= a; c -= b; c ^= (b >>> 5);
+            a -= b; a -= c; a ^= (c >>> 3);
+            b -= c; b -= a; b ^= (a <<  10);
+            c -= a; c -= b; c ^= (b >>> 15);
+        } while (!ultimo);
 
         return c;
     }
 
-    public static int glib(String str) {
-        byte[] k = str.getBytes();
-        int h = 5381;
-        for (int i = 0; i < k.length; i++) {
-            byte b = k [i];
+    private static int glib(Object k, int i, int n, int semilla) {
+        return sigueGlib(5381 ^ semilla, k, i, n);
+    }
+
+    /* Sigue el picadillo de GLib h con n bytes más. */
+    private static int sigueGlib(int h, Object k, int i, int n) {
+        for (int fin = i + n; i < fin; i++) {
+            byte b = octeto(k, i);
             h = h * 33 + b;
         }
         return h;
     }
 
+    /* Pica con GLib cuatro cadenas a la vez a partir de la i-ésima. Cada byte
+     * depende del picadillo del anterior, así que con una sola cadena el
+     * procesador espera cada multiplicación; con cuatro cadenas intercaladas
+     * las cuatro cadenas de dependencias avanzan juntas. */
+    private static void glib4(String[] llaves, int i, int[] salida,
+                              int semilla) {
+        byte[] a = llaves[i].getBytes(), b = llaves[i+1].getBytes();
+        byte[] c = llaves[i+2].getBytes(), d = llaves[i+3].getBytes();
+        int n = Math.min(Math.min(a.length, b.length),
+                         Math.min(c.length, d.length));
+        int ha = 5381 ^ semilla, hb = ha, hc = ha, hd = ha;
+        for (int j = 0; j < n; j++) {
+            ha = ha * 33 + a[j];
+            hb = hb * 33 + b[j];
+            hc = hc * 33 + c[j];
+            hd = hd * 33 + d[j];
+        }
+        salida[i] = sigueGlib(ha, a, n, a.length - n);
+        salida[i+1] = sigueGlib(hb, b, n, b.length - n);
+        salida[i+2] = sigueGlib(hc, c, n, c.length - n);
+        salida[i+3] = sigueGlib(hd, d, n, d.length - n);
+    }
+
+    public static int glib(String str) {
+        byte[] k = str.getBytes();
+        return glib(k, 0, k.length, 0);
+    }
+
+    /* Lee el byte i de k. Los algoritmos reciben en k un arreglo de bytes o
+     * un ByteBuffer sin arreglo accesible, que se lee en su lugar con
+     * índices absolutos; con un solo tipo en uso, la revisión del tipo se
+     * resuelve al compilar. */
+    private static byte octeto(Object k, int i) {
+        if (k instanceof byte[])
+            return ((byte[])k)[i];
+        return ((ByteBuffer)k).get(i);
+    }
+
+    /* Lee ocho bytes de k a partir de i. */
+    private static long largo(Object k, int i) {
+        if (k instanceof byte[])
+            return (long)LARGO.get((byte[])k, i);
+        return (long)LARGO_BUFER.get((ByteBuffer)k, i);
+    }
+
+    /* Lee cuatro bytes de k a partir de i. */
+    private static int entero(Object k, int i) {
+        if (k instanceof byte[])
+            return (int)ENTERO.get((byte[])k, i);
+        return (int)ENTERO_BUFER.get((ByteBuffer)k, i);
+    }
+
+    /* Lee cuatro bytes de k a partir de i, sin signo. */
+    private static long enteroSinSigno(Object k, int i) {
+        return entero(k, i) & 0xffffffffL;
+    }
+
+    private static int xxRonda32(int v, int carril) {
+        return Integer.rotateLeft(v + carril * XX32_2, 13) * XX32_1;
+    }
+
+    private static int xxHash32(Object k, int i, int n, int semilla) {
+        int fin = i + n, h;
+        if (n >= 16) {
+            int v1 = semilla + XX32_1 + XX32_2, v2 = semilla + XX32_2;
+            int v3 = semilla, v4 = semilla - XX32_1;
+            for (int limite = fin - 16; i <= limite; i += 16) {
+                long a = largo(k, i), b = largo(k, i + 8);
+                v1 = xxRonda32(v1, (int)a);
+                v2 = xxRonda32(v2, (int)(a >>> 32));
+                v3 = xxRonda32(v3, (int)b);
+                v4 = xxRonda32(v4, (int)(b >>> 32));
+            }
+            h = xxJunta32(v1, v2, v3, v4);
+        } else {
+            h = semilla + XX32_5;
+        }
+        return xxCola32(h + n, k, i, fin);
+    }
+
+    /* Junta los cuatro carriles de xxHash de 32 bits. */
+    private static int xxJunta32(int v1, int v2, int v3, int v4) {
+        return Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) +
+            Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+    }
+
+    /* Termina xxHash de 32 bits con el estado h, que ya incluye la longitud,
+     * sobre los bytes de k entre i y fin, menos de 16. */
+    private static int xxCola32(int h, Object k, int i, int fin) {
+        for (; i <= fin - 4; i += 4)
+            h = Integer.rotateLeft(h + entero(k, i) * XX32_3, 17) * XX32_4;
+        for (; i < fin; i++)
+            h = Integer.rotateLeft(h + (octeto(k, i) & 0xff) * XX32_5, 11) * XX32_1;
+        h ^= h >>> 15; h *= XX32_2;
+        h ^= h >>> 13; h *= XX32_3;
+        return h ^ (h >>> 16);
+    }
+
+    private static long xxRonda64(long v, long carril) {
+        return Long.rotateLeft(v + carril * XX64_2, 31) * XX64_1;
+    }
+
+    private static long xxMezcla64(long h, long v) {
+        return (h ^ xxRonda64(0, v)) * XX64_1 + XX64_4;
+    }
+
+    private static long xxHash64(Object k, int i, int n, long semilla) {
+        int fin = i + n;
+        long h;
+        if (n >= 32) {
+            long v1 = semilla + XX64_1 + XX64_2, v2 = semilla + XX64_2;
+            long v3 = semilla, v4 = semilla - XX64_1;
+            for (int limite = fin - 32; i <= limite; i += 32) {
+                v1 = xxRonda64(v1, largo(k, i));
+                v2 = xxRonda64(v2, largo(k, i + 8));
+                v3 = xxRonda64(v3, largo(k, i + 16));
+                v4 = xxRonda64(v4, largo(k, i + 24));
+            }
+            h = xxJunta64(v1, v2, v3, v4);
+        } else {
+            h = semilla + XX64_5;
+        }
+        return xxCola64(h + n, k, i, fin);
+    }
+
+    /* Junta los cuatro carriles de xxHash de 64 bits. */
+    private static long xxJunta64(long v1, long v2, long v3, long v4) {
+        long h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) +
+            Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+        h = xxMezcla64(h, v1);
+        h = xxMezcla64(h, v2);
+        h = xxMezcla64(h, v3);
+        return xxMezcla64(h, v4);
+    }
+
+    /* Termina xxHash de 64 bits con el estado h, que ya incluye la longitud,
+     * sobre los bytes de k entre i y fin, menos de 32. */
+    private static long xxCola64(long h, Object k, int i, int fin) {
+        for (; i <= fin - 8; i += 8)
+            h = Long.rotateLeft(h ^ xxRonda64(0, largo(k, i)), 27) * XX64_1 + XX64_4;
+        if (i <= fin - 4) {
+            h = Long.rotateLeft(h ^ enteroSinSigno(k, i) * XX64_1, 23) * XX64_2 + XX64_3;
+            i += 4;
+        }
+        for (; i < fin; i++)
+            h = Long.rotateLeft(h ^ (octeto(k, i) & 0xff) * XX64_5, 11) * XX64_1;
+        h ^= h >>> 33; h *= XX64_2;
+        h ^= h >>> 29; h *= XX64_3;
+        return h ^ (h >>> 32);
+    }
+
+    private static int murmurBloque(int h, int b) {
+        b *= MURMUR_1;
+        b = Integer.rotateLeft(b, 15);
+        b *= MURMUR_2;
+        h ^= b;
+        h = Integer.rotateLeft(h, 13);
+        return h * 5 + 0xe6546b64;
+    }
+
+    private static int murmur3(Object k, int i, int n, int semilla) {
+        return sigueMurmur3(semilla, k, i, n, n);
+    }
+
+    /* Sigue MurmurHash3 con el estado h sobre los l bytes restantes de una
+     * entrada de longitud n, y lo termina. */
+    @SuppressWarnings("fallthrough")
+    private static int sigueMurmur3(int h, Object k, int i, int l, int n) {
+        int fin = i + l;
+        for (; i <= fin - 8; i += 8) {
+            long b = largo(k, i);
+            h = murmurBloque(h, (int)b);
+            h = murmurBloque(h, (int)(b >>> 32));
+        }
+        if (i <= fin - 4) {
+            h = murmurBloque(h, entero(k, i));
+            i += 4;
+        }
+        int t = 0;
+        switch (fin - i) {
+            case 3: t ^= (octeto(k, i+2) & 0xff) << 16;
+            case 2: t ^= (octeto(k, i+1) & 0xff) << 8;
+            case 1: t ^= (octeto(k, i) & 0xff);
+                t *= MURMUR_1;
+                t = Integer.rotateLeft(t, 15);
+                t *= MURMUR_2;
+                h ^= t;
+        }
+        h ^= n;
+        h ^= h >>> 16; h *= 0x85ebca6b;
+        h ^= h >>> 13; h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    /* Pica con MurmurHash3 cuatro cadenas a la vez a partir de la i-ésima,
+     * como glib4: cada bloque de cuatro bytes se mezcla con el estado que
+     * dejó el anterior, así que se intercalan los bloques de las cuatro
+     * cadenas mientras todas tengan, y cada una termina por su cuenta. */
+    private static void murmur4(String[] llaves, int i, int[] salida,
+                                int semilla) {
+        byte[] a = llaves[i].getBytes(), b = llaves[i+1].getBytes();
+        byte[] c = llaves[i+2].getBytes(), d = llaves[i+3].getBytes();
+        int n = Math.min(Math.min(a.length, b.length),
+                         Math.min(c.length, d.length)) & ~3;
+        int ha = semilla, hb = semilla, hc = semilla, hd = semilla;
+        for (int j = 0; j < n; j += 4) {
+            ha = murmurBloque(ha, entero(a, j));
+            hb = murmurBloque(hb, entero(b, j));
+            hc = murmurBloque(hc, entero(c, j));
+            hd = murmurBloque(hd, entero(d, j));
+        }
+        salida[i] = sigueMurmur3(ha, a, n, a.length - n, a.length);
+        salida[i+1] = sigueMurmur3(hb, b, n, b.length - n, b.length);
+        salida[i+2] = sigueMurmur3(hc, c, n, c.length - n, c.length);
+        salida[i+3] = sigueMurmur3(hd, d, n, d.length - n, d.length);
+    }
+
+    /* Multiplica a y b como enteros sin signo de 64 bits, y mezcla las dos
+     * mitades del producto de 128 bits con un xor. */
+    private static long wyMezcla(long a, long b) {
+        return a * b ^ wyAlto(a, b);
+    }
+
+    /* Los 64 bits altos del producto sin signo de a y b. */
+    private static long wyAlto(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    private static long wyhash(Object k, int i, int n, long semilla) {
+        long a, b;
+        semilla ^= wyMezcla(semilla ^ WY_0, WY_1);
+        if (n <= 16) {
+            if (n >= 4) {
+                int d = (n >>> 3) << 2;
+                a = (enteroSinSigno(k, i) << 32) | enteroSinSigno(k, i + d);
+                b = (enteroSinSigno(k, i + n - 4) << 32) |
+                    enteroSinSigno(k, i + n - 4 - d);
+            } else if (n > 0) {
+                a = ((octeto(k, i) & 0xffL) << 16) | ((octeto(k, i + (n >>> 1)) & 0xffL) << 8) |
+                    (octeto(k, i + n - 1) & 0xffL);
+                b = 0;
+            } else {
+                a = b = 0;
+            }
+        } else {
+            int r = n;
+            if (r >= 48) {
+                long s1 = semilla, s2 = semilla;
+                do {
+                    semilla = wyMezcla(largo(k, i) ^ WY_1, largo(k, i + 8) ^ semilla);
+                    s1 = wyMezcla(largo(k, i + 16) ^ WY_2, largo(k, i + 24) ^ s1);
+                    s2 = wyMezcla(largo(k, i + 32) ^ WY_3, largo(k, i + 40) ^ s2);
+                    i += 48;
+                    r -= 48;
+                } while (r >= 48);
+                semilla ^= s1 ^ s2;
+            }
+            return wyCola(semilla, k, i, r, n);
+        }
+        return wyFin(semilla, a, b, n);
+    }
+
+    /* Termina wyhash con el estado semilla sobre los r bytes que siguen a i,
+     * menos de 48, de una entrada de longitud n mayor que 16. Al final lee los
+     * últimos 16 bytes de la entrada, así que deben estar en k antes de i si r
+     * es menor que 16. */
+    private static long wyCola(long semilla, Object k, int i, int r, long n) {
+        while (r > 16) {
+            semilla = wyMezcla(largo(k, i) ^ WY_1, largo(k, i + 8) ^ semilla);
+            i += 16;
+            r -= 16;
+        }
+        return wyFin(semilla, largo(k, i + r - 16), largo(k, i + r - 8), n);
+    }
+
+    /* Mezcla final de wyhash. */
+    private static long wyFin(long semilla, long a, long b, long n) {
+        a ^= WY_1;
+        b ^= semilla;
+        long bajo = a * b, alto = wyAlto(a, b);
+        return wyMezcla(bajo ^ WY_0 ^ n, alto ^ WY_1);
+    }
+
+    /* SipHash con c rondas por bloque, d rondas al final y llave (k0, k1).
+     * Las rondas están escritas sobre variables locales para no crear
+     * objetos. */
+    private static long sipHash(Object k, int i, int n, long k0, long k1,
+                                int c, int d) {
+        return sigueSip(k0 ^ SIP_0, k1 ^ SIP_1, k0 ^ SIP_2, k1 ^ SIP_3,
+                        k, i, n, n, c, d);
+    }
+
+    /* Sigue SipHash con estado (v0, v1, v2, v3) sobre los l bytes restantes
+     * de una entrada de longitud n, y lo termina. */
+    private static long sigueSip(long v0, long v1, long v2, long v3,
+                                 Object k, int i, int l, long n, int c, int d) {
+        int fin = i + l;
+        boolean ultimo = false;
+        do {
+            long m;
+            if (i <= fin - 8) {
+                m = largo(k, i);
+                i += 8;
+            } else {
+                m = n << 56;
+                for (int j = 0; i + j < fin; j++)
+                    m |= (octeto(k, i + j) & 0xffL) << (8 * j);
+                ultimo = true;
+            }
+            v3 ^= m;
+            for (int r = 0; r < c; r++) {
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0;
+                v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2;
+                v2 = Long.rotateLeft(v2, 32);
+            }
+            v0 ^= m;
+        } while (!ultimo);
+        v2 ^= 0xff;
+        for (int r = 0; r < d; r++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0;
+            v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2;
+            v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    /* SipHash-1-3 con la llave (semilla, ~semilla). */
+    private static long sipHash13(Object k, int i, int n, long semilla) {
+        return sipHash(k, i, n, semilla, ~semilla, 1, 3);
+    }
+
+    /* Picadillo incremental. Los bytes se juntan en bloques del tamaño que
+     * lee el algoritmo: los bloques completos de cada pedazo se pican sin
+     * copiarse, y en el búfer sólo queda lo que sobra, menos de un bloque. Al
+     * terminar, lo que sobra se pica con la misma función que termina el
+     * picadillo de una entrada completa. */
+    private static abstract class Incremental implements PicadilloIncremental {
+
+        /* La semilla. */
+        protected final long semilla;
+        /* Los bytes que no completan un bloque. */
+        protected final byte[] bufer;
+        /* Cuántos bytes hay en el búfer. */
+        protected int pendientes;
+        /* Cuántos bytes se han recibido. */
+        protected long total;
+
+        /* Construye el picadillo con la semilla y el tamaño de bloque. */
+        public Incremental(long semilla, int bloque) {
+            this.semilla = semilla;
+            bufer = new byte[bloque];
+        }
+
+        /* Agrega un pedazo a la entrada. */
+        @Override public void actualiza(byte[] k, int inicio, int longitud) {
+            if (inicio < 0 || longitud < 0 || inicio > k.length - longitud)
+                throw new ExcepcionIndiceInvalido();
+            total += longitud;
+            int b = bufer.length;
+            if (pendientes > 0) {
+                int m = Math.min(b - pendientes, longitud);
+                System.arraycopy(k, inicio, bufer, pendientes, m);
+                pendientes += m;
+                inicio += m;
+                longitud -= m;
+                if (pendientes < b)
+                    return;
+                bloques(bufer, 0, b);
+                pendientes = 0;
+            }
+            int m = longitud - longitud % b;
+            if (m > 0)
+                bloques(k, inicio, m);
+            pendientes = longitud - m;
+            System.arraycopy(k, inicio + m, bufer, 0, pendientes);
+        }
+
+        /* Regresa el picadillo de los bytes recibidos. */
+        @Override public int finaliza() {
+            return (int)finaliza64();
+        }
+
+        /* Olvida los bytes recibidos. */
+        @Override public void reinicia() {
+            pendientes = 0;
+            total = 0;
+        }
+
+        /* Pica n bytes de k a partir de i; n es múltiplo del bloque. */
+        protected abstract void bloques(byte[] k, int i, int n);
+    }
+
+    /* XOR incremental; el estado es el xor de los bloques de 4 bytes. */
+    private static class IncrementalXor extends Incremental {
+
+        /* El estado. */
+        private int r;
+
+        /* Construye el picadillo con la semilla. */
+        public IncrementalXor(long semilla) {
+            super(semilla, 4);
+            reinicia();
+        }
+
+        @Override public void reinicia() {
+            super.reinicia();
+            r = (int)semilla;
+        }
+
+        @Override protected void bloques(byte[] k, int i, int n) {
+            r = xorHash(k, i, n, r);
+        }
+
+        @Override public long finaliza64() {
+            return xorHash(bufer, 0, pendientes, r) & 0xffffffffL;
+        }
+    }
+
+    /* Bob Jenkins incremental. La mezcla es la de sigueBJ, pero aquí el estado
+     * (a, b, c) se guarda entre pedazos. */
+    private static class IncrementalBJ extends Incremental {
+
+        /* El estado. */
+        private int a, b, c;
+
+        /* Construye el picadillo con la semilla. */
+        public IncrementalBJ(long semilla) {
+            super(semilla, 12);
+            reinicia();
+        }
+
+        @Override public void reinicia() {
+            super.reinicia();
+            a = b = 0x9e3779b9;
+            c = 0xffffffff ^ (int)semilla;
+        }
+
+        @Override protected void bloques(byte[] k, int i, int n) {
+            for (int fin = i + n; i < fin; i += 12) {
+                a += (k[i]   + (k[i+1] << 8) + (k[i+2]  << 16) + (k[i+3]  << 24));
+                b += (k[i+4] + (k[i+5] << 8) + (k[i+6]  << 16) + (k[i+7]  << 24));
+                c += (k[i+8] + (k[i+9] << 8) + (k[i+10] << 16) + (k[i+11] << 24));
+
+                a -= b; a -= c; a ^= (c >>> 13);
+                b -= c; b -= a; b ^= (a <<  8);
+                c -= a; c -= b; c ^= (b >>> 13);
+                a -= b; a -= c; a ^= (c >>> 12);
+                b -= c; b -= a; b ^= (a <<  16);
+                c -= a; c -= b; c ^= (b >>> 5);
+                a -= b; a -= c; a ^= (c >>> 3);
+                b -= c; b -= a; b ^= (a <<  10);
+                c -= a; c -= b; c ^= (b >>> 15);
+            }
+        }
+
+        @Override public long finaliza64() {
+            return sigueBJ(a, b, c, bufer, 0, pendientes, (int)total) & 0xffffffffL;
+        }
+    }
+
+    /* GLib incremental; no necesita búfer. */
+    private static class IncrementalGlib extends Incremental {
+
+        /* El estado. */
+        private int h;
+
+        /* Construye el picadillo con la semilla. */
+        public IncrementalGlib(long semilla) {
+            super(semilla, 1);
+            reinicia();
+        }
+
+        @Override public void reinicia() {
+            super.reinicia();
+            h = 5381 ^ (int)semilla;
+        }
+
+        @Override protected void bloques(byte[] k, int i, int n) {
+            h = sigueGlib(h, k, i, n);
+        }
+
+        @Override public long finaliza64() {
+            return h & 0xffffffffL;
+        }
+    }
+
+    /* xxHash de 32 bits incremental, con sus cuatro carriles. */
+    private static class IncrementalXxHash32 extends Incremental {
+
+        /* Los carriles. */
+        private int v1, v2, v3, v4;
+
+        /* Construye el picadillo con la semilla. */
+        public IncrementalXxHash32(long semilla) {
+            super(semilla, 16);
+            reinicia();
+        }
+
+        @Override public void reinicia() {
+            super.reinicia();
+            int s = (int)semilla;
+            v1 = s + XX32_1 + XX32_2;
+            v2 = s + XX32_2;
+            v3 = s;
+            v4 = s - XX32_1;
+        }
+
+        @Override protected void bloques(byte[] k, int i, int n) {
+            for (int fin = i + n; i < fin; i += 16) {
+                long a = largo(k, i), b = largo(k, i + 8);
+                v1 = xxRonda32(v1, (int)a);
+                v2 = xxRonda32(v2, (int)(a >>> 32));
+                v3 = xxRonda32(v3, (int)b);
+                v4 = xxRonda32(v4, (int)(b >>> 32));
+            }
+        }
+
+        @Override public long finaliza64() {
+            int h = total >= 16 ? xxJunta32(v1, v2, v3, v4) : (int)semilla + XX32_5;
+            return xxCola32(h + (int)total, bufer, 0, pendientes) & 0xffffffffL;
+        }
+    }
+
+    /* xxHash de 64 bits incremental, con sus cuatro carriles. */
+    private static class IncrementalXxHash64 extends Incremental {
+
+        /* Los carriles. */
+        private long v1, v2, v3, v4;
+
+        /* Construye el picadillo con la semilla. */
+        public IncrementalXxHash64(long semilla) {
+            super(semilla, 32);
+            reinicia();
+        }
+
+        @Override public void reinicia() {
+            super.reinicia();
+            v1 = semilla + XX64_1 + XX64_2;
+            v2 = semilla + XX64_2;
+            v3 = semilla;
+            v4 = semilla - XX64_1;
+        }
+
+        @Override protected void bloques(byte[] k, int i, int n) {
+            for (int fin = i + n; i < fin; i += 32) {
+                v1 = xxRonda64(v1, largo(k, i));
+                v2 = xxRonda64(v2, largo(k, i + 8));
+                v3 = xxRonda64(v3, largo(k, i + 16));
+                v4 = xxRonda64(v4, largo(k, i + 24));
+            }
+        }
+
+        @Override public long finaliza64() {
+            long h = total >= 32 ? xxJunta64(v1, v2, v3, v4) : semilla + XX64_5;
+            return xxCola64(h + total, bufer, 0, pendientes);
+        }
+    }
+
+    /* MurmurHash3 incremental. */
+    private static class IncrementalMurmur3 extends Incremental {
+
+        /* El estado. */
+        private int h;
+
+        /* Construye el picadillo con la semilla. */
+        public IncrementalMurmur3(long semilla) {
+            super(semilla, 8);
+            reinicia();
+        }
+
+        @Override public void reinicia() {
+            super.reinicia();
+            h = (int)semilla;
+        }
+
+        @Override protected void bloques(byte[] k, int i, int n) {
+            for (int fin = i + n; i < fin; i += 8) {
+                long b = largo(k, i);
+                h = murmurBloque(h, (int)b);
+                h = murmurBloque(h, (int)(b >>> 32));
+            }
+        }
+
+        @Override public long finaliza64() {
+            return sigueMurmur3(h, bufer, 0, pendientes, (int)total) & 0xffffffffL;
+        }
+    }
+
+    /* wyhash incremental. Las entradas de hasta 47 bytes se quedan completas
+     * en el búfer y se pican de una vez; en las más largas el final lee los
+     * últimos 16 bytes de la entrada, que pueden ser de un bloque ya picado,
+     * así que se guardan los de cada bloque. */
+    private static class IncrementalWyhash extends Incremental {
+
+        /* Los tres estados del ciclo de 48 bytes. */
+        private long estado, s1, s2;
+        /* Los últimos 16 bytes del último bloque, seguidos de lo que sobra. */
+        private final byte[] cola = new byte[64];
+
+        /* Construye el picadillo con la semilla. */
+        public IncrementalWyhash(long semilla) {
+            super(semilla, 48);
+            reinicia();
+        }
+
+        @Override public void reinicia() {
+            super.reinicia();
+            estado = s1 = s2 = semilla ^ wyMezcla(semilla ^ WY_0, WY_1);
+        }
+
+        @Override protected void bloques(byte[] k, int i, int n) {
+            int fin = i + n;
+            for (; i < fin; i += 48) {
+                estado = wyMezcla(largo(k, i) ^ WY_1, largo(k, i + 8) ^ estado);
+                s1 = wyMezcla(largo(k, i + 16) ^ WY_2, largo(k, i + 24) ^ s1);
+                s2 = wyMezcla(largo(k, i + 32) ^ WY_3, largo(k, i + 40) ^ s2);
+            }
+            System.arraycopy(k, fin - 16, cola, 0, 16);
+        }
+
+        @Override public long finaliza64() {
+            if (total == pendientes)
+                return wyhash(bufer, 0, pendientes, semilla);
+            System.arraycopy(bufer, 0, cola, 16, pendientes);
+            return wyCola(estado ^ s1 ^ s2, cola, 16, pendientes, total);
+        }
+    }
+
+    /* SipHash-1-3 incremental. Las rondas son las de sigueSip, pero aquí el
+     * estado se guarda entre pedazos. */
+    private static class IncrementalSipHash13 extends Incremental {
+
+        /* El estado. */
+        private long v0, v1, v2, v3;
+
+        /* Construye el picadillo con la semilla. */
+        public IncrementalSipHash13(long semilla) {
+            super(semilla, 8);
+            reinicia();
+        }
+
+        @Override public void reinicia() {
+            super.reinicia();
+            v0 = semilla ^ SIP_0;
+            v1 = ~semilla ^ SIP_1;
+            v2 = semilla ^ SIP_2;
+            v3 = ~semilla ^ SIP_3;
+        }
+
+        @Override protected void bloques(byte[] k, int i, int n) {
+            for (int fin = i + n; i < fin; i += 8) {
+                long m = largo(k, i);
+                v3 ^= m;
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0;
+                v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2;
+                v2 = Long.rotateLeft(v2, 32);
+                v0 ^= m;
+            }
+        }
+
+        @Override public long finaliza64() {
+            return sigueSip(v0, v1, v2, v3, bufer, 0, pendientes, total, 1, 3);
+        }
+    }
+
+    /* Regresa un búfer del hilo con al menos n bytes. */
+    private static byte[] bufer(int n) {
+        if (n > BUFER_MAXIMO)
+            return new byte[n];
+        byte[] b = BUFER.get();
+        if (b.length < n) {
+            b = new byte[Math.min(Math.max(n, b.length * 2), BUFER_MAXIMO)];
+            BUFER.set(b);
+        }
+        return b;
+    }
+
+    /* Codifica la secuencia en UTF-8 sobre k, y regresa cuántos bytes
+     * escribió. Igual que String.getBytes(), un sustituto suelto se vuelve
+     * '?'. El arreglo debe tener al menos tres bytes por carácter. */
+    private static int codifica(CharSequence s, byte[] k) {
+        int n = 0, l = s.length();
+        while (n < l) {
+            char c = s.charAt(n);
+            if (c >= 0x80)
+                break;
+            k[n++] = (byte)c;
+        }
+        for (int i = n; i < l; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                k[n++] = (byte)c;
+            } else if (c < 0x800) {
+                k[n++] = (byte)(0xc0 | (c >> 6));
+                k[n++] = (byte)(0x80 | (c & 0x3f));
+            } else if (!Character.isSurrogate(c)) {
+                k[n++] = (byte)(0xe0 | (c >> 12));
+                k[n++] = (byte)(0x80 | ((c >> 6) & 0x3f));
+                k[n++] = (byte)(0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < l &&
+                       Character.isLowSurrogate(s.charAt(i + 1))) {
+                int p = Character.toCodePoint(c, s.charAt(++i));
+                k[n++] = (byte)(0xf0 | (p >> 18));
+                k[n++] = (byte)(0x80 | ((p >> 12) & 0x3f));
+                k[n++] = (byte)(0x80 | ((p >> 6) & 0x3f));
+                k[n++] = (byte)(0x80 | (p & 0x3f));
+            } else {
+                k[n++] = '?';
+            }
+        }
+        return n;
+    }
+
     /**
-     * Regresa una instancia de {@link Picadillo} para cadenas.
+     * Calcula el picadillo de un pedazo de un arreglo de bytes, sin copiarlo.
      * @param algoritmo el algoritmo de picadillo que se desea.
-     * @return una instancia de {@link Picadillo} para cadenas.
+     * @param k el arreglo de bytes.
+     * @param inicio dónde empieza el pedazo.
+     * @param longitud cuántos bytes tiene el pedazo.
+     * @return el picadillo del pedazo.
+     * @throws ExcepcionIndiceInvalido si el pedazo no está dentro del
+     *         arreglo.
      * @throws IllegalArgumentException si recibe un identificador no
      *         reconocido.
      */
-    public static Picadillo<String> getInstancia(AlgoritmoPicadillo algoritmo) {
-        return (entrada) -> {
-            switch (algoritmo) {
-                case XOR_STRING:
-                    return xorHash(entrada);
-                case BJ_STRING:
-                    return bjHash(entrada); 
-                case GLIB_STRING:
-                    return glib(entrada);
-                default:
-                    throw new IllegalArgumentException();
-            }
-        };
+    public static int picadillo(AlgoritmoPicadillo algoritmo, byte[] k,
+                                int inicio, int longitud) {
+        return picadillo(algoritmo, k, inicio, longitud, 0);
+    }
+
+    /**
+     * Calcula el picadillo con semilla de un pedazo de un arreglo de bytes,
+     * sin copiarlo. Con semilla 0 es el picadillo sin semilla.
+     * @param algoritmo el algoritmo de picadillo que se desea.
+     * @param k el arreglo de bytes.
+     * @param inicio dónde empieza el pedazo.
+     * @param longitud cuántos bytes tiene el pedazo.
+     * @param semilla la semilla.
+     * @return el picadillo del pedazo.
+     * @throws ExcepcionIndiceInvalido si el pedazo no está dentro del
+     *         arreglo.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     * @see #getInstancia(AlgoritmoPicadillo,long)
+     */
+    public static int picadillo(AlgoritmoPicadillo algoritmo, byte[] k,
+                                int inicio, int longitud, long semilla) {
+        if (inicio < 0 || longitud < 0 || inicio > k.length - longitud)
+            throw new ExcepcionIndiceInvalido();
+        return pica(algoritmo, k, inicio, longitud, semilla);
+    }
+
+    /* Calcula el picadillo de longitud bytes de k, un arreglo o un
+     * ByteBuffer, a partir de inicio. */
+    private static int pica(AlgoritmoPicadillo algoritmo, Object k,
+                            int inicio, int longitud, long semilla) {
+        switch (algoritmo) {
+            case XOR_STRING:
+                return xorHash(k, inicio, longitud, (int)semilla);
+            case BJ_STRING:
+                return bjHash(k, inicio, longitud, (int)semilla);
+            case GLIB_STRING:
+                return glib(k, inicio, longitud, (int)semilla);
+            case XXHASH32:
+                return xxHash32(k, inicio, longitud, (int)semilla);
+            case MURMUR3:
+                return murmur3(k, inicio, longitud, (int)semilla);
+            case XXHASH64:
+            case WYHASH:
+            case SIPHASH13:
+                return (int)pica64(algoritmo, k, inicio, longitud, semilla);
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Calcula el picadillo completo de un pedazo de un arreglo de bytes. Para
+     * los algoritmos de 64 bits regresa todos sus bits; para los de 32, el
+     * picadillo sin signo.
+     * @param algoritmo el algoritmo de picadillo que se desea.
+     * @param k el arreglo de bytes.
+     * @param inicio dónde empieza el pedazo.
+     * @param longitud cuántos bytes tiene el pedazo.
+     * @return el picadillo del pedazo.
+     * @throws ExcepcionIndiceInvalido si el pedazo no está dentro del
+     *         arreglo.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static long picadillo64(AlgoritmoPicadillo algoritmo, byte[] k,
+                                   int inicio, int longitud) {
+        return picadillo64(algoritmo, k, inicio, longitud, 0);
+    }
+
+    /**
+     * Calcula el picadillo completo con semilla de un pedazo de un arreglo de
+     * bytes, como {@link #picadillo64(AlgoritmoPicadillo,byte[],int,int)}.
+     * @param algoritmo el algoritmo de picadillo que se desea.
+     * @param k el arreglo de bytes.
+     * @param inicio dónde empieza el pedazo.
+     * @param longitud cuántos bytes tiene el pedazo.
+     * @param semilla la semilla.
+     * @return el picadillo del pedazo.
+     * @throws ExcepcionIndiceInvalido si el pedazo no está dentro del
+     *         arreglo.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static long picadillo64(AlgoritmoPicadillo algoritmo, byte[] k,
+                                   int inicio, int longitud, long semilla) {
+        if (inicio < 0 || longitud < 0 || inicio > k.length - longitud)
+            throw new ExcepcionIndiceInvalido();
+        return pica64(algoritmo, k, inicio, longitud, semilla);
+    }
+
+    /* Calcula el picadillo completo de longitud bytes de k, un arreglo o un
+     * ByteBuffer, a partir de inicio. */
+    private static long pica64(AlgoritmoPicadillo algoritmo, Object k,
+                               int inicio, int longitud, long semilla) {
+        switch (algoritmo) {
+            case XXHASH64:
+                return xxHash64(k, inicio, longitud, semilla);
+            case WYHASH:
+                return wyhash(k, inicio, longitud, semilla);
+            case SIPHASH13:
+                return sipHash13(k, inicio, longitud, semilla);
+            default:
+                return pica(algoritmo, k, inicio, longitud, semilla) &
+                    0xffffffffL;
+        }
+    }
+
+    /**
+     * Calcula el picadillo de los bytes restantes de un {@link ByteBuffer},
+     * entre su posición y su límite, sin moverlos ni copiarlos. Si el búfer
+     * tiene un arreglo accesible se pica el arreglo; si es directo o de sólo
+     * lectura, se lee en su lugar.
+     * @param algoritmo el algoritmo de picadillo que se desea.
+     * @param b el búfer.
+     * @return el picadillo de los bytes restantes del búfer.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static int picadillo(AlgoritmoPicadillo algoritmo, ByteBuffer b) {
+        int p = b.position(), n = b.remaining();
+        if (b.hasArray())
+            return picadillo(algoritmo, b.array(), b.arrayOffset() + p, n);
+        return pica(algoritmo, b, p, n, 0);
+    }
+
+    /**
+     * Calcula el picadillo de la codificación UTF-8 de una secuencia de
+     * caracteres, sin crear un arreglo por llamada.
+     * @param algoritmo el algoritmo de picadillo que se desea.
+     * @param s la secuencia de caracteres.
+     * @return el picadillo de la secuencia.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static int picadillo(AlgoritmoPicadillo algoritmo, CharSequence s) {
+        byte[] k = bufer(s.length() * 3);
+        return picadillo(algoritmo, k, 0, codifica(s, k));
+    }
+
+    /**
+     * Regresa una instancia de {@link Picadillo} para cadenas. Hay una sola
+     * instancia por algoritmo, que no vuelve a revisar el algoritmo en cada
+     * llamada. También pica lotes de cadenas; con GLib y MurmurHash3, de cuatro
+     * en cuatro cadenas intercaladas.
+     * @param algoritmo el algoritmo de picadillo que se desea.
+     * @return una instancia de {@link PicadilloLote} para cadenas.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static PicadilloLote<String> getInstancia(AlgoritmoPicadillo algoritmo) {
+        switch (algoritmo) {
+            case XOR_STRING:
+                return CADENAS_XOR;
+            case BJ_STRING:
+                return CADENAS_BJ;
+            case GLIB_STRING:
+                return CADENAS_GLIB;
+            case XXHASH32:
+                return CADENAS_XXHASH32;
+            case XXHASH64:
+                return CADENAS_XXHASH64;
+            case MURMUR3:
+                return CADENAS_MURMUR3;
+            case WYHASH:
+                return CADENAS_WYHASH;
+            case SIPHASH13:
+                return CADENAS_SIPHASH13;
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Regresa una instancia de {@link Picadillo} para cadenas con semilla.
+     * Con una semilla secreta y aleatoria (por ejemplo de {@link
+     * java.security.SecureRandom}) quien elige las llaves no puede saber de
+     * antemano cuáles chocan, y no puede mandarlas todas a la misma cubeta de
+     * un diccionario. Para eso está pensado {@link
+     * AlgoritmoPicadillo#SIPHASH13}; xxHash, MurmurHash3, wyhash y Bob Jenkins
+     * ayudan contra llaves fijas, pero no están diseñados contra quien los
+     * estudia. En XOR y GLib la semilla cambia los picadillos pero no cuáles
+     * llaves chocan. Con semilla 0 los picadillos son los de {@link
+     * #getInstancia(AlgoritmoPicadillo)}.
+     * @param algoritmo el algoritmo de picadillo que se desea.
+     * @param semilla la semilla; los algoritmos de 32 bits usan sus 32 bits
+     *        bajos, y SipHash la usa como la llave (semilla, ~semilla).
+     * @return una instancia de {@link PicadilloLote} para cadenas con la
+     *         semilla.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static PicadilloLote<String> getInstancia(AlgoritmoPicadillo algoritmo,
+                                                     long semilla) {
+        return cadenas(algoritmo, semilla);
+    }
+
+    /* Crea el picadillo de cadenas del algoritmo con la semilla. */
+    private static PicadilloLote<String> cadenas(AlgoritmoPicadillo algoritmo,
+                                                 long semilla) {
+        int s = (int)semilla;
+        switch (algoritmo) {
+            case XOR_STRING:
+                return new Cadenas(algoritmo, semilla) {
+                    @Override public int picadillo(String entrada) {
+                        byte[] k = entrada.getBytes();
+                        return xorHash(k, 0, k.length, s);
+                    }
+                };
+            case BJ_STRING:
+                return new Cadenas(algoritmo, semilla) {
+                    @Override public int picadillo(String entrada) {
+                        byte[] k = entrada.getBytes();
+                        return bjHash(k, 0, k.length, s);
+                    }
+                };
+            case GLIB_STRING:
+                return new Cadenas(algoritmo, semilla) {
+                    @Override public int picadillo(String entrada) {
+                        byte[] k = entrada.getBytes();
+                        return glib(k, 0, k.length, s);
+                    }
+                };
+            case XXHASH32:
+                return new Cadenas(algoritmo, semilla) {
+                    @Override public int picadillo(String entrada) {
+                        byte[] k = entrada.getBytes();
+                        return xxHash32(k, 0, k.length, s);
+                    }
+                };
+            case XXHASH64:
+                return new Cadenas(algoritmo, semilla) {
+                    @Override public int picadillo(String entrada) {
+                        byte[] k = entrada.getBytes();
+                        return (int)xxHash64(k, 0, k.length, semilla);
+                    }
+                };
+            case MURMUR3:
+                return new Cadenas(algoritmo, semilla) {
+                    @Override public int picadillo(String entrada) {
+                        byte[] k = entrada.getBytes();
+                        return murmur3(k, 0, k.length, s);
+                    }
+                };
+            case WYHASH:
+                return new Cadenas(algoritmo, semilla) {
+                    @Override public int picadillo(String entrada) {
+                        byte[] k = entrada.getBytes();
+                        return (int)wyhash(k, 0, k.length, semilla);
+                    }
+                };
+            case SIPHASH13:
+                return new Cadenas(algoritmo, semilla) {
+                    @Override public int picadillo(String entrada) {
+                        byte[] k = entrada.getBytes();
+                        return (int)sipHash13(k, 0, k.length, semilla);
+                    }
+                };
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /* Pica un lote de cadenas con el algoritmo y la semilla. El algoritmo se
+     * revisa una sola vez, y cada ciclo llama directamente al suyo. GLib y
+     * MurmurHash3 intercalan cuatro cadenas, porque su estado es una sola
+     * cadena de dependencias. Los demás pican una cadena a la vez a
+     * propósito: xxHash y wyhash ya mezclan varios carriles independientes
+     * en cada cadena, las rondas de Bob Jenkins y SipHash mezclan varias
+     * palabras a la vez, y XOR no tiene multiplicaciones que esperar. */
+    private static void lote(AlgoritmoPicadillo algoritmo, long semilla,
+                             String[] llaves, int[] salida) {
+        if (salida.length < llaves.length)
+            throw new IllegalArgumentException();
+        int s = (int)semilla, i = 0;
+        byte[] k;
+        switch (algoritmo) {
+            case XOR_STRING:
+                for (; i < llaves.length; i++) {
+                    k = llaves[i].getBytes();
+                    salida[i] = xorHash(k, 0, k.length, s);
+                }
+                break;
+            case BJ_STRING:
+                for (; i < llaves.length; i++) {
+                    k = llaves[i].getBytes();
+                    salida[i] = bjHash(k, 0, k.length, s);
+                }
+                break;
+            case GLIB_STRING:
+                for (; i + 4 <= llaves.length; i += 4)
+                    glib4(llaves, i, salida, s);
+                for (; i < llaves.length; i++) {
+                    k = llaves[i].getBytes();
+                    salida[i] = glib(k, 0, k.length, s);
+                }
+                break;
+            case XXHASH32:
+                for (; i < llaves.length; i++) {
+                    k = llaves[i].getBytes();
+                    salida[i] = xxHash32(k, 0, k.length, s);
+                }
+                break;
+            case XXHASH64:
+                for (; i < llaves.length; i++) {
+                    k = llaves[i].getBytes();
+                    salida[i] = (int)xxHash64(k, 0, k.length, semilla);
+                }
+                break;
+            case MURMUR3:
+                for (; i + 4 <= llaves.length; i += 4)
+                    murmur4(llaves, i, salida, s);
+                for (; i < llaves.length; i++) {
+                    k = llaves[i].getBytes();
+                    salida[i] = murmur3(k, 0, k.length, s);
+                }
+                break;
+            case WYHASH:
+                for (; i < llaves.length; i++) {
+                    k = llaves[i].getBytes();
+                    salida[i] = (int)wyhash(k, 0, k.length, semilla);
+                }
+                break;
+            case SIPHASH13:
+                for (; i < llaves.length; i++) {
+                    k = llaves[i].getBytes();
+                    salida[i] = (int)sipHash13(k, 0, k.length, semilla);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Regresa una instancia de {@link Picadillo} para arreglos de bytes.
+     * @param algoritmo el algoritmo de picadillo que se desea.
+     * @return una instancia de {@link Picadillo} para arreglos de bytes.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static Picadillo<byte[]> getInstanciaBytes(AlgoritmoPicadillo algoritmo) {
+        return (entrada) -> picadillo(algoritmo, entrada, 0, entrada.length);
+    }
+
+    /**
+     * Regresa una instancia de {@link Picadillo} para los bytes restantes de
+     * un {@link ByteBuffer}.
+     * @param algoritmo el algoritmo de picadillo que se desea.
+     * @return una instancia de {@link Picadillo} para búferes de bytes.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static Picadillo<ByteBuffer> getInstanciaByteBuffer(AlgoritmoPicadillo algoritmo) {
+        return (entrada) -> picadillo(algoritmo, entrada);
+    }
+
+    /**
+     * Regresa una instancia de {@link Picadillo} para secuencias de
+     * caracteres, codificadas en UTF-8. Como es genérica, sirve también
+     * como picadillo de cadenas que no crea un arreglo en cada llamada, por
+     * ejemplo para un <code>Diccionario&lt;String, V&gt;</code>.
+     * @param <T> el tipo de las secuencias.
+     * @param algoritmo el algoritmo de picadillo que se desea.
+     * @return una instancia de {@link Picadillo} para secuencias de
+     *         caracteres.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static <T extends CharSequence> Picadillo<T>
+    getInstanciaCharSequence(AlgoritmoPicadillo algoritmo) {
+        return (entrada) -> picadillo(algoritmo, entrada);
+    }
+
+    /**
+     * Regresa un {@link PicadilloIncremental} nuevo para el algoritmo, que
+     * recibe los bytes por pedazos.
+     * @param algoritmo el algoritmo de picadillo que se desea.
+     * @return un picadillo incremental nuevo.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static PicadilloIncremental getInstanciaIncremental(AlgoritmoPicadillo algoritmo) {
+        return getInstanciaIncremental(algoritmo, 0);
+    }
+
+    /**
+     * Regresa un {@link PicadilloIncremental} nuevo para el algoritmo con
+     * semilla. Su picadillo es el de {@link
+     * #picadillo(AlgoritmoPicadillo,byte[],int,int,long)} sobre la
+     * concatenación de los pedazos, sin importar cómo se corte la entrada;
+     * sólo guarda un bloque del algoritmo, a lo más 48 bytes. Cada llamada
+     * regresa un objeto distinto, porque guarda el estado de su entrada, y
+     * no debe usarse desde varios hilos a la vez.
+     * @param algoritmo el algoritmo de picadillo que se desea.
+     * @param semilla la semilla, como en {@link
+     *        #getInstancia(AlgoritmoPicadillo,long)}.
+     * @return un picadillo incremental nuevo.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static PicadilloIncremental getInstanciaIncremental(AlgoritmoPicadillo algoritmo,
+                                                               long semilla) {
+        switch (algoritmo) {
+            case XOR_STRING:
+                return new IncrementalXor(semilla);
+            case BJ_STRING:
+                return new IncrementalBJ(semilla);
+            case GLIB_STRING:
+                return new IncrementalGlib(semilla);
+            case XXHASH32:
+                return new IncrementalXxHash32(semilla);
+            case XXHASH64:
+                return new IncrementalXxHash64(semilla);
+            case MURMUR3:
+                return new IncrementalMurmur3(semilla);
+            case WYHASH:
+                return new IncrementalWyhash(semilla);
+            case SIPHASH13:
+                return new IncrementalSipHash13(semilla);
+            default:
+                throw new IllegalArgumentException();
+        }
     }
 }
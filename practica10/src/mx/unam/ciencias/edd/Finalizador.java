@@ -0,0 +1,44 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para finalizadores de picadillos. Un {@link Diccionario} usa sólo
+ * los bits bajos del picadillo de cada llave; un finalizador los mezcla antes
+ * de aplicar la máscara, para que picadillos que sólo difieren en sus bits
+ * altos (como los de enteros múltiplos de 64, o los de muchos {@link Double})
+ * no caigan todos en la misma cubeta.
+ */
+@FunctionalInterface
+public interface Finalizador {
+
+    /** Finalizador que deja el picadillo como está. */
+    public static final Finalizador NINGUNO = (h) -> h;
+
+    /**
+     * Finalizador <code>fmix32</code> de MurmurHash3: cada bit del picadillo
+     * afecta a todos los demás. Es el predeterminado de los diccionarios que
+     * usan <code>hashCode</code>.
+     */
+    public static final Finalizador MURMUR3 = (h) -> {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    };
+
+    /**
+     * Picadillo de Fibonacci: multiplica por 2<sup>32</sup>/φ y voltea los
+     * bits, para que la máscara tome los bits altos del producto, que son
+     * los que dependen de todo el picadillo. Es más barato que {@link
+     * #MURMUR3}, pero mezcla menos.
+     */
+    public static final Finalizador FIBONACCI =
+        (h) -> Integer.reverse(h * 0x9e3779b9);
+
+    /**
+     * Mezcla los bits de un picadillo.
+     * @param picadillo el picadillo a mezclar.
+     * @return el picadillo mezclado.
+     */
+    public int finaliza(int picadillo);
+}
@@ -155,6 +155,8 @@ public class Grafica<T> implements Coleccion<T> {
     private Diccionario<T, Vertice> vertices;
     /* Número de aristas. */
     private int aristas;
+    /* Si BFS y DFS usan colas y pilas sobre arreglos. */
+    private boolean recorridosEnArreglo = true;
 
     /**
      * Constructor único.
@@ -163,15 +165,25 @@ public class Grafica<T> implements Coleccion<T> {
         vertices = new Diccionario<T, Vertice>();
     }
 
+    /**
+     * Define si {@link #bfs} y {@link #dfs} usan {@link ColaArreglo} y {@link
+     * PilaArreglo} en lugar de {@link Cola} y {@link Pila}. Los arreglos no
+     * crean un nodo por cada vértice que pasa por ellos; es el
+     * comportamiento predeterminado. El orden de los recorridos es el mismo
+     * en ambos casos.
+     * @param enArreglo si los recorridos usan colas y pilas sobre arreglos.
+     */
+    public void setRecorridosEnArreglo(boolean enArreglo) {
+        recorridosEnArreglo = enArreglo;
+    }
+
     /* Método auxiliar para buscar vecinos. */
     private Vecino buscaVecino(Vertice vertice,
                                Vertice vecino) {
-        for (Vecino v: vertice.vecinos) {
-			if (v.vecino.equals(vecino)) {
-				return v;
-			}
-		}
-		return null;
+        if (!vertice.vecinos.contiene(vecino.elemento)) {
+            return null;
+        }
+        return vertice.vecinos.get(vecino.elemento);
     }
 
     /**
@@ -206,12 +218,10 @@ public class Grafica<T> implements Coleccion<T> {
     }
 
 	private Vertice busca(T elemento) {
-		for (Vertice v: this.vertices) {
-			if (v.elemento.equals(elemento)) {
-				return v;
-			}
+		if (elemento == null) {
+			throw new NoSuchElementException();
 		}
-		throw new NoSuchElementException();
+		return this.vertices.get(elemento);
 	}
 
     /**
@@ -289,12 +299,7 @@ public class Grafica<T> implements Coleccion<T> {
      *         <tt>false</tt> en otro caso.
      */
     @Override public boolean contiene(T elemento) {
-        for (Vertice v:vertices) {
-            if (v.elemento.equals(elemento)) {
-                return true;
-            }
-        }
-        return false;
+        return vertices.contiene(elemento);
     }
 
     /**
@@ -307,8 +312,9 @@ public class Grafica<T> implements Coleccion<T> {
     @Override public void elimina(T elemento) {
         Vertice v = this.busca(elemento);
         for (Vecino vci: v.vecinos) {
-            this.desconecta(v.elemento, vci.vecino.elemento);
+            vci.vecino.vecinos.elimina(elemento);
         }
+        this.aristas -= v.vecinos.getElementos();
         vertices.elimina(elemento);
     }
 
@@ -322,12 +328,8 @@ public class Grafica<T> implements Coleccion<T> {
      */
     public boolean sonVecinos(T a, T b) {
         Vertice av = this.busca(a), bv = this.busca(b);
-        for (Vecino v:av.vecinos) {
-            if (v.vecino.equals(bv)) {
-                return true;
-            }
-        }
-        return false;    }
+        return av.vecinos.contiene(bv.elemento);
+    }
 
     /**
      * Regresa el peso de la arista que comparten los vértices que contienen a
@@ -408,7 +410,8 @@ public class Grafica<T> implements Coleccion<T> {
      * @throws NoSuchElementException si el elemento no está en la gráfica.
      */
     public void bfs(T elemento, AccionVerticeGrafica<T> accion) {
-        Cola<Vertice> cola = new Cola<Vertice>();
+        Cola<Vertice> cola = recorridosEnArreglo ?
+            new ColaArreglo<Vertice>() : new Cola<Vertice>();
         recorreYActua(elemento, accion, cola);
 
     }
@@ -424,7 +427,8 @@ public class Grafica<T> implements Coleccion<T> {
      * @throws NoSuchElementException si el elemento no está en la gráfica.
      */
     public void dfs(T elemento, AccionVerticeGrafica<T> accion) {
-        Pila<Vertice> pila = new Pila<Vertice>();
+        Pila<Vertice> pila = recorridosEnArreglo ?
+            new PilaArreglo<Vertice>() : new Pila<Vertice>();
         recorreYActua(elemento, accion, pila);
 
     }
@@ -0,0 +1,118 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Conjunto de enteros <code>int</code>, sin cajas. Todos sus métodos tienen
+ * complejidad en tiempo <em>O</em>(1) (amortizado), excepto por {@link union}
+ * y {@link interseccion}, que son <em>O</em>(<em>n</em>).
+ */
+public class IntConjunto extends TablaEnteros {
+
+    /**
+     * Crea un nuevo conjunto.
+     */
+    public IntConjunto() {
+        this(0);
+    }
+
+    /**
+     * Crea un nuevo conjunto para un número determinado de elementos.
+     * @param n el número tentativo de elementos.
+     */
+    public IntConjunto(int n) {
+        super(n);
+    }
+
+    /**
+     * Agrega un elemento al conjunto.
+     * @param elemento el elemento que queremos agregar al conjunto.
+     */
+    public void agrega(int elemento) {
+        ocupa(elemento);
+        ajusta();
+    }
+
+    /**
+     * Nos dice si el elemento está en el conjunto.
+     * @param elemento el elemento que queremos saber si está en el conjunto.
+     * @return <code>true</code> si el elemento está en el conjunto,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(int elemento) {
+        return busca(elemento) != -1;
+    }
+
+    /**
+     * Elimina el elemento del conjunto, si está.
+     * @param elemento el elemento que queremos eliminar del conjunto.
+     */
+    public void elimina(int elemento) {
+        int i = busca(elemento);
+        if (i != -1)
+            libera(i);
+    }
+
+    /**
+     * Regresa la intersección del conjunto y el conjunto recibido.
+     * @param conjunto el conjunto que queremos intersectar con éste.
+     * @return la intersección del conjunto y el conjunto recibido.
+     */
+    public IntConjunto interseccion(IntConjunto conjunto) {
+        IntConjunto interseccion = new IntConjunto();
+        for (int elemento : llaves())
+            if (conjunto.contiene(elemento))
+                interseccion.agrega(elemento);
+        return interseccion;
+    }
+
+    /**
+     * Regresa la unión del conjunto y el conjunto recibido.
+     * @param conjunto el conjunto que queremos unir con éste.
+     * @return la unión del conjunto y el conjunto recibido.
+     */
+    public IntConjunto union(IntConjunto conjunto) {
+        IntConjunto union = new IntConjunto(getElementos() +
+                                            conjunto.getElementos());
+        for (int elemento : llaves())
+            union.agrega(elemento);
+        for (int elemento : conjunto.llaves())
+            union.agrega(elemento);
+        return union;
+    }
+
+    /**
+     * Nos dice si el conjunto es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al conjunto.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         IntConjunto, y tiene los mismos elementos.
+     */
+    @Override public boolean equals(Object o) {
+        if (!(o instanceof IntConjunto))
+            return false;
+        IntConjunto c = (IntConjunto)o;
+        if (c.getElementos() != getElementos())
+            return false;
+        for (int elemento : llaves())
+            if (!c.contiene(elemento))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa un picadillo del conjunto, consistente con {@link #equals}: la
+     * suma de sus elementos mezclados, que no depende del orden en que se
+     * recorren.
+     * @return un picadillo del conjunto.
+     */
+    @Override public int hashCode() {
+        int h = 0;
+        for (int elemento : llaves())
+            h += mezcla(elemento);
+        return h;
+    }
+
+    @Override protected void redimensionaValores(int[] destinos, int n) {}
+
+    @Override protected void mueveValor(int de, int a) {}
+
+    @Override protected void limpiaValor(int i) {}
+}
@@ -0,0 +1,164 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Diccionario con llaves <code>int</code>. A diferencia de un {@link
+ * Diccionario}<code>&lt;Integer, V&gt;</code>, no crea cajas para las llaves ni
+ * objetos por entrada: las llaves y los valores viven en dos arreglos
+ * paralelos, y el picadillo es una mezcla de bits fija que no requiere llamar a
+ * <code>hashCode()</code>.
+ */
+public class IntDiccionario<V> extends TablaEnteros implements Iterable<V> {
+
+    /* Clase privada para iteradores de diccionarios. */
+    private class Iterador implements Iterator<V> {
+
+        /* La siguiente casilla ocupada. */
+        private int indice;
+
+        /* Construye un nuevo iterador en la primera casilla ocupada. */
+        public Iterador() {
+            indice = siguienteOcupada(0);
+        }
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return indice < valores.length;
+        }
+
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            V valor = valor(indice);
+            indice = siguienteOcupada(indice + 1);
+            return valor;
+        }
+
+        /* No lo implementamos: siempre lanza una excepción. */
+        @Override public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /* Los valores, en las mismas casillas que sus llaves. */
+    private Object[] valores;
+
+    /**
+     * Construye un diccionario con un tamaño inicial predeterminado.
+     */
+    public IntDiccionario() {
+        this(0);
+    }
+
+    /**
+     * Construye un diccionario donde caben <code>tam</code> llaves sin crecer.
+     * @param tam el tamaño a utilizar.
+     */
+    public IntDiccionario(int tam) {
+        super(tam);
+        valores = new Object[casillas()];
+    }
+
+    /* Regresa el valor en la casilla i. */
+    @SuppressWarnings("unchecked") private V valor(int i) {
+        return (V)valores[i];
+    }
+
+    /* Regresa la primera casilla ocupada a partir de i, o valores.length. */
+    private int siguienteOcupada(int i) {
+        while (i < valores.length && !ocupada(i))
+            i++;
+        return i;
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si el valor es nulo.
+     */
+    public void agrega(int llave, V valor) {
+        if (valor == null)
+            throw new IllegalArgumentException();
+        valores[ocupa(llave)] = valor;
+        ajusta();
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(int llave) {
+        int i = busca(llave);
+        if (i == -1)
+            throw new NoSuchElementException();
+        return valor(i);
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <tt>true</tt> si la llave está en el diccionario,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(int llave) {
+        return busca(llave) != -1;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(int llave) {
+        int i = busca(llave);
+        if (i == -1)
+            throw new NoSuchElementException();
+        libera(i);
+    }
+
+    /**
+     * Regresa una lista con todos los valores en el diccionario. La lista no
+     * tiene ningún tipo de orden.
+     * @return una lista con todos los valores.
+     */
+    public Lista<V> valores() {
+        Lista<V> l = new Lista<V>();
+        for (V valor : this)
+            l.agrega(valor);
+        return l;
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar el diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new Iterador();
+    }
+
+    @Override protected void redimensionaValores(int[] destinos, int n) {
+        Object[] nuevos = new Object[n];
+        for (int j = 0; j < destinos.length; j++)
+            if (destinos[j] != -1)
+                nuevos[destinos[j]] = valores[j];
+        valores = nuevos;
+    }
+
+    @Override protected void mueveValor(int de, int a) {
+        valores[a] = valores[de];
+    }
+
+    @Override protected void limpiaValor(int i) {
+        valores[i] = null;
+    }
+}
@@ -0,0 +1,106 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Diccionario con llaves y valores <code>int</code>. Las llaves y los valores
+ * viven en dos arreglos <code>int[]</code> paralelos, así que no se crea ningún
+ * objeto por entrada.
+ */
+public class IntIntDiccionario extends TablaEnteros {
+
+    /* Los valores, en las mismas casillas que sus llaves. */
+    private int[] valores;
+
+    /**
+     * Construye un diccionario con un tamaño inicial predeterminado.
+     */
+    public IntIntDiccionario() {
+        this(0);
+    }
+
+    /**
+     * Construye un diccionario donde caben <code>tam</code> llaves sin crecer.
+     * @param tam el tamaño a utilizar.
+     */
+    public IntIntDiccionario(int tam) {
+        super(tam);
+        valores = new int[casillas()];
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     */
+    public void agrega(int llave, int valor) {
+        valores[ocupa(llave)] = valor;
+        ajusta();
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public int get(int llave) {
+        int i = busca(llave);
+        if (i == -1)
+            throw new NoSuchElementException();
+        return valores[i];
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <tt>true</tt> si la llave está en el diccionario,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(int llave) {
+        return busca(llave) != -1;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(int llave) {
+        int i = busca(llave);
+        if (i == -1)
+            throw new NoSuchElementException();
+        libera(i);
+    }
+
+    /**
+     * Regresa un arreglo con todos los valores en el diccionario, en el mismo
+     * orden que las llaves de {@link #llaves}.
+     * @return un arreglo con todos los valores.
+     */
+    public int[] valores() {
+        int[] r = new int[getElementos()];
+        int k = 0;
+        for (int i = 0; i < valores.length; i++)
+            if (ocupada(i))
+                r[k++] = valores[i];
+        return r;
+    }
+
+    @Override protected void redimensionaValores(int[] destinos, int n) {
+        int[] nuevos = new int[n];
+        for (int j = 0; j < destinos.length; j++)
+            if (destinos[j] != -1)
+                nuevos[destinos[j]] = valores[j];
+        valores = nuevos;
+    }
+
+    @Override protected void mueveValor(int de, int a) {
+        valores[a] = valores[de];
+    }
+
+    @Override protected void limpiaValor(int i) {}
+}
@@ -3,8 +3,15 @@ package mx.unam.ciencias.edd;
 import java.util.NoSuchElementException;
 
 /**
- * Clase abtracta para estructuras lineales restringidas a operaciones
- * mete/saca/mira.
+ * <p>Clase abtracta para estructuras lineales restringidas a operaciones
+ * mete/saca/mira.</p>
+ *
+ * <p>Las estructuras llevan la cuenta de sus elementos, así que {@link
+ * #getElementos} es de tiempo constante. Opcionalmente registran el máximo
+ * de elementos que han tenido (ver {@link #setRegistraMaximo}), y pueden
+ * tener un límite de elementos (ver {@link #setLimite}): con la estructura
+ * llena, {@link #mete} lanza {@link IllegalStateException} y {@link
+ * #intentaMete} regresa <code>false</code>.</p>
  */
 public abstract class MeteSaca<T> {
 
@@ -30,13 +37,38 @@ public abstract class MeteSaca<T> {
     protected Nodo cabeza;
     /** El rabo de la estructura. */
     protected Nodo rabo;
+    /** El número de elementos de la estructura. */
+    protected int elementos;
+
+    /* El límite de elementos. */
+    int limite = Integer.MAX_VALUE;
+    /* Si se registra el máximo de elementos. */
+    boolean registraMaximo;
+    /* El máximo de elementos registrado. */
+    int maximo;
 
     /**
      * Agrega un elemento al extremo de la estructura.
      * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     * @throws IllegalStateException si la estructura está llena.
      */
     public abstract void mete(T elemento);
 
+    /**
+     * Agrega un elemento al extremo de la estructura si no está llena.
+     * @param elemento el elemento a agregar.
+     * @return <code>true</code> si el elemento se agregó, <code>false</code>
+     *         si la estructura estaba llena.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     */
+    public boolean intentaMete(T elemento) {
+        if (this.estaLlena())
+            return false;
+        this.mete(elemento);
+        return true;
+    }
+
     /**
      * Elimina el elemento en un extremo de la estructura y lo regresa.
      * @return el elemento en un extremo de la estructura.
@@ -52,6 +84,7 @@ public abstract class MeteSaca<T> {
         } else {
             this.cabeza = cabeza.siguiente;
         }
+        this.elementos--;
         return elemento;
     }
 
@@ -77,6 +110,171 @@ public abstract class MeteSaca<T> {
         return this.cabeza == null;
     }
 
+    /**
+     * Agrega todos los elementos de una colección, en el orden en que los
+     * recorre su iterador, como si se metieran uno por uno.
+     * @param coleccion la colección con los elementos a agregar.
+     * @throws IllegalArgumentException si alguno de los elementos es nulo.
+     * @throws IllegalStateException si la estructura se llena.
+     */
+    public void meteTodos(Coleccion<T> coleccion) {
+        for (T elemento : coleccion)
+            this.mete(elemento);
+    }
+
+    /**
+     * Elimina hasta <code>n</code> elementos del extremo de la estructura y
+     * los guarda al inicio del arreglo, en el orden en que los regresaría
+     * {@link #saca()}. A diferencia de {@link #saca()}, no lanza excepción si
+     * la estructura se vacía antes.
+     * @param n cuántos elementos sacar como máximo.
+     * @param destino el arreglo donde se guardan los elementos.
+     * @return cuántos elementos se sacaron.
+     * @throws IllegalArgumentException si <code>n</code> es negativo o mayor
+     *         que la longitud del arreglo.
+     */
+    public int saca(int n, T[] destino) {
+        if (n < 0 || n > destino.length)
+            throw new IllegalArgumentException();
+        int k = 0;
+        while (k < n && this.cabeza != null) {
+            destino[k++] = this.cabeza.elemento;
+            this.cabeza = this.cabeza.siguiente;
+        }
+        if (this.cabeza == null)
+            this.rabo = null;
+        this.ajustaElementos(-k);
+        return k;
+    }
+
+    /**
+     * Elimina hasta <code>max</code> elementos del extremo de la estructura
+     * y los agrega a la colección, en el orden en que los regresaría {@link
+     * #saca()}. Si la colección lanza una excepción al agregar un elemento,
+     * ése y los que siguen se quedan en la estructura.
+     * @param coleccion la colección a la que se agregan los elementos.
+     * @param max cuántos elementos sacar como máximo.
+     * @return cuántos elementos se sacaron.
+     * @throws IllegalArgumentException si <code>max</code> es negativo.
+     */
+    public int drenaA(Coleccion<T> coleccion, int max) {
+        if (max < 0)
+            throw new IllegalArgumentException();
+        int k = 0;
+        try {
+            while (k < max && this.cabeza != null) {
+                coleccion.agrega(this.cabeza.elemento);
+                this.cabeza = this.cabeza.siguiente;
+                k++;
+            }
+        } finally {
+            if (this.cabeza == null)
+                this.rabo = null;
+            this.ajustaElementos(-k);
+        }
+        return k;
+    }
+
+    /* Implementa drenaA sobre saca(n, destino), en lotes de a lo más 64
+     * elementos, para las estructuras que sacan en lote más barato que de uno
+     * en uno. Cada lote ya salió de la estructura antes de agregarse, así que
+     * si la colección lanza una excepción, los elementos del lote que no
+     * alcanzó a recibir se pierden. */
+    int drenaEnLotes(Coleccion<T> coleccion, int max) {
+        if (max < 0)
+            throw new IllegalArgumentException();
+        @SuppressWarnings("unchecked") T[] lote =
+            (T[])new Object[Math.min(max, 64)];
+        int k = 0;
+        while (k < max) {
+            int pedidos = Math.min(max - k, lote.length);
+            int m = this.saca(pedidos, lote);
+            for (int i = 0; i < m; i++) {
+                coleccion.agrega(lote[i]);
+                lote[i] = null;
+            }
+            k += m;
+            if (m < pedidos)
+                break;
+        }
+        return k;
+    }
+
+    /**
+     * Regresa el número de elementos en la estructura, en tiempo constante.
+     * @return el número de elementos en la estructura.
+     */
+    public int getElementos() {
+        return this.elementos;
+    }
+
+    /**
+     * Regresa el límite de elementos de la estructura.
+     * @return el límite de elementos; {@link Integer#MAX_VALUE} si no tiene.
+     */
+    public int getLimite() {
+        return this.limite;
+    }
+
+    /**
+     * Define el límite de elementos de la estructura. Si ya tiene más, no
+     * pierde ninguno, pero no acepta otro hasta bajar del límite. Con {@link
+     * Integer#MAX_VALUE}, que es el valor por omisión, la estructura no tiene
+     * límite.
+     * @param limite el límite de elementos.
+     * @throws IllegalArgumentException si el límite no es positivo.
+     */
+    public void setLimite(int limite) {
+        if (limite < 1)
+            throw new IllegalArgumentException();
+        this.limite = limite;
+    }
+
+    /**
+     * Nos dice si la estructura tiene tantos elementos como su límite.
+     * @return <code>true</code> si la estructura está llena,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean estaLlena() {
+        return this.getElementos() >= this.limite;
+    }
+
+    /**
+     * Define si la estructura registra el máximo de elementos que ha tenido.
+     * Al activarse, el máximo empieza en los elementos actuales; al
+     * desactivarse, se queda en el último valor registrado. Por omisión no se
+     * registra.
+     * @param registraMaximo si se registra el máximo de elementos.
+     */
+    public void setRegistraMaximo(boolean registraMaximo) {
+        this.registraMaximo = registraMaximo;
+        if (registraMaximo)
+            this.maximo = this.getElementos();
+    }
+
+    /**
+     * Regresa el máximo de elementos que ha tenido la estructura desde que
+     * se activó el registro con {@link #setRegistraMaximo}.
+     * @return el máximo de elementos registrado; 0 si nunca se ha activado.
+     */
+    public int getMaximo() {
+        return this.maximo;
+    }
+
+    /**
+     * Suma al número de elementos y, si se registra, actualiza el máximo. Lo
+     * llaman las operaciones en lote; {@link #mete} y {@link #saca()} de las
+     * clases de este paquete cambian {@link #elementos} directamente, para
+     * no pagar una llamada en cada elemento. Una clase heredera que cuente
+     * de otra forma debe sobreescribir también esas operaciones.
+     * @param cambio cuántos elementos se metieron; negativo si se sacaron.
+     */
+    protected void ajustaElementos(int cambio) {
+        this.elementos += cambio;
+        if (this.registraMaximo && this.elementos > this.maximo)
+            this.maximo = this.elementos;
+    }
+
     /**
      * Compara la estructura con un objeto.
      * @param o el objeto con el que queremos comparar la estructura.
@@ -98,4 +296,16 @@ public abstract class MeteSaca<T> {
         }
         return i == i_o;
     }
+
+    /**
+     * Regresa un picadillo de la estructura, consistente con {@link #equals}:
+     * combina los picadillos de sus elementos en orden.
+     * @return un picadillo de la estructura.
+     */
+    @Override public int hashCode() {
+        int h = 1;
+        for (Nodo i = this.cabeza; i != null; i = i.siguiente)
+            h = 31 * h + i.elemento.hashCode();
+        return h;
+    }
 }
@@ -0,0 +1,332 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+
+/**
+ * Métricas en vivo de un {@link Diccionario}. Se obtienen con {@link
+ * Diccionario#getMetricas}; desde ese momento el diccionario actualiza los
+ * contadores en cada operación, sin recorrer nunca la tabla completa:
+ *
+ * <ul>
+ *   <li>un histograma de sondeos: cuántas entradas hubo que comparar en cada
+ *       búsqueda, inserción o eliminación. Un buen picadillo deja casi todo
+ *       en 0 y 1; una cola larga delata un picadillo malo;</li>
+ *   <li>un histograma de longitudes: cuántas cubetas tienen cada número de
+ *       entradas. Se ajusta en cada inserción, eliminación y migración
+ *       moviendo una cubeta de la posición de su longitud anterior a la de
+ *       la nueva;</li>
+ *   <li>aciertos y fallos de {@link Diccionario#get} y {@link
+ *       Diccionario#contiene};</li>
+ *   <li>cuántas veces creció o se redimensionó la tabla y cuánto tardó;</li>
+ *   <li>un historial de la carga, muestreada cada {@link #MUESTREO}
+ *       escrituras.</li>
+ * </ul>
+ *
+ * <p>Las métricas no son seguras para usarse desde varios hilos, igual que el
+ * diccionario que las actualiza. Para exportarlas se toma una {@link
+ * Instantanea}, que es inmutable.</p>
+ */
+public class MetricasDiccionario {
+
+    /**
+     * Copia inmutable de las métricas en un momento dado.
+     */
+    public static final class Instantanea {
+
+        /* Histograma de sondeos. */
+        private final long[] sondeos;
+        /* Histograma de longitudes de cubeta. */
+        private final long[] longitudes;
+        /* Aciertos de consultas. */
+        private final long aciertos;
+        /* Fallos de consultas. */
+        private final long fallos;
+        /* Número de redimensiones. */
+        private final long redimensiones;
+        /* Tiempo total redimensionando, en nanosegundos. */
+        private final long tiempoRedimension;
+        /* La redimensión más larga, en nanosegundos. */
+        private final long redimensionMaxima;
+        /* Historial de la carga, de la más vieja a la más reciente. */
+        private final double[] historialCarga;
+        /* Carga al tomar la instantánea. */
+        private final double carga;
+        /* Elementos al tomar la instantánea. */
+        private final int elementos;
+
+        /* Copia las métricas recibidas. */
+        private Instantanea(MetricasDiccionario m) {
+            sondeos = m.sondeos.clone();
+            longitudes = m.longitudes.clone();
+            aciertos = m.aciertos;
+            fallos = m.fallos;
+            redimensiones = m.redimensiones;
+            tiempoRedimension = m.tiempoRedimension;
+            redimensionMaxima = m.redimensionMaxima;
+            int n = (int)Math.min(m.muestras, HISTORIAL);
+            historialCarga = new double[n];
+            for (int i = 0; i < n; i++)
+                historialCarga[i] =
+                    m.historialCarga[(int)((m.muestras - n + i) % HISTORIAL)];
+            carga = m.diccionario.carga();
+            elementos = m.diccionario.getElementos();
+        }
+
+        /**
+         * Regresa el histograma de sondeos: la posición <i>i</i> dice
+         * cuántas operaciones compararon <i>i</i> entradas; la última
+         * posición acumula las que compararon esa cantidad o más.
+         * @return una copia del histograma de sondeos.
+         */
+        public long[] getHistogramaSondeos() {
+            return sondeos.clone();
+        }
+
+        /**
+         * Regresa el histograma de longitudes: la posición <i>i</i> dice
+         * cuántas cubetas tienen <i>i</i> entradas; la última posición
+         * acumula las que tienen esa cantidad o más. Durante un crecimiento
+         * incremental cuenta también las cubetas de la tabla vieja que no se
+         * han migrado. En un {@link DiccionarioAbierto} está vacío.
+         * @return una copia del histograma de longitudes.
+         */
+        public long[] getHistogramaLongitudes() {
+            return longitudes.clone();
+        }
+
+        /**
+         * Regresa el número de operaciones medidas.
+         * @return el número de operaciones medidas.
+         */
+        public long getOperaciones() {
+            long operaciones = 0;
+            for (long s : sondeos)
+                operaciones += s;
+            return operaciones;
+        }
+
+        /**
+         * Regresa el promedio de sondeos por operación. Las operaciones en la
+         * última posición del histograma cuentan con ese valor.
+         * @return el promedio de sondeos por operación.
+         */
+        public double getSondeoPromedio() {
+            long operaciones = 0, total = 0;
+            for (int i = 0; i < sondeos.length; i++) {
+                operaciones += sondeos[i];
+                total += i * sondeos[i];
+            }
+            return operaciones == 0 ? 0.0 : (total + 0.0) / operaciones;
+        }
+
+        /**
+         * Regresa el mayor número de sondeos observado, acotado por la
+         * última posición del histograma.
+         * @return el mayor número de sondeos observado.
+         */
+        public int getSondeoMaximo() {
+            for (int i = sondeos.length - 1; i > 0; i--)
+                if (sondeos[i] != 0)
+                    return i;
+            return 0;
+        }
+
+        /**
+         * Regresa cuántas consultas encontraron su llave.
+         * @return cuántas consultas encontraron su llave.
+         */
+        public long getAciertos() {
+            return aciertos;
+        }
+
+        /**
+         * Regresa cuántas consultas no encontraron su llave.
+         * @return cuántas consultas no encontraron su llave.
+         */
+        public long getFallos() {
+            return fallos;
+        }
+
+        /**
+         * Regresa cuántas veces se redimensionó la tabla.
+         * @return cuántas veces se redimensionó la tabla.
+         */
+        public long getRedimensiones() {
+            return redimensiones;
+        }
+
+        /**
+         * Regresa el tiempo total redimensionando la tabla.
+         * @return el tiempo total redimensionando, en nanosegundos.
+         */
+        public long getTiempoRedimension() {
+            return tiempoRedimension;
+        }
+
+        /**
+         * Regresa la duración de la redimensión más larga.
+         * @return la duración de la redimensión más larga, en nanosegundos.
+         */
+        public long getRedimensionMaxima() {
+            return redimensionMaxima;
+        }
+
+        /**
+         * Regresa las últimas cargas muestreadas, de la más vieja a la más
+         * reciente.
+         * @return una copia del historial de la carga.
+         */
+        public double[] getHistorialCarga() {
+            return historialCarga.clone();
+        }
+
+        /**
+         * Regresa la carga del diccionario al tomar la instantánea.
+         * @return la carga del diccionario.
+         */
+        public double getCarga() {
+            return carga;
+        }
+
+        /**
+         * Regresa los elementos del diccionario al tomar la instantánea.
+         * @return los elementos del diccionario.
+         */
+        public int getElementos() {
+            return elementos;
+        }
+
+        /**
+         * Regresa una representación en JSON de la instantánea.
+         * @return una representación en JSON de la instantánea.
+         */
+        @Override public String toString() {
+            return String.format("{\"elementos\": %d, \"carga\": %s, " +
+                                 "\"aciertos\": %d, \"fallos\": %d, " +
+                                 "\"sondeos\": %s, \"longitudes\": %s, " +
+                                 "\"redimensiones\": %d, " +
+                                 "\"tiempoRedimension\": %d, " +
+                                 "\"redimensionMaxima\": %d, " +
+                                 "\"historialCarga\": %s}",
+                                 elementos, carga, aciertos, fallos,
+                                 Arrays.toString(sondeos),
+                                 Arrays.toString(longitudes), redimensiones,
+                                 tiempoRedimension, redimensionMaxima,
+                                 Arrays.toString(historialCarga));
+        }
+    }
+
+    /** Cada cuántas escrituras se muestrea la carga. */
+    public static final int MUESTREO = 1024;
+    /** Número de sondeos a partir del cual se acumulan en el histograma. */
+    public static final int SONDEOS = 16;
+    /** Longitud de cubeta a partir de la cual se acumulan en el histograma. */
+    public static final int LONGITUDES = 16;
+    /* Cuántas muestras de la carga se guardan. */
+    private static final int HISTORIAL = 64;
+
+    /* El diccionario medido. */
+    private final Diccionario<?, ?> diccionario;
+    /* Histograma de sondeos. */
+    private long[] sondeos;
+    /* Histograma de longitudes de cubeta. */
+    private final long[] longitudes = new long[LONGITUDES + 1];
+    /* Aciertos de consultas. */
+    private long aciertos;
+    /* Fallos de consultas. */
+    private long fallos;
+    /* Número de redimensiones. */
+    private long redimensiones;
+    /* Tiempo total redimensionando, en nanosegundos. */
+    private long tiempoRedimension;
+    /* La redimensión más larga, en nanosegundos. */
+    private long redimensionMaxima;
+    /* Escrituras desde la última muestra de la carga. */
+    private int escrituras;
+    /* Anillo con las últimas cargas. */
+    private double[] historialCarga;
+    /* Número de muestras tomadas. */
+    private long muestras;
+
+    /* Construye las métricas del diccionario; sólo el diccionario lo hace. */
+    MetricasDiccionario(Diccionario<?, ?> diccionario) {
+        this.diccionario = diccionario;
+        reinicia();
+    }
+
+    /**
+     * Pone en cero todos los contadores y borra el historial. El histograma
+     * de longitudes describe la tabla actual, así que no se borra.
+     */
+    public void reinicia() {
+        sondeos = new long[SONDEOS + 1];
+        historialCarga = new double[HISTORIAL];
+        aciertos = fallos = redimensiones = 0;
+        tiempoRedimension = redimensionMaxima = muestras = 0;
+        escrituras = 0;
+    }
+
+    /**
+     * Regresa una copia inmutable de las métricas actuales.
+     * @return una copia inmutable de las métricas actuales.
+     */
+    public Instantanea instantanea() {
+        return new Instantanea(this);
+    }
+
+    /* Registra una consulta que comparó s entradas. */
+    void consulta(int s, boolean acierto) {
+        sondeos[Math.min(s, SONDEOS)]++;
+        if (acierto)
+            aciertos++;
+        else
+            fallos++;
+    }
+
+    /* Registra una escritura que comparó s entradas, y muestrea la carga si
+     * toca. */
+    void escritura(int s) {
+        sondeos[Math.min(s, SONDEOS)]++;
+        if (++escrituras < MUESTREO)
+            return;
+        escrituras = 0;
+        historialCarga[(int)(muestras++ % HISTORIAL)] = diccionario.carga();
+    }
+
+    /* Suma n cubetas con la longitud recibida; con n negativo las
+     * descarta. */
+    void cubetas(int longitud, int n) {
+        longitudes[Math.min(longitud, LONGITUDES)] += n;
+    }
+
+    /* Deja sólo n cubetas vacías, para una tabla nueva que se va a llenar. */
+    void reiniciaCubetas(int n) {
+        Arrays.fill(longitudes, 0);
+        longitudes[0] = n;
+    }
+
+    /* Registra que una cubeta con la longitud recibida, acotada por
+     * LONGITUDES, ganó una entrada. */
+    void creceCubeta(int longitud) {
+        if (longitud < LONGITUDES) {
+            longitudes[longitud]--;
+            longitudes[longitud + 1]++;
+        }
+    }
+
+    /* Registra que una cubeta perdió una entrada y quedó con la longitud
+     * recibida, acotada por LONGITUDES. */
+    void encogeCubeta(int longitud) {
+        if (longitud < LONGITUDES) {
+            longitudes[longitud + 1]--;
+            longitudes[longitud]++;
+        }
+    }
+
+    /* Registra una redimensión que tardó los nanosegundos recibidos. */
+    void redimension(long nanos) {
+        redimensiones++;
+        tiempoRedimension += nanos;
+        redimensionMaxima = Math.max(redimensionMaxima, nanos);
+    }
+}
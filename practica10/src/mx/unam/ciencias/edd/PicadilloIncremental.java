@@ -0,0 +1,44 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para picadillos que reciben sus bytes por pedazos, como el
+ * contenido de un archivo o los paquetes de una conexión. Picar los pedazos
+ * uno tras otro da el mismo picadillo que picar su concatenación de una vez
+ * con {@link FabricaPicadillos#picadillo(AlgoritmoPicadillo,byte[],int,int)},
+ * y la memoria que se usa no depende de la longitud de la entrada.
+ */
+public interface PicadilloIncremental {
+
+    /**
+     * Agrega un pedazo de un arreglo de bytes a la entrada. El arreglo se
+     * puede volver a usar en cuanto el método termina.
+     * @param k el arreglo de bytes.
+     * @param inicio dónde empieza el pedazo.
+     * @param longitud cuántos bytes tiene el pedazo.
+     * @throws ExcepcionIndiceInvalido si el pedazo no está dentro del
+     *         arreglo.
+     */
+    public void actualiza(byte[] k, int inicio, int longitud);
+
+    /**
+     * Regresa el picadillo de todos los bytes recibidos desde la creación o
+     * el último {@link #reinicia}. No cambia el estado, así que después se
+     * pueden seguir agregando bytes.
+     * @return el picadillo de los bytes recibidos.
+     */
+    public int finaliza();
+
+    /**
+     * Regresa el picadillo completo de todos los bytes recibidos, como
+     * {@link FabricaPicadillos#picadillo64(AlgoritmoPicadillo,byte[],int,int)}.
+     * No cambia el estado.
+     * @return el picadillo completo de los bytes recibidos.
+     */
+    public long finaliza64();
+
+    /**
+     * Olvida los bytes recibidos, para picar una entrada nueva con el mismo
+     * algoritmo y la misma semilla.
+     */
+    public void reinicia();
+}
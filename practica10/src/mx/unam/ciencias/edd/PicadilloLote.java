@@ -0,0 +1,21 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz genérica para picadillos que además pueden calcular los picadillos
+ * de muchos objetos a la vez. Un lote evita una llamada por objeto y permite
+ * intercalar el trabajo de varios objetos en un mismo ciclo. {@link
+ * Diccionario} lo usa en sus operaciones masivas.
+ */
+public interface PicadilloLote<T> extends Picadillo<T> {
+
+    /**
+     * Calcula los picadillos de los objetos recibidos: el picadillo del
+     * objeto en la posición <i>i</i> queda en la posición <i>i</i> de la
+     * salida, y es el mismo que regresaría {@link #picadillo}.
+     * @param objetos los objetos de los que queremos el picadillo.
+     * @param salida el arreglo donde se guardan los picadillos.
+     * @throws IllegalArgumentException si la salida es más corta que los
+     *         objetos.
+     */
+    public void picadillos(T[] objetos, int[] salida);
+}
@@ -8,9 +8,12 @@ public class Pila<T> extends MeteSaca<T> {
     /**
      * Agrega un elemento al tope de la pila.
      * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     * @throws IllegalStateException si la pila está llena.
      */
     @Override public void mete(T elemento) {
         if (elemento == null) throw new IllegalArgumentException();
+        if (this.elementos >= this.limite) throw new IllegalStateException();
         Nodo n = new Nodo(elemento);
         if (this.esVacia()) {
         	this.rabo = n;
@@ -18,5 +21,43 @@ public class Pila<T> extends MeteSaca<T> {
         	n.siguiente = this.cabeza;
         }
         this.cabeza = n;
+        this.elementos++;
+        if (this.registraMaximo && this.elementos > this.maximo)
+            this.maximo = this.elementos;
+    }
+
+    /**
+     * Agrega todos los elementos de una colección al tope de la pila, en el
+     * orden en que los recorre su iterador; el último queda en el tope. Los
+     * nodos se encadenan aparte y se enlazan a la pila de una vez, así que si
+     * algún elemento es nulo, o si no caben todos, la pila no cambia.
+     * @param coleccion la colección con los elementos a agregar.
+     * @throws IllegalArgumentException si alguno de los elementos es nulo.
+     * @throws IllegalStateException si no caben todos los elementos.
+     */
+    @Override public void meteTodos(Coleccion<T> coleccion) {
+        Nodo fondo = null;
+        Nodo tope = null;
+        int n = 0;
+        for (T elemento : coleccion) {
+            if (elemento == null) throw new IllegalArgumentException();
+            Nodo nodo = new Nodo(elemento);
+            nodo.siguiente = tope;
+            if (fondo == null)
+                fondo = nodo;
+            tope = nodo;
+            n++;
+        }
+        if (fondo == null)
+            return;
+        if ((long)this.getElementos() + n > this.getLimite())
+            throw new IllegalStateException();
+        if (this.esVacia()) {
+            this.rabo = fondo;
+        } else {
+            fondo.siguiente = this.cabeza;
+        }
+        this.cabeza = tope;
+        this.ajustaElementos(n);
     }
 }
@@ -0,0 +1,237 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para pilas genéricas sobre un arreglo.</p>
+ *
+ * <p>Se comporta igual que {@link Pila}, pero no crea un nodo por elemento:
+ * el tope es la última posición ocupada de un arreglo que se duplica cuando
+ * se llena. Si se pide con {@link #setEncoge}, el arreglo además se encoge a
+ * la mitad cuando queda a un cuarto de su capacidad, sin bajar de la
+ * capacidad inicial.</p>
+ */
+public class PilaArreglo<T> extends Pila<T> {
+
+    /* Capacidad inicial predeterminada. */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /* Los elementos; el tope es el último. */
+    private T[] arreglo;
+    /* La capacidad inicial; el arreglo nunca se encoge por debajo de ella. */
+    private int minima;
+    /* Si el arreglo se encoge solo. */
+    private boolean encoge;
+
+    /* Truco para crear arreglos genéricos. */
+    @SuppressWarnings("unchecked") private T[] creaArregloGenerico(int n) {
+        return (T[])(new Object[n]);
+    }
+
+    /**
+     * Construye una pila vacía con la capacidad inicial predeterminada.
+     */
+    public PilaArreglo() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Construye una pila vacía en la que caben <code>capacidad</code>
+     * elementos antes de crecer.
+     * @param capacidad la capacidad inicial.
+     * @throws IllegalArgumentException si la capacidad no es positiva.
+     */
+    public PilaArreglo(int capacidad) {
+        if (capacidad < 1)
+            throw new IllegalArgumentException();
+        minima = capacidad;
+        arreglo = creaArregloGenerico(capacidad);
+    }
+
+    /**
+     * Define si el arreglo se encoge a la mitad cuando queda a un cuarto de
+     * su capacidad. Por omisión el arreglo nunca se encoge.
+     * @param encoge si el arreglo se encoge solo.
+     */
+    public void setEncoge(boolean encoge) {
+        this.encoge = encoge;
+    }
+
+    /**
+     * Regresa cuántos elementos caben en el arreglo antes de que crezca.
+     * @return la capacidad actual de la pila.
+     */
+    public int getCapacidad() {
+        return arreglo.length;
+    }
+
+    /**
+     * Agrega un elemento al tope de la pila.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     * @throws IllegalStateException si la pila está llena.
+     */
+    @Override public void mete(T elemento) {
+        if (elemento == null) throw new IllegalArgumentException();
+        if (elementos >= limite) throw new IllegalStateException();
+        if (elementos == arreglo.length)
+            redimensiona(arreglo.length * 2);
+        arreglo[elementos] = elemento;
+        elementos++;
+        if (registraMaximo && elementos > maximo)
+            maximo = elementos;
+    }
+
+    /**
+     * Elimina el elemento en el tope de la pila y lo regresa.
+     * @return el elemento en el tope de la pila.
+     * @throws NoSuchElementException si la pila está vacía.
+     */
+    @Override public T saca() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        T elemento = arreglo[elementos - 1];
+        arreglo[elementos - 1] = null;
+        elementos--;
+        encogeSiSobra();
+        return elemento;
+    }
+
+    /**
+     * Agrega todos los elementos de una colección al tope de la pila, en el
+     * orden en que los recorre su iterador; el último queda en el tope. La
+     * colección se recorre una vez antes de meter nada, para revisar que no
+     * tenga nulos, y el arreglo crece a lo más una vez.
+     * @param coleccion la colección con los elementos a agregar.
+     * @throws IllegalArgumentException si alguno de los elementos es nulo;
+     *         en ese caso la pila no cambia.
+     * @throws IllegalStateException si no caben todos los elementos; en ese
+     *         caso la pila no cambia.
+     */
+    @Override public void meteTodos(Coleccion<T> coleccion) {
+        for (T elemento : coleccion)
+            if (elemento == null) throw new IllegalArgumentException();
+        long total = (long)elementos + coleccion.getElementos();
+        if (total > getLimite())
+            throw new IllegalStateException();
+        if (total > arreglo.length && total <= Integer.MAX_VALUE - 8)
+            redimensiona((int)total);
+        for (T elemento : coleccion)
+            mete(elemento);
+    }
+
+    /**
+     * Elimina hasta <code>n</code> elementos del tope de la pila y los guarda
+     * al inicio del arreglo, empezando por el del tope.
+     * @param n cuántos elementos sacar como máximo.
+     * @param destino el arreglo donde se guardan los elementos.
+     * @return cuántos elementos se sacaron.
+     * @throws IllegalArgumentException si <code>n</code> es negativo o mayor
+     *         que la longitud del arreglo.
+     */
+    @Override public int saca(int n, T[] destino) {
+        if (n < 0 || n > destino.length)
+            throw new IllegalArgumentException();
+        int k = Math.min(n, elementos);
+        for (int i = 0; i < k; i++)
+            destino[i] = arreglo[elementos - 1 - i];
+        Arrays.fill(arreglo, elementos - k, elementos, null);
+        ajustaElementos(-k);
+        encogeSiSobra();
+        return k;
+    }
+
+    /**
+     * Elimina hasta <code>max</code> elementos del tope de la pila y los
+     * agrega a la colección, empezando por el del tope. Si la colección lanza
+     * una excepción al agregar un elemento, ése y los que siguen se quedan en
+     * la pila.
+     * @param coleccion la colección a la que se agregan los elementos.
+     * @param max cuántos elementos sacar como máximo.
+     * @return cuántos elementos se sacaron.
+     * @throws IllegalArgumentException si <code>max</code> es negativo.
+     */
+    @Override public int drenaA(Coleccion<T> coleccion, int max) {
+        if (max < 0)
+            throw new IllegalArgumentException();
+        int k = Math.min(max, elementos);
+        for (int i = 0; i < k; i++) {
+            coleccion.agrega(arreglo[elementos - 1]);
+            arreglo[elementos - 1] = null;
+            elementos--;
+        }
+        encogeSiSobra();
+        return k;
+    }
+
+    /**
+     * Nos permite ver el elemento en el tope de la pila, sin sacarlo.
+     * @return el elemento en el tope de la pila.
+     * @throws NoSuchElementException si la pila está vacía.
+     */
+    @Override public T mira() {
+        if (elementos == 0)
+            throw new NoSuchElementException();
+        return arreglo[elementos - 1];
+    }
+
+    /**
+     * Nos dice si la pila está vacía.
+     * @return <tt>true</tt> si la pila no tiene elementos, <tt>false</tt> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Compara la pila con un objeto.
+     * @param o el objeto con el que queremos comparar la pila.
+     * @return <code>true</code> si el objeto recibido es una instancia de la
+     *         misma clase que la pila, y sus elementos son iguales en el
+     *         mismo orden; <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") PilaArreglo<T> p = (PilaArreglo<T>)o;
+        if (elementos != p.elementos)
+            return false;
+        for (int i = 0; i < elementos; i++)
+            if (!arreglo[i].equals(p.arreglo[i]))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa un picadillo de la pila, consistente con {@link #equals}:
+     * combina los picadillos de sus elementos en orden.
+     * @return un picadillo de la pila.
+     */
+    @Override public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < elementos; i++)
+            h = 31 * h + arreglo[i].hashCode();
+        return h;
+    }
+
+    /* Si el arreglo se encoge solo, lo lleva a la menor capacidad a la que
+     * le sobren tres cuartos, sin bajar de la inicial. */
+    private void encogeSiSobra() {
+        if (!encoge)
+            return;
+        int capacidad = arreglo.length;
+        while (elementos <= capacidad / 4 && capacidad / 2 >= minima)
+            capacidad /= 2;
+        if (capacidad < arreglo.length)
+            redimensiona(capacidad);
+    }
+
+    /* Copia los elementos a un arreglo nuevo de la capacidad recibida. */
+    private void redimensiona(int capacidad) {
+        T[] nuevo = creaArregloGenerico(capacidad);
+        System.arraycopy(arreglo, 0, nuevo, 0, elementos);
+        arreglo = nuevo;
+    }
+}
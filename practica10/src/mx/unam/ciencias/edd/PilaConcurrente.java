@@ -0,0 +1,341 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>Pila que se puede usar desde varios hilos a la vez, sin cerrojos.</p>
+ *
+ * <p>Es la pila de Treiber: una lista ligada de {@link MeteSaca.Nodo}s cuyo
+ * tope es {@link MeteSaca#cabeza}, y que se mete y se saca con una
+ * comparación e intercambio sobre la cabeza. Con muchos hilos todos compiten
+ * por esa única referencia; por eso la pila puede tener además un arreglo
+ * de eliminación. Un hilo que pierde la comparación al meter deja su nodo un
+ * momento en una casilla al azar del arreglo, y un hilo que la pierde al
+ * sacar busca uno en otra casilla al azar: si se encuentran, el elemento
+ * pasa de uno al otro sin tocar la cabeza, como si se hubiera metido y
+ * sacado en seguida.</p>
+ *
+ * <p>Con hilos metiendo a la vez, el límite fijado con {@link #setLimite} se
+ * puede rebasar por a lo más un elemento (o un lote) por hilo, y {@link
+ * #getElementos} es sólo una aproximación.</p>
+ */
+public class PilaConcurrente<T> extends Pila<T> {
+
+    /* Cuántas veces gira quien deja un nodo en el arreglo de eliminación. */
+    private static final int GIROS = 64;
+
+    /* Acceso atómico a la cabeza y a las casillas. */
+    private static final VarHandle CABEZA;
+    private static final VarHandle CASILLAS =
+        MethodHandles.arrayElementVarHandle(Object[].class);
+    static {
+        try {
+            CABEZA = MethodHandles.lookup().findVarHandle(MeteSaca.class, "cabeza",
+                                                          MeteSaca.Nodo.class);
+        } catch (ReflectiveOperationException roe) {
+            throw new ExceptionInInitializerError(roe);
+        }
+    }
+
+    /* El arreglo de eliminación; null si no se usa. */
+    private final Object[] eliminacion;
+    /* La cuenta de elementos. */
+    private final Cuenta cuenta = new Cuenta();
+
+    /**
+     * Construye una pila vacía sin arreglo de eliminación.
+     */
+    public PilaConcurrente() {
+        eliminacion = null;
+    }
+
+    /**
+     * Construye una pila vacía con un arreglo de eliminación. Conviene cuando
+     * muchos hilos meten y sacan a la vez; con pocos, cada casilla casi
+     * nunca encuentra pareja y sólo agrega la espera. Un buen tamaño es del
+     * orden de la mitad de los hilos que usan la pila.
+     * @param casillas el tamaño del arreglo de eliminación.
+     * @throws IllegalArgumentException si el tamaño no es positivo.
+     */
+    public PilaConcurrente(int casillas) {
+        if (casillas < 1)
+            throw new IllegalArgumentException();
+        eliminacion = new Object[casillas];
+    }
+
+    /* Regresa la cabeza. */
+    @SuppressWarnings("unchecked") private Nodo cabeza() {
+        return (Nodo)CABEZA.getAcquire(this);
+    }
+
+    /**
+     * Agrega un elemento al tope de la pila.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     * @throws IllegalStateException si la pila está llena.
+     */
+    @Override public void mete(T elemento) {
+        if (!intentaMete(elemento))
+            throw new IllegalStateException();
+    }
+
+    /**
+     * Agrega un elemento al tope de la pila si no está llena.
+     * @param elemento el elemento a agregar.
+     * @return <code>true</code> si el elemento se agregó, <code>false</code>
+     *         si la pila estaba llena.
+     * @throws IllegalArgumentException si el elemento es nulo.
+     */
+    @Override public boolean intentaMete(T elemento) {
+        if (elemento == null) throw new IllegalArgumentException();
+        if (estaLlena())
+            return false;
+        Nodo n = new Nodo(elemento);
+        ajustaElementos(1);
+        while (true) {
+            Nodo c = cabeza();
+            n.siguiente = c;
+            if (CABEZA.compareAndSet(this, c, n))
+                return true;
+            if (eliminacion != null && entrega(n))
+                return true;
+        }
+    }
+
+    /**
+     * Elimina el elemento en el tope de la pila y lo regresa.
+     * @return el elemento en el tope de la pila.
+     * @throws NoSuchElementException si la pila está vacía.
+     */
+    @Override public T saca() {
+        T elemento = intentaSaca();
+        if (elemento == null)
+            throw new NoSuchElementException();
+        return elemento;
+    }
+
+    /**
+     * Elimina el elemento en el tope de la pila y lo regresa si hay uno.
+     * @return el elemento en el tope de la pila, o <code>null</code> si la
+     *         pila estaba vacía.
+     */
+    public T intentaSaca() {
+        while (true) {
+            Nodo c = cabeza();
+            if (c == null)
+                return null;
+            if (CABEZA.compareAndSet(this, c, c.siguiente)) {
+                ajustaElementos(-1);
+                return c.elemento;
+            }
+            if (eliminacion != null) {
+                Nodo n = recibe();
+                if (n != null) {
+                    ajustaElementos(-1);
+                    return n.elemento;
+                }
+            }
+        }
+    }
+
+    /**
+     * Agrega todos los elementos de una colección al tope de la pila, en el
+     * orden en que los recorre su iterador; el último queda en el tope. Los
+     * nodos se encadenan aparte y se enlazan a la pila con una sola
+     * comparación e intercambio, así que si alguno es nulo, o si no caben
+     * todos, la pila no cambia.
+     * @param coleccion la colección con los elementos a agregar.
+     * @throws IllegalArgumentException si alguno de los elementos es nulo.
+     * @throws IllegalStateException si no caben todos los elementos.
+     */
+    @Override public void meteTodos(Coleccion<T> coleccion) {
+        Nodo fondo = null;
+        Nodo tope = null;
+        int n = 0;
+        for (T elemento : coleccion) {
+            if (elemento == null) throw new IllegalArgumentException();
+            Nodo nodo = new Nodo(elemento);
+            nodo.siguiente = tope;
+            if (fondo == null)
+                fondo = nodo;
+            tope = nodo;
+            n++;
+        }
+        if (fondo == null)
+            return;
+        if (getLimite() != Integer.MAX_VALUE &&
+            (long)getElementos() + n > getLimite())
+            throw new IllegalStateException();
+        ajustaElementos(n);
+        while (true) {
+            Nodo c = cabeza();
+            fondo.siguiente = c;
+            if (CABEZA.compareAndSet(this, c, tope))
+                return;
+        }
+    }
+
+    /**
+     * Elimina hasta <code>n</code> elementos del tope de la pila y los guarda
+     * al inicio del arreglo, empezando por el del tope. Todos se sacan con
+     * una sola comparación e intercambio sobre la cabeza.
+     * @param n cuántos elementos sacar como máximo.
+     * @param destino el arreglo donde se guardan los elementos.
+     * @return cuántos elementos se sacaron.
+     * @throws IllegalArgumentException si <code>n</code> es negativo o mayor
+     *         que la longitud del arreglo.
+     */
+    @Override public int saca(int n, T[] destino) {
+        if (n < 0 || n > destino.length)
+            throw new IllegalArgumentException();
+        int escritos = 0;
+        while (true) {
+            Nodo c = cabeza(), u = null;
+            int k = 0;
+            for (Nodo i = c; i != null && k < n; i = i.siguiente) {
+                destino[k++] = i.elemento;
+                u = i;
+            }
+            escritos = Math.max(escritos, k);
+            if (k > 0 && !CABEZA.compareAndSet(this, c, u.siguiente))
+                continue;
+            ajustaElementos(-k);
+            Arrays.fill(destino, k, escritos, null);
+            return k;
+        }
+    }
+
+    /**
+     * Elimina hasta <code>max</code> elementos del tope de la pila y los
+     * agrega a la colección, empezando por el del tope, sacándolos en lotes
+     * con {@link #saca(int, Object[])}. Si la colección lanza una excepción
+     * al agregar, los elementos del lote que no alcanzó a recibir se pierden:
+     * ya habían salido de la pila.
+     * @param coleccion la colección a la que se agregan los elementos.
+     * @param max cuántos elementos sacar como máximo.
+     * @return cuántos elementos se sacaron.
+     * @throws IllegalArgumentException si <code>max</code> es negativo.
+     */
+    @Override public int drenaA(Coleccion<T> coleccion, int max) {
+        return drenaEnLotes(coleccion, max);
+    }
+
+    /**
+     * Nos permite ver el elemento en el tope de la pila, sin sacarlo.
+     * @return el elemento en el tope de la pila.
+     * @throws NoSuchElementException si la pila está vacía.
+     */
+    @Override public T mira() {
+        Nodo c = cabeza();
+        if (c == null)
+            throw new NoSuchElementException();
+        return c.elemento;
+    }
+
+    /**
+     * Nos dice si la pila está vacía.
+     * @return <tt>true</tt> si la pila no tiene elementos, <tt>false</tt> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return cabeza() == null;
+    }
+
+    /**
+     * Regresa el número de elementos en la pila, en tiempo constante. Con
+     * otros hilos usándola, es sólo una aproximación.
+     * @return el número de elementos en la pila.
+     */
+    @Override public int getElementos() {
+        return cuenta.get();
+    }
+
+    /**
+     * Define si la pila registra el máximo de elementos que ha tenido.
+     * @param registraMaximo si se registra el máximo de elementos.
+     */
+    @Override public void setRegistraMaximo(boolean registraMaximo) {
+        cuenta.setRegistraMaximo(registraMaximo, getElementos());
+    }
+
+    /**
+     * Regresa el máximo de elementos que ha tenido la pila desde que se
+     * activó el registro con {@link #setRegistraMaximo}.
+     * @return el máximo de elementos registrado; 0 si nunca se ha activado.
+     */
+    @Override public int getMaximo() {
+        return cuenta.getMaximo();
+    }
+
+    /**
+     * Suma al número de elementos y, si se registra, actualiza el máximo.
+     * @param cambio cuántos elementos se metieron; negativo si se sacaron.
+     */
+    @Override protected void ajustaElementos(int cambio) {
+        cuenta.ajusta(cambio);
+    }
+
+    /**
+     * Compara la pila con un objeto. Sólo tiene sentido si ningún otro hilo
+     * modifica las pilas mientras tanto.
+     * @param o el objeto con el que queremos comparar la pila.
+     * @return <code>true</code> si el objeto recibido es una instancia de la
+     *         misma clase que la pila, y sus elementos son iguales en el
+     *         mismo orden; <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") PilaConcurrente<T> p = (PilaConcurrente<T>)o;
+        Nodo i = cabeza();
+        Nodo j = p.cabeza();
+        while (i != null && j != null) {
+            if (!i.elemento.equals(j.elemento))
+                return false;
+            i = i.siguiente;
+            j = j.siguiente;
+        }
+        return i == j;
+    }
+
+    /**
+     * Regresa un picadillo de la pila, consistente con {@link #equals}:
+     * combina los picadillos de sus elementos en orden. Como
+     * {@link #equals}, sólo tiene sentido si ningún otro hilo modifica la
+     * pila mientras tanto.
+     * @return un picadillo de la pila.
+     */
+    @Override public int hashCode() {
+        int h = 1;
+        for (Nodo i = cabeza(); i != null; i = i.siguiente)
+            h = 31 * h + i.elemento.hashCode();
+        return h;
+    }
+
+    /* Deja el nodo en una casilla libre al azar y espera a que alguien lo
+     * saque; regresa si se lo llevaron. Si nadie llega, lo recoge. */
+    private boolean entrega(Nodo n) {
+        int i = ThreadLocalRandom.current().nextInt(eliminacion.length);
+        if (!CASILLAS.compareAndSet(eliminacion, i, null, n))
+            return false;
+        for (int g = 0; g < GIROS; g++) {
+            if (CASILLAS.getAcquire(eliminacion, i) != n)
+                return true;
+            Thread.onSpinWait();
+        }
+        return !CASILLAS.compareAndSet(eliminacion, i, n, null);
+    }
+
+    /* Toma el nodo de una casilla al azar, si hay uno. */
+    @SuppressWarnings("unchecked") private Nodo recibe() {
+        int i = ThreadLocalRandom.current().nextInt(eliminacion.length);
+        Object n = CASILLAS.getAcquire(eliminacion, i);
+        if (n != null && CASILLAS.compareAndSet(eliminacion, i, n, null))
+            return (Nodo)n;
+        return null;
+    }
+}
@@ -77,5 +77,41 @@ public class Practica10 {
         System.out.printf("%2.9f segundos en llenar un conjunto " +
                           "con %s elementos.\n",
                           (tiempoTotal/1000000000.0), nf.format(N));
+
+        Integer[] cajas = new Integer[N];
+        for (int i = 0; i < N; i++)
+            cajas[i] = arreglo[i];
+
+        tiempoInicial = System.nanoTime();
+        dicc = new Diccionario<Integer, Integer>(cajas, cajas);
+        tiempoTotal = System.nanoTime() - tiempoInicial;
+        System.out.printf("%2.9f segundos en llenar un diccionario " +
+                          "de una vez con %s elementos.\n",
+                          (tiempoTotal/1000000000.0), nf.format(N));
+
+        tiempoInicial = System.nanoTime();
+        conjunto = new Conjunto<Integer>(cajas);
+        tiempoTotal = System.nanoTime() - tiempoInicial;
+        System.out.printf("%2.9f segundos en llenar un conjunto " +
+                          "de una vez con %s elementos.\n",
+                          (tiempoTotal/1000000000.0), nf.format(N));
+
+        IntIntDiccionario intDicc = new IntIntDiccionario();
+        tiempoInicial = System.nanoTime();
+        for (int i = 0; i < N; i++)
+            intDicc.agrega(arreglo[i], arreglo[i]);
+        tiempoTotal = System.nanoTime() - tiempoInicial;
+        System.out.printf("%2.9f segundos en llenar un diccionario " +
+                          "de enteros con %s elementos.\n",
+                          (tiempoTotal/1000000000.0), nf.format(N));
+
+        IntConjunto intConjunto = new IntConjunto();
+        tiempoInicial = System.nanoTime();
+        for (int i = 0; i < N; i++)
+            intConjunto.agrega(arreglo[i]);
+        tiempoTotal = System.nanoTime() - tiempoInicial;
+        System.out.printf("%2.9f segundos en llenar un conjunto " +
+                          "de enteros con %s elementos.\n",
+                          (tiempoTotal/1000000000.0), nf.format(N));
     }
 }
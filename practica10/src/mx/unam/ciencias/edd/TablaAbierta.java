@@ -0,0 +1,260 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Tabla de dispersión abierta con llaves primitivas, base de {@link
+ * TablaEnteros} y {@link TablaLargos}. Las colisiones se resuelven con sondeo
+ * lineal y al eliminar se recorren hacia atrás las llaves siguientes, así que
+ * no hay lápidas. La casilla libre se marca con 0, por lo que la llave 0 se
+ * guarda aparte en la última casilla. Esta clase sólo trabaja con casillas: el
+ * crecimiento, la eliminación y las estadísticas están aquí una sola vez, y
+ * las clases herederas guardan las llaves en un arreglo del ancho que
+ * necesiten, y los valores en arreglos paralelos a las llaves.
+ */
+abstract class TablaAbierta {
+
+    /* Tamaño mínimo; decidido arbitrariamente a 2^6. */
+    private static final int MIN_N = 64;
+
+    /* Máscara para no usar módulo. */
+    private int mascara;
+    /* Si la llave 0 está en la tabla. */
+    private boolean hayCero;
+    /* Número de llaves. */
+    private int elementos;
+
+    /**
+     * Construye una tabla donde caben <code>tam</code> llaves sin crecer. Las
+     * clases herederas deben crear sus arreglos con {@link #casillas}
+     * casillas.
+     * @param tam el número tentativo de llaves.
+     */
+    protected TablaAbierta(int tam) {
+        int n = MIN_N;
+        while (n * Diccionario.MAXIMA_CARGA <= tam)
+            n <<= 1;
+        mascara = n - 1;
+    }
+
+    /**
+     * Regresa el número de casillas que deben tener los arreglos de llaves y
+     * valores.
+     * @return el número de casillas de la tabla.
+     */
+    protected int casillas() {
+        return mascara + 2;
+    }
+
+    /**
+     * Regresa la máscara para convertir un picadillo en casilla; la siguiente
+     * casilla de <code>i</code> es <code>(i + 1) &amp; mascara()</code>.
+     * @return la máscara de la tabla.
+     */
+    protected int mascara() {
+        return mascara;
+    }
+
+    /**
+     * Regresa la casilla de la llave 0, o -1 si no está en la tabla.
+     * @return la casilla de la llave 0, o -1 si no está.
+     */
+    protected int buscaCero() {
+        return hayCero ? mascara + 1 : -1;
+    }
+
+    /**
+     * Regresa la casilla de la llave 0, ocupándola si no estaba en la tabla.
+     * @return la casilla de la llave 0.
+     */
+    protected int ocupaCero() {
+        if (!hayCero) {
+            hayCero = true;
+            elementos++;
+        }
+        return mascara + 1;
+    }
+
+    /**
+     * Registra que las clases herederas escribieron una llave nueva en una
+     * casilla libre.
+     */
+    protected void agregada() {
+        elementos++;
+    }
+
+    /**
+     * Duplica la tabla si la carga llegó a {@link Diccionario#MAXIMA_CARGA}.
+     */
+    protected void ajusta() {
+        if (carga() < Diccionario.MAXIMA_CARGA)
+            return;
+        int n = casillas();
+        int[] destinos = new int[n];
+        mascara = (mascara << 1) | 1;
+        boolean[] usadas = new boolean[mascara + 1];
+        for (int j = 0; j < n - 1; j++) {
+            destinos[j] = -1;
+            if (libre(j))
+                continue;
+            int i = picadillo(j) & mascara;
+            while (usadas[i])
+                i = (i + 1) & mascara;
+            usadas[i] = true;
+            destinos[j] = i;
+        }
+        destinos[n - 1] = mascara + 1;
+        redimensionaLlaves(destinos, casillas());
+        redimensionaValores(destinos, casillas());
+    }
+
+    /**
+     * Elimina la llave de la casilla recibida, recorriendo hacia atrás las
+     * llaves siguientes de la misma corrida.
+     * @param i la casilla de la llave a eliminar.
+     */
+    protected void libera(int i) {
+        elementos--;
+        if (i == mascara + 1) {
+            hayCero = false;
+            limpiaValor(i);
+            return;
+        }
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (libre(j))
+                break;
+            if (distancia(j) >= ((j - i) & mascara)) {
+                mueveLlave(j, i);
+                mueveValor(j, i);
+                i = j;
+            }
+        }
+        limpiaLlave(i);
+        limpiaValor(i);
+    }
+
+    /**
+     * Nos dice si la casilla recibida, sin contar la de la llave 0, no tiene
+     * llave.
+     * @param i la casilla.
+     * @return <code>true</code> si la casilla está libre,
+     *         <code>false</code> en otro caso.
+     */
+    protected abstract boolean libre(int i);
+
+    /**
+     * Regresa el picadillo de la llave en una casilla ocupada.
+     * @param i la casilla.
+     * @return el picadillo de la llave.
+     */
+    protected abstract int picadillo(int i);
+
+    /**
+     * Mueve las llaves a arreglos de <code>n</code> casillas; la llave de la
+     * casilla <code>j</code> va a la casilla <code>destinos[j]</code>, o se
+     * descarta si es -1.
+     * @param destinos las casillas nuevas de las llaves.
+     * @param n el número de casillas de los arreglos nuevos.
+     */
+    protected abstract void redimensionaLlaves(int[] destinos, int n);
+
+    /**
+     * Mueve la llave de una casilla a otra.
+     * @param de la casilla origen.
+     * @param a la casilla destino.
+     */
+    protected abstract void mueveLlave(int de, int a);
+
+    /**
+     * Marca como libre una casilla.
+     * @param i la casilla.
+     */
+    protected abstract void limpiaLlave(int i);
+
+    /**
+     * Mueve los valores a arreglos de <code>n</code> casillas; el valor de la
+     * casilla <code>j</code> va a la casilla <code>destinos[j]</code>, o se
+     * descarta si es -1.
+     * @param destinos las casillas nuevas de los valores.
+     * @param n el número de casillas de los arreglos nuevos.
+     */
+    protected abstract void redimensionaValores(int[] destinos, int n);
+
+    /**
+     * Mueve el valor de una casilla a otra.
+     * @param de la casilla origen.
+     * @param a la casilla destino.
+     */
+    protected abstract void mueveValor(int de, int a);
+
+    /**
+     * Limpia el valor de una casilla liberada.
+     * @param i la casilla.
+     */
+    protected abstract void limpiaValor(int i);
+
+    /**
+     * Nos dice si la casilla recibida está ocupada.
+     * @param i la casilla.
+     * @return <code>true</code> si la casilla tiene una llave,
+     *         <code>false</code> en otro caso.
+     */
+    protected boolean ocupada(int i) {
+        return i == mascara + 1 ? hayCero : !libre(i);
+    }
+
+    /* Distancia de la casilla i a la casilla original de su llave. */
+    private int distancia(int i) {
+        return (i - (picadillo(i) & mascara)) & mascara;
+    }
+
+    /**
+     * Nos dice cuántas llaves no están en la casilla que les corresponde.
+     * @return cuántas colisiones hay en la tabla.
+     */
+    public int colisiones() {
+        int colisiones = 0;
+        for (int i = 0; i <= mascara; i++)
+            if (!libre(i) && distancia(i) > 0)
+                colisiones++;
+        return colisiones;
+    }
+
+    /**
+     * Nos dice la máxima distancia de una llave a la casilla que le
+     * corresponde.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    public int colisionMaxima() {
+        int colisionMaxima = 0;
+        for (int i = 0; i <= mascara; i++)
+            if (!libre(i))
+                colisionMaxima = Math.max(colisionMaxima, distancia(i));
+        return colisionMaxima;
+    }
+
+    /**
+     * Nos dice la carga de la tabla.
+     * @return la carga de la tabla.
+     */
+    public double carga() {
+        return (elementos + 0.0) / (mascara + 1);
+    }
+
+    /**
+     * Regresa el número de llaves en la tabla.
+     * @return el número de llaves en la tabla.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si la tabla es vacía.
+     * @return <code>true</code> si la tabla es vacía, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacio() {
+        return elementos == 0;
+    }
+}
@@ -0,0 +1,124 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Tabla de dispersión abierta con llaves <code>int</code>, base de {@link
+ * IntDiccionario}, {@link IntIntDiccionario} y {@link IntConjunto}. Las llaves
+ * viven en un arreglo <code>int[]</code> sin cajas; el sondeo, el crecimiento
+ * y la eliminación son los de {@link TablaAbierta}. Las clases herederas
+ * guardan sus valores en arreglos paralelos a las llaves.
+ */
+abstract class TablaEnteros extends TablaAbierta {
+
+    /* Las llaves; la última casilla es para la llave 0. */
+    private int[] llaves;
+
+    /**
+     * Construye una tabla donde caben <code>tam</code> llaves sin crecer.
+     * @param tam el número tentativo de llaves.
+     */
+    protected TablaEnteros(int tam) {
+        super(tam);
+        llaves = new int[casillas()];
+    }
+
+    /**
+     * Mezcla los bits de la llave (el finalizador de MurmurHash3), para que
+     * llaves con patrones regulares no caigan en las mismas casillas.
+     * @param x la llave.
+     * @return la llave mezclada.
+     */
+    protected static int mezcla(int x) {
+        x ^= x >>> 16;
+        x *= 0x85ebca6b;
+        x ^= x >>> 13;
+        x *= 0xc2b2ae35;
+        x ^= x >>> 16;
+        return x;
+    }
+
+    /**
+     * Regresa la casilla de la llave, o -1 si la llave no está en la tabla.
+     * @param llave la llave a buscar.
+     * @return la casilla de la llave, o -1 si no está.
+     */
+    protected int busca(int llave) {
+        if (llave == 0)
+            return buscaCero();
+        int mascara = mascara();
+        int i = mezcla(llave) & mascara;
+        while (llaves[i] != 0) {
+            if (llaves[i] == llave)
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Regresa la casilla de la llave, ocupando una nueva si la llave no estaba
+     * en la tabla. Después de escribir el valor en la casilla, las clases
+     * herederas deben llamar a {@link #ajusta}.
+     * @param llave la llave.
+     * @return la casilla de la llave.
+     */
+    protected int ocupa(int llave) {
+        if (llave == 0)
+            return ocupaCero();
+        int mascara = mascara();
+        int i = mezcla(llave) & mascara;
+        while (llaves[i] != 0) {
+            if (llaves[i] == llave)
+                return i;
+            i = (i + 1) & mascara;
+        }
+        llaves[i] = llave;
+        agregada();
+        return i;
+    }
+
+    /**
+     * Regresa la llave en una casilla ocupada.
+     * @param i la casilla.
+     * @return la llave en la casilla.
+     */
+    protected int llave(int i) {
+        return llaves[i];
+    }
+
+    @Override protected boolean libre(int i) {
+        return llaves[i] == 0;
+    }
+
+    @Override protected int picadillo(int i) {
+        return mezcla(llaves[i]);
+    }
+
+    @Override protected void redimensionaLlaves(int[] destinos, int n) {
+        int[] nuevas = new int[n];
+        for (int j = 0; j < destinos.length; j++)
+            if (destinos[j] != -1)
+                nuevas[destinos[j]] = llaves[j];
+        llaves = nuevas;
+    }
+
+    @Override protected void mueveLlave(int de, int a) {
+        llaves[a] = llaves[de];
+    }
+
+    @Override protected void limpiaLlave(int i) {
+        llaves[i] = 0;
+    }
+
+    /**
+     * Regresa un arreglo con todas las llaves de la tabla, sin ningún orden.
+     * @return un arreglo con todas las llaves.
+     */
+    public int[] llaves() {
+        int[] r = new int[getElementos()];
+        int k = 0;
+        for (int i = 0; i < llaves.length; i++)
+            if (ocupada(i))
+                r[k++] = llaves[i];
+        return r;
+    }
+}
@@ -0,0 +1,114 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Tabla de dispersión abierta con llaves <code>long</code>, base de {@link
+ * LongDiccionario}. Las llaves viven en un arreglo <code>long[]</code> sin
+ * cajas; el sondeo, el crecimiento y la eliminación son los de {@link
+ * TablaAbierta}, igual que en {@link TablaEnteros}.
+ */
+abstract class TablaLargos extends TablaAbierta {
+
+    /* Las llaves; la última casilla es para la llave 0. */
+    private long[] llaves;
+
+    /**
+     * Construye una tabla donde caben <code>tam</code> llaves sin crecer.
+     * @param tam el número tentativo de llaves.
+     */
+    protected TablaLargos(int tam) {
+        super(tam);
+        llaves = new long[casillas()];
+    }
+
+    /**
+     * Mezcla los bits de la llave (el finalizador de 64 bits de MurmurHash3)
+     * y la reduce a 32 bits.
+     * @param x la llave.
+     * @return la llave mezclada.
+     */
+    protected static int mezcla(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return (int)x;
+    }
+
+    /**
+     * Regresa la casilla de la llave, o -1 si la llave no está en la tabla.
+     * @param llave la llave a buscar.
+     * @return la casilla de la llave, o -1 si no está.
+     */
+    protected int busca(long llave) {
+        if (llave == 0)
+            return buscaCero();
+        int mascara = mascara();
+        int i = mezcla(llave) & mascara;
+        while (llaves[i] != 0) {
+            if (llaves[i] == llave)
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Regresa la casilla de la llave, ocupando una nueva si la llave no estaba
+     * en la tabla. Después de escribir el valor en la casilla, las clases
+     * herederas deben llamar a {@link #ajusta}.
+     * @param llave la llave.
+     * @return la casilla de la llave.
+     */
+    protected int ocupa(long llave) {
+        if (llave == 0)
+            return ocupaCero();
+        int mascara = mascara();
+        int i = mezcla(llave) & mascara;
+        while (llaves[i] != 0) {
+            if (llaves[i] == llave)
+                return i;
+            i = (i + 1) & mascara;
+        }
+        llaves[i] = llave;
+        agregada();
+        return i;
+    }
+
+    @Override protected boolean libre(int i) {
+        return llaves[i] == 0;
+    }
+
+    @Override protected int picadillo(int i) {
+        return mezcla(llaves[i]);
+    }
+
+    @Override protected void redimensionaLlaves(int[] destinos, int n) {
+        long[] nuevas = new long[n];
+        for (int j = 0; j < destinos.length; j++)
+            if (destinos[j] != -1)
+                nuevas[destinos[j]] = llaves[j];
+        llaves = nuevas;
+    }
+
+    @Override protected void mueveLlave(int de, int a) {
+        llaves[a] = llaves[de];
+    }
+
+    @Override protected void limpiaLlave(int i) {
+        llaves[i] = 0;
+    }
+
+    /**
+     * Regresa un arreglo con todas las llaves de la tabla, sin ningún orden.
+     * @return un arreglo con todas las llaves.
+     */
+    public long[] llaves() {
+        long[] r = new long[getElementos()];
+        int k = 0;
+        for (int i = 0; i < llaves.length; i++)
+            if (ocupada(i))
+                r[k++] = llaves[i];
+        return r;
+    }
+}
@@ -0,0 +1,103 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.AlgoritmoPicadillo;
+import mx.unam.ciencias.edd.AnalisisPicadillos;
+import mx.unam.ciencias.edd.Conjunto;
+import mx.unam.ciencias.edd.FabricaPicadillos;
+import mx.unam.ciencias.edd.Picadillo;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link AnalisisPicadillos}.
+ */
+public class TestAnalisisPicadillos {
+
+    private Random random = new Random();
+    private int total = 1024 + random.nextInt(1024);
+
+    /**
+     * Prueba que los corpus tengan llaves distintas y dependan sólo de la
+     * semilla.
+     */
+    @Test public void testCorpus() {
+        long semilla = random.nextLong();
+        for (AnalisisPicadillos.Corpus c : AnalisisPicadillos.Corpus.values()) {
+            String[] llaves = AnalisisPicadillos.corpus(c, total, semilla);
+            String[] otras = AnalisisPicadillos.corpus(c, total, semilla);
+            Assert.assertTrue(llaves.length == total);
+            Conjunto<String> conjunto = new Conjunto<String>(llaves);
+            Assert.assertTrue(conjunto.getElementos() == total);
+            for (int i = 0; i < total; i++)
+                Assert.assertTrue(llaves[i].equals(otras[i]));
+        }
+        String[] uuids = AnalisisPicadillos.corpus(AnalisisPicadillos.Corpus.UUID,
+                                                   total, semilla);
+        for (String uuid : uuids)
+            Assert.assertTrue(uuid.matches("[0-9a-f]{8}-[0-9a-f]{4}-4[0-9a-f]{3}-" +
+                                           "[89ab][0-9a-f]{3}-[0-9a-f]{12}"));
+    }
+
+    /**
+     * Prueba que el análisis rechace corpus de menos de dos llaves.
+     */
+    @Test public void testPocasLlaves() {
+        Picadillo<String> p =
+            FabricaPicadillos.getInstancia(AlgoritmoPicadillo.MURMUR3);
+        for (String[] llaves : new String[][] { {}, { "a" } }) {
+            try {
+                AnalisisPicadillos.analiza(p, llaves);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+        Assert.assertTrue(AnalisisPicadillos.analiza(
+            p, new String[] { "a", "b" }).getLlaves() == 2);
+    }
+
+    /**
+     * Prueba que el análisis delate picadillos malos.
+     */
+    @Test public void testPicadillosMalos() {
+        String[] llaves = AnalisisPicadillos.corpus(AnalisisPicadillos.Corpus.URL,
+                                                    total, random.nextLong());
+        AnalisisPicadillos.Resultado constante =
+            AnalisisPicadillos.analiza((String s) -> 7, llaves);
+        Assert.assertTrue(constante.getAvalancha() == 0.0);
+        Assert.assertTrue(constante.getSesgoAvalancha() == 0.5);
+        Assert.assertTrue(constante.getSesgoBits() == 0.5);
+        for (double chi : constante.getChiCuadrada())
+            Assert.assertTrue(chi > 100.0);
+        AnalisisPicadillos.Resultado xor = AnalisisPicadillos.analiza(
+            FabricaPicadillos.getInstancia(AlgoritmoPicadillo.XOR_STRING), llaves);
+        Assert.assertTrue(Math.abs(xor.getAvalancha() - 1.0 / 32) < 1e-9);
+        Assert.assertTrue(xor.toString().startsWith("{\"llaves\": " + total));
+    }
+
+    /**
+     * Prueba que el análisis apruebe a un picadillo bueno.
+     */
+    @Test public void testPicadilloBueno() {
+        String[] llaves = AnalisisPicadillos.corpus(AnalisisPicadillos.Corpus.SECUENCIAL,
+                                                    total, random.nextLong());
+        AnalisisPicadillos.Resultado r = AnalisisPicadillos.analiza(
+            FabricaPicadillos.getInstancia(AlgoritmoPicadillo.MURMUR3), llaves);
+        Assert.assertTrue(Math.abs(r.getAvalancha() - 0.5) < 0.02);
+        Assert.assertTrue(r.getSesgoAvalancha() < 0.1);
+        Assert.assertTrue(r.getSesgoBits() < 0.1);
+        int[] bits = r.getBits();
+        double[] chi = r.getChiCuadrada();
+        Assert.assertTrue(bits.length == chi.length);
+        for (int i = 0; i < bits.length; i++) {
+            Assert.assertTrue(chi[i] < 1.5);
+            Assert.assertTrue(AnalisisPicadillos.chiCuadrada(
+                FabricaPicadillos.getInstancia(AlgoritmoPicadillo.MURMUR3),
+                llaves, bits[i]) == chi[i]);
+        }
+        Assert.assertTrue(r.getNsPorPicadillo() > 0.0);
+        try {
+            AnalisisPicadillos.chiCuadrada((String s) -> 0, llaves, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+}
@@ -495,4 +495,30 @@ public class TestArbolBinarioCompleto {
             } catch (UnsupportedOperationException uoe) {}
         }
     }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinario#setRecorridosEnArreglo}: el
+     * iterador y la eliminación dan lo mismo con colas ligadas o sobre
+     * arreglos.
+     */
+    @Test public void testRecorridosEnArreglo() {
+        ArbolBinarioCompleto<Integer> ligado = new ArbolBinarioCompleto<Integer>();
+        ligado.setRecorridosEnArreglo(false);
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(100);
+            arbol.agrega(n);
+            ligado.agrega(n);
+        }
+        for (int i = 0; i < total / 2; i++) {
+            int n = random.nextInt(100);
+            arbol.elimina(n);
+            ligado.elimina(n);
+        }
+        Assert.assertTrue(arbol.equals(ligado));
+        Iterator<Integer> i1 = arbol.iterator();
+        Iterator<Integer> i2 = ligado.iterator();
+        while (i1.hasNext() && i2.hasNext())
+            Assert.assertTrue(i1.next().equals(i2.next()));
+        Assert.assertTrue(!i1.hasNext() && !i2.hasNext());
+    }
 }
@@ -671,4 +671,22 @@ public class TestArbolBinarioOrdenado {
             vertice = vertice.getPadre();
         }
     }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinario#setRecorridosEnArreglo}: el
+     * iterador da lo mismo con pilas ligadas o sobre arreglos.
+     */
+    @Test public void testRecorridosEnArreglo() {
+        for (int i = 0; i < total; i++)
+            arbol.agrega(random.nextInt(100));
+        Lista<Integer> conArreglo = new Lista<Integer>();
+        for (Integer n : arbol)
+            conArreglo.agrega(n);
+        arbol.setRecorridosEnArreglo(false);
+        Lista<Integer> ligada = new Lista<Integer>();
+        for (Integer n : arbol)
+            ligada.agrega(n);
+        Assert.assertTrue(conArreglo.equals(ligada));
+        Assert.assertTrue(ligada.getLongitud() == total);
+    }
 }
@@ -105,4 +105,55 @@ public class TestCola {
             Assert.assertTrue(cola.equals(cola2));
         }
     }
+
+    /**
+     * Prueba unitaria para {@link Cola#hashCode}.
+     */
+    @Test public void testHashCode() {
+        Cola<Integer> cola2 = new Cola<Integer>();
+        Assert.assertTrue(cola.hashCode() == cola2.hashCode());
+        cola2.mete(-1);
+        cola2.saca();
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            cola2.mete(i);
+            Assert.assertTrue(cola.hashCode() == cola2.hashCode());
+        }
+        Assert.assertTrue(cola.equals(cola2));
+        cola2.saca();
+        cola2.mete(total);
+        Assert.assertFalse(cola.equals(cola2));
+        Assert.assertFalse(cola.hashCode() == cola2.hashCode());
+    }
+
+    /**
+     * Prueba unitaria para {@link Cola#meteTodos}, {@link
+     * Cola#saca(int, Object[])} y {@link Cola#drenaA}.
+     */
+    @Test public void testLotes() {
+        UtilTestMeteSaca.lotes(cola, total, true);
+    }
+
+    /**
+     * Prueba que {@link Cola#drenaA} lleve bien la cuenta si la colección lanza
+     * una excepción.
+     */
+    @Test public void testDrenaConExcepcion() {
+        UtilTestMeteSaca.drenaConExcepcion(cola, total, false);
+    }
+
+    /**
+     * Prueba unitaria para {@link Cola#getElementos} y {@link
+     * Cola#getMaximo}.
+     */
+    @Test public void testElementos() {
+        UtilTestMeteSaca.elementos(cola, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link Cola#setLimite}.
+     */
+    @Test public void testLimite() {
+        UtilTestMeteSaca.limite(cola, total);
+    }
 }
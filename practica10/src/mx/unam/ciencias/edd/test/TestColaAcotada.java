@@ -0,0 +1,384 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import mx.unam.ciencias.edd.ColaAcotada;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.Pila;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaAcotada}.
+ */
+public class TestColaAcotada {
+
+    private Random random;
+    private int total;
+    private ColaAcotada<Integer> cola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra cola, y una cola.
+     */
+    public TestColaAcotada() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaAcotada<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#mete}.
+     */
+    @Test public void testMete() {
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++)
+            cola.mete(i);
+        int c = 0;
+        int t = 0;
+        while (!cola.esVacia()) {
+            Assert.assertTrue(cola.saca() == c++);
+            t++;
+        }
+        Assert.assertTrue(t == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#saca} y {@link
+     * ColaAcotada#intentaSaca}.
+     */
+    @Test public void testSaca() {
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Assert.assertTrue(cola.intentaSaca() == null);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(cola.intentaMete(i));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(i % 2 == 0 ? cola.saca() == i
+                              : cola.intentaSaca() == i);
+        Assert.assertTrue(cola.intentaSaca() == null);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#mira}.
+     */
+    @Test public void testMira() {
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertTrue(cola.mira() == 0);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#esVacia}.
+     */
+    @Test public void testEsVacia() {
+        Assert.assertTrue(cola.esVacia());
+        cola.mete(1);
+        Assert.assertFalse(cola.esVacia());
+        cola.saca();
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(cola.equals(null));
+        Assert.assertFalse(cola.equals(""));
+        Assert.assertFalse(cola.equals(new Pila<Integer>()));
+        ColaAcotada<Integer> cola2 = new ColaAcotada<Integer>();
+        Assert.assertTrue(cola.equals(cola2));
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertFalse(cola.equals(cola2));
+            cola2.mete(i);
+            Assert.assertTrue(cola.equals(cola2));
+        }
+        cola.saca();
+        cola.mete(total);
+        cola2.saca();
+        Assert.assertFalse(cola.equals(cola2));
+        cola2.mete(total);
+        Assert.assertTrue(cola.equals(cola2));
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#hashCode}.
+     */
+    @Test public void testHashCode() {
+        ColaAcotada<Integer> cola2 = new ColaAcotada<Integer>();
+        Assert.assertTrue(cola.hashCode() == cola2.hashCode());
+        cola2.mete(-1);
+        cola2.saca();
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            cola2.mete(i);
+            Assert.assertTrue(cola.hashCode() == cola2.hashCode());
+        }
+        Assert.assertTrue(cola.equals(cola2));
+        cola2.saca();
+        cola2.mete(total);
+        Assert.assertFalse(cola.equals(cola2));
+        Assert.assertFalse(cola.hashCode() == cola2.hashCode());
+    }
+
+    /**
+     * Prueba que la cola respete su capacidad y dé vuelta al anillo.
+     */
+    @Test public void testCapacidad() {
+        try {
+            new ColaAcotada<Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(new ColaAcotada<Integer>(1).getCapacidad() == 2);
+        Assert.assertTrue(new ColaAcotada<Integer>(5).getCapacidad() == 8);
+        cola = new ColaAcotada<Integer>(8);
+        for (int v = 0; v < total; v++) {
+            for (int i = 0; i < 8; i++)
+                cola.mete(v * 8 + i);
+            Assert.assertFalse(cola.intentaMete(-1));
+            try {
+                cola.mete(-1);
+                Assert.fail();
+            } catch (IllegalStateException ise) {}
+            for (int i = 0; i < 8; i++)
+                Assert.assertTrue(cola.saca() == v * 8 + i);
+            Assert.assertTrue(cola.esVacia());
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#sacaEspera}.
+     */
+    @Test public void testSacaEspera() throws InterruptedException {
+        Assert.assertTrue(cola.sacaEspera(1, TimeUnit.MILLISECONDS) == null);
+        Thread consumidor = Thread.currentThread();
+        boolean[] bloqueado = { false };
+        Thread productor = new Thread(() -> {
+            bloqueado[0] = UtilTestMeteSaca.seBloquea(consumidor);
+            try {
+                cola.meteEspera(7);
+            } catch (InterruptedException ie) {}
+        });
+        productor.start();
+        Assert.assertTrue(cola.sacaEspera() == 7);
+        productor.join();
+        Assert.assertTrue(bloqueado[0]);
+        cola.mete(8);
+        Assert.assertTrue(cola.sacaEspera(1, TimeUnit.SECONDS) == 8);
+        Thread.currentThread().interrupt();
+        try {
+            cola.sacaEspera();
+            Assert.fail();
+        } catch (InterruptedException ie) {}
+        Assert.assertFalse(Thread.interrupted());
+    }
+
+    /**
+     * Prueba la cola con varios productores y consumidores a la vez: cada
+     * elemento debe salir exactamente una vez, y los de cada productor en el
+     * orden en que los metió.
+     */
+    @Test public void testConcurrencia() throws InterruptedException {
+        int hilos = 4;
+        int n = 10000;
+        ColaAcotada<Integer> c = new ColaAcotada<Integer>(16);
+        int[] vistos = new int[hilos * n];
+        int[][] ultimos = new int[hilos][hilos];
+        boolean[] enOrden = { true };
+        Thread[] productores = new Thread[hilos];
+        Thread[] consumidores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            int p = h;
+            productores[h] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < n; i++)
+                        c.meteEspera(p * n + i);
+                } catch (InterruptedException ie) {}
+            });
+            consumidores[h] = new Thread(() -> {
+                int[] ultimo = ultimos[p];
+                Arrays.fill(ultimo, -1);
+                try {
+                    for (int i = 0; i < n; i++) {
+                        int e = c.sacaEspera();
+                        synchronized (vistos) {
+                            vistos[e]++;
+                        }
+                        if (e % n <= ultimo[e / n])
+                            enOrden[0] = false;
+                        ultimo[e / n] = e % n;
+                    }
+                } catch (InterruptedException ie) {}
+            });
+        }
+        for (int h = 0; h < hilos; h++) {
+            consumidores[h].start();
+            productores[h].start();
+        }
+        for (int h = 0; h < hilos; h++) {
+            productores[h].join();
+            consumidores[h].join();
+        }
+        Assert.assertTrue(enOrden[0]);
+        for (int v : vistos)
+            Assert.assertTrue(v == 1);
+        Assert.assertTrue(c.esVacia());
+        Assert.assertTrue(c.getElementos() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#meteTodos}, {@link
+     * ColaAcotada#saca(int, Object[])} y {@link ColaAcotada#drenaA}.
+     */
+    @Test public void testLotes() {
+        UtilTestMeteSaca.lotes(cola, total, true);
+    }
+
+    /**
+     * Prueba que {@link ColaAcotada#drenaA} lleve bien la cuenta si la colección lanza
+     * una excepción.
+     */
+    @Test public void testDrenaConExcepcion() {
+        UtilTestMeteSaca.drenaConExcepcion(cola, total, true);
+    }
+
+    /**
+     * Prueba que {@link ColaAcotada#meteTodos} no agregue nada si no caben
+     * todos los elementos.
+     */
+    @Test public void testMeteTodosLlena() {
+        cola = new ColaAcotada<Integer>(8);
+        Lista<Integer> l = new Lista<Integer>();
+        for (int i = 0; i < 7; i++)
+            l.agrega(i);
+        cola.mete(-1);
+        cola.mete(-2);
+        try {
+            cola.meteTodos(l);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        Assert.assertTrue(cola.saca() == -1);
+        cola.meteTodos(l);
+        l.agrega(7);
+        l.agrega(8);
+        try {
+            new ColaAcotada<Integer>(8).meteTodos(l);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        Integer[] a = new Integer[10];
+        Assert.assertTrue(cola.saca(10, a) == 8);
+        Assert.assertTrue(a[0] == -2);
+        for (int i = 1; i < 8; i++)
+            Assert.assertTrue(a[i] == i - 1);
+    }
+
+    /**
+     * Prueba {@link ColaAcotada#meteTodos} y {@link
+     * ColaAcotada#saca(int, Object[])} con varios productores y consumidores a
+     * la vez: cada elemento debe salir exactamente una vez, y los de cada
+     * productor en el orden en que los metió.
+     */
+    @Test public void testLotesConcurrentes() throws InterruptedException {
+        int hilos = 4;
+        int n = 10000;
+        ColaAcotada<Integer> c = new ColaAcotada<Integer>(64);
+        AtomicIntegerArray vistos = new AtomicIntegerArray(hilos * n);
+        AtomicInteger sacados = new AtomicInteger();
+        boolean[] enOrden = { true };
+        Thread[] t = new Thread[2 * hilos];
+        for (int h = 0; h < hilos; h++) {
+            int p = h;
+            t[2 * h] = new Thread(() -> {
+                Lista<Integer> lote = new Lista<Integer>();
+                for (int i = 0; i < n; i++) {
+                    lote.agrega(p * n + i);
+                    if (lote.getElementos() == 10 || i == n - 1) {
+                        while (true) {
+                            try {
+                                c.meteTodos(lote);
+                                break;
+                            } catch (IllegalStateException ise) {
+                                Thread.yield();
+                            }
+                        }
+                        lote = new Lista<Integer>();
+                    }
+                }
+            });
+            t[2 * h + 1] = new Thread(() -> {
+                int[] ultimo = new int[hilos];
+                Arrays.fill(ultimo, -1);
+                Integer[] a = new Integer[16];
+                while (sacados.get() < hilos * n) {
+                    int m = c.saca(1 + p * 5, a);
+                    for (int i = 0; i < m; i++) {
+                        vistos.incrementAndGet(a[i]);
+                        if (a[i] % n <= ultimo[a[i] / n])
+                            enOrden[0] = false;
+                        ultimo[a[i] / n] = a[i] % n;
+                    }
+                    sacados.addAndGet(m);
+                    if (m == 0)
+                        Thread.yield();
+                }
+            });
+        }
+        for (Thread hilo : t)
+            hilo.start();
+        for (Thread hilo : t)
+            hilo.join();
+        Assert.assertTrue(enOrden[0]);
+        for (int i = 0; i < hilos * n; i++)
+            Assert.assertTrue(vistos.get(i) == 1);
+        Assert.assertTrue(c.esVacia());
+        Assert.assertTrue(c.getElementos() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#getElementos} y {@link
+     * ColaAcotada#getMaximo}.
+     */
+    @Test public void testElementos() {
+        UtilTestMeteSaca.elementos(cola, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaAcotada#setLimite}.
+     */
+    @Test public void testLimite() {
+        UtilTestMeteSaca.limite(cola, total);
+    }
+
+    /**
+     * Prueba {@link ColaAcotada#getElementos} y {@link ColaAcotada#getMaximo} con
+     * varios hilos metiendo y sacando a la vez.
+     * @throws InterruptedException si se interrumpe la espera a los hilos.
+     */
+    @Test public void testElementosHilos() throws InterruptedException {
+        UtilTestMeteSaca.elementosHilos(cola, total, 4);
+    }
+
+    /**
+     * Prueba que con varios hilos metiendo a la vez, {@link ColaAcotada#setLimite}
+     * se rebase por a lo más un elemento por hilo.
+     * @throws InterruptedException si se interrumpe la espera a los hilos.
+     */
+    @Test public void testLimiteHilos() throws InterruptedException {
+        UtilTestMeteSaca.limiteHilos(cola, 1 + random.nextInt(total), 4);
+    }
+}
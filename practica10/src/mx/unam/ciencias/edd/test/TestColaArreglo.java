@@ -0,0 +1,236 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ColaArreglo;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MeteSaca;
+import mx.unam.ciencias.edd.Pila;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaArreglo}.
+ */
+public class TestColaArreglo {
+
+    private Random random;
+    private int total;
+    private ColaArreglo<Integer> cola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra cola, y una cola.
+     */
+    public TestColaArreglo() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaArreglo<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#mete}.
+     */
+    @Test public void testMete() {
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++)
+            cola.mete(i);
+        int c = 0;
+        int t = 0;
+        while (!cola.esVacia()) {
+            Assert.assertTrue(cola.saca() == c++);
+            t++;
+        }
+        Assert.assertTrue(t == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#saca}.
+     */
+    @Test public void testSaca() {
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = i;
+            cola.mete(a[i]);
+        }
+        int c = 0;
+        while (!cola.esVacia())
+            Assert.assertTrue(cola.saca() == a[c++]);
+    }
+
+    /**
+     * Prueba unitaria para {@link MeteSaca#mira}.
+     */
+    @Test public void testMira() {
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertTrue(cola.mira() == 0);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#esVacia}.
+     */
+    @Test public void testEsVacia() {
+        Assert.assertTrue(cola.esVacia());
+        cola.mete(1);
+        Assert.assertFalse(cola.esVacia());
+        cola.saca();
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(cola.equals(null));
+        Assert.assertFalse(cola.equals(""));
+        Assert.assertFalse(cola.equals(new Pila<Integer>()));
+        ColaArreglo<Integer> cola2 = new ColaArreglo<Integer>();
+        Assert.assertTrue(cola.equals(cola2));
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertFalse(cola.equals(cola2));
+            cola2.mete(i);
+            Assert.assertTrue(cola.equals(cola2));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#hashCode}.
+     */
+    @Test public void testHashCode() {
+        ColaArreglo<Integer> cola2 = new ColaArreglo<Integer>();
+        Assert.assertTrue(cola.hashCode() == cola2.hashCode());
+        cola2.mete(-1);
+        cola2.saca();
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            cola2.mete(i);
+            Assert.assertTrue(cola.hashCode() == cola2.hashCode());
+        }
+        Assert.assertTrue(cola.equals(cola2));
+        cola2.saca();
+        cola2.mete(total);
+        Assert.assertFalse(cola.equals(cola2));
+        Assert.assertFalse(cola.hashCode() == cola2.hashCode());
+    }
+
+    /**
+     * Prueba que la cola dé vuelta al anillo y crezca igual que una {@link
+     * Cola}, con operaciones aleatorias.
+     */
+    @Test public void testAnillo() {
+        try {
+            new ColaArreglo<Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(new ColaArreglo<Integer>(1).getCapacidad() == 1);
+        Assert.assertTrue(new ColaArreglo<Integer>(5).getCapacidad() == 8);
+        cola = new ColaArreglo<Integer>(4);
+        Cola<Integer> ligada = new Cola<Integer>();
+        Assert.assertFalse(cola.equals(ligada));
+        for (int i = 0; i < total * 20; i++) {
+            if (random.nextInt(3) > 0 || ligada.esVacia()) {
+                cola.mete(i);
+                ligada.mete(i);
+            } else {
+                Assert.assertTrue(cola.saca().equals(ligada.saca()));
+            }
+            Assert.assertTrue(cola.esVacia() == ligada.esVacia());
+            if (!ligada.esVacia())
+                Assert.assertTrue(cola.mira().equals(ligada.mira()));
+        }
+        while (!ligada.esVacia())
+            Assert.assertTrue(cola.saca().equals(ligada.saca()));
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#setEncoge}.
+     */
+    @Test public void testEncoge() {
+        for (int i = 0; i < 1024; i++)
+            cola.mete(i);
+        Assert.assertTrue(cola.getCapacidad() == 1024);
+        for (int i = 0; i < 1000; i++)
+            Assert.assertTrue(cola.saca() == i);
+        Assert.assertTrue(cola.getCapacidad() == 1024);
+        cola.setEncoge(true);
+        for (int i = 1000; i < 1020; i++)
+            Assert.assertTrue(cola.saca() == i);
+        Assert.assertTrue(cola.getCapacidad() == 16);
+        for (int i = 1020; i < 1024; i++)
+            Assert.assertTrue(cola.saca() == i);
+        Assert.assertTrue(cola.getCapacidad() == 16);
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#meteTodos}, {@link
+     * ColaArreglo#saca(int, Object[])} y {@link ColaArreglo#drenaA}.
+     */
+    @Test public void testLotes() {
+        UtilTestMeteSaca.lotes(cola, total, true);
+    }
+
+    /**
+     * Prueba que {@link ColaArreglo#drenaA} lleve bien la cuenta si la colección lanza
+     * una excepción.
+     */
+    @Test public void testDrenaConExcepcion() {
+        UtilTestMeteSaca.drenaConExcepcion(cola, total, false);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#getElementos} y {@link
+     * ColaArreglo#getMaximo}.
+     */
+    @Test public void testElementos() {
+        UtilTestMeteSaca.elementos(cola, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#setLimite}.
+     */
+    @Test public void testLimite() {
+        UtilTestMeteSaca.limite(cola, total);
+    }
+
+    /**
+     * Prueba que {@link ColaArreglo#meteTodos} no agregue nada si alguno de los
+     * elementos es nulo.
+     */
+    @Test public void testMeteTodosNulo() {
+        cola.mete(-1);
+        Lista<Integer> l = new Lista<Integer>() {
+            @Override public Iterator<Integer> iterator() {
+                return Arrays.asList(0, 1, null, 3).iterator();
+            }
+            @Override public int getElementos() {
+                return 4;
+            }
+        };
+        try {
+            cola.meteTodos(l);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(cola.getElementos() == 1);
+        Assert.assertTrue(cola.saca() == -1);
+        Assert.assertTrue(cola.esVacia());
+    }
+}
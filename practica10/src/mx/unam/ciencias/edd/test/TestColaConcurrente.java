@@ -0,0 +1,341 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import mx.unam.ciencias.edd.ColaConcurrente;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.Pila;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaConcurrente}.
+ */
+public class TestColaConcurrente {
+
+    private Random random;
+    private int total;
+    private ColaConcurrente<Integer> cola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra cola, y una cola.
+     */
+    public TestColaConcurrente() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaConcurrente<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#mete}.
+     */
+    @Test public void testMete() {
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++)
+            cola.mete(i);
+        int c = 0;
+        int t = 0;
+        while (!cola.esVacia()) {
+            Assert.assertTrue(cola.saca() == c++);
+            t++;
+        }
+        Assert.assertTrue(t == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#saca} y {@link
+     * ColaConcurrente#intentaSaca}.
+     */
+    @Test public void testSaca() {
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Assert.assertTrue(cola.intentaSaca() == null);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(cola.intentaMete(i));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(i % 2 == 0 ? cola.saca() == i
+                              : cola.intentaSaca() == i);
+        Assert.assertTrue(cola.intentaSaca() == null);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#mira}.
+     */
+    @Test public void testMira() {
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertTrue(cola.mira() == 0);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#esVacia}.
+     */
+    @Test public void testEsVacia() {
+        Assert.assertTrue(cola.esVacia());
+        cola.mete(1);
+        Assert.assertFalse(cola.esVacia());
+        cola.saca();
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(cola.equals(null));
+        Assert.assertFalse(cola.equals(""));
+        Assert.assertFalse(cola.equals(new Pila<Integer>()));
+        ColaConcurrente<Integer> cola2 = new ColaConcurrente<Integer>();
+        Assert.assertTrue(cola.equals(cola2));
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertFalse(cola.equals(cola2));
+            cola2.mete(i);
+            Assert.assertTrue(cola.equals(cola2));
+        }
+        cola.saca();
+        cola.mete(total);
+        cola2.saca();
+        Assert.assertFalse(cola.equals(cola2));
+        cola2.mete(total);
+        Assert.assertTrue(cola.equals(cola2));
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#hashCode}.
+     */
+    @Test public void testHashCode() {
+        ColaConcurrente<Integer> cola2 = new ColaConcurrente<Integer>();
+        Assert.assertTrue(cola.hashCode() == cola2.hashCode());
+        cola2.mete(-1);
+        cola2.saca();
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            cola2.mete(i);
+            Assert.assertTrue(cola.hashCode() == cola2.hashCode());
+        }
+        Assert.assertTrue(cola.equals(cola2));
+        cola2.saca();
+        cola2.mete(total);
+        Assert.assertFalse(cola.equals(cola2));
+        Assert.assertFalse(cola.hashCode() == cola2.hashCode());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#sacaEspera}.
+     */
+    @Test public void testSacaEspera() throws InterruptedException {
+        Assert.assertTrue(cola.sacaEspera(1, TimeUnit.MILLISECONDS) == null);
+        Thread consumidor = Thread.currentThread();
+        boolean[] bloqueado = { false };
+        Thread productor = new Thread(() -> {
+            bloqueado[0] = UtilTestMeteSaca.seBloquea(consumidor);
+            try {
+                cola.meteEspera(7);
+            } catch (InterruptedException ie) {}
+        });
+        productor.start();
+        Assert.assertTrue(cola.sacaEspera() == 7);
+        productor.join();
+        Assert.assertTrue(bloqueado[0]);
+        cola.mete(8);
+        Assert.assertTrue(cola.sacaEspera(1, TimeUnit.SECONDS) == 8);
+        Thread.currentThread().interrupt();
+        try {
+            cola.sacaEspera();
+            Assert.fail();
+        } catch (InterruptedException ie) {}
+        Assert.assertFalse(Thread.interrupted());
+    }
+
+    /**
+     * Prueba la cola con varios productores y consumidores a la vez: cada
+     * elemento debe salir exactamente una vez, y los de cada productor en el
+     * orden en que los metió.
+     */
+    @Test public void testConcurrencia() throws InterruptedException {
+        int hilos = 4;
+        int n = 10000;
+        ColaConcurrente<Integer> c = new ColaConcurrente<Integer>();
+        int[] vistos = new int[hilos * n];
+        int[][] ultimos = new int[hilos][hilos];
+        boolean[] enOrden = { true };
+        Thread[] productores = new Thread[hilos];
+        Thread[] consumidores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            int p = h;
+            productores[h] = new Thread(() -> {
+                for (int i = 0; i < n; i++)
+                    c.mete(p * n + i);
+            });
+            consumidores[h] = new Thread(() -> {
+                int[] ultimo = ultimos[p];
+                Arrays.fill(ultimo, -1);
+                try {
+                    for (int i = 0; i < n; i++) {
+                        int e = c.sacaEspera();
+                        synchronized (vistos) {
+                            vistos[e]++;
+                        }
+                        if (e % n <= ultimo[e / n])
+                            enOrden[0] = false;
+                        ultimo[e / n] = e % n;
+                    }
+                } catch (InterruptedException ie) {}
+            });
+        }
+        for (int h = 0; h < hilos; h++) {
+            consumidores[h].start();
+            productores[h].start();
+        }
+        for (int h = 0; h < hilos; h++) {
+            productores[h].join();
+            consumidores[h].join();
+        }
+        Assert.assertTrue(enOrden[0]);
+        for (int v : vistos)
+            Assert.assertTrue(v == 1);
+        Assert.assertTrue(c.esVacia());
+        Assert.assertTrue(c.getElementos() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#meteTodos}, {@link
+     * ColaConcurrente#saca(int, Object[])} y {@link ColaConcurrente#drenaA}.
+     */
+    @Test public void testLotes() {
+        UtilTestMeteSaca.lotes(cola, total, true);
+    }
+
+    /**
+     * Prueba que {@link ColaConcurrente#drenaA} lleve bien la cuenta si la colección lanza
+     * una excepción.
+     */
+    @Test public void testDrenaConExcepcion() {
+        UtilTestMeteSaca.drenaConExcepcion(cola, total, true);
+    }
+
+    /**
+     * Prueba {@link ColaConcurrente#meteTodos} y {@link
+     * ColaConcurrente#saca(int, Object[])} con varios productores y consumidores a
+     * la vez: cada elemento debe salir exactamente una vez, y los de cada
+     * productor en el orden en que los metió.
+     */
+    @Test public void testLotesConcurrentes() throws InterruptedException {
+        int hilos = 4;
+        int n = 10000;
+        ColaConcurrente<Integer> c = new ColaConcurrente<Integer>();
+        AtomicIntegerArray vistos = new AtomicIntegerArray(hilos * n);
+        AtomicInteger sacados = new AtomicInteger();
+        boolean[] enOrden = { true };
+        Thread[] t = new Thread[2 * hilos];
+        for (int h = 0; h < hilos; h++) {
+            int p = h;
+            t[2 * h] = new Thread(() -> {
+                Lista<Integer> lote = new Lista<Integer>();
+                for (int i = 0; i < n; i++) {
+                    lote.agrega(p * n + i);
+                    if (lote.getElementos() == 10 || i == n - 1) {
+                        c.meteTodos(lote);
+                        lote = new Lista<Integer>();
+                    }
+                }
+            });
+            t[2 * h + 1] = new Thread(() -> {
+                int[] ultimo = new int[hilos];
+                Arrays.fill(ultimo, -1);
+                Integer[] a = new Integer[16];
+                while (sacados.get() < hilos * n) {
+                    int m = c.saca(1 + p * 5, a);
+                    for (int i = 0; i < m; i++) {
+                        vistos.incrementAndGet(a[i]);
+                        if (a[i] % n <= ultimo[a[i] / n])
+                            enOrden[0] = false;
+                        ultimo[a[i] / n] = a[i] % n;
+                    }
+                    sacados.addAndGet(m);
+                    if (m == 0)
+                        Thread.yield();
+                }
+            });
+        }
+        for (Thread hilo : t)
+            hilo.start();
+        for (Thread hilo : t)
+            hilo.join();
+        Assert.assertTrue(enOrden[0]);
+        for (int i = 0; i < hilos * n; i++)
+            Assert.assertTrue(vistos.get(i) == 1);
+        Assert.assertTrue(c.esVacia());
+        Assert.assertTrue(c.getElementos() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#getElementos} y {@link
+     * ColaConcurrente#getMaximo}.
+     */
+    @Test public void testElementos() {
+        UtilTestMeteSaca.elementos(cola, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#setLimite}.
+     */
+    @Test public void testLimite() {
+        UtilTestMeteSaca.limite(cola, total);
+    }
+
+    /**
+     * Prueba {@link ColaConcurrente#getElementos} y {@link ColaConcurrente#getMaximo} con
+     * varios hilos metiendo y sacando a la vez.
+     * @throws InterruptedException si se interrumpe la espera a los hilos.
+     */
+    @Test public void testElementosHilos() throws InterruptedException {
+        UtilTestMeteSaca.elementosHilos(cola, total, 4);
+    }
+
+    /**
+     * Prueba que con varios hilos metiendo a la vez, {@link ColaConcurrente#setLimite}
+     * se rebase por a lo más un elemento por hilo.
+     * @throws InterruptedException si se interrumpe la espera a los hilos.
+     */
+    @Test public void testLimiteHilos() throws InterruptedException {
+        UtilTestMeteSaca.limiteHilos(cola, 1 + random.nextInt(total), 4);
+    }
+
+    /**
+     * Prueba que {@link ColaConcurrente#meteEspera} espere a que haya lugar
+     * cuando la cola tiene límite.
+     */
+    @Test public void testMeteEspera() throws InterruptedException {
+        cola.setLimite(1);
+        cola.mete(1);
+        Thread productor = new Thread(() -> {
+            try {
+                cola.meteEspera(2);
+            } catch (InterruptedException ie) {}
+        });
+        productor.start();
+        Assert.assertTrue(UtilTestMeteSaca.seBloquea(productor));
+        Assert.assertTrue(cola.getElementos() == 1);
+        Assert.assertTrue(cola.saca() == 1);
+        productor.join();
+        Assert.assertTrue(cola.saca() == 2);
+        Assert.assertTrue(cola.esVacia());
+    }
+}
@@ -207,4 +207,54 @@ public class TestConjunto {
             conjunto.elimina(ini + i);
         for (Integer s : conjunto);
     }
+
+    /**
+     * Prueba unitaria para {@link Conjunto#asegurarCapacidad} y {@link
+     * Conjunto#compacta}.
+     */
+    @Test public void testCapacidad() {
+        conjunto = new Conjunto<Integer>(total, 0.5);
+        conjunto.asegurarCapacidad(total * 4);
+        for (int i = 0; i < total * 4; i++)
+            conjunto.agrega(i);
+        for (int i = 0; i < total * 4; i += 2)
+            conjunto.elimina(i);
+        conjunto.compacta();
+        Assert.assertTrue(conjunto.getElementos() == total * 2);
+        for (int i = 0; i < total * 4; i++)
+            Assert.assertTrue(conjunto.contiene(i) == (i % 2 == 1));
+        try {
+            new Conjunto<Integer>(total, 0.0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Conjunto#agregaTodos} y los constructores
+     * desde arreglos y colecciones.
+     */
+    @Test public void testAgregaTodos() {
+        Integer[] a = new Integer[total];
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            lista.agrega(i + total);
+        }
+        conjunto = new Conjunto<Integer>(a);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(conjunto.contiene(a[i]));
+        int elementos = conjunto.getElementos();
+        conjunto.agregaTodos(lista);
+        Assert.assertTrue(conjunto.getElementos() == elementos + total);
+        Conjunto<Integer> c = new Conjunto<Integer>(lista);
+        Assert.assertTrue(c.getElementos() == total);
+        for (Integer e : lista)
+            Assert.assertTrue(c.contiene(e));
+        a[0] = null;
+        try {
+            conjunto.agregaTodos(a);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(conjunto.getElementos() == elementos + total);
+    }
 }
@@ -1,13 +1,17 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import mx.unam.ciencias.edd.AlgoritmoPicadillo;
-import mx.unam.ciencias.edd.Arreglos;
 import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioAbierto;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
 import mx.unam.ciencias.edd.Picadillo;
 import mx.unam.ciencias.edd.FabricaPicadillos;
+import mx.unam.ciencias.edd.Finalizador;
 import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MetricasDiccionario;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -35,135 +39,75 @@ public class TestDiccionario {
      * Prueba unitaria para {@link Diccionario#Diccionario}.
      */
     @Test public void testConstructor() {
-        Assert.assertTrue(diccionario.esVacio());
-        Assert.assertTrue(diccionario.getElementos() == 0);
-        Lista<String> llaves = diccionario.llaves();
-        Lista<String> valores = diccionario.valores();
-        Assert.assertTrue(llaves.getLongitud() == 0);
-        Assert.assertTrue(valores.getLongitud() == 0);
-        Assert.assertTrue(diccionario.carga() == 0.0);
-        Assert.assertTrue(diccionario.colisiones() == 0);
+        UtilTestDiccionario.constructor(diccionario);
     }
 
     /**
      * Prueba unitaria para {@link Diccionario#agrega}.
      */
     @Test public void testAgrega() {
+        UtilTestDiccionario.agrega(diccionario, total, Diccionario.MAXIMA_CARGA);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#setRedimensionIncremental}.
+     */
+    @Test public void testRedimensionIncremental() {
+        diccionario.setRedimensionIncremental(true);
+        String[] a = new String[total * 8];
         int ini = random.nextInt(10000);
-        for (int i = 0; i < total * 2; i++) {
-            String s = String.format("%x", ini + i * 1000);
-            Assert.assertFalse(diccionario.contiene(s));
-            diccionario.agrega(s, s);
-            Assert.assertTrue(diccionario.getElementos() == i+1);
-            Assert.assertTrue(diccionario.contiene(s));
-            Assert.assertTrue(diccionario.get(s).equals(s));
+        for (int i = 0; i < a.length; i++) {
+            a[i] = String.format("%x", ini + i * 1000);
+            diccionario.agrega(a[i], a[i]);
             Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+            Assert.assertTrue(diccionario.llaves().getLongitud() == i+1);
+            for (int j = 0; j <= i; j += 1 + i / 8)
+                Assert.assertTrue(diccionario.get(a[j]).equals(a[j]));
         }
-        String k = String.format("%x", ini);
-        String v = String.format("%x", ini+1);
-        diccionario.agrega(k, v);
-        Assert.assertTrue(diccionario.getElementos() == total*2);
-        Assert.assertTrue(diccionario.contiene(k));
-        Assert.assertTrue(diccionario.get(k).equals(v));
-        Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
-        try {
-            diccionario.agrega(null, "X");
-            Assert.fail();
-        } catch (IllegalArgumentException iae) {}
-        try {
-            diccionario.agrega("X", null);
-            Assert.fail();
-        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < a.length; i += 2) {
+            diccionario.elimina(a[i]);
+            Assert.assertFalse(diccionario.contiene(a[i]));
+        }
+        diccionario.setRedimensionIncremental(false);
+        Assert.assertTrue(diccionario.getElementos() == a.length / 2);
+        Assert.assertTrue(diccionario.valores().getLongitud() == a.length / 2);
+        for (int i = 1; i < a.length; i += 2)
+            Assert.assertTrue(diccionario.get(a[i]).equals(a[i]));
     }
 
     /**
      * Prueba unitaria para {@link Diccionario#get}.
      */
     @Test public void testGet() {
-        int ini = 1 + random.nextInt(10000);
-        for (int i = 0; i < total; i++) {
-            String s = String.format("%x", ini + i * 1000);
-            diccionario.agrega(s, s);
-            Assert.assertTrue(diccionario.get(s).equals(s));
-        }
-        try {
-            diccionario.get("00000");
-            Assert.fail();
-        } catch (NoSuchElementException nsee) {}
+        UtilTestDiccionario.get(diccionario, total);
     }
 
     /**
      * Prueba unitaria para {@link Diccionario#contiene}.
      */
     @Test public void testContiene() {
-        int ini = random.nextInt(10000);
-        for (int i = 0; i < total; i++) {
-            String s = String.format("%x", ini + i * 1000);
-            Assert.assertFalse(diccionario.contiene(s));
-            diccionario.agrega(s, s);
-            Assert.assertTrue(diccionario.contiene(s));
-        }
-        Assert.assertFalse(diccionario.contiene("00000"));
+        UtilTestDiccionario.contiene(diccionario, total);
     }
 
     /**
      * Prueba unitaria para {@link Diccionario#elimina}.
      */
     @Test public void testElimina() {
-        String[] arreglo = new String[total];
-        int ini = random.nextInt(10000);
-        for (int i = 0; i < total; i++) {
-            arreglo[i] = String.format("%x", ini + i * 1000);
-            diccionario.agrega(arreglo[i], arreglo[i]);
-        }
-        for (int i = 0; i < total; i++) {
-            Assert.assertTrue(diccionario.contiene(arreglo[i]));
-            diccionario.elimina(arreglo[i]);
-            Assert.assertFalse(diccionario.contiene(arreglo[i]));
-            Assert.assertTrue(diccionario.getElementos() == total - (i+1));
-            try {
-                diccionario.get(arreglo[i]);
-                Assert.fail();
-            } catch (NoSuchElementException nsee) {}
-        }
+        UtilTestDiccionario.elimina(diccionario, total);
     }
 
     /**
      * Prueba unitaria para {@link Diccionario#llaves}.
      */
     @Test public void testLlaves() {
-        String[] arreglo = new String[total];
-        int ini = random.nextInt(10000);
-        for (int i = 0; i < total; i++) {
-            arreglo[i] = String.format("%x", ini + i * 1000);
-            diccionario.agrega(arreglo[i], arreglo[i]);
-        }
-        Lista<String> llaves = diccionario.llaves();
-        Assert.assertTrue(llaves.getLongitud() == total);
-        llaves = Lista.mergeSort(llaves);
-        Arreglos.quickSort(arreglo);
-        int i = 0;
-        for (String k : llaves)
-            Assert.assertTrue(k.equals(arreglo[i++]));
+        UtilTestDiccionario.llaves(diccionario, total);
     }
 
     /**
      * Prueba unitaria para {@link Diccionario#valores}.
      */
     @Test public void testValores() {
-        String[] arreglo = new String[total];
-        int ini = random.nextInt(10000);
-        for (int i = 0; i < total; i++) {
-            arreglo[i] = String.format("%x", ini + i * 1000);
-            diccionario.agrega(arreglo[i], arreglo[i]);
-        }
-        Lista<String> valores = diccionario.valores();
-        Assert.assertTrue(valores.getLongitud() == total);
-        valores = Lista.mergeSort(valores);
-        Arreglos.quickSort(arreglo);
-        int i = 0;
-        for (String k : valores)
-            Assert.assertTrue(k.equals(arreglo[i++]));
+        UtilTestDiccionario.valores(diccionario, total);
     }
 
     /**
@@ -172,136 +116,327 @@ public class TestDiccionario {
     @Test public void testColisiones() {
         Picadillo<String> hd;
         hd = FabricaPicadillos.getInstancia(AlgoritmoPicadillo.XOR_STRING);
-        diccionario = new Diccionario<String, String>(total, hd);
-        byte[] bs1 = { 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08 };
-        byte[] bs2 = { 0x05, 0x06, 0x07, 0x08, 0x01, 0x02, 0x03, 0x04 };
-        String val1 = String.format("%x", random.nextInt(1000));
-        String val2 = String.format("%x", random.nextInt(1000));
-        diccionario.agrega(new String(bs1), val1);
-        diccionario.agrega(new String(bs2), val2);
-        Assert.assertTrue(diccionario.colisiones() == 1);
+        UtilTestDiccionario.colisiones(
+            new Diccionario<String, String>(total, hd));
     }
 
     /**
      * Prueba unitaria para {@link Diccionario#colisionMaxima}.
      */
     @Test public void testColisionMaxima() {
-        int r = random.nextInt(10000);
-        String s = String.format("%x", r);
-        diccionario.agrega(s, s);
-        Assert.assertTrue(diccionario.colisionMaxima() == 0);
         Picadillo<String> hd;
         hd = FabricaPicadillos.getInstancia(AlgoritmoPicadillo.XOR_STRING);
-        diccionario = new Diccionario<String, String>(total, hd);
-        byte[] bs1 = { 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08 };
-        byte[] bs2 = { 0x05, 0x06, 0x07, 0x08, 0x01, 0x02, 0x03, 0x04 };
-        String val1 = String.format("%x", random.nextInt(1000));
-        String val2 = String.format("%x", random.nextInt(1000));
-        diccionario.agrega(new String(bs1), val1);
-        diccionario.agrega(new String(bs2), val2);
-        Assert.assertTrue(diccionario.colisionMaxima() == 1);
+        UtilTestDiccionario.colisionMaxima(
+            diccionario, new Diccionario<String, String>(total, hd));
     }
 
     /**
      * Prueba unitaria para {@link Diccionario#carga}.
      */
     @Test public void testCarga() {
-        int ini = random.nextInt(10000);
-        double c = 0.0;
-        for (int i = 0; i < total; i++) {
-            String s = String.format("%x", ini + i * 1000);
-            diccionario.agrega(s, s);
-            Assert.assertTrue(diccionario.carga() > c);
-            c = diccionario.carga();
-            Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
-        }
-        for (int i = total; i < total*4; i++) {
-            String s = String.format("%x", ini + i * 1000);
-            diccionario.agrega(s, s);
-            Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
-        }
+        UtilTestDiccionario.carga(diccionario, total, Diccionario.MAXIMA_CARGA);
     }
 
     /**
      * Prueba unitaria para {@link Diccionario#getElementos}.
      */
     @Test public void testGetElementos() {
-        int ini = random.nextInt(10000);
-        for (int i = 0; i < total; i++) {
-            String s = String.format("%x", ini + i * 1000);
-            diccionario.agrega(s, s);
-            Assert.assertTrue(diccionario.getElementos() == i+1);
-        }
+        UtilTestDiccionario.getElementos(diccionario, total);
     }
 
     /**
      * Prueba unitaria para {@link Diccionario#esVacio}.
      */
     @Test public void testEsVacio() {
-        Assert.assertTrue(diccionario.esVacio());
-        int ini = random.nextInt(10000);
-        for (int i = 0; i < total; i++) {
-            String s = String.format("%x", ini + i * 1000);
-            diccionario.agrega(s, s);
-            Assert.assertFalse(diccionario.esVacio());
-        }
-        Lista<String> llaves = diccionario.llaves();
-        for (String llave : llaves) {
-            Assert.assertFalse(diccionario.esVacio());
-            diccionario.elimina(llave);
-        }
-        Assert.assertTrue(diccionario.esVacio());
+        UtilTestDiccionario.esVacio(diccionario, total);
     }
 
     /**
      * Prueba unitaria para {@link Diccionario#equals}.
      */
     @Test public void testEquals() {
-        Diccionario<String, String> d2 = new Diccionario<String, String>();
-        Assert.assertTrue(diccionario.equals(d2));
-        int ini = random.nextInt(10000);
+        UtilTestDiccionario.equals(diccionario, new Diccionario<String, String>(), total);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#iterator}.
+     */
+    @Test public void testIterator() {
+        UtilTestDiccionario.iterator(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#cadaLlave}.
+     */
+    @Test public void testCadaLlave() {
+        UtilTestDiccionario.cadaLlave(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#cadaEntrada}.
+     */
+    @Test public void testCadaEntrada() {
+        diccionario.setRedimensionIncremental(true);
+        UtilTestDiccionario.cadaEntrada(diccionario, total * 4);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#Diccionario(int,double)} y {@link
+     * Diccionario#getCargaMaxima}.
+     */
+    @Test public void testConstructorCarga() {
+        UtilTestDiccionario.constructorCarga(
+            c -> new Diccionario<String, String>(total, c), total, 0.5,
+            0.0, -1.0, Double.NaN);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#asegurarCapacidad}.
+     */
+    @Test public void testAsegurarCapacidad() {
+        UtilTestDiccionario.asegurarCapacidad(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#compacta}.
+     */
+    @Test public void testCompacta() {
+        UtilTestDiccionario.compacta(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#agregaTodos}.
+     */
+    @Test public void testAgregaTodos() {
+        UtilTestDiccionario.agregaTodos(diccionario, total * 256);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#Diccionario(Object[],Object[])}.
+     */
+    @Test public void testConstructorArreglos() {
         String[] a = new String[total];
         for (int i = 0; i < total; i++)
-            a[i] = String.format("%x", ini + i * 1000);
-        for (int i = 0; i < total; i++) {
-            diccionario.agrega(a[i], a[i]);
-            d2.agrega(a[total - i - 1], a[total - i - 1]);
-        }
-        Assert.assertFalse(diccionario == d2);
-        Assert.assertTrue(diccionario.equals(d2));
-        for (int i = 0; i < total; i++) {
-            diccionario.elimina(a[i]);
-            Assert.assertFalse(diccionario.equals(d2));
-            d2.elimina(a[i]);
-            Assert.assertTrue(diccionario.equals(d2));
+            a[i] = String.valueOf(i);
+        diccionario = new Diccionario<String, String>(a, a);
+        Assert.assertTrue(diccionario.getElementos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.get(a[i]) == a[i]);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#setArbolesEnCubetas}.
+     */
+    @Test public void testArbolesEnCubetas() {
+        diccionario = new Diccionario<String, String>((String o) -> 7);
+        diccionario.setRedimensionIncremental(random.nextBoolean());
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        diccionario.setArbolesEnCubetas(true);
+        for (int i = total; i < total * 2; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+        Assert.assertTrue(diccionario.colisionMaxima() == total * 2 - 1);
+        MetricasDiccionario m = diccionario.getMetricas();
+        for (int i = 0; i < total * 2; i++)
+            Assert.assertTrue(diccionario.get(String.valueOf(i))
+                              .equals(String.valueOf(i)));
+        Assert.assertFalse(diccionario.contiene("x"));
+        Assert.assertTrue(m.instantanea().getSondeoMaximo() == 1);
+        for (int i = 0; i < total * 2 - 3; i++) {
+            diccionario.elimina(String.valueOf(i));
+            Assert.assertFalse(diccionario.contiene(String.valueOf(i)));
+            Assert.assertTrue(diccionario.contiene(String.valueOf(i+1)));
         }
-        Assert.assertTrue(diccionario.esVacio());
-        Assert.assertTrue(d2.esVacio());
-        Assert.assertTrue(diccionario.equals(d2));
+        Assert.assertTrue(diccionario.getElementos() == 3);
+        m.reinicia();
+        Assert.assertFalse(diccionario.contiene("x"));
+        Assert.assertTrue(m.instantanea().getSondeoMaximo() == 3);
+
+        Diccionario<Object, Integer> d =
+            new Diccionario<Object, Integer>((Object o) -> 0);
+        d.setArbolesEnCubetas(true);
+        for (int i = 0; i < total; i++)
+            d.agrega(i, i);
+        d.agrega("x", -1);
+        d.agrega(1L, -2);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(d.get(i) == i);
+        Assert.assertTrue(d.get("x") == -1);
+        Assert.assertTrue(d.get(1L) == -2);
+        d.elimina("x");
+        d.elimina(0);
+        Assert.assertFalse(d.contiene(0));
+        Assert.assertTrue(d.getElementos() == total);
+        d.setArbolesEnCubetas(false);
+        for (int i = 1; i < total; i++)
+            Assert.assertTrue(d.get(i) == i);
     }
 
     /**
-     * Prueba unitaria para {@link Diccionario#iterator}.
+     * Prueba unitaria para {@link Diccionario#setFinalizador}.
      */
-    @Test public void testIterator() {
-        int ini = random.nextInt(10000);
-        Lista<String> lista = new Lista<String>();
+    @Test public void testFinalizador() {
+        Diccionario<Integer, Integer> d = new Diccionario<Integer, Integer>();
+        Assert.assertTrue(d.getFinalizador() == Finalizador.MURMUR3);
+        Assert.assertTrue(new Diccionario<Integer, Integer>((Integer o) -> o)
+                          .getFinalizador() == Finalizador.NINGUNO);
+        for (int i = 0; i < total; i++)
+            d.agrega(i << 16, i);
+        Assert.assertTrue(d.colisionMaxima() < 8);
+        d.setFinalizador(Finalizador.NINGUNO);
+        Assert.assertTrue(d.colisionMaxima() == total - 1);
+        d.setFinalizador(Finalizador.FIBONACCI);
+        Assert.assertTrue(d.colisionMaxima() < 8);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(d.get(i << 16) == i);
+        try {
+            d.setFinalizador(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+
+        d = new DiccionarioAbierto<Integer, Integer>();
+        Assert.assertTrue(d.getFinalizador() == Finalizador.MURMUR3);
+        for (int i = 0; i < total; i++)
+            d.agrega(i << 16, i);
+        d.setFinalizador(Finalizador.NINGUNO);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(d.get(i << 16) == i);
+
+        d = new DiccionarioConcurrente<Integer, Integer>();
+        Assert.assertTrue(d.getFinalizador() == Finalizador.MURMUR3);
+        try {
+            d.setFinalizador(Finalizador.NINGUNO);
+            Assert.fail();
+        } catch (UnsupportedOperationException uoe) {}
+    }
+
+    /* Agrega y consulta las llaves con arreglos de tipo Object[], como los
+     * que crea el código genérico. */
+    @SuppressWarnings("unchecked") private <K> void generico(Diccionario<K, K> d,
+                                                           K[] llaves) {
+        K[] a = (K[])new Object[llaves.length];
+        for (int i = 0; i < llaves.length; i++)
+            a[i] = llaves[i];
+        d.agregaTodos(a, a);
+        K[] valores = (K[])new Object[llaves.length];
+        d.getTodos(a, valores);
+        for (int i = 0; i < llaves.length; i++)
+            Assert.assertTrue(valores[i] == llaves[i]);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#getTodos}.
+     */
+    @Test public void testGetTodos() {
+        String[] llaves = new String[total];
+        for (int i = 0; i < total; i++)
+            llaves[i] = String.valueOf(random.nextInt());
+        Lista<Diccionario<String, String>> diccionarios =
+            new Lista<Diccionario<String, String>>();
+        diccionarios.agrega(diccionario);
+        diccionarios.agrega(new Diccionario<String, String>(
+            FabricaPicadillos.getInstancia(AlgoritmoPicadillo.GLIB_STRING)));
+        diccionarios.agrega(new DiccionarioAbierto<String, String>());
+        diccionarios.agrega(new DiccionarioConcurrente<String, String>());
+        for (Diccionario<String, String> d : diccionarios) {
+            d.agregaTodos(llaves, llaves);
+            String[] valores = new String[total];
+            d.getTodos(llaves, valores);
+            for (int i = 0; i < total; i++)
+                Assert.assertTrue(valores[i] == llaves[i]);
+            generico(d, llaves);
+            Assert.assertTrue(d.getElementos() == total);
+            try {
+                d.getTodos(new String[] { llaves[0], "x" }, valores);
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+            try {
+                d.getTodos(llaves, new String[total - 1]);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+            try {
+                d.getTodos(new String[] { null }, valores);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+        Diccionario<String, String> d = new Diccionario<String, String>();
+        d.setRedimensionIncremental(true);
         for (int i = 0; i < total; i++) {
-            String s = String.format("%x", ini + i * 1000);
-            diccionario.agrega(s, s);
-            lista.agregaFinal(s);
+            d.agrega(llaves[i], llaves[i]);
+            String[] prefijo = Arrays.copyOf(llaves, i + 1);
+            String[] valores = new String[i + 1];
+            d.getTodos(prefijo, valores);
+            for (int j = 0; j <= i; j++)
+                Assert.assertTrue(valores[j].equals(llaves[j]));
+        }
+    }
+
+    /* Llave que cuenta cuántas veces se llama a su equals. */
+    private static class Llave {
+        private int valor;
+        private int[] comparaciones;
+        public Llave(int valor, int[] comparaciones) {
+            this.valor = valor;
+            this.comparaciones = comparaciones;
+        }
+        @Override public boolean equals(Object o) {
+            comparaciones[0]++;
+            return o instanceof Llave && ((Llave)o).valor == valor;
         }
-        int c = 0;
-        for (String s : diccionario) {
-            Assert.assertTrue(lista.contiene(s));
-            lista.elimina(s);
-            c++;
+        @Override public int hashCode() {
+            return valor;
         }
-        Assert.assertTrue(c == total);
-        Assert.assertTrue(lista.getLongitud() == 0);
-        Lista<String> llaves = diccionario.llaves();
-        for (String llave : llaves)
-            diccionario.elimina(llave);
-        for (String s : diccionario);
+    }
+
+    /**
+     * Prueba unitaria para los picadillos guardados en las entradas de
+     * {@link Diccionario}: crecer y redimensionar no vuelven a calcularlos, y
+     * al buscar no se compara con llaves de picadillo distinto.
+     */
+    @Test public void testPicadillosGuardados() {
+        int[] llamadas = { 0 };
+        Diccionario<String, String> d = new Diccionario<String, String>(
+            (String s) -> { llamadas[0]++; return s.hashCode(); });
+        for (int i = 0; i < total; i++)
+            d.agrega(String.valueOf(i), String.valueOf(i));
+        Assert.assertTrue(llamadas[0] == total);
+        d.asegurarCapacidad(total * 8);
+        d.compacta();
+        Assert.assertTrue(llamadas[0] == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(d.get(String.valueOf(i)).equals(String.valueOf(i)));
+        Assert.assertTrue(llamadas[0] == 2 * total);
+        d.setFinalizador(Finalizador.MURMUR3);
+        Assert.assertTrue(llamadas[0] == 3 * total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(d.get(String.valueOf(i)).equals(String.valueOf(i)));
+
+        /* Todas las llaves caen en la misma cubeta, pero con picadillos
+         * distintos; sólo se compara con la buscada. */
+        int[] comparaciones = { 0 };
+        Diccionario<Llave, Integer> c = new Diccionario<Llave, Integer>(
+            total, (Llave l) -> l.valor << 24);
+        c.setFinalizador(Finalizador.NINGUNO);
+        for (int i = 0; i < N; i++)
+            c.agrega(new Llave(i, comparaciones), i);
+        Assert.assertTrue(comparaciones[0] == 0);
+        for (int i = 0; i < N; i++) {
+            comparaciones[0] = 0;
+            Assert.assertTrue(c.get(new Llave(i, comparaciones)) == i);
+            Assert.assertTrue(comparaciones[0] == 1);
+        }
+        Assert.assertFalse(c.contiene(new Llave(N, comparaciones)));
+        c.elimina(new Llave(0, comparaciones));
+        Assert.assertFalse(c.contiene(new Llave(0, comparaciones)));
+        Assert.assertTrue(c.getElementos() == N - 1);
+
+        /* Picadillos iguales con llaves distintas siguen funcionando. */
+        Diccionario<String, String> m = new Diccionario<String, String>(
+            (String s) -> 7);
+        for (int i = 0; i < total; i++)
+            m.agrega(String.valueOf(i), String.valueOf(i));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(m.get(String.valueOf(i)).equals(String.valueOf(i)));
+        Assert.assertTrue(m.getElementos() == total);
     }
 }
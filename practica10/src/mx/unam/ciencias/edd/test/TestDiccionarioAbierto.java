@@ -0,0 +1,207 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.AlgoritmoPicadillo;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioAbierto;
+import mx.unam.ciencias.edd.Picadillo;
+import mx.unam.ciencias.edd.FabricaPicadillos;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioAbierto}.
+ */
+public class TestDiccionarioAbierto {
+
+    private int total;
+    private Random random;
+    private Diccionario<String, String> diccionario;
+
+    private static final int N = 64;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioAbierto() {
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new DiccionarioAbierto<String, String>(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#DiccionarioAbierto}.
+     */
+    @Test public void testConstructor() {
+        UtilTestDiccionario.constructor(diccionario);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#agrega}.
+     */
+    @Test public void testAgrega() {
+        UtilTestDiccionario.agrega(diccionario, total, Diccionario.MAXIMA_CARGA);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#get}.
+     */
+    @Test public void testGet() {
+        UtilTestDiccionario.get(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#contiene}.
+     */
+    @Test public void testContiene() {
+        UtilTestDiccionario.contiene(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#elimina}.
+     */
+    @Test public void testElimina() {
+        UtilTestDiccionario.elimina(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#elimina} cuando todas las
+     * llaves caen en la misma casilla y las corridas dan la vuelta a la tabla.
+     */
+    @Test public void testEliminaColisiones() {
+        UtilTestDiccionario.eliminaColisiones(
+            new DiccionarioAbierto<Integer, Integer>((Integer o) -> -1 - o % 2));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#llaves}.
+     */
+    @Test public void testLlaves() {
+        UtilTestDiccionario.llaves(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#valores}.
+     */
+    @Test public void testValores() {
+        UtilTestDiccionario.valores(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#colisiones}.
+     */
+    @Test public void testColisiones() {
+        Picadillo<String> hd;
+        hd = FabricaPicadillos.getInstancia(AlgoritmoPicadillo.XOR_STRING);
+        UtilTestDiccionario.colisiones(
+            new DiccionarioAbierto<String, String>(total, hd));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#colisionMaxima}.
+     */
+    @Test public void testColisionMaxima() {
+        Picadillo<String> hd;
+        hd = FabricaPicadillos.getInstancia(AlgoritmoPicadillo.XOR_STRING);
+        UtilTestDiccionario.colisionMaxima(
+            diccionario, new DiccionarioAbierto<String, String>(total, hd));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#carga}.
+     */
+    @Test public void testCarga() {
+        UtilTestDiccionario.carga(diccionario, total, Diccionario.MAXIMA_CARGA);
+    }
+
+    /**
+     * Prueba que los constructores sin tamaño empiecen con las mismas 64
+     * casillas que {@link Diccionario} tiene de cubetas.
+     */
+    @Test public void testCapacidadPredeterminada() {
+        Diccionario<String, String> d = new DiccionarioAbierto<String, String>();
+        Diccionario<String, String> p =
+            new DiccionarioAbierto<String, String>(
+                FabricaPicadillos.getInstancia(AlgoritmoPicadillo.BJ_STRING));
+        Diccionario<String, String> c = new Diccionario<String, String>();
+        d.agrega("a", "a");
+        p.agrega("a", "a");
+        c.agrega("a", "a");
+        Assert.assertTrue(d.carga() == 1.0 / 64);
+        Assert.assertTrue(p.carga() == 1.0 / 64);
+        Assert.assertTrue(d.carga() == c.carga());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#getElementos}.
+     */
+    @Test public void testGetElementos() {
+        UtilTestDiccionario.getElementos(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#esVacio}.
+     */
+    @Test public void testEsVacio() {
+        UtilTestDiccionario.esVacio(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#equals}.
+     */
+    @Test public void testEquals() {
+        UtilTestDiccionario.equals(diccionario, new DiccionarioAbierto<String, String>(), total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#iterator}.
+     */
+    @Test public void testIterator() {
+        UtilTestDiccionario.iterator(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#cadaLlave}.
+     */
+    @Test public void testCadaLlave() {
+        UtilTestDiccionario.cadaLlave(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#cadaEntrada}.
+     */
+    @Test public void testCadaEntrada() {
+        UtilTestDiccionario.cadaEntrada(diccionario, total * 4);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#DiccionarioAbierto(int,double)} y {@link
+     * DiccionarioAbierto#getCargaMaxima}.
+     */
+    @Test public void testConstructorCarga() {
+        UtilTestDiccionario.constructorCarga(
+            c -> new DiccionarioAbierto<String, String>(total, c), total, 0.5,
+            0.0, -1.0, Double.NaN, 1.0);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#asegurarCapacidad}.
+     */
+    @Test public void testAsegurarCapacidad() {
+        UtilTestDiccionario.asegurarCapacidad(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#compacta}.
+     */
+    @Test public void testCompacta() {
+        UtilTestDiccionario.compacta(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioAbierto#agregaTodos}.
+     */
+    @Test public void testAgregaTodos() {
+        UtilTestDiccionario.agregaTodos(diccionario, total * 4);
+    }
+}
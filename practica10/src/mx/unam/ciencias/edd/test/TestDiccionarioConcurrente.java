@@ -0,0 +1,266 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.AlgoritmoPicadillo;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+import mx.unam.ciencias.edd.Picadillo;
+import mx.unam.ciencias.edd.FabricaPicadillos;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioConcurrente}.
+ */
+public class TestDiccionarioConcurrente {
+
+    private int total;
+    private Random random;
+    private Diccionario<String, String> diccionario;
+
+    private static final int N = 64;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioConcurrente() {
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new DiccionarioConcurrente<String, String>(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#DiccionarioConcurrente}.
+     */
+    @Test public void testConstructor() {
+        UtilTestDiccionario.constructor(diccionario);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#agrega}.
+     */
+    @Test public void testAgrega() {
+        UtilTestDiccionario.agrega(diccionario, total, 2 * Diccionario.MAXIMA_CARGA);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#get}.
+     */
+    @Test public void testGet() {
+        UtilTestDiccionario.get(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#contiene}.
+     */
+    @Test public void testContiene() {
+        UtilTestDiccionario.contiene(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#elimina}.
+     */
+    @Test public void testElimina() {
+        UtilTestDiccionario.elimina(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#elimina} cuando todas las
+     * llaves caen en la misma casilla y las corridas dan la vuelta a la tabla.
+     */
+    @Test public void testEliminaColisiones() {
+        UtilTestDiccionario.eliminaColisiones(
+            new DiccionarioConcurrente<Integer, Integer>((Integer o) -> -1 - o % 2));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#llaves}.
+     */
+    @Test public void testLlaves() {
+        UtilTestDiccionario.llaves(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#valores}.
+     */
+    @Test public void testValores() {
+        UtilTestDiccionario.valores(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#colisiones}.
+     */
+    @Test public void testColisiones() {
+        Picadillo<String> hd;
+        hd = FabricaPicadillos.getInstancia(AlgoritmoPicadillo.XOR_STRING);
+        UtilTestDiccionario.colisiones(
+            new DiccionarioConcurrente<String, String>(total, hd));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#colisionMaxima}.
+     */
+    @Test public void testColisionMaxima() {
+        Picadillo<String> hd;
+        hd = FabricaPicadillos.getInstancia(AlgoritmoPicadillo.XOR_STRING);
+        UtilTestDiccionario.colisionMaxima(
+            diccionario, new DiccionarioConcurrente<String, String>(total, hd));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#carga}.
+     */
+    @Test public void testCarga() {
+        UtilTestDiccionario.carga(diccionario, total, 2 * Diccionario.MAXIMA_CARGA);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#getElementos}.
+     */
+    @Test public void testGetElementos() {
+        UtilTestDiccionario.getElementos(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#esVacio}.
+     */
+    @Test public void testEsVacio() {
+        UtilTestDiccionario.esVacio(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#equals}.
+     */
+    @Test public void testEquals() {
+        UtilTestDiccionario.equals(diccionario, new DiccionarioConcurrente<String, String>(), total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#iterator}.
+     */
+    @Test public void testIterator() {
+        UtilTestDiccionario.iterator(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#cadaLlave}.
+     */
+    @Test public void testCadaLlave() {
+        UtilTestDiccionario.cadaLlave(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#cadaEntrada}.
+     */
+    @Test public void testCadaEntrada() {
+        UtilTestDiccionario.cadaEntrada(diccionario, total * 4);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#agregaSiAusente}.
+     */
+    @Test public void testAgregaSiAusente() {
+        DiccionarioConcurrente<String, String> d =
+            new DiccionarioConcurrente<String, String>();
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(d.agregaSiAusente(s, s) == null);
+            Assert.assertTrue(d.agregaSiAusente(s, s + "v") == s);
+            Assert.assertTrue(d.get(s) == s);
+            Assert.assertTrue(d.getElementos() == i+1);
+        }
+        try {
+            d.agregaSiAusente(null, "X");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            d.agregaSiAusente("X", null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#computa}.
+     */
+    @Test public void testComputa() {
+        DiccionarioConcurrente<String, Integer> d =
+            new DiccionarioConcurrente<String, Integer>();
+        Assert.assertTrue(d.computa("a", (k, v) -> null) == null);
+        Assert.assertTrue(d.esVacio());
+        Assert.assertTrue(d.computa("a", (k, v) -> v == null ? 1 : v + 1) == 1);
+        Assert.assertTrue(d.computa("a", (k, v) -> v == null ? 1 : v + 1) == 2);
+        Assert.assertTrue(d.get("a") == 2);
+        Assert.assertTrue(d.getElementos() == 1);
+        Assert.assertTrue(d.computa("a", (k, v) -> null) == null);
+        Assert.assertFalse(d.contiene("a"));
+        Assert.assertTrue(d.esVacio());
+    }
+
+    /**
+     * Prueba que varios hilos puedan agregar, leer y eliminar a la vez, y que
+     * {@link DiccionarioConcurrente#computa} sea atómico.
+     */
+    @Test public void testHilos() throws InterruptedException {
+        final DiccionarioConcurrente<Integer, Integer> d =
+            new DiccionarioConcurrente<Integer, Integer>();
+        final int h = 4, n = total * 64;
+        Thread[] hilos = new Thread[h];
+        for (int i = 0; i < h; i++) {
+            final int hilo = i;
+            hilos[i] = new Thread(() -> {
+                for (int j = hilo; j < n; j += h) {
+                    d.agrega(j, j);
+                    if (!d.contiene(j) || d.get(j) != j)
+                        throw new IllegalStateException();
+                    d.computa(-1, (k, v) -> v == null ? 1 : v + 1);
+                    if (j % 3 == 0)
+                        d.elimina(j);
+                }
+            });
+            hilos[i].start();
+        }
+        for (Thread hilo : hilos)
+            hilo.join();
+        Assert.assertTrue(d.get(-1) == n);
+        int c = 0;
+        for (int j = 0; j < n; j++) {
+            Assert.assertTrue(d.contiene(j) == (j % 3 != 0));
+            if (j % 3 != 0)
+                c++;
+        }
+        Assert.assertTrue(d.getElementos() == c + 1);
+        Assert.assertTrue(d.carga() < 2 * Diccionario.MAXIMA_CARGA);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#DiccionarioConcurrente(int,double)} y {@link
+     * DiccionarioConcurrente#getCargaMaxima}.
+     */
+    @Test public void testConstructorCarga() {
+        UtilTestDiccionario.constructorCarga(
+            c -> new DiccionarioConcurrente<String, String>(total, c), total, 2 * 0.5,
+            0.0, -1.0, Double.NaN);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#asegurarCapacidad}.
+     */
+    @Test public void testAsegurarCapacidad() {
+        UtilTestDiccionario.asegurarCapacidad(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#compacta}.
+     */
+    @Test public void testCompacta() {
+        UtilTestDiccionario.compacta(diccionario, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#agregaTodos}.
+     */
+    @Test public void testAgregaTodos() {
+        UtilTestDiccionario.agregaTodos(diccionario, total * 4);
+    }
+}
@@ -1,10 +1,20 @@
 package mx.unam.ciencias.edd.test;
 
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Random;
 import mx.unam.ciencias.edd.AlgoritmoPicadillo;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
 import mx.unam.ciencias.edd.FabricaPicadillos;
 import mx.unam.ciencias.edd.Picadillo;
+import mx.unam.ciencias.edd.PicadilloIncremental;
+import mx.unam.ciencias.edd.PicadilloLote;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 
 /**
@@ -13,6 +23,7 @@ import org.junit.Test;
 public class TestFabricaPicadillos {
 
     private Picadillo<String> picadillo;
+    private Random random = new Random();
     private String[] mensajes = {
         "a",
         "ab",
@@ -104,4 +115,307 @@ public class TestFabricaPicadillos {
         for (String mensaje : mensajes)
             Assert.assertTrue(bj.picadillo(mensaje) == picadillosXOR[i++]);
     }
+
+    /* Regresa los picadillos de las otras entradas, que deben coincidir con
+     * el de la cadena. */
+    private void revisaEntradas(AlgoritmoPicadillo algoritmo, String mensaje,
+                                int esperado) {
+        byte[] k = mensaje.getBytes(StandardCharsets.UTF_8);
+        byte[] relleno = new byte[k.length + 7];
+        random.nextBytes(relleno);
+        System.arraycopy(k, 0, relleno, 3, k.length);
+        Assert.assertTrue(FabricaPicadillos.getInstanciaBytes(algoritmo)
+                          .picadillo(k) == esperado);
+        Assert.assertTrue(FabricaPicadillos.picadillo(algoritmo, relleno, 3,
+                                                      k.length) == esperado);
+        Picadillo<ByteBuffer> b =
+            FabricaPicadillos.getInstanciaByteBuffer(algoritmo);
+        ByteBuffer monton = ByteBuffer.wrap(relleno, 3, k.length);
+        Assert.assertTrue(b.picadillo(monton) == esperado);
+        Assert.assertTrue(b.picadillo(monton.slice()) == esperado);
+        Assert.assertTrue(b.picadillo(monton.asReadOnlyBuffer()) == esperado);
+        Assert.assertTrue(monton.position() == 3);
+        ByteBuffer directo = ByteBuffer.allocateDirect(relleno.length);
+        directo.put(relleno);
+        directo.position(3);
+        directo.limit(3 + k.length);
+        Assert.assertTrue(b.picadillo(directo) == esperado);
+        Assert.assertTrue(FabricaPicadillos.getInstanciaCharSequence(algoritmo)
+                          .picadillo(new StringBuilder(mensaje)) == esperado);
+        Picadillo<String> cadenas =
+            FabricaPicadillos.getInstanciaCharSequence(algoritmo);
+        Assert.assertTrue(cadenas.picadillo(mensaje) == esperado);
+    }
+
+    /**
+     * Prueba que los picadillos de arreglos de bytes, {@link ByteBuffer}s y
+     * {@link CharSequence}s coincidan con los de las cadenas.
+     */
+    @Test public void testOtrasEntradas() {
+        String[] otros = { "", "a\u00f1o", "\u20acuro", "\ud83d\ude00 cara",
+                           "suelto \ud83d", "\ude00 suelto" };
+        for (AlgoritmoPicadillo algoritmo : AlgoritmoPicadillo.values()) {
+            Picadillo<byte[]> bytes =
+                FabricaPicadillos.getInstanciaBytes(algoritmo);
+            for (String mensaje : mensajes)
+                revisaEntradas(algoritmo, mensaje,
+                               FabricaPicadillos.getInstancia(algoritmo)
+                               .picadillo(mensaje));
+            for (String mensaje : otros)
+                revisaEntradas(algoritmo, mensaje,
+                               bytes.picadillo(mensaje.getBytes(StandardCharsets.UTF_8)));
+        }
+        try {
+            FabricaPicadillos.picadillo(AlgoritmoPicadillo.BJ_STRING,
+                                        new byte[4], 2, 3);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+    }
+
+    /**
+     * Prueba que picar arreglos de bytes no cree objetos, ni siquiera antes
+     * de que el compilador en tiempo de ejecución elimine las asignaciones
+     * por análisis de escape.
+     */
+    @Test public void testSinAsignaciones() {
+        java.lang.management.ThreadMXBean t =
+            ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(t instanceof ThreadMXBean);
+        ThreadMXBean hilos = (ThreadMXBean)t;
+        Assume.assumeTrue(hilos.isThreadAllocatedMemorySupported() &&
+                          hilos.isThreadAllocatedMemoryEnabled());
+        long id = Thread.currentThread().getId();
+        byte[] k = new byte[1024];
+        random.nextBytes(k);
+        for (AlgoritmoPicadillo algoritmo : AlgoritmoPicadillo.values()) {
+            Picadillo<byte[]> p = FabricaPicadillos.getInstanciaBytes(algoritmo);
+            int h = p.picadillo(k);
+            long antes = hilos.getThreadAllocatedBytes(id);
+            for (int i = 0; i < 100; i++)
+                h ^= p.picadillo(k);
+            long despues = hilos.getThreadAllocatedBytes(id);
+            Assert.assertTrue(despues - antes < 1024);
+        }
+    }
+
+    /* Revisa los picadillos de 64 bits de los mensajes contra los
+     * esperados, y que el picadillo de 32 bits sean sus bits bajos. */
+    private void revisaReferencias(AlgoritmoPicadillo algoritmo,
+                                   String[] mensajes, long[] esperados) {
+        Picadillo<String> p = FabricaPicadillos.getInstancia(algoritmo);
+        for (int i = 0; i < mensajes.length; i++) {
+            byte[] k = mensajes[i].getBytes(StandardCharsets.UTF_8);
+            Assert.assertTrue(FabricaPicadillos.picadillo64(algoritmo, k, 0,
+                                                            k.length) ==
+                              esperados[i]);
+            Assert.assertTrue(p.picadillo(mensajes[i]) == (int)esperados[i]);
+        }
+    }
+
+    /**
+     * Prueba xxHash, MurmurHash3 y wyhash con vectores de sus
+     * implementaciones de referencia.
+     */
+    @Test public void testReferencias() {
+        String[] m = { "", "a", "abc", "Nobody inspects the spammish repetition",
+                       "The quick brown fox jumps over the lazy dog" };
+        revisaReferencias(AlgoritmoPicadillo.XXHASH32,
+                          Arrays.copyOf(m, 4),
+                          new long[] { 0x02cc5d05L, 0x550d7456L, 0x32d153ffL,
+                                       0xe2293b2fL });
+        revisaReferencias(AlgoritmoPicadillo.XXHASH64,
+                          Arrays.copyOf(m, 4),
+                          new long[] { 0xef46db3751d8e999L, 0xd24ec4f1a98c6e5bL,
+                                       0x44bc2cf5ad770999L, 0xfbcea83c8a378bf1L });
+        revisaReferencias(AlgoritmoPicadillo.MURMUR3, m,
+                          new long[] { 0x00000000L, 0x3c2569b2L, 0xb3dd93faL,
+                                       0x3126f6e3L, 0x2e4ff723L });
+        revisaReferencias(AlgoritmoPicadillo.WYHASH, Arrays.copyOf(m, 1),
+                          new long[] { 0x93228a4de0eec5a2L });
+    }
+
+    /**
+     * Prueba que con semilla 0 los picadillos sean los de siempre, que otras
+     * semillas los cambien, y wyhash con semilla contra los vectores de su
+     * implementación de referencia.
+     */
+    @Test public void testSemillas() {
+        long semilla = random.nextLong() | 1;
+        for (AlgoritmoPicadillo algoritmo : AlgoritmoPicadillo.values()) {
+            Picadillo<String> p = FabricaPicadillos.getInstancia(algoritmo);
+            Picadillo<String> cero = FabricaPicadillos.getInstancia(algoritmo, 0);
+            Picadillo<String> otra =
+                FabricaPicadillos.getInstancia(algoritmo, semilla);
+            Assert.assertTrue(FabricaPicadillos.getInstancia(algoritmo, semilla)
+                              .picadillo("a") == otra.picadillo("a"));
+            int distintos = 0;
+            for (String mensaje : mensajes) {
+                byte[] k = mensaje.getBytes(StandardCharsets.UTF_8);
+                Assert.assertTrue(cero.picadillo(mensaje) == p.picadillo(mensaje));
+                Assert.assertTrue(FabricaPicadillos.picadillo64(algoritmo, k, 0,
+                                                                k.length, 0) ==
+                                  FabricaPicadillos.picadillo64(algoritmo, k, 0,
+                                                                k.length));
+                int h = otra.picadillo(mensaje);
+                Assert.assertTrue(FabricaPicadillos.picadillo(algoritmo, k, 0,
+                                                              k.length,
+                                                              semilla) == h);
+                if (h != p.picadillo(mensaje))
+                    distintos++;
+            }
+            Assert.assertTrue(distintos > mensajes.length / 2);
+        }
+        String[] m = { "a", "abc", "message digest",
+                       "abcdefghijklmnopqrstuvwxyz",
+                       "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789",
+                       "1234567890123456789012345678901234567890" +
+                       "1234567890123456789012345678901234567890" };
+        long[] esperados = { 0xc5bac3db178713c4L, 0xa97f2f7b1d9b3314L,
+                             0x786d1f1df3801df4L, 0xdca5a8138ad37c87L,
+                             0xb9e734f117cfaf70L, 0x6cc5eab49a92d617L };
+        for (int i = 0; i < m.length; i++) {
+            byte[] k = m[i].getBytes(StandardCharsets.UTF_8);
+            Assert.assertTrue(FabricaPicadillos.picadillo64(AlgoritmoPicadillo.WYHASH,
+                                                            k, 0, k.length,
+                                                            i + 1) ==
+                              esperados[i]);
+        }
+    }
+
+    /* Regresa las 2^n cadenas formadas por n bloques "Ab" o "BA"; como
+     * 33*'A' + 'b' == 33*'B' + 'A', todas tienen el mismo picadillo de
+     * GLib, con cualquier semilla. */
+    private String[] inundacion(int n) {
+        String[] llaves = new String[1 << n];
+        for (int i = 0; i < llaves.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < n; j++)
+                sb.append((i & (1 << j)) == 0 ? "Ab" : "BA");
+            llaves[i] = sb.toString();
+        }
+        return llaves;
+    }
+
+    /* Regresa la colisión máxima de un diccionario con las llaves y el
+     * picadillo. */
+    private int colisionMaxima(String[] llaves, Picadillo<String> p) {
+        Diccionario<String, String> d = new Diccionario<String, String>(p);
+        for (String llave : llaves)
+            d.agrega(llave, llave);
+        Assert.assertTrue(d.getElementos() == llaves.length);
+        return d.colisionMaxima();
+    }
+
+    /**
+     * Prueba que llaves hechas para chocar con GLib, aun con semilla, no
+     * choquen con SipHash ni con wyhash con semilla.
+     */
+    @Test public void testInundacion() {
+        String[] llaves = inundacion(10);
+        long semilla = random.nextLong();
+        Assert.assertTrue(colisionMaxima(llaves, FabricaPicadillos.getInstancia(
+                              AlgoritmoPicadillo.GLIB_STRING, semilla)) ==
+                          llaves.length - 1);
+        Assert.assertTrue(colisionMaxima(llaves, FabricaPicadillos.getInstancia(
+                              AlgoritmoPicadillo.SIPHASH13, semilla)) < 16);
+        Assert.assertTrue(colisionMaxima(llaves, FabricaPicadillos.getInstancia(
+                              AlgoritmoPicadillo.WYHASH, semilla)) < 16);
+    }
+
+    /**
+     * Prueba que los lotes de {@link FabricaPicadillos#getInstancia} den los
+     * mismos picadillos que las cadenas una por una.
+     */
+    @SuppressWarnings("unchecked") @Test public void testLotes() {
+        long semilla = random.nextLong();
+        for (AlgoritmoPicadillo algoritmo : AlgoritmoPicadillo.values()) {
+            PicadilloLote<String>[] lotes = (PicadilloLote<String>[])new PicadilloLote<?>[] {
+                FabricaPicadillos.getInstancia(algoritmo),
+                FabricaPicadillos.getInstancia(algoritmo, semilla)
+            };
+            for (PicadilloLote<String> lote : lotes) {
+                for (int n = 0; n < 10; n++) {
+                    String[] llaves = new String[n];
+                    for (int i = 0; i < n; i++)
+                        llaves[i] = mensajes[random.nextInt(mensajes.length)];
+                    int[] salida = new int[n + 1];
+                    lote.picadillos(llaves, salida);
+                    for (int i = 0; i < n; i++)
+                        Assert.assertTrue(salida[i] == lote.picadillo(llaves[i]));
+                    Assert.assertTrue(salida[n] == 0);
+                }
+                try {
+                    lote.picadillos(mensajes, new int[1]);
+                    Assert.fail();
+                } catch (IllegalArgumentException iae) {}
+            }
+        }
+    }
+
+    /**
+     * Prueba que {@link FabricaPicadillos#getInstancia} regrese siempre la
+     * misma instancia para cada algoritmo, y una distinta para cada uno.
+     */
+    @Test public void testGetInstanciaUnica() {
+        AlgoritmoPicadillo[] algoritmos = AlgoritmoPicadillo.values();
+        for (AlgoritmoPicadillo a : algoritmos) {
+            Picadillo<String> p = FabricaPicadillos.getInstancia(a);
+            Assert.assertTrue(FabricaPicadillos.getInstancia(a) == p);
+            for (AlgoritmoPicadillo b : algoritmos)
+                if (a != b)
+                    Assert.assertTrue(FabricaPicadillos.getInstancia(b) != p);
+        }
+    }
+
+    /**
+     * Prueba que {@link FabricaPicadillos#getInstanciaIncremental} dé el
+     * picadillo de la entrada completa sin importar cómo se corte, que
+     * finalizar no cambie el estado, y que reiniciar lo olvide.
+     */
+    @Test public void testIncremental() {
+        byte[] k = new byte[1000];
+        random.nextBytes(k);
+        long semilla = random.nextLong();
+        for (AlgoritmoPicadillo algoritmo : AlgoritmoPicadillo.values()) {
+            PicadilloIncremental p =
+                FabricaPicadillos.getInstanciaIncremental(algoritmo, semilla);
+            for (int n = 0; n <= k.length; n += 1 + n / 8) {
+                long esperado = FabricaPicadillos.picadillo64(algoritmo, k, 0,
+                                                              n, semilla);
+                for (int vuelta = 0; vuelta < 4; vuelta++) {
+                    p.reinicia();
+                    int i = 0;
+                    while (i < n) {
+                        int l = vuelta == 0 ? 1 :
+                            Math.min(n - i, random.nextInt(vuelta * 40));
+                        p.actualiza(k, i, l);
+                        i += l;
+                    }
+                    Assert.assertTrue(p.finaliza64() == esperado);
+                    Assert.assertTrue(p.finaliza() == (int)esperado);
+                    Assert.assertTrue(p.finaliza() ==
+                                      FabricaPicadillos.picadillo(algoritmo, k,
+                                                                  0, n, semilla));
+                }
+            }
+            p.reinicia();
+            p.actualiza(k, 0, 100);
+            long h = p.finaliza64();
+            p.actualiza(k, 100, 0);
+            Assert.assertTrue(p.finaliza64() == h);
+            p.actualiza(k, 100, 200);
+            Assert.assertTrue(p.finaliza64() ==
+                              FabricaPicadillos.picadillo64(algoritmo, k, 0,
+                                                            300, semilla));
+            PicadilloIncremental q =
+                FabricaPicadillos.getInstanciaIncremental(algoritmo);
+            q.actualiza(k, 0, 0);
+            Assert.assertTrue(q.finaliza64() ==
+                              FabricaPicadillos.picadillo64(algoritmo, k, 0, 0));
+            try {
+                q.actualiza(k, 990, 11);
+                Assert.fail();
+            } catch (ExcepcionIndiceInvalido eii) {}
+        }
+    }
 }
@@ -318,8 +318,10 @@ public class TestGrafica {
         grafica.conecta(3, 5);
         grafica.conecta(3, 6);
         int[] c = { 0 };
-        int[] a = { 0, 1, 2, 3, 4, 5, 6 };
-        grafica.bfs(0, (v) -> Assert.assertTrue(v.getElemento() == a[c[0]++]));
+        int[] nivel = { 0, 1, 1, 2, 2, 3, 3 };
+        grafica.bfs(0, (v) -> Assert.assertTrue(nivel[v.getElemento()] ==
+                                                nivel[c[0]++]));
+        Assert.assertTrue(c[0] == 7);
         grafica = new Grafica<Integer>();
         for (int i = 0; i < total; i++)
             grafica.agrega(i);
@@ -350,9 +352,11 @@ public class TestGrafica {
         grafica.conecta(1, 4);
         grafica.conecta(3, 5);
         grafica.conecta(3, 6);
-        int[] c = { 0 };
-        int[] a = { 0, 2, 1, 4, 3, 6, 5 };
-        grafica.dfs(0, (v) -> Assert.assertTrue(v.getElemento() == a[c[0]++]));
+        Lista<Integer> orden = new Lista<Integer>();
+        grafica.dfs(0, (v) -> orden.agrega(v.getElemento()));
+        int[] padre = { -1, 0, 0, 1, 1, 3, 3 };
+        int[] tam = { 7, 5, 1, 3, 1, 1, 1 };
+        esPreorden(orden, padre, tam);
         grafica = new Grafica<Integer>();
         for (int i = 0; i < total; i++)
             grafica.agrega(i);
@@ -371,6 +375,24 @@ public class TestGrafica {
                                                          Color.NINGUNO));
     }
 
+    /* Revisa que el orden recorra el árbol en preorden: cada vértice sale
+     * después de su padre, y los tam[v] vértices del subárbol de v salen
+     * juntos empezando por v. */
+    private void esPreorden(Lista<Integer> orden, int[] padre, int[] tam) {
+        Assert.assertTrue(orden.getLongitud() == padre.length);
+        int[] posicion = new int[padre.length];
+        int p = 0;
+        for (Integer v : orden)
+            posicion[v] = p++;
+        for (int v = 0; v < padre.length; v++) {
+            if (padre[v] == -1)
+                continue;
+            int u = padre[v];
+            Assert.assertTrue(posicion[u] < posicion[v]);
+            Assert.assertTrue(posicion[v] + tam[v] <= posicion[u] + tam[u]);
+        }
+    }
+
     /**
      * Prueba unitaria para {@link Grafica#esVacio}.
      */
@@ -386,9 +408,14 @@ public class TestGrafica {
     @Test public void testIterator() {
         for (int i = 0; i < total; i++)
             grafica.agrega(i);
+        boolean[] visto = new boolean[total];
         int c = 0;
-        for (Integer i : grafica)
-            Assert.assertTrue(i == c++);
+        for (Integer i : grafica) {
+            Assert.assertFalse(visto[i]);
+            visto[i] = true;
+            c++;
+        }
+        Assert.assertTrue(c == total);
     }
 
     /**
@@ -526,4 +553,30 @@ public class TestGrafica {
         for (VerticeGrafica<Integer> v : dijkstra)
             Assert.assertTrue(v.getElemento() == c++);
     }
+
+    /**
+     * Prueba unitaria para {@link Grafica#setRecorridosEnArreglo}: BFS y DFS
+     * visitan los vértices en el mismo orden con colas y pilas ligadas o
+     * sobre arreglos.
+     */
+    @Test public void testRecorridosEnArreglo() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 0; i < total * 2; i++) {
+            int a = random.nextInt(total), b = random.nextInt(total);
+            if (a != b && !grafica.sonVecinos(a, b))
+                grafica.conecta(a, b);
+        }
+        Lista<Integer> bfs = new Lista<Integer>();
+        Lista<Integer> dfs = new Lista<Integer>();
+        grafica.bfs(0, (v) -> bfs.agrega(v.getElemento()));
+        grafica.dfs(0, (v) -> dfs.agrega(v.getElemento()));
+        grafica.setRecorridosEnArreglo(false);
+        Lista<Integer> bfsLigada = new Lista<Integer>();
+        Lista<Integer> dfsLigada = new Lista<Integer>();
+        grafica.bfs(0, (v) -> bfsLigada.agrega(v.getElemento()));
+        grafica.dfs(0, (v) -> dfsLigada.agrega(v.getElemento()));
+        Assert.assertTrue(bfs.equals(bfsLigada));
+        Assert.assertTrue(dfs.equals(dfsLigada));
+    }
 }
@@ -0,0 +1,108 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.IntConjunto;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link IntConjunto}.
+ */
+public class TestIntConjunto {
+
+    private int total;
+    private Random random;
+    private IntConjunto conjunto;
+
+    private static final int N = 64;
+
+    /**
+     * Crea un conjunto para cada prueba.
+     */
+    public TestIntConjunto() {
+        random = new Random();
+        total = N + random.nextInt(N);
+        conjunto = new IntConjunto();
+    }
+
+    /**
+     * Prueba unitaria para {@link IntConjunto#agrega}, {@link
+     * IntConjunto#contiene} y {@link IntConjunto#elimina}.
+     */
+    @Test public void testAgregaElimina() {
+        Assert.assertTrue(conjunto.esVacio());
+        for (int i = -total; i < total; i++) {
+            conjunto.agrega(i);
+            conjunto.agrega(i);
+            Assert.assertTrue(conjunto.contiene(i));
+        }
+        Assert.assertTrue(conjunto.getElementos() == total * 2);
+        for (int i = -total; i < total; i += 2) {
+            conjunto.elimina(i);
+            conjunto.elimina(i);
+        }
+        for (int i = -total; i < total; i++)
+            Assert.assertTrue(conjunto.contiene(i) == ((i + total) % 2 == 1));
+        Assert.assertTrue(conjunto.getElementos() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link IntConjunto#interseccion} y {@link
+     * IntConjunto#union}.
+     */
+    @Test public void testInterseccionUnion() {
+        IntConjunto otro = new IntConjunto();
+        for (int i = 0; i < total; i++) {
+            conjunto.agrega(i);
+            otro.agrega(i + total / 2);
+        }
+        IntConjunto interseccion = conjunto.interseccion(otro);
+        IntConjunto union = conjunto.union(otro);
+        Assert.assertTrue(interseccion.getElementos() == total - total / 2);
+        Assert.assertTrue(union.getElementos() == total + total / 2);
+        for (int i = 0; i < total + total / 2; i++) {
+            Assert.assertTrue(union.contiene(i));
+            Assert.assertTrue(interseccion.contiene(i) ==
+                              (i >= total / 2 && i < total));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link IntConjunto#equals}.
+     */
+    @Test public void testEquals() {
+        IntConjunto otro = new IntConjunto(total);
+        Assert.assertTrue(conjunto.equals(otro));
+        for (int i = 0; i < total; i++) {
+            int e = random.nextInt();
+            conjunto.agrega(e);
+            otro.agrega(e);
+        }
+        Assert.assertTrue(conjunto.equals(otro));
+        otro.agrega(0);
+        conjunto.agrega(1);
+        Assert.assertFalse(conjunto.equals(otro));
+    }
+
+    /**
+     * Prueba unitaria para {@link IntConjunto#hashCode}: conjuntos iguales
+     * llenados en distinto orden y con distinta capacidad tienen el mismo
+     * picadillo.
+     */
+    @Test public void testHashCode() {
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++)
+            a[i] = random.nextInt();
+        IntConjunto otro = new IntConjunto();
+        Assert.assertTrue(conjunto.hashCode() == otro.hashCode());
+        for (int i = 0; i < total; i++) {
+            conjunto.agrega(a[i]);
+            otro.agrega(a[total - 1 - i]);
+        }
+        Assert.assertTrue(conjunto.equals(otro));
+        Assert.assertTrue(conjunto.hashCode() == otro.hashCode());
+        otro.elimina(a[0]);
+        otro.agrega(a[0]);
+        Assert.assertTrue(conjunto.hashCode() == otro.hashCode());
+    }
+}
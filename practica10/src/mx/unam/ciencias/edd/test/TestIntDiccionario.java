@@ -0,0 +1,152 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.IntDiccionario;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link IntDiccionario}.
+ */
+public class TestIntDiccionario {
+
+    private int total;
+    private Random random;
+    private IntDiccionario<String> diccionario;
+
+    private static final int N = 64;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestIntDiccionario() {
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new IntDiccionario<String>(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link IntDiccionario#IntDiccionario}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacio());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.llaves().length == 0);
+        Assert.assertTrue(diccionario.valores().getLongitud() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertTrue(diccionario.colisionMaxima() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link IntDiccionario#agrega} y {@link
+     * IntDiccionario#get}, incluyendo la llave 0 y llaves negativas.
+     */
+    @Test public void testAgrega() {
+        int[] especiales = { 0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE };
+        for (int k : especiales) {
+            Assert.assertFalse(diccionario.contiene(k));
+            diccionario.agrega(k, String.valueOf(k));
+            Assert.assertTrue(diccionario.get(k).equals(String.valueOf(k)));
+        }
+        for (int i = 1; i <= total * 4; i++) {
+            diccionario.agrega(i * 64, String.valueOf(i));
+            Assert.assertTrue(diccionario.get(i * 64).equals(String.valueOf(i)));
+            Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+        }
+        Assert.assertTrue(diccionario.getElementos() == total * 4 + 4);
+        diccionario.agrega(0, "cero");
+        Assert.assertTrue(diccionario.get(0).equals("cero"));
+        Assert.assertTrue(diccionario.getElementos() == total * 4 + 4);
+        for (int k : especiales)
+            Assert.assertTrue(diccionario.contiene(k));
+        try {
+            diccionario.agrega(1, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.get(1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link IntDiccionario#elimina}, comparando contra
+     * un {@link Diccionario}.
+     */
+    @Test public void testElimina() {
+        Diccionario<Integer, String> d = new Diccionario<Integer, String>();
+        for (int i = 0; i < total * 8; i++) {
+            int k = random.nextInt(total * 2) - total;
+            String v = String.valueOf(random.nextInt());
+            if (random.nextBoolean()) {
+                diccionario.agrega(k, v);
+                d.agrega(k, v);
+            } else if (d.contiene(k)) {
+                diccionario.elimina(k);
+                d.elimina(k);
+            } else {
+                try {
+                    diccionario.elimina(k);
+                    Assert.fail();
+                } catch (NoSuchElementException nsee) {}
+            }
+            Assert.assertTrue(diccionario.getElementos() == d.getElementos());
+        }
+        for (int k = -total; k < total; k++) {
+            Assert.assertTrue(diccionario.contiene(k) == d.contiene(k));
+            if (d.contiene(k))
+                Assert.assertTrue(diccionario.get(k).equals(d.get(k)));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link IntDiccionario#llaves} y {@link
+     * IntDiccionario#valores}.
+     */
+    @Test public void testLlavesValores() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        int[] llaves = diccionario.llaves();
+        Lista<String> valores = diccionario.valores();
+        Assert.assertTrue(llaves.length == total);
+        Assert.assertTrue(valores.getLongitud() == total);
+        for (int llave : llaves)
+            Assert.assertTrue(valores.contiene(String.valueOf(llave)));
+    }
+
+    /**
+     * Prueba unitaria para {@link IntDiccionario#colisiones} y {@link
+     * IntDiccionario#colisionMaxima}.
+     */
+    @Test public void testColisiones() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        Assert.assertTrue(diccionario.colisiones() <= total);
+        Assert.assertTrue(diccionario.colisionMaxima() < total);
+        Assert.assertTrue((diccionario.colisiones() == 0) ==
+                          (diccionario.colisionMaxima() == 0));
+    }
+
+    /**
+     * Prueba unitaria para {@link IntDiccionario#iterator}.
+     */
+    @Test public void testIterator() {
+        Lista<String> lista = new Lista<String>();
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(i - total / 2, String.valueOf(i));
+            lista.agrega(String.valueOf(i));
+        }
+        int c = 0;
+        for (String s : diccionario) {
+            Assert.assertTrue(lista.contiene(s));
+            lista.elimina(s);
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        Assert.assertTrue(lista.esVacio());
+    }
+}
@@ -0,0 +1,89 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.IntIntDiccionario;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link IntIntDiccionario}.
+ */
+public class TestIntIntDiccionario {
+
+    private int total;
+    private Random random;
+    private IntIntDiccionario diccionario;
+
+    private static final int N = 64;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestIntIntDiccionario() {
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new IntIntDiccionario();
+    }
+
+    /**
+     * Prueba unitaria para {@link IntIntDiccionario#agrega} y {@link
+     * IntIntDiccionario#get}.
+     */
+    @Test public void testAgrega() {
+        for (int i = 0; i < total * 4; i++) {
+            diccionario.agrega(i << 16, -i);
+            Assert.assertTrue(diccionario.get(i << 16) == -i);
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+            Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+        }
+        diccionario.agrega(0, 7);
+        Assert.assertTrue(diccionario.get(0) == 7);
+        Assert.assertTrue(diccionario.getElementos() == total * 4);
+        try {
+            diccionario.get(1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link IntIntDiccionario#elimina}, comparando
+     * contra un {@link Diccionario}.
+     */
+    @Test public void testElimina() {
+        Diccionario<Integer, Integer> d = new Diccionario<Integer, Integer>();
+        for (int i = 0; i < total * 8; i++) {
+            int k = random.nextInt(total * 2) - total;
+            int v = random.nextInt();
+            if (random.nextBoolean()) {
+                diccionario.agrega(k, v);
+                d.agrega(k, v);
+            } else if (d.contiene(k)) {
+                diccionario.elimina(k);
+                d.elimina(k);
+            }
+            Assert.assertTrue(diccionario.getElementos() == d.getElementos());
+        }
+        for (int k = -total; k < total; k++) {
+            Assert.assertTrue(diccionario.contiene(k) == d.contiene(k));
+            if (d.contiene(k))
+                Assert.assertTrue(diccionario.get(k) == d.get(k));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link IntIntDiccionario#llaves} y {@link
+     * IntIntDiccionario#valores}.
+     */
+    @Test public void testLlavesValores() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, i * 3);
+        int[] llaves = diccionario.llaves();
+        int[] valores = diccionario.valores();
+        Assert.assertTrue(llaves.length == total);
+        Assert.assertTrue(valores.length == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(valores[i] == llaves[i] * 3);
+    }
+}
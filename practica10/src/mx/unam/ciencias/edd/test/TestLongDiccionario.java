@@ -0,0 +1,105 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.LongDiccionario;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link LongDiccionario}.
+ */
+public class TestLongDiccionario {
+
+    private int total;
+    private Random random;
+    private LongDiccionario<String> diccionario;
+
+    private static final int N = 64;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestLongDiccionario() {
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new LongDiccionario<String>(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link LongDiccionario#agrega} y {@link
+     * LongDiccionario#get}.
+     */
+    @Test public void testAgrega() {
+        long[] especiales = { 0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE };
+        for (long k : especiales) {
+            diccionario.agrega(k, String.valueOf(k));
+            Assert.assertTrue(diccionario.get(k).equals(String.valueOf(k)));
+        }
+        for (long i = 1; i <= total * 4; i++) {
+            diccionario.agrega(i << 32, String.valueOf(i));
+            Assert.assertTrue(diccionario.get(i << 32).equals(String.valueOf(i)));
+            Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+        }
+        Assert.assertTrue(diccionario.getElementos() == total * 4 + 4);
+        for (long k : especiales)
+            Assert.assertTrue(diccionario.contiene(k));
+        Assert.assertTrue(diccionario.llaves().length == total * 4 + 4);
+        try {
+            diccionario.get(1L);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            diccionario.agrega(1L, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link LongDiccionario#elimina}, comparando contra
+     * un {@link Diccionario}.
+     */
+    @Test public void testElimina() {
+        Diccionario<Long, String> d = new Diccionario<Long, String>();
+        for (int i = 0; i < total * 8; i++) {
+            long k = (long)(random.nextInt(total * 2) - total) << 40;
+            String v = String.valueOf(random.nextInt());
+            if (random.nextBoolean()) {
+                diccionario.agrega(k, v);
+                d.agrega(k, v);
+            } else if (d.contiene(k)) {
+                diccionario.elimina(k);
+                d.elimina(k);
+            }
+            Assert.assertTrue(diccionario.getElementos() == d.getElementos());
+        }
+        for (long k = -total; k < total; k++) {
+            Assert.assertTrue(diccionario.contiene(k << 40) == d.contiene(k << 40));
+            if (d.contiene(k << 40))
+                Assert.assertTrue(diccionario.get(k << 40).equals(d.get(k << 40)));
+        }
+        Assert.assertTrue(diccionario.colisionMaxima() < total);
+        Assert.assertTrue((diccionario.colisiones() == 0) ==
+                          (diccionario.colisionMaxima() == 0));
+    }
+
+    /**
+     * Prueba unitaria para {@link LongDiccionario#iterator}.
+     */
+    @Test public void testIterator() {
+        Lista<String> lista = new Lista<String>();
+        for (long i = 0; i < total; i++) {
+            diccionario.agrega(i, String.valueOf(i));
+            lista.agrega(String.valueOf(i));
+        }
+        int c = 0;
+        for (String s : diccionario) {
+            Assert.assertTrue(lista.contiene(s));
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        Assert.assertTrue(diccionario.valores().getLongitud() == total);
+    }
+}
@@ -0,0 +1,228 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.Random;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioAbierto;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+import mx.unam.ciencias.edd.Finalizador;
+import mx.unam.ciencias.edd.MetricasDiccionario;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MetricasDiccionario}.
+ */
+public class TestMetricasDiccionario {
+
+    private int total;
+    private Random random;
+    private Diccionario<Integer, Integer> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestMetricasDiccionario() {
+        random = new Random();
+        total = 64 + random.nextInt(64);
+        diccionario = new Diccionario<Integer, Integer>();
+    }
+
+    /* Llena el diccionario con total llaves, consulta todas y consulta
+     * otras tantas que no están. */
+    private void consultas(Diccionario<Integer, Integer> d) {
+        for (int i = 0; i < total; i++)
+            d.agrega(i, i);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(d.get(i) == i);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(d.contiene(-1 - i));
+    }
+
+    /**
+     * Prueba que se cuenten los aciertos, los fallos y las operaciones.
+     */
+    @Test public void testConsultas() {
+        MetricasDiccionario m = diccionario.getMetricas();
+        Assert.assertTrue(diccionario.getMetricas() == m);
+        consultas(diccionario);
+        MetricasDiccionario.Instantanea i = m.instantanea();
+        Assert.assertTrue(i.getAciertos() == total);
+        Assert.assertTrue(i.getFallos() == total);
+        Assert.assertTrue(i.getOperaciones() == total * 3);
+        Assert.assertTrue(i.getElementos() == total);
+        Assert.assertTrue(i.getCarga() == diccionario.carga());
+        m.reinicia();
+        i = m.instantanea();
+        Assert.assertTrue(i.getOperaciones() == 0);
+        Assert.assertTrue(i.getAciertos() == 0);
+    }
+
+    /**
+     * Prueba que el histograma de sondeos delate un picadillo malo.
+     */
+    @Test public void testSondeos() {
+        diccionario.setFinalizador(Finalizador.NINGUNO);
+        consultas(diccionario);
+        diccionario.getMetricas();
+        consultas(diccionario);
+        MetricasDiccionario.Instantanea buena =
+            diccionario.getMetricas().instantanea();
+        Assert.assertTrue(buena.getSondeoMaximo() <= 2);
+        Assert.assertTrue(buena.getSondeoPromedio() <= 1.0);
+
+        Diccionario<Integer, Integer> d =
+            new Diccionario<Integer, Integer>((Integer o) -> 7);
+        d.getMetricas();
+        consultas(d);
+        MetricasDiccionario.Instantanea mala = d.getMetricas().instantanea();
+        long[] h = mala.getHistogramaSondeos();
+        Assert.assertTrue(h.length == MetricasDiccionario.SONDEOS + 1);
+        Assert.assertTrue(h[MetricasDiccionario.SONDEOS] > 0);
+        Assert.assertTrue(mala.getSondeoMaximo() == MetricasDiccionario.SONDEOS);
+        Assert.assertTrue(mala.getSondeoPromedio() > buena.getSondeoPromedio());
+        h[0] = -1;
+        Assert.assertTrue(mala.getHistogramaSondeos()[0] != -1);
+    }
+
+    /* Mete cuatro llaves con el mismo picadillo y revisa que cada consulta
+     * cuente exactamente las entradas que compara. */
+    private void sondeosExactos(Diccionario<Integer, Integer> d) {
+        MetricasDiccionario m = d.getMetricas();
+        for (int i = 0; i < 4; i++)
+            d.agrega(i, i);
+        m.reinicia();
+        for (int i = 0; i < 4; i++)
+            Assert.assertTrue(d.get(i) == i);
+        Assert.assertFalse(d.contiene(-1));
+        long[] h = m.instantanea().getHistogramaSondeos();
+        Assert.assertTrue(h[0] == 0);
+        for (int i = 1; i < 4; i++)
+            Assert.assertTrue(h[i] == 1);
+        Assert.assertTrue(h[4] == 2);
+    }
+
+    /**
+     * Prueba que las consultas cuenten exactamente sus sondeos.
+     */
+    @Test public void testSondeosExactos() {
+        sondeosExactos(new Diccionario<Integer, Integer>((Integer o) -> 7));
+        sondeosExactos(new DiccionarioAbierto<Integer, Integer>((Integer o) -> 7));
+    }
+
+    /* Hace las mismas operaciones al azar en el diccionario, con crecimiento
+     * incremental para que haya migraciones. */
+    private void operaciones(Diccionario<Integer, Integer> d, long semilla) {
+        Random r = new Random(semilla);
+        d.setRedimensionIncremental(true);
+        for (int i = 0; i < total * 32; i++) {
+            int k = r.nextInt(total * 16);
+            if (r.nextInt(3) == 0 && d.contiene(k))
+                d.elimina(k);
+            else
+                d.agrega(k, i);
+        }
+    }
+
+    /**
+     * Prueba que el histograma de longitudes que se mantiene en cada
+     * operación coincida con el que se obtiene recorriendo la tabla.
+     */
+    @Test public void testLongitudes() {
+        long semilla = random.nextLong();
+        MetricasDiccionario m = diccionario.getMetricas();
+        operaciones(diccionario, semilla);
+        Diccionario<Integer, Integer> d = new Diccionario<Integer, Integer>();
+        operaciones(d, semilla);
+        long[] h = m.instantanea().getHistogramaLongitudes();
+        Assert.assertTrue(h.length == MetricasDiccionario.LONGITUDES + 1);
+        Assert.assertTrue(Arrays.equals(h, d.getMetricas().instantanea().getHistogramaLongitudes()));
+        long entradas = 0;
+        for (int i = 0; i < h.length; i++) {
+            Assert.assertTrue(h[i] >= 0);
+            entradas += i * h[i];
+        }
+        Assert.assertTrue(entradas == diccionario.getElementos());
+        diccionario.compacta();
+        h = m.instantanea().getHistogramaLongitudes();
+        entradas = 0;
+        for (int i = 0; i < h.length; i++)
+            entradas += i * h[i];
+        Assert.assertTrue(entradas == diccionario.getElementos());
+
+        Diccionario<Integer, Integer> mala =
+            new Diccionario<Integer, Integer>((Integer o) -> 7);
+        mala.getMetricas();
+        consultas(mala);
+        h = mala.getMetricas().instantanea().getHistogramaLongitudes();
+        Assert.assertTrue(h[MetricasDiccionario.LONGITUDES] == 1);
+        for (int i = 1; i < MetricasDiccionario.LONGITUDES; i++)
+            Assert.assertTrue(h[i] == 0);
+    }
+
+    /**
+     * Prueba que se cuenten las redimensiones y su duración.
+     */
+    @Test public void testRedimensiones() {
+        MetricasDiccionario m = diccionario.getMetricas();
+        for (int i = 0; i < total * 16; i++)
+            diccionario.agrega(i, i);
+        MetricasDiccionario.Instantanea i = m.instantanea();
+        Assert.assertTrue(i.getRedimensiones() > 0);
+        Assert.assertTrue(i.getTiempoRedimension() >= i.getRedimensionMaxima());
+        diccionario.asegurarCapacidad(total * 256);
+        Assert.assertTrue(m.instantanea().getRedimensiones() ==
+                          i.getRedimensiones() + 1);
+    }
+
+    /**
+     * Prueba el historial de la carga.
+     */
+    @Test public void testHistorialCarga() {
+        MetricasDiccionario m = diccionario.getMetricas();
+        int n = MetricasDiccionario.MUESTREO * 3;
+        diccionario.asegurarCapacidad(n);
+        for (int i = 0; i < n; i++)
+            diccionario.agrega(i, i);
+        double[] h = m.instantanea().getHistorialCarga();
+        Assert.assertTrue(h.length == 3);
+        Assert.assertTrue(h[0] < h[1] && h[1] < h[2]);
+        Assert.assertTrue(h[2] <= diccionario.carga());
+        for (int i = 0; i < MetricasDiccionario.MUESTREO * 100; i++)
+            diccionario.agrega(i % n, i);
+        Assert.assertTrue(m.instantanea().getHistorialCarga().length <= 64);
+    }
+
+    /**
+     * Prueba que la instantánea se pueda exportar como JSON.
+     */
+    @Test public void testToString() {
+        consultas(diccionario);
+        diccionario.getMetricas();
+        consultas(diccionario);
+        String s = diccionario.getMetricas().instantanea().toString();
+        Assert.assertTrue(s.startsWith("{") && s.endsWith("}"));
+        Assert.assertTrue(s.contains("\"aciertos\": " + total));
+        Assert.assertTrue(s.contains("\"fallos\": " + total));
+        Assert.assertTrue(s.contains("\"sondeos\": ["));
+        Assert.assertTrue(s.contains("\"longitudes\": ["));
+    }
+
+    /**
+     * Prueba las métricas de {@link DiccionarioAbierto} y que {@link
+     * DiccionarioConcurrente} no las tenga.
+     */
+    @Test public void testOtrosDiccionarios() {
+        Diccionario<Integer, Integer> d = new DiccionarioAbierto<Integer, Integer>();
+        MetricasDiccionario m = d.getMetricas();
+        consultas(d);
+        MetricasDiccionario.Instantanea i = m.instantanea();
+        Assert.assertTrue(i.getAciertos() == total);
+        Assert.assertTrue(i.getFallos() == total);
+        Assert.assertTrue(i.getOperaciones() == total * 3);
+        try {
+            new DiccionarioConcurrente<Integer, Integer>().getMetricas();
+            Assert.fail();
+        } catch (UnsupportedOperationException uoe) {}
+    }
+}
@@ -105,4 +105,55 @@ public class TestPila {
             Assert.assertTrue(pila.equals(pila2));
         }
     }
+
+    /**
+     * Prueba unitaria para {@link Pila#hashCode}.
+     */
+    @Test public void testHashCode() {
+        Pila<Integer> pila2 = new Pila<Integer>();
+        Assert.assertTrue(pila.hashCode() == pila2.hashCode());
+        pila2.mete(-1);
+        pila2.saca();
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            pila2.mete(i);
+            Assert.assertTrue(pila.hashCode() == pila2.hashCode());
+        }
+        Assert.assertTrue(pila.equals(pila2));
+        pila2.saca();
+        pila2.mete(total);
+        Assert.assertFalse(pila.equals(pila2));
+        Assert.assertFalse(pila.hashCode() == pila2.hashCode());
+    }
+
+    /**
+     * Prueba unitaria para {@link Pila#meteTodos}, {@link
+     * Pila#saca(int, Object[])} y {@link Pila#drenaA}.
+     */
+    @Test public void testLotes() {
+        UtilTestMeteSaca.lotes(pila, total, false);
+    }
+
+    /**
+     * Prueba que {@link Pila#drenaA} lleve bien la cuenta si la colección lanza
+     * una excepción.
+     */
+    @Test public void testDrenaConExcepcion() {
+        UtilTestMeteSaca.drenaConExcepcion(pila, total, false);
+    }
+
+    /**
+     * Prueba unitaria para {@link Pila#getElementos} y {@link
+     * Pila#getMaximo}.
+     */
+    @Test public void testElementos() {
+        UtilTestMeteSaca.elementos(pila, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link Pila#setLimite}.
+     */
+    @Test public void testLimite() {
+        UtilTestMeteSaca.limite(pila, total);
+    }
 }
@@ -0,0 +1,235 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MeteSaca;
+import mx.unam.ciencias.edd.Pila;
+import mx.unam.ciencias.edd.PilaArreglo;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link PilaArreglo}.
+ */
+public class TestPilaArreglo {
+
+    private Random random;
+    private int total;
+    private PilaArreglo<Integer> pila;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra pila, y una pila.
+     */
+    public TestPilaArreglo() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        pila = new PilaArreglo<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#mete}.
+     */
+    @Test public void testMete() {
+        try {
+            pila.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++)
+            pila.mete(i);
+        int c = total - 1;
+        int t = 0;
+        while (!pila.esVacia()) {
+            Assert.assertTrue(pila.saca() == c--);
+            t++;
+        }
+        Assert.assertTrue(t == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#saca}.
+     */
+    @Test public void testSaca() {
+        try {
+            pila.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = i;
+            pila.mete(a[i]);
+        }
+        int c = 0;
+        while (!pila.esVacia())
+            Assert.assertTrue(pila.saca() == a[total - ++c]);
+    }
+
+    /**
+     * Prueba unitaria para {@link MeteSaca#mira}.
+     */
+    @Test public void testMira() {
+        try {
+            pila.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            Assert.assertTrue(pila.mira() == i);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#esVacia}.
+     */
+    @Test public void testEsVacia() {
+        Assert.assertTrue(pila.esVacia());
+        pila.mete(1);
+        Assert.assertFalse(pila.esVacia());
+        pila.saca();
+        Assert.assertTrue(pila.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(pila.equals(null));
+        Assert.assertFalse(pila.equals(""));
+        Assert.assertFalse(pila.equals(new Cola<Integer>()));
+        PilaArreglo<Integer> pila2 = new PilaArreglo<Integer>();
+        Assert.assertTrue(pila.equals(pila2));
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            Assert.assertFalse(pila.equals(pila2));
+            pila2.mete(i);
+            Assert.assertTrue(pila.equals(pila2));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#hashCode}.
+     */
+    @Test public void testHashCode() {
+        PilaArreglo<Integer> pila2 = new PilaArreglo<Integer>();
+        Assert.assertTrue(pila.hashCode() == pila2.hashCode());
+        pila2.mete(-1);
+        pila2.saca();
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            pila2.mete(i);
+            Assert.assertTrue(pila.hashCode() == pila2.hashCode());
+        }
+        Assert.assertTrue(pila.equals(pila2));
+        pila2.saca();
+        pila2.mete(total);
+        Assert.assertFalse(pila.equals(pila2));
+        Assert.assertFalse(pila.hashCode() == pila2.hashCode());
+    }
+
+    /**
+     * Prueba que la pila crezca y se comporte igual que una {@link Pila},
+     * con operaciones aleatorias.
+     */
+    @Test public void testCrece() {
+        try {
+            new PilaArreglo<Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        pila = new PilaArreglo<Integer>(3);
+        Assert.assertTrue(pila.getCapacidad() == 3);
+        Pila<Integer> ligada = new Pila<Integer>();
+        Assert.assertFalse(pila.equals(ligada));
+        for (int i = 0; i < total * 20; i++) {
+            if (random.nextInt(3) > 0 || ligada.esVacia()) {
+                pila.mete(i);
+                ligada.mete(i);
+            } else {
+                Assert.assertTrue(pila.saca().equals(ligada.saca()));
+            }
+            Assert.assertTrue(pila.esVacia() == ligada.esVacia());
+            if (!ligada.esVacia())
+                Assert.assertTrue(pila.mira().equals(ligada.mira()));
+        }
+        while (!ligada.esVacia())
+            Assert.assertTrue(pila.saca().equals(ligada.saca()));
+        Assert.assertTrue(pila.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#setEncoge}.
+     */
+    @Test public void testEncoge() {
+        for (int i = 0; i < 1024; i++)
+            pila.mete(i);
+        Assert.assertTrue(pila.getCapacidad() == 1024);
+        for (int i = 1023; i >= 24; i--)
+            Assert.assertTrue(pila.saca() == i);
+        Assert.assertTrue(pila.getCapacidad() == 1024);
+        pila.setEncoge(true);
+        for (int i = 23; i >= 4; i--)
+            Assert.assertTrue(pila.saca() == i);
+        Assert.assertTrue(pila.getCapacidad() == 16);
+        for (int i = 3; i >= 0; i--)
+            Assert.assertTrue(pila.saca() == i);
+        Assert.assertTrue(pila.getCapacidad() == 16);
+        Assert.assertTrue(pila.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#meteTodos}, {@link
+     * PilaArreglo#saca(int, Object[])} y {@link PilaArreglo#drenaA}.
+     */
+    @Test public void testLotes() {
+        UtilTestMeteSaca.lotes(pila, total, false);
+    }
+
+    /**
+     * Prueba que {@link PilaArreglo#drenaA} lleve bien la cuenta si la colección lanza
+     * una excepción.
+     */
+    @Test public void testDrenaConExcepcion() {
+        UtilTestMeteSaca.drenaConExcepcion(pila, total, false);
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#getElementos} y {@link
+     * PilaArreglo#getMaximo}.
+     */
+    @Test public void testElementos() {
+        UtilTestMeteSaca.elementos(pila, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#setLimite}.
+     */
+    @Test public void testLimite() {
+        UtilTestMeteSaca.limite(pila, total);
+    }
+
+    /**
+     * Prueba que {@link PilaArreglo#meteTodos} no agregue nada si alguno de los
+     * elementos es nulo.
+     */
+    @Test public void testMeteTodosNulo() {
+        pila.mete(-1);
+        Lista<Integer> l = new Lista<Integer>() {
+            @Override public Iterator<Integer> iterator() {
+                return Arrays.asList(0, 1, null, 3).iterator();
+            }
+            @Override public int getElementos() {
+                return 4;
+            }
+        };
+        try {
+            pila.meteTodos(l);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(pila.getElementos() == 1);
+        Assert.assertTrue(pila.saca() == -1);
+        Assert.assertTrue(pila.esVacia());
+    }
+}
@@ -0,0 +1,221 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.PilaConcurrente;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link PilaConcurrente}.
+ */
+public class TestPilaConcurrente {
+
+    private Random random;
+    private int total;
+    private PilaConcurrente<Integer> pila;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra pila, y una pila.
+     */
+    public TestPilaConcurrente() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        pila = new PilaConcurrente<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaConcurrente#mete}.
+     */
+    @Test public void testMete() {
+        try {
+            pila.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++)
+            pila.mete(i);
+        int c = total - 1;
+        int t = 0;
+        while (!pila.esVacia()) {
+            Assert.assertTrue(pila.saca() == c--);
+            t++;
+        }
+        Assert.assertTrue(t == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaConcurrente#saca} y {@link
+     * PilaConcurrente#intentaSaca}.
+     */
+    @Test public void testSaca() {
+        try {
+            pila.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = i;
+            pila.mete(a[i]);
+        }
+        int c = 0;
+        while (!pila.esVacia())
+            Assert.assertTrue(c % 2 == 0 ? pila.saca() == a[total - ++c]
+                              : pila.intentaSaca() == a[total - ++c]);
+        Assert.assertTrue(pila.intentaSaca() == null);
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaConcurrente#mira}.
+     */
+    @Test public void testMira() {
+        try {
+            pila.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            Assert.assertTrue(pila.mira() == i);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaConcurrente#esVacia}.
+     */
+    @Test public void testEsVacia() {
+        Assert.assertTrue(pila.esVacia());
+        pila.mete(1);
+        Assert.assertFalse(pila.esVacia());
+        pila.saca();
+        Assert.assertTrue(pila.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaConcurrente#equals}.
+     */
+    @Test public void testEquals() {
+        Assert.assertFalse(pila.equals(null));
+        Assert.assertFalse(pila.equals(""));
+        Assert.assertFalse(pila.equals(new Cola<Integer>()));
+        PilaConcurrente<Integer> pila2 = new PilaConcurrente<Integer>();
+        Assert.assertTrue(pila.equals(pila2));
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            Assert.assertFalse(pila.equals(pila2));
+            pila2.mete(i);
+            Assert.assertTrue(pila.equals(pila2));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaConcurrente#hashCode}.
+     */
+    @Test public void testHashCode() {
+        PilaConcurrente<Integer> pila2 = new PilaConcurrente<Integer>();
+        Assert.assertTrue(pila.hashCode() == pila2.hashCode());
+        pila2.mete(-1);
+        pila2.saca();
+        for (int i = 0; i < total; i++) {
+            pila.mete(i);
+            pila2.mete(i);
+            Assert.assertTrue(pila.hashCode() == pila2.hashCode());
+        }
+        Assert.assertTrue(pila.equals(pila2));
+        pila2.saca();
+        pila2.mete(total);
+        Assert.assertFalse(pila.equals(pila2));
+        Assert.assertFalse(pila.hashCode() == pila2.hashCode());
+    }
+
+    /**
+     * Prueba la pila con varios hilos que meten y sacan a la vez, con y sin
+     * arreglo de eliminación: cada elemento debe salir exactamente una vez.
+     */
+    @Test public void testConcurrencia() throws InterruptedException {
+        try {
+            new PilaConcurrente<Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        compartida(new PilaConcurrente<Integer>());
+        compartida(new PilaConcurrente<Integer>(2));
+    }
+
+    /* Cuatro hilos meten sus elementos y sacan uno de cada dos; al final se
+     * vacía la pila y se revisa que cada elemento haya salido una vez. */
+    private void compartida(PilaConcurrente<Integer> p)
+        throws InterruptedException {
+        int hilos = 4;
+        int n = 10000;
+        AtomicIntegerArray vistos = new AtomicIntegerArray(hilos * n);
+        Thread[] t = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            int inicio = h * n;
+            t[h] = new Thread(() -> {
+                for (int i = 0; i < n; i++) {
+                    p.mete(inicio + i);
+                    if (i % 2 == 1)
+                        vistos.incrementAndGet(p.saca());
+                }
+            });
+            t[h].start();
+        }
+        for (Thread hilo : t)
+            hilo.join();
+        while (!p.esVacia())
+            vistos.incrementAndGet(p.saca());
+        for (int i = 0; i < hilos * n; i++)
+            Assert.assertTrue(vistos.get(i) == 1);
+        Assert.assertTrue(p.getElementos() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaConcurrente#meteTodos}, {@link
+     * PilaConcurrente#saca(int, Object[])} y {@link PilaConcurrente#drenaA}.
+     */
+    @Test public void testLotes() {
+        UtilTestMeteSaca.lotes(pila, total, false);
+    }
+
+    /**
+     * Prueba que {@link PilaConcurrente#drenaA} lleve bien la cuenta si la colección lanza
+     * una excepción.
+     */
+    @Test public void testDrenaConExcepcion() {
+        UtilTestMeteSaca.drenaConExcepcion(pila, total, true);
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaConcurrente#getElementos} y {@link
+     * PilaConcurrente#getMaximo}.
+     */
+    @Test public void testElementos() {
+        UtilTestMeteSaca.elementos(pila, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaConcurrente#setLimite}.
+     */
+    @Test public void testLimite() {
+        UtilTestMeteSaca.limite(pila, total);
+    }
+
+    /**
+     * Prueba {@link PilaConcurrente#getElementos} y {@link PilaConcurrente#getMaximo} con
+     * varios hilos metiendo y sacando a la vez.
+     * @throws InterruptedException si se interrumpe la espera a los hilos.
+     */
+    @Test public void testElementosHilos() throws InterruptedException {
+        UtilTestMeteSaca.elementosHilos(pila, total, 4);
+    }
+
+    /**
+     * Prueba que con varios hilos metiendo a la vez, {@link PilaConcurrente#setLimite}
+     * se rebase por a lo más un elemento por hilo.
+     * @throws InterruptedException si se interrumpe la espera a los hilos.
+     */
+    @Test public void testLimiteHilos() throws InterruptedException {
+        UtilTestMeteSaca.limiteHilos(pila, 1 + random.nextInt(total), 4);
+    }
+}
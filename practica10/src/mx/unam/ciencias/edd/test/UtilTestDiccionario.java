@@ -0,0 +1,519 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.DoubleFunction;
+import mx.unam.ciencias.edd.Arreglos;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.EntradaDiccionario;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+
+/**
+ * Clase de métodos utilitarios para las pruebas unitarias de {@link
+ * Diccionario} y de las clases que lo extienden. Cada método recibe un
+ * diccionario vacío y revisa una parte del contrato que comparten todos; las
+ * llaves son cadenas con el hexadecimal de enteros separados por 1000 a partir
+ * de uno al azar.
+ */
+public class UtilTestDiccionario {
+
+    /* Generador de números aleatorios. */
+    private static final Random random = new Random();
+
+    /* Regresa la i-ésima llave a partir de ini. */
+    private static String llave(int ini, int i) {
+        return String.format("%x", ini + i * 1000);
+    }
+
+    /* Agrega total llaves a partir de una al azar y las regresa. */
+    private static String[] llena(Diccionario<String, String> d, int total) {
+        String[] arreglo = new String[total];
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            arreglo[i] = llave(ini, i);
+            d.agrega(arreglo[i], arreglo[i]);
+        }
+        return arreglo;
+    }
+
+    /**
+     * Prueba que un diccionario recién construido sea vacío.
+     * @param d el diccionario vacío.
+     */
+    public static void constructor(Diccionario<String, String> d) {
+        Assert.assertTrue(d.esVacio());
+        Assert.assertTrue(d.getElementos() == 0);
+        Lista<String> llaves = d.llaves();
+        Lista<String> valores = d.valores();
+        Assert.assertTrue(llaves.getLongitud() == 0);
+        Assert.assertTrue(valores.getLongitud() == 0);
+        Assert.assertTrue(d.carga() == 0.0);
+        Assert.assertTrue(d.colisiones() == 0);
+    }
+
+    /**
+     * Prueba {@link Diccionario#agrega}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves agregar la primera vez.
+     * @param cota la cota para la carga del diccionario.
+     */
+    public static void agrega(Diccionario<String, String> d, int total,
+                              double cota) {
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total * 2; i++) {
+            String s = llave(ini, i);
+            Assert.assertFalse(d.contiene(s));
+            d.agrega(s, s);
+            Assert.assertTrue(d.getElementos() == i+1);
+            Assert.assertTrue(d.contiene(s));
+            Assert.assertTrue(d.get(s).equals(s));
+            Assert.assertTrue(d.carga() < cota);
+        }
+        String k = String.format("%x", ini);
+        String v = String.format("%x", ini+1);
+        d.agrega(k, v);
+        Assert.assertTrue(d.getElementos() == total*2);
+        Assert.assertTrue(d.contiene(k));
+        Assert.assertTrue(d.get(k).equals(v));
+        Assert.assertTrue(d.carga() < cota);
+        try {
+            d.agrega(null, "X");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            d.agrega("X", null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba {@link Diccionario#get}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves agregar.
+     */
+    public static void get(Diccionario<String, String> d, int total) {
+        int ini = 1 + random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = llave(ini, i);
+            d.agrega(s, s);
+            Assert.assertTrue(d.get(s).equals(s));
+        }
+        try {
+            d.get("00000");
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba {@link Diccionario#contiene}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves agregar.
+     */
+    public static void contiene(Diccionario<String, String> d, int total) {
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = llave(ini, i);
+            Assert.assertFalse(d.contiene(s));
+            d.agrega(s, s);
+            Assert.assertTrue(d.contiene(s));
+        }
+        Assert.assertFalse(d.contiene("00000"));
+    }
+
+    /**
+     * Prueba {@link Diccionario#elimina}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves agregar.
+     */
+    public static void elimina(Diccionario<String, String> d, int total) {
+        String[] arreglo = llena(d, total);
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(d.contiene(arreglo[i]));
+            d.elimina(arreglo[i]);
+            Assert.assertFalse(d.contiene(arreglo[i]));
+            Assert.assertTrue(d.getElementos() == total - (i+1));
+            try {
+                d.get(arreglo[i]);
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+        }
+    }
+
+    /**
+     * Prueba {@link Diccionario#elimina} cuando todas las llaves caen en dos
+     * casillas y las corridas dan la vuelta a la tabla.
+     * @param d el diccionario vacío, con el picadillo <code>-1 - o %
+     *        2</code>.
+     */
+    public static void eliminaColisiones(Diccionario<Integer, Integer> d) {
+        int n = 40;
+        for (int i = 0; i < n; i++)
+            d.agrega(i, i);
+        Assert.assertTrue(d.colisionMaxima() > 0);
+        for (int i = 0; i < n; i += 3) {
+            d.elimina(i);
+            Assert.assertFalse(d.contiene(i));
+        }
+        for (int i = 0; i < n; i++) {
+            if (i % 3 == 0)
+                continue;
+            Assert.assertTrue(d.contiene(i));
+            Assert.assertTrue(d.get(i) == i);
+        }
+    }
+
+    /**
+     * Prueba {@link Diccionario#llaves}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves agregar.
+     */
+    public static void llaves(Diccionario<String, String> d, int total) {
+        String[] arreglo = llena(d, total);
+        Lista<String> llaves = d.llaves();
+        Assert.assertTrue(llaves.getLongitud() == total);
+        llaves = Lista.mergeSort(llaves);
+        Arreglos.quickSort(arreglo);
+        int i = 0;
+        for (String k : llaves)
+            Assert.assertTrue(k.equals(arreglo[i++]));
+    }
+
+    /**
+     * Prueba {@link Diccionario#valores}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves agregar.
+     */
+    public static void valores(Diccionario<String, String> d, int total) {
+        String[] arreglo = llena(d, total);
+        Lista<String> valores = d.valores();
+        Assert.assertTrue(valores.getLongitud() == total);
+        valores = Lista.mergeSort(valores);
+        Arreglos.quickSort(arreglo);
+        int i = 0;
+        for (String k : valores)
+            Assert.assertTrue(k.equals(arreglo[i++]));
+    }
+
+    /* Agrega dos llaves que chocan con el picadillo XOR_STRING. */
+    private static void agregaChoque(Diccionario<String, String> d) {
+        byte[] bs1 = { 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08 };
+        byte[] bs2 = { 0x05, 0x06, 0x07, 0x08, 0x01, 0x02, 0x03, 0x04 };
+        String val1 = String.format("%x", random.nextInt(1000));
+        String val2 = String.format("%x", random.nextInt(1000));
+        d.agrega(new String(bs1), val1);
+        d.agrega(new String(bs2), val2);
+    }
+
+    /**
+     * Prueba {@link Diccionario#colisiones}.
+     * @param xor el diccionario vacío, con el picadillo XOR_STRING.
+     */
+    public static void colisiones(Diccionario<String, String> xor) {
+        agregaChoque(xor);
+        Assert.assertTrue(xor.colisiones() == 1);
+    }
+
+    /**
+     * Prueba {@link Diccionario#colisionMaxima}.
+     * @param d el diccionario vacío.
+     * @param xor otro diccionario vacío, con el picadillo XOR_STRING.
+     */
+    public static void colisionMaxima(Diccionario<String, String> d,
+                                      Diccionario<String, String> xor) {
+        String s = String.format("%x", random.nextInt(10000));
+        d.agrega(s, s);
+        Assert.assertTrue(d.colisionMaxima() == 0);
+        agregaChoque(xor);
+        Assert.assertTrue(xor.colisionMaxima() == 1);
+    }
+
+    /**
+     * Prueba {@link Diccionario#carga}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves agregar antes de que crezca.
+     * @param cota la cota para la carga del diccionario.
+     */
+    public static void carga(Diccionario<String, String> d, int total,
+                             double cota) {
+        int ini = random.nextInt(10000);
+        double c = 0.0;
+        for (int i = 0; i < total; i++) {
+            String s = llave(ini, i);
+            d.agrega(s, s);
+            Assert.assertTrue(d.carga() > c);
+            c = d.carga();
+            Assert.assertTrue(d.carga() < cota);
+        }
+        for (int i = total; i < total*4; i++) {
+            String s = llave(ini, i);
+            d.agrega(s, s);
+            Assert.assertTrue(d.carga() < cota);
+        }
+    }
+
+    /**
+     * Prueba {@link Diccionario#getElementos}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves agregar.
+     */
+    public static void getElementos(Diccionario<String, String> d, int total) {
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = llave(ini, i);
+            d.agrega(s, s);
+            Assert.assertTrue(d.getElementos() == i+1);
+        }
+    }
+
+    /**
+     * Prueba {@link Diccionario#esVacio}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves agregar.
+     */
+    public static void esVacio(Diccionario<String, String> d, int total) {
+        Assert.assertTrue(d.esVacio());
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = llave(ini, i);
+            d.agrega(s, s);
+            Assert.assertFalse(d.esVacio());
+        }
+        Lista<String> llaves = d.llaves();
+        for (String llave : llaves) {
+            Assert.assertFalse(d.esVacio());
+            d.elimina(llave);
+        }
+        Assert.assertTrue(d.esVacio());
+    }
+
+    /**
+     * Prueba {@link Diccionario#equals}, entre dos diccionarios de la misma
+     * clase y contra un {@link Diccionario}.
+     * @param d el diccionario vacío.
+     * @param d2 otro diccionario vacío de la misma clase.
+     * @param total cuántas llaves agregar.
+     */
+    public static void equals(Diccionario<String, String> d,
+                              Diccionario<String, String> d2, int total) {
+        Assert.assertTrue(d.equals(d2));
+        int ini = random.nextInt(10000);
+        String[] a = new String[total];
+        for (int i = 0; i < total; i++)
+            a[i] = llave(ini, i);
+        for (int i = 0; i < total; i++) {
+            d.agrega(a[i], a[i]);
+            d2.agrega(a[total - i - 1], a[total - i - 1]);
+        }
+        Assert.assertFalse(d == d2);
+        Assert.assertTrue(d.equals(d2));
+        for (int i = 0; i < total; i++) {
+            d.elimina(a[i]);
+            Assert.assertFalse(d.equals(d2));
+            d2.elimina(a[i]);
+            Assert.assertTrue(d.equals(d2));
+        }
+        Assert.assertTrue(d.esVacio());
+        Assert.assertTrue(d2.esVacio());
+        Assert.assertTrue(d.equals(d2));
+        Diccionario<String, String> d3 = new Diccionario<String, String>();
+        for (int i = 0; i < total; i++) {
+            d.agrega(a[i], a[i]);
+            d3.agrega(a[i], a[i]);
+        }
+        Assert.assertTrue(d.equals(d3));
+        Assert.assertTrue(d3.equals(d));
+    }
+
+    /**
+     * Prueba {@link Diccionario#iterator}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves agregar.
+     */
+    public static void iterator(Diccionario<String, String> d, int total) {
+        int ini = random.nextInt(10000);
+        Lista<String> lista = new Lista<String>();
+        for (int i = 0; i < total; i++) {
+            String s = llave(ini, i);
+            d.agrega(s, s);
+            lista.agregaFinal(s);
+        }
+        int c = 0;
+        for (String s : d) {
+            Assert.assertTrue(lista.contiene(s));
+            lista.elimina(s);
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        Assert.assertTrue(lista.getLongitud() == 0);
+        Lista<String> llaves = d.llaves();
+        for (String llave : llaves)
+            d.elimina(llave);
+        for (String s : d);
+    }
+
+    /**
+     * Prueba {@link Diccionario#cadaLlave}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves agregar.
+     */
+    public static void cadaLlave(Diccionario<String, String> d, int total) {
+        int ini = random.nextInt(10000);
+        Lista<String> lista = new Lista<String>();
+        for (int i = 0; i < total; i++) {
+            String s = llave(ini, i);
+            d.agrega(s, s + "v");
+            lista.agregaFinal(s);
+        }
+        int c = 0;
+        for (String s : d.cadaLlave()) {
+            Assert.assertTrue(lista.contiene(s));
+            lista.elimina(s);
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        Assert.assertTrue(lista.getLongitud() == 0);
+        Iterator<String> iterador = d.cadaLlave().iterator();
+        while (iterador.hasNext())
+            iterador.next();
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba {@link Diccionario#cadaEntrada}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves agregar.
+     */
+    public static void cadaEntrada(Diccionario<String, String> d, int total) {
+        int ini = random.nextInt(10000);
+        Lista<String> lista = new Lista<String>();
+        for (int i = 0; i < total; i++) {
+            String s = llave(ini, i);
+            d.agrega(s, s + "v");
+            lista.agregaFinal(s);
+        }
+        int c = 0;
+        for (EntradaDiccionario<String, String> e : d.cadaEntrada()) {
+            Assert.assertTrue(e.getValor().equals(e.getLlave() + "v"));
+            Assert.assertTrue(d.get(e.getLlave()) == e.getValor());
+            Assert.assertTrue(lista.contiene(e.getLlave()));
+            lista.elimina(e.getLlave());
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        Assert.assertTrue(lista.getLongitud() == 0);
+    }
+
+    /**
+     * Prueba el constructor con carga máxima y {@link
+     * Diccionario#getCargaMaxima}.
+     * @param constructor construye un diccionario vacío con la carga máxima
+     *        recibida.
+     * @param total cuántas llaves agregar antes de que crezca.
+     * @param cota la cota para la carga con carga máxima 0.5.
+     * @param invalidas las cargas máximas que el constructor debe rechazar.
+     */
+    public static void constructorCarga(
+        DoubleFunction<Diccionario<String, String>> constructor, int total,
+        double cota, double... invalidas) {
+        Diccionario<String, String> d = constructor.apply(0.5);
+        Assert.assertTrue(d.getCargaMaxima() == 0.5);
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total * 4; i++) {
+            String s = llave(ini, i);
+            d.agrega(s, s);
+            Assert.assertTrue(d.carga() < cota);
+        }
+        for (double c : invalidas) {
+            try {
+                constructor.apply(c);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+    }
+
+    /**
+     * Prueba {@link Diccionario#asegurarCapacidad}.
+     * @param d el diccionario vacío.
+     * @param total la dieciseisava parte de la capacidad a asegurar.
+     */
+    public static void asegurarCapacidad(Diccionario<String, String> d,
+                                         int total) {
+        int n = total * 16;
+        d.asegurarCapacidad(n);
+        d.agrega("0", "0");
+        double c = d.carga();
+        for (int i = 1; i < n; i++)
+            d.agrega(String.valueOf(i), String.valueOf(i));
+        Assert.assertTrue(d.carga() == n * c);
+        Assert.assertTrue(d.carga() < d.getCargaMaxima());
+        d.asegurarCapacidad(1);
+        Assert.assertTrue(d.carga() == n * c);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(d.get(String.valueOf(i)).equals(String.valueOf(i)));
+    }
+
+    /**
+     * Prueba {@link Diccionario#compacta}.
+     * @param d el diccionario vacío.
+     * @param total cuántas llaves quedan después de eliminar quince de cada
+     *        dieciséis.
+     */
+    public static void compacta(Diccionario<String, String> d, int total) {
+        int n = total * 16;
+        for (int i = 0; i < n; i++)
+            d.agrega(String.valueOf(i), String.valueOf(i));
+        for (int i = 0; i < n; i++)
+            if (i % 16 != 0)
+                d.elimina(String.valueOf(i));
+        double c = d.carga();
+        d.compacta();
+        Assert.assertTrue(d.carga() > c);
+        Assert.assertTrue(d.carga() < d.getCargaMaxima());
+        Assert.assertTrue(d.getElementos() == total);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(d.contiene(String.valueOf(i)) == (i % 16 == 0));
+        d.compacta();
+        for (int i = 0; i < n; i++)
+            d.agrega(String.valueOf(i), String.valueOf(i));
+        Assert.assertTrue(d.getElementos() == n);
+    }
+
+    /**
+     * Prueba {@link Diccionario#agregaTodos} contra agregar una por una las
+     * mismas llaves, con repeticiones, en un {@link Diccionario}.
+     * @param d el diccionario vacío.
+     * @param n cuántas llaves agregar en lote.
+     */
+    public static void agregaTodos(Diccionario<String, String> d, int n) {
+        String[] llaves = new String[n], valores = new String[n];
+        for (int i = 0; i < n; i++) {
+            llaves[i] = String.valueOf(random.nextInt(n));
+            valores[i] = String.valueOf(i);
+        }
+        d.agrega("x", "x");
+        d.agrega(llaves[0], "x");
+        d.agregaTodos(llaves, valores);
+        Diccionario<String, String> uno = new Diccionario<String, String>();
+        uno.agrega("x", "x");
+        for (int i = 0; i < n; i++)
+            uno.agrega(llaves[i], valores[i]);
+        Assert.assertTrue(d.equals(uno));
+        Assert.assertTrue(d.carga() < d.getCargaMaxima());
+        int elementos = d.getElementos();
+        valores[n-1] = null;
+        try {
+            d.agregaTodos(llaves, valores);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            d.agregaTodos(llaves, new String[n-1]);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(d.getElementos() == elementos);
+    }
+}
@@ -0,0 +1,287 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MeteSaca;
+import org.junit.Assert;
+
+/**
+ * Clase de métodos utilitarios para las pruebas unitarias de las clases que
+ * extiendan {@link MeteSaca}. Cada método recibe una estructura vacía y
+ * revisa una parte del contrato que comparten todas: las operaciones en lote,
+ * la cuenta de elementos y el límite; las pruebas con hilos son para las
+ * estructuras que se pueden usar desde varios a la vez.
+ */
+public class UtilTestMeteSaca {
+
+    /* Regresa el j-ésimo elemento que se saca después de meter -1 y luego
+     * 0, 1, ..., total-1; el primero es -1 si la estructura es una cola, y
+     * total-1 si es una pila. */
+    private static int esperado(boolean cola, int total, int j) {
+        return cola ? j - 1 : total - 1 - j;
+    }
+
+    /**
+     * Prueba {@link MeteSaca#meteTodos}, {@link MeteSaca#saca(int, Object[])}
+     * y {@link MeteSaca#drenaA}.
+     * @param ms la estructura vacía.
+     * @param total cuántos elementos meter en lote.
+     * @param cola si la estructura saca en el orden en que se mete.
+     */
+    public static void lotes(MeteSaca<Integer> ms, int total, boolean cola) {
+        Lista<Integer> l = new Lista<Integer>();
+        for (int i = 0; i < total; i++)
+            l.agrega(i);
+        ms.mete(-1);
+        ms.meteTodos(l);
+        Integer[] a = new Integer[total];
+        try {
+            ms.saca(total + 1, a);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            ms.drenaA(l, -1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(ms.saca(0, a) == 0);
+        Assert.assertTrue(ms.saca(1, a) == 1 &&
+                          a[0] == esperado(cola, total, 0));
+        int m = total / 2;
+        Assert.assertTrue(ms.saca(m, a) == m);
+        for (int i = 0; i < m; i++)
+            Assert.assertTrue(a[i] == esperado(cola, total, 1 + i));
+        Lista<Integer> drenados = new Lista<Integer>();
+        Assert.assertTrue(ms.drenaA(drenados, 1) == 1);
+        Assert.assertTrue(ms.drenaA(drenados, total) == total - m - 1);
+        int j = m + 1;
+        for (int e : drenados)
+            Assert.assertTrue(e == esperado(cola, total, j++));
+        Assert.assertTrue(j == total + 1);
+        Assert.assertTrue(ms.esVacia());
+        Assert.assertTrue(ms.saca(total, a) == 0);
+        Assert.assertTrue(ms.drenaA(drenados, total) == 0);
+        ms.meteTodos(new Lista<Integer>());
+        Assert.assertTrue(ms.esVacia());
+    }
+
+    /**
+     * Prueba que {@link MeteSaca#drenaA} deje la cuenta de elementos al día
+     * si la colección lanza una excepción a la mitad.
+     * @param ms la estructura vacía.
+     * @param total cuántos elementos meter; al menos 4.
+     * @param enLotes si la estructura drena en lotes de a lo más 64, y pierde
+     *        los del lote que la colección no alcanzó a recibir.
+     */
+    public static void drenaConExcepcion(MeteSaca<Integer> ms, int total,
+                                         boolean enLotes) {
+        for (int i = 0; i < total; i++)
+            ms.mete(i);
+        Lista<Integer> falla = new Lista<Integer>() {
+            @Override public void agrega(Integer elemento) {
+                if (getElementos() == 3)
+                    throw new IllegalStateException();
+                super.agrega(elemento);
+            }
+        };
+        try {
+            ms.drenaA(falla, total);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        Assert.assertTrue(falla.getElementos() == 3);
+        int quedan = ms.getElementos();
+        Assert.assertTrue(quedan == total - (enLotes ? Math.min(total, 64) : 3));
+        Assert.assertFalse(ms.estaLlena());
+        int sacados = 0;
+        while (!ms.esVacia()) {
+            ms.saca();
+            sacados++;
+        }
+        Assert.assertTrue(sacados == quedan);
+        Assert.assertTrue(ms.getElementos() == 0);
+    }
+
+    /**
+     * Prueba {@link MeteSaca#getElementos} y {@link MeteSaca#getMaximo}.
+     * @param ms la estructura vacía.
+     * @param total cuántos elementos meter.
+     */
+    public static void elementos(MeteSaca<Integer> ms, int total) {
+        Assert.assertTrue(ms.getElementos() == 0);
+        Assert.assertTrue(ms.getMaximo() == 0);
+        ms.mete(-1);
+        ms.setRegistraMaximo(true);
+        Assert.assertTrue(ms.getMaximo() == 1);
+        for (int i = 0; i < total; i++) {
+            ms.mete(i);
+            Assert.assertTrue(ms.getElementos() == i + 2);
+        }
+        Lista<Integer> l = new Lista<Integer>();
+        for (int i = 0; i < 3; i++)
+            l.agrega(total + i);
+        ms.meteTodos(l);
+        Assert.assertTrue(ms.getElementos() == total + 4);
+        ms.saca(2, new Integer[2]);
+        Assert.assertTrue(ms.getElementos() == total + 2);
+        ms.drenaA(new Lista<Integer>(), 1);
+        ms.saca();
+        Assert.assertTrue(ms.getElementos() == total);
+        Assert.assertTrue(ms.getMaximo() == total + 4);
+        ms.setRegistraMaximo(false);
+        ms.meteTodos(l);
+        ms.mete(-2);
+        Assert.assertTrue(ms.getMaximo() == total + 4);
+        ms.setRegistraMaximo(true);
+        Assert.assertTrue(ms.getMaximo() == total + 4);
+        Assert.assertTrue(ms.getElementos() == total + 4);
+        ms.mete(-3);
+        Assert.assertTrue(ms.getMaximo() == total + 5);
+        while (!ms.esVacia())
+            ms.saca();
+        Assert.assertTrue(ms.getElementos() == 0);
+        Assert.assertTrue(ms.getMaximo() == total + 5);
+    }
+
+    /**
+     * Prueba {@link MeteSaca#setLimite}, {@link MeteSaca#estaLlena} y {@link
+     * MeteSaca#intentaMete}.
+     * @param ms la estructura vacía.
+     * @param total cuántos elementos meter sin límite al final.
+     */
+    public static void limite(MeteSaca<Integer> ms, int total) {
+        try {
+            ms.setLimite(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(ms.getLimite() == Integer.MAX_VALUE);
+        Assert.assertFalse(ms.estaLlena());
+        ms.setLimite(3);
+        ms.mete(0);
+        ms.mete(1);
+        Assert.assertTrue(ms.intentaMete(2));
+        Assert.assertTrue(ms.estaLlena());
+        Assert.assertFalse(ms.intentaMete(3));
+        try {
+            ms.mete(3);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        Lista<Integer> l = new Lista<Integer>();
+        l.agrega(7);
+        try {
+            ms.meteTodos(l);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        Assert.assertTrue(ms.getElementos() == 3);
+        ms.saca();
+        Assert.assertFalse(ms.estaLlena());
+        ms.meteTodos(l);
+        Assert.assertTrue(ms.estaLlena());
+        ms.setLimite(2);
+        Assert.assertTrue(ms.getElementos() == 3);
+        ms.saca();
+        Assert.assertTrue(ms.estaLlena());
+        ms.saca();
+        Assert.assertFalse(ms.estaLlena());
+        ms.setLimite(Integer.MAX_VALUE);
+        for (int i = 0; i < total; i++)
+            ms.mete(i);
+        Assert.assertFalse(ms.estaLlena());
+        Assert.assertTrue(ms.getElementos() == total + 1);
+    }
+
+    /**
+     * Prueba {@link MeteSaca#getElementos} y {@link MeteSaca#getMaximo} con
+     * varios hilos metiendo y sacando a la vez: al terminar, la cuenta es
+     * exacta y el máximo no es menor que ella ni mayor que todo lo metido.
+     * @param ms la estructura vacía.
+     * @param total cuántos elementos mete cada hilo.
+     * @param hilos cuántos hilos usar.
+     * @throws InterruptedException si se interrumpe la espera a los hilos.
+     */
+    public static void elementosHilos(MeteSaca<Integer> ms, int total,
+                                      int hilos) throws InterruptedException {
+        ms.setRegistraMaximo(true);
+        Thread[] t = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            t[h] = new Thread(() -> {
+                for (int i = 0; i < total; i++) {
+                    ms.mete(i);
+                    if (i % 3 == 0)
+                        ms.saca();
+                }
+            });
+        }
+        for (Thread hilo : t)
+            hilo.start();
+        for (Thread hilo : t)
+            hilo.join();
+        int quedan = hilos * (total - (total + 2) / 3);
+        Assert.assertTrue(ms.getElementos() == quedan);
+        Assert.assertTrue(ms.getMaximo() >= quedan);
+        Assert.assertTrue(ms.getMaximo() <= hilos * total);
+        int sacados = 0;
+        while (!ms.esVacia()) {
+            ms.saca();
+            sacados++;
+        }
+        Assert.assertTrue(sacados == quedan);
+        Assert.assertTrue(ms.getElementos() == 0);
+    }
+
+    /**
+     * Prueba {@link MeteSaca#setLimite} con varios hilos llenando la
+     * estructura con {@link MeteSaca#intentaMete} a la vez: al terminar está
+     * llena, y rebasa el límite por a lo más un elemento por hilo.
+     * @param ms la estructura vacía.
+     * @param limite el límite de elementos.
+     * @param hilos cuántos hilos usar.
+     * @throws InterruptedException si se interrumpe la espera a los hilos.
+     */
+    public static void limiteHilos(MeteSaca<Integer> ms, int limite,
+                                   int hilos) throws InterruptedException {
+        ms.setLimite(limite);
+        Thread[] t = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            int e = h;
+            t[h] = new Thread(() -> {
+                while (ms.intentaMete(e))
+                    Thread.yield();
+            });
+        }
+        for (Thread hilo : t)
+            hilo.start();
+        for (Thread hilo : t)
+            hilo.join();
+        int n = ms.getElementos();
+        Assert.assertTrue(n >= limite);
+        Assert.assertTrue(n - limite <= hilos);
+        Assert.assertTrue(ms.estaLlena());
+        Assert.assertFalse(ms.intentaMete(-1));
+        int sacados = 0;
+        while (!ms.esVacia()) {
+            ms.saca();
+            sacados++;
+        }
+        Assert.assertTrue(sacados == n);
+    }
+
+    /**
+     * Espera a que un hilo quede bloqueado, a lo más diez segundos. Sirve
+     * para probar que una operación espera sin depender de cuánto tarda el
+     * hilo en llegar a ella.
+     * @param hilo el hilo.
+     * @return <code>true</code> si el hilo quedó en {@link
+     *         Thread.State#WAITING} o {@link Thread.State#TIMED_WAITING};
+     *         <code>false</code> si no pasó antes de diez segundos.
+     */
+    public static boolean seBloquea(Thread hilo) {
+        long fin = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < fin) {
+            Thread.State estado = hilo.getState();
+            if (estado == Thread.State.WAITING ||
+                estado == Thread.State.TIMED_WAITING)
+                return true;
+            Thread.yield();
+        }
+        return false;
+    }
+}